@@ -498,4 +498,12 @@ public interface Configuration
     */
    List<?> getList(String key, List<?> defaultValue);
 
+   /**
+    * Write any pending change of this Configuration to its underlying storage. Does nothing if changes are written as
+    * soon as they are made.
+    * 
+    * @throws ConfigurationException if the changes could not be written
+    */
+   void flush();
+
 }
@@ -24,6 +24,7 @@ import org.apache.commons.configuration.HierarchicalConfiguration;
 public class ConfigurationAdapter implements Configuration
 {
    private org.apache.commons.configuration.HierarchicalConfiguration delegate;
+   private ConfigurationWriter writer;
 
    public HierarchicalConfiguration getDelegate()
    {
@@ -36,6 +37,12 @@ public class ConfigurationAdapter implements Configuration
       return this;
    }
 
+   ConfigurationAdapter setWriter(ConfigurationWriter writer)
+   {
+      this.writer = writer;
+      return this;
+   }
+
    /*
     * Configuration methods.
     */
@@ -43,7 +50,7 @@ public class ConfigurationAdapter implements Configuration
    @Override
    public Configuration subset(final String prefix)
    {
-      return new ConfigurationAdapterSubset(getDelegate(), prefix);
+      return new ConfigurationAdapterSubset(getDelegate(), prefix).setWriter(writer);
    }
 
    @Override
@@ -286,4 +293,13 @@ public class ConfigurationAdapter implements Configuration
       return getDelegate().getList(key, defaultValue);
    }
 
+   @Override
+   public void flush()
+   {
+      if (writer != null)
+      {
+         writer.flush();
+      }
+   }
+
 }
@@ -3,27 +3,88 @@ package org.jboss.forge.addon.configuration;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.enterprise.inject.Produces;
 import javax.inject.Inject;
 
 import org.apache.commons.configuration.XMLConfiguration;
 import org.apache.commons.configuration.reloading.FileChangedReloadingStrategy;
 import org.jboss.forge.addon.resource.FileResource;
+import org.jboss.forge.addon.resource.ResourceFactory;
 import org.jboss.forge.furnace.Furnace;
+import org.jboss.forge.furnace.container.cdi.events.Local;
+import org.jboss.forge.furnace.event.PreShutdown;
 import org.jboss.forge.furnace.util.OperatingSystemUtils;
 
+/**
+ * When the <code>org.jboss.forge.addon.configuration.writeBehind</code> system property is set to <code>true</code>,
+ * changes are not saved as soon as they are made, but buffered and written by a {@link ConfigurationWriter} after the
+ * delay (in milliseconds) given by the <code>org.jboss.forge.addon.configuration.writeBehind.delay</code> system
+ * property.
+ */
 @ApplicationScoped
 public class ConfigurationFactoryImpl implements ConfigurationFactory
 {
+   private static final Logger log = Logger.getLogger(ConfigurationFactoryImpl.class.getName());
+
    static final String USER_CONFIG_PATH = "org.jboss.forge.addon.configuration.USER_CONFIG_PATH";
 
+   static final String WRITE_BEHIND = "org.jboss.forge.addon.configuration.writeBehind";
+
+   /**
+    * The default delay before buffered changes are written, in milliseconds
+    */
+   static final long DEFAULT_WRITE_BEHIND_DELAY = 500;
+
+   private final boolean writeBehind = Boolean.getBoolean(WRITE_BEHIND);
+   private final long writeBehindDelay = Long.getLong(WRITE_BEHIND + ".delay", DEFAULT_WRITE_BEHIND_DELAY);
+
    private Configuration userConfiguration;
 
+   private final ConcurrentMap<File, Configuration> configurations = new ConcurrentHashMap<>();
+   private final ConcurrentMap<File, ConfigurationWriter> writers = new ConcurrentHashMap<>();
+   private ScheduledExecutorService executor;
+
    @Inject
    private Furnace furnace;
 
+   @Inject
+   private ResourceFactory resourceFactory;
+
+   void shutdown(@Observes @Local PreShutdown event)
+   {
+      for (ConfigurationWriter writer : writers.values())
+      {
+         try
+         {
+            writer.close();
+         }
+         catch (RuntimeException e)
+         {
+            log.log(Level.WARNING, "Could not write pending configuration changes", e);
+         }
+      }
+      writers.clear();
+      configurations.clear();
+      synchronized (this)
+      {
+         if (executor != null)
+         {
+            executor.shutdown();
+            executor = null;
+         }
+      }
+   }
+
    @Override
    @Produces
    @ApplicationScoped
@@ -73,6 +134,25 @@ public class ConfigurationFactoryImpl implements ConfigurationFactory
 
    private Configuration getConfiguration(File file)
    {
+      if (writeBehind)
+      {
+         // A single instance per file, otherwise buffered changes would overwrite each other
+         File key = file.getAbsoluteFile();
+         Configuration result = configurations.get(key);
+         if (result == null)
+         {
+            synchronized (configurations)
+            {
+               result = configurations.get(key);
+               if (result == null)
+               {
+                  result = createWriteBehindConfiguration(key);
+                  configurations.put(key, result);
+               }
+            }
+         }
+         return result;
+      }
       try
       {
          XMLConfiguration commonsConfig = new XMLConfiguration(file);
@@ -87,6 +167,41 @@ public class ConfigurationFactoryImpl implements ConfigurationFactory
       }
    }
 
+   private Configuration createWriteBehindConfiguration(File file)
+   {
+      try
+      {
+         XMLConfiguration commonsConfig = new XMLConfiguration(file);
+         commonsConfig.setEncoding("UTF-8");
+         ConfigurationWriter writer = new ConfigurationWriter(commonsConfig, file, getExecutor(), writeBehindDelay,
+                  resourceFactory);
+         writers.put(file, writer);
+         return new ConfigurationAdapter().setWriter(writer).setDelegate(commonsConfig);
+      }
+      catch (org.apache.commons.configuration.ConfigurationException e)
+      {
+         throw new ConfigurationException(e);
+      }
+   }
+
+   private synchronized ScheduledExecutorService getExecutor()
+   {
+      if (executor == null)
+      {
+         executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+         {
+            @Override
+            public Thread newThread(Runnable r)
+            {
+               Thread thread = new Thread(r, "Configuration Writer");
+               thread.setDaemon(true);
+               return thread;
+            }
+         });
+      }
+      return executor;
+   }
+
    private void setupTemporaryUserConfig()
    {
       if (System.getProperty(USER_CONFIG_PATH) == null)
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.addon.configuration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.configuration.AbstractFileConfiguration;
+import org.apache.commons.configuration.XMLConfiguration;
+import org.apache.commons.configuration.event.ConfigurationEvent;
+import org.apache.commons.configuration.event.ConfigurationListener;
+import org.jboss.forge.addon.resource.FileResource;
+import org.jboss.forge.addon.resource.ResourceFactory;
+import org.jboss.forge.addon.resource.events.ResourceEvent;
+import org.jboss.forge.addon.resource.monitor.ResourceListener;
+import org.jboss.forge.addon.resource.monitor.ResourceMonitor;
+
+/**
+ * Writes the changes made to a {@link XMLConfiguration} behind its back: changes are buffered in memory and the whole
+ * file is written once (to a temporary file which then replaces the original) after a short delay, when
+ * {@link #flush()} is called or when Forge shuts down.
+ * <p/>
+ * The configuration is reloaded when the {@link ResourceMonitor} of its file reports a change made by someone else,
+ * instead of checking the file on every read.
+ */
+class ConfigurationWriter implements ConfigurationListener
+{
+   private static final Logger log = Logger.getLogger(ConfigurationWriter.class.getName());
+
+   private final XMLConfiguration config;
+   private final File file;
+   private final ScheduledExecutorService executor;
+   private final long delay;
+   private final ResourceFactory resourceFactory;
+
+   private final Runnable flushTask = new Runnable()
+   {
+      @Override
+      public void run()
+      {
+         try
+         {
+            flush();
+         }
+         catch (RuntimeException e)
+         {
+            log.log(Level.WARNING, "Could not write configuration to [" + file + "]", e);
+         }
+      }
+   };
+
+   private boolean dirty;
+   private ScheduledFuture<?> pendingFlush;
+   private volatile boolean reloading;
+   private volatile long lastWritten;
+   private ResourceMonitor monitor;
+
+   ConfigurationWriter(XMLConfiguration config, File file, ScheduledExecutorService executor, long delay,
+            ResourceFactory resourceFactory)
+   {
+      this.config = config;
+      this.file = file;
+      this.executor = executor;
+      this.delay = delay;
+      this.resourceFactory = resourceFactory;
+      config.addConfigurationListener(this);
+      startMonitoring();
+   }
+
+   @Override
+   public void configurationChanged(ConfigurationEvent event)
+   {
+      if (!event.isBeforeUpdate() && !reloading && event.getType() != AbstractFileConfiguration.EVENT_RELOAD)
+      {
+         scheduleFlush();
+      }
+   }
+
+   private synchronized void scheduleFlush()
+   {
+      dirty = true;
+      if (pendingFlush == null || pendingFlush.isDone())
+      {
+         try
+         {
+            pendingFlush = executor.schedule(flushTask, delay, TimeUnit.MILLISECONDS);
+         }
+         catch (RejectedExecutionException e)
+         {
+            // Shutting down, the changes are written by close()
+            pendingFlush = null;
+         }
+      }
+   }
+
+   private synchronized boolean takeDirty()
+   {
+      boolean result = dirty;
+      dirty = false;
+      return result;
+   }
+
+   synchronized boolean isDirty()
+   {
+      return dirty;
+   }
+
+   /**
+    * Writes the pending changes, if any
+    */
+   void flush()
+   {
+      synchronized (config.getReloadLock())
+      {
+         if (takeDirty())
+         {
+            write();
+         }
+      }
+      startMonitoring();
+   }
+
+   private void write()
+   {
+      File parent = file.getAbsoluteFile().getParentFile();
+      File tmpFile = null;
+      try
+      {
+         parent.mkdirs();
+         tmpFile = File.createTempFile(file.getName(), ".tmp", parent);
+         config.save(tmpFile);
+         try
+         {
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                     StandardCopyOption.ATOMIC_MOVE);
+         }
+         catch (AtomicMoveNotSupportedException e)
+         {
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+         }
+         lastWritten = file.lastModified();
+      }
+      catch (IOException | org.apache.commons.configuration.ConfigurationException e)
+      {
+         if (tmpFile != null)
+         {
+            tmpFile.delete();
+         }
+         throw new ConfigurationException("Could not write configuration to [" + file + "]", e);
+      }
+   }
+
+   /**
+    * Reloads the configuration from its file, unless the file was last written by this writer or there are pending
+    * changes (which take precedence and will overwrite the file).
+    */
+   void reload()
+   {
+      synchronized (config.getReloadLock())
+      {
+         if (isDirty() || !file.exists() || file.lastModified() == lastWritten)
+         {
+            return;
+         }
+         reloading = true;
+         try
+         {
+            config.refresh();
+            lastWritten = file.lastModified();
+         }
+         catch (org.apache.commons.configuration.ConfigurationException e)
+         {
+            log.log(Level.WARNING, "Could not reload configuration from [" + file + "]", e);
+         }
+         finally
+         {
+            reloading = false;
+         }
+      }
+   }
+
+   private synchronized void startMonitoring()
+   {
+      if (monitor == null && file.exists())
+      {
+         try
+         {
+            FileResource<?> resource = resourceFactory.create(FileResource.class, file);
+            monitor = resource.monitor();
+            monitor.addResourceListener(new ResourceListener()
+            {
+               @Override
+               public void processEvent(ResourceEvent event)
+               {
+                  reload();
+               }
+            });
+         }
+         catch (RuntimeException e)
+         {
+            log.log(Level.FINE, "Could not monitor configuration file [" + file + "]", e);
+         }
+      }
+   }
+
+   /**
+    * Writes the pending changes and stops monitoring the configuration file
+    */
+   void close()
+   {
+      try
+      {
+         flush();
+      }
+      finally
+      {
+         synchronized (this)
+         {
+            if (monitor != null)
+            {
+               monitor.cancel();
+               monitor = null;
+            }
+         }
+      }
+   }
+}
@@ -69,4 +69,20 @@ public class ConfigurationFactoryTest
       // Check if the file was written
       Assert.assertTrue(resource.getSize() > 0L);
    }
-}
\ No newline at end of file
+
+   @Test
+   public void testFlushWritesPendingChanges() throws Exception
+   {
+      File file = File.createTempFile("configfactorytest", ".xml");
+      file.delete();
+      file.deleteOnExit();
+      FileResource<?> resource = resourceFactory.create(file).reify(FileResource.class);
+      Configuration config = configurationFactory.getConfiguration(resource);
+      config.subset("scaffold").setProperty("provider", "Faces");
+      config.setProperty("key", "value");
+      config.flush();
+      String contents = resource.getContents();
+      Assert.assertTrue(contents.contains("Faces"));
+      Assert.assertTrue(contents.contains("value"));
+   }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.configuration;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.addon.resource.FileResource;
+import org.jboss.forge.addon.resource.ResourceFactory;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.Dependencies;
+import org.jboss.forge.arquillian.archive.ForgeArchive;
+import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class ConfigurationWriteBehindTest
+{
+   private static final String WRITE_BEHIND = "org.jboss.forge.addon.configuration.writeBehind";
+
+   @Deployment
+   @Dependencies({
+            @AddonDependency(name = "org.jboss.forge.furnace.container:cdi"),
+            @AddonDependency(name = "org.jboss.forge.addon:configuration")
+   })
+   public static ForgeArchive getDeployment()
+   {
+      // Must be set before the ConfigurationFactory is created. The delay is long enough to never elapse in a test.
+      System.setProperty(WRITE_BEHIND, "true");
+      System.setProperty(WRITE_BEHIND + ".delay", String.valueOf(TimeUnit.MINUTES.toMillis(10)));
+
+      ForgeArchive archive = ShrinkWrap
+               .create(ForgeArchive.class)
+               .addBeansXML()
+               .addAsAddonDependencies(
+                        AddonDependencyEntry.create("org.jboss.forge.furnace.container:cdi"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:configuration")
+               );
+      return archive;
+   }
+
+   @AfterClass
+   public static void clearProperties()
+   {
+      System.clearProperty(WRITE_BEHIND);
+      System.clearProperty(WRITE_BEHIND + ".delay");
+   }
+
+   @Inject
+   private ConfigurationFactory configurationFactory;
+
+   @Inject
+   private ResourceFactory resourceFactory;
+
+   @Test
+   public void testChangesAreWrittenOnFlush() throws Exception
+   {
+      File file = createTempFile();
+      FileResource<?> resource = resourceFactory.create(file).reify(FileResource.class);
+      Configuration config = configurationFactory.getConfiguration(resource);
+      Assert.assertSame(config, configurationFactory.getConfiguration(resource));
+
+      config.setProperty("key", "value");
+      config.subset("scaffold").setProperty("provider", "Faces");
+      Assert.assertEquals("value", config.getString("key"));
+      Assert.assertFalse("Changes should not be written right away", file.exists());
+
+      config.flush();
+      String contents = resource.getContents();
+      Assert.assertTrue(contents.contains("value"));
+      Assert.assertTrue(contents.contains("Faces"));
+
+      config.setProperty("key", "other");
+      Assert.assertFalse("Changes should not be written right away", resource.getContents().contains("other"));
+      config.flush();
+      Assert.assertTrue(resource.getContents().contains("other"));
+   }
+
+   @Test
+   public void testExternalChangesAreReloaded() throws Exception
+   {
+      File file = createTempFile();
+      FileResource<?> resource = resourceFactory.create(file).reify(FileResource.class);
+      Configuration config = configurationFactory.getConfiguration(resource);
+      config.setProperty("key", "value");
+      config.flush();
+
+      Files.write(file.toPath(), "<configuration><key>external</key></configuration>".getBytes(StandardCharsets.UTF_8));
+      // Make sure the change is not mistaken for the last write of the configuration
+      file.setLastModified(file.lastModified() + TimeUnit.SECONDS.toMillis(2));
+
+      long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+      while (!"external".equals(config.getString("key")) && System.currentTimeMillis() < timeout)
+      {
+         Thread.sleep(10);
+      }
+      Assert.assertEquals("external", config.getString("key"));
+   }
+
+   private File createTempFile() throws Exception
+   {
+      File file = File.createTempFile("configwritebehindtest", ".xml");
+      file.delete();
+      file.deleteOnExit();
+      return file;
+   }
+}
@@ -7,7 +7,12 @@
 
 package org.jboss.forge.addon.convert.impl;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 
 import javax.enterprise.inject.Vetoed;
 
@@ -28,23 +33,63 @@ import org.jboss.forge.addon.convert.exception.ConversionException;
 public class ConstructorConverter<SOURCETYPE, TARGETTYPE> extends AbstractConverter<SOURCETYPE, TARGETTYPE>
 {
    private final Constructor<TARGETTYPE> constructor;
+   private final MethodHandle handle;
 
    public ConstructorConverter(Class<SOURCETYPE> sourceType, Class<TARGETTYPE> targetType, Constructor<TARGETTYPE> constructor)
    {
       super(sourceType, targetType);
       this.constructor = constructor;
+      this.handle = toHandle(constructor);
+   }
+
+   /**
+    * Returns a {@link MethodHandle} of type <code>(Object)Object</code> invoking the given constructor, or
+    * <code>null</code> if the constructor cannot be accessed through a handle (it is then called through reflection).
+    */
+   private static MethodHandle toHandle(Constructor<?> constructor)
+   {
+      try
+      {
+         return MethodHandles.publicLookup().unreflectConstructor(constructor)
+                  .asType(MethodType.methodType(Object.class, Object.class));
+      }
+      catch (IllegalAccessException | WrongMethodTypeException e)
+      {
+         return null;
+      }
    }
 
    @Override
+   @SuppressWarnings("unchecked")
    public TARGETTYPE convert(SOURCETYPE source)
    {
       try
       {
-         return constructor.newInstance(source);
+         return invoke(source);
       }
       catch (Exception e)
       {
          throw new ConversionException("Could not convert [" + source + "] to type [" + getTargetType() + "]", e);
       }
    }
+
+   @SuppressWarnings("unchecked")
+   private TARGETTYPE invoke(SOURCETYPE source) throws Exception
+   {
+      if (handle == null)
+         return constructor.newInstance(source);
+      try
+      {
+         return (TARGETTYPE) handle.invokeExact((Object) source);
+      }
+      catch (RuntimeException | Error e)
+      {
+         throw e;
+      }
+      catch (Throwable e)
+      {
+         // A checked exception thrown by the member, reported as reflection does
+         throw new InvocationTargetException(e);
+      }
+   }
 }
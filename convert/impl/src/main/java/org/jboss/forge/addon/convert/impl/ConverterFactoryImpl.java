@@ -7,6 +7,9 @@
 
 package org.jboss.forge.addon.convert.impl;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -17,15 +20,81 @@ import org.jboss.forge.addon.convert.exception.ConverterNotFoundException;
 import org.jboss.forge.furnace.addons.AddonRegistry;
 import org.jboss.forge.furnace.services.Imported;
 
+/**
+ * Resolved converters (and the source/target pairs that have no converter) are cached until the {@link AddonRegistry}
+ * changes.
+ */
 @Singleton
 public class ConverterFactoryImpl implements ConverterFactory
 {
+   /**
+    * Cached in place of a converter for the source/target pairs that cannot be converted
+    */
+   private static final Object NOT_FOUND = new Object();
+
    @Inject
    private AddonRegistry registry;
 
+   private volatile ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, Object>> converters = new ConcurrentHashMap<>();
+   private volatile long version = -1;
+
    @Override
    @SuppressWarnings({ "unchecked" })
    public <S, T> Converter<S, T> getConverter(Class<S> source, Class<T> target)
+   {
+      ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, Object>> cache = getCache();
+      ConcurrentMap<Class<?>, Object> bySource = cache.get(source);
+      if (bySource == null)
+      {
+         bySource = new ConcurrentHashMap<>();
+         ConcurrentMap<Class<?>, Object> existing = cache.putIfAbsent(source, bySource);
+         if (existing != null)
+            bySource = existing;
+      }
+      Object result = bySource.get(target);
+      if (result == null)
+      {
+         try
+         {
+            result = createConverter(source, target);
+         }
+         catch (ConverterNotFoundException e)
+         {
+            result = NOT_FOUND;
+         }
+         if (result != null)
+            bySource.put(target, result);
+      }
+      if (result == NOT_FOUND)
+      {
+         throw new ConverterNotFoundException(source, target);
+      }
+      return (Converter<S, T>) result;
+   }
+
+   /**
+    * Returns the converter cache, discarding it whenever the {@link AddonRegistry} changes, since converter generators
+    * and the exported services may have been added or removed.
+    */
+   private ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, Object>> getCache()
+   {
+      long current = registry.getVersion();
+      if (current != version)
+      {
+         synchronized (this)
+         {
+            if (current != version)
+            {
+               converters = new ConcurrentHashMap<>();
+               version = current;
+            }
+         }
+      }
+      return converters;
+   }
+
+   @SuppressWarnings({ "unchecked" })
+   private <S, T> Converter<S, T> createConverter(Class<S> source, Class<T> target)
    {
       Converter<S, T> result = null;
       Imported<ConverterGenerator> instances = registry.getServices(ConverterGenerator.class);
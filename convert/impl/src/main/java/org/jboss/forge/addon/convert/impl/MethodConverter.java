@@ -7,7 +7,13 @@
 
 package org.jboss.forge.addon.convert.impl;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 import javax.enterprise.inject.Vetoed;
 
@@ -19,6 +25,7 @@ public class MethodConverter<S, T> extends AbstractConverter<S, T>
 {
    private final Object instance;
    private final Method method;
+   private final MethodHandle handle;
 
    /**
     * Creates a converter based in a method
@@ -33,6 +40,29 @@ public class MethodConverter<S, T> extends AbstractConverter<S, T>
       super(sourceType, targetType);
       this.instance = instance;
       this.method = method;
+      this.handle = toHandle(instance, method);
+   }
+
+   /**
+    * Returns a {@link MethodHandle} of type <code>(Object)Object</code> invoking the given method, or
+    * <code>null</code> if the method cannot be accessed through a handle (it is then called through reflection).
+    */
+   private static MethodHandle toHandle(Object instance, Method method)
+   {
+      boolean isStatic = Modifier.isStatic(method.getModifiers());
+      if (!isStatic && instance == null)
+         return null;
+      try
+      {
+         MethodHandle result = MethodHandles.publicLookup().unreflect(method);
+         if (!isStatic)
+            result = result.bindTo(instance);
+         return result.asType(MethodType.methodType(Object.class, Object.class));
+      }
+      catch (IllegalAccessException | WrongMethodTypeException | ClassCastException e)
+      {
+         return null;
+      }
    }
 
    @Override
@@ -41,11 +71,31 @@ public class MethodConverter<S, T> extends AbstractConverter<S, T>
    {
       try
       {
-         return (T) method.invoke(instance, source);
+         return invoke(source);
       }
       catch (Exception e)
       {
          throw new ConversionException("Could not convert [" + source + "] to type [" + getTargetType() + "]", e);
       }
    }
+
+   @SuppressWarnings("unchecked")
+   private T invoke(S source) throws Exception
+   {
+      if (handle == null)
+         return (T) method.invoke(instance, source);
+      try
+      {
+         return (T) handle.invokeExact((Object) source);
+      }
+      catch (RuntimeException | Error e)
+      {
+         throw e;
+      }
+      catch (Throwable e)
+      {
+         // A checked exception thrown by the member, reported as reflection does
+         throw new InvocationTargetException(e);
+      }
+   }
 }
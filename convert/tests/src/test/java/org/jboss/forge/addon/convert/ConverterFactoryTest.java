@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.convert;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.addon.convert.exception.ConversionException;
+import org.jboss.forge.addon.convert.exception.ConverterNotFoundException;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.Dependencies;
+import org.jboss.forge.arquillian.archive.ForgeArchive;
+import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class ConverterFactoryTest
+{
+   @Deployment
+   @Dependencies({
+            @AddonDependency(name = "org.jboss.forge.addon:convert"),
+            @AddonDependency(name = "org.jboss.forge.furnace.container:cdi")
+   })
+   public static ForgeArchive getDeployment()
+   {
+      ForgeArchive archive = ShrinkWrap
+               .create(ForgeArchive.class)
+               .addBeansXML()
+               .addClass(CountingConverterGenerator.class)
+               .addAsAddonDependencies(
+                        AddonDependencyEntry.create("org.jboss.forge.furnace.container:cdi"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:convert")
+               );
+
+      return archive;
+   }
+
+   @Inject
+   private ConverterFactory converterFactory;
+
+   @Test
+   public void testConverterIsCached() throws Exception
+   {
+      Converter<String, Long> converter = converterFactory.getConverter(String.class, Long.class);
+      int lookups = CountingConverterGenerator.getLookups(String.class, Long.class);
+      Assert.assertTrue(lookups > 0);
+      for (int i = 0; i < 3; i++)
+      {
+         converterFactory.getConverter(String.class, Long.class);
+      }
+      Assert.assertEquals(lookups, CountingConverterGenerator.getLookups(String.class, Long.class));
+      Assert.assertEquals(Long.valueOf(123L), converter.convert("123"));
+   }
+
+   @Test
+   public void testConstructorConversion() throws Exception
+   {
+      Converter<String, StringBuilder> converter = converterFactory.getConverter(String.class, StringBuilder.class);
+      Assert.assertEquals("forge", converter.convert("forge").toString());
+   }
+
+   @Test(expected = ConversionException.class)
+   public void testConversionFailure() throws Exception
+   {
+      converterFactory.getConverter(String.class, Integer.class).convert("forge");
+   }
+
+   @Test
+   public void testConverterNotFoundIsRemembered() throws Exception
+   {
+      assertConverterNotFound(Object.class, Thread.class);
+      int lookups = CountingConverterGenerator.getLookups(Object.class, Thread.class);
+      Assert.assertTrue(lookups > 0);
+      assertConverterNotFound(Object.class, Thread.class);
+      Assert.assertEquals(lookups, CountingConverterGenerator.getLookups(Object.class, Thread.class));
+   }
+
+   private void assertConverterNotFound(Class<?> source, Class<?> target)
+   {
+      try
+      {
+         converterFactory.getConverter(source, target);
+         Assert.fail("Should have thrown " + ConverterNotFoundException.class.getSimpleName());
+      }
+      catch (ConverterNotFoundException e)
+      {
+         // expected
+      }
+   }
+}
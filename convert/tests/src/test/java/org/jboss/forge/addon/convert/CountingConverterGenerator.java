@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.convert;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handles no conversion, but counts how many times the {@link ConverterFactory} asked it about each source/target
+ * pair, which happens each time a converter is searched for.
+ */
+public class CountingConverterGenerator implements ConverterGenerator
+{
+   private static final ConcurrentMap<String, AtomicInteger> lookups = new ConcurrentHashMap<>();
+
+   public static int getLookups(Class<?> source, Class<?> target)
+   {
+      AtomicInteger count = lookups.get(key(source, target));
+      return count == null ? 0 : count.get();
+   }
+
+   @Override
+   public boolean handles(Class<?> source, Class<?> target)
+   {
+      AtomicInteger count = lookups.get(key(source, target));
+      if (count == null)
+      {
+         AtomicInteger existing = lookups.putIfAbsent(key(source, target), count = new AtomicInteger());
+         if (existing != null)
+            count = existing;
+      }
+      count.incrementAndGet();
+      return false;
+   }
+
+   @Override
+   public Converter<?, ?> generateConverter(Class<?> source, Class<?> target)
+   {
+      throw new UnsupportedOperationException();
+   }
+
+   @Override
+   public Class<? extends Converter<?, ?>> getConverterType()
+   {
+      return null;
+   }
+
+   private static String key(Class<?> source, Class<?> target)
+   {
+      return source.getName() + "->" + target.getName();
+   }
+}
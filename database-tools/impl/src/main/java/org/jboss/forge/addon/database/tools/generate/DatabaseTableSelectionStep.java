@@ -3,6 +3,7 @@ package org.jboss.forge.addon.database.tools.generate;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -77,25 +78,13 @@ public class DatabaseTableSelectionStep implements UIWizardStep
 
    private JDBCMetaDataConfiguration jmdc;
 
-   @SuppressWarnings("unchecked")
    @Override
    public void initializeUI(UIBuilder builder) throws Exception
    {
-      jmdc = new JDBCMetaDataConfiguration();
-      jmdc.setProperties(descriptor.connectionProperties);
-      jmdc.setReverseEngineeringStrategy(createReverseEngineeringStrategy());
-      helper.buildMappings(descriptor.urls, descriptor.driverClass, jmdc);
-      Iterator<Object> iterator = jmdc.getTableMappings();
-      ArrayList<String> tables = new ArrayList<String>();
-      while (iterator.hasNext())
-      {
-         Object mapping = iterator.next();
-         if (mapping instanceof Table)
-         {
-            Table table = (Table) mapping;
-            tables.add(table.getName());
-         }
-      }
+      // Only the table names are read here, their columns are read once the tables are selected
+      List<String> tables = helper.getTableNames(descriptor.urls, descriptor.driverClass,
+               descriptor.connectionProperties,
+               descriptor.connectionProperties.getProperty("hibernate.default_schema"), null);
       databaseTables.setValueChoices(tables);
       databaseTables.setDefaultValue(tables);
       builder.add(databaseTables);
@@ -173,6 +162,10 @@ public class DatabaseTableSelectionStep implements UIWizardStep
    private Collection<String> exportSelectedEntities()
    {
       final Collection<String> selectedTableNames = getSelectedTableNames();
+      jmdc = new JDBCMetaDataConfiguration();
+      jmdc.setProperties(descriptor.connectionProperties);
+      jmdc.setReverseEngineeringStrategy(createReverseEngineeringStrategy());
+      helper.buildMappings(descriptor.urls, descriptor.driverClass, jmdc, selectedTableNames);
       JavaSourceFacet java = descriptor.selectedProject.getFacet(JavaSourceFacet.class);
       POJOExporter pj = new POJOExporter(jmdc, java.getSourceDirectory()
                .getUnderlyingResourceObject())
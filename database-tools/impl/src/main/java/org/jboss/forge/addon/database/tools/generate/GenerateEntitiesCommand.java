@@ -1,8 +1,8 @@
 package org.jboss.forge.addon.database.tools.generate;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -15,14 +15,12 @@ import org.jboss.forge.addon.database.tools.util.HibernateToolsHelper;
 import org.jboss.forge.addon.javaee.jpa.JPAFacet;
 import org.jboss.forge.addon.parser.java.facets.JavaSourceFacet;
 import org.jboss.forge.addon.parser.java.resources.JavaResource;
-import org.jboss.forge.addon.parser.java.resources.JavaResourceVisitor;
 import org.jboss.forge.addon.projects.Project;
 import org.jboss.forge.addon.projects.ProjectFactory;
 import org.jboss.forge.addon.projects.facets.MetadataFacet;
 import org.jboss.forge.addon.projects.ui.AbstractProjectCommand;
 import org.jboss.forge.addon.resource.FileResource;
 import org.jboss.forge.addon.resource.ResourceFactory;
-import org.jboss.forge.addon.resource.visit.VisitContext;
 import org.jboss.forge.addon.ui.context.UIBuilder;
 import org.jboss.forge.addon.ui.context.UIContext;
 import org.jboss.forge.addon.ui.context.UIExecutionContext;
@@ -38,7 +36,6 @@ import org.jboss.forge.addon.ui.util.Categories;
 import org.jboss.forge.addon.ui.util.Metadata;
 import org.jboss.forge.addon.ui.wizard.UIWizard;
 import org.jboss.forge.furnace.util.Strings;
-import org.jboss.forge.roaster.model.source.JavaSource;
 
 public class GenerateEntitiesCommand extends AbstractProjectCommand implements
          UIWizard
@@ -180,30 +177,18 @@ public class GenerateEntitiesCommand extends AbstractProjectCommand implements
     */
    private String calculateModelPackage(Project project)
    {
-      final String[] value = new String[1];
-      project.getFacet(JavaSourceFacet.class).visitJavaSources(new JavaResourceVisitor()
+      String value = null;
+      JavaSourceFacet facet = project.getFacet(JavaSourceFacet.class);
+      List<JavaResource> entities = facet.findTypesAnnotatedWith(Entity.class.getName());
+      if (!entities.isEmpty())
       {
-         @Override
-         public void visit(VisitContext context, JavaResource javaResource)
-         {
-            try
-            {
-               JavaSource<?> javaSource = javaResource.getJavaType();
-               if (javaSource.hasAnnotation(Entity.class))
-               {
-                  value[0] = javaSource.getPackage();
-               }
-            }
-            catch (FileNotFoundException ignore)
-            {
-            }
-         }
-      });
-      if (value[0] == null)
+         value = facet.calculatePackage(entities.get(entities.size() - 1));
+      }
+      if (value == null)
       {
-         value[0] = project.getFacet(MetadataFacet.class).getTopLevelPackage() + ".model";
+         value = project.getFacet(MetadataFacet.class).getTopLevelPackage() + ".model";
       }
-      return value[0];
+      return value;
    }
 
    @Override
@@ -3,32 +3,83 @@ package org.jboss.forge.addon.database.tools.util;
 import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLClassLoader;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.Driver;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.event.Observes;
+import javax.inject.Singleton;
 
 import org.hibernate.cfg.JDBCMetaDataConfiguration;
+import org.hibernate.cfg.reveng.DefaultReverseEngineeringStrategy;
+import org.hibernate.cfg.reveng.DelegatingReverseEngineeringStrategy;
+import org.hibernate.cfg.reveng.ReverseEngineeringStrategy;
+import org.hibernate.cfg.reveng.TableIdentifier;
 import org.jboss.forge.addon.resource.FileResource;
+import org.jboss.forge.furnace.container.cdi.events.Local;
+import org.jboss.forge.furnace.event.PreShutdown;
 
+@Singleton
 public class HibernateToolsHelper
 {
-      
+   private static final Logger log = Logger.getLogger(HibernateToolsHelper.class.getName());
+
+   /**
+    * How long (in milliseconds) a list of table names is served from the cache. May be overridden by the
+    * <code>org.jboss.forge.addon.database.tools.tableNames.maxAge</code> system property.
+    */
+   static final long DEFAULT_TABLE_NAMES_MAX_AGE = 5 * 60 * 1000;
+
+   private static final String[] TABLE_TYPES = { "TABLE", "VIEW" };
+
+   private final long tableNamesMaxAge = Long.getLong("org.jboss.forge.addon.database.tools.tableNames.maxAge",
+            DEFAULT_TABLE_NAMES_MAX_AGE);
+
+   private final Map<String, RegisteredDriver> drivers = new HashMap<String, RegisteredDriver>();
+   private final ConcurrentMap<String, TableNames> tableNames = new ConcurrentHashMap<String, TableNames>();
+
+   /**
+    * Reads the whole database schema into the given {@link JDBCMetaDataConfiguration} and builds its mappings.
+    */
    public void buildMappings(
-            URL[] urls, 
-            final String driverName, 
+            URL[] urls,
+            final String driverName,
             final JDBCMetaDataConfiguration result)
    {
-      UrlClassLoaderExecutor.execute(urls, new Runnable() {
+      RegisteredDriver driver;
+      try
+      {
+         driver = getDriver(urls, driverName);
+      }
+      catch (Exception e)
+      {
+         throw new IllegalStateException("Could not load the driver [" + driverName + "]", e);
+      }
+      UrlClassLoaderExecutor.execute(driver.classLoader, new Runnable() {
          @Override
          public void run()
          {
             try
             {
-               Driver driver = (Driver) Class.forName(
-                        driverName,
-                        true,
-                        Thread.currentThread().getContextClassLoader()).newInstance();
-               DriverManager.registerDriver(new DelegatingDriver(driver));
                result.readFromJDBC();
                result.buildMappings();
             }
@@ -40,15 +91,246 @@ public class HibernateToolsHelper
      });
    }
 
+   /**
+    * Reads the columns, keys and foreign keys of the given tables into the given {@link JDBCMetaDataConfiguration} and
+    * builds their mappings. The tables they reference, and the tables referencing them (such as many-to-many link
+    * tables) together with the tables those reference, are read as well so associations are detected as in a full
+    * read; filtering the generated entities down to the given tables is left to the exporter. The other tables of the
+    * database schema are skipped.
+    */
+   public void buildMappings(
+            URL[] urls,
+            final String driverName,
+            final JDBCMetaDataConfiguration result,
+            Collection<String> tables)
+   {
+      final Set<String> selection;
+      try
+      {
+         selection = readRelatedTableNames(getDriver(urls, driverName).driver, result.getProperties(), tables);
+      }
+      catch (Exception e)
+      {
+         throw new IllegalStateException("Could not read the tables related to " + tables, e);
+      }
+      ReverseEngineeringStrategy strategy = result.getReverseEngineeringStrategy();
+      if (strategy == null)
+      {
+         strategy = new DefaultReverseEngineeringStrategy();
+      }
+      result.setReverseEngineeringStrategy(new DelegatingReverseEngineeringStrategy(strategy)
+      {
+         @Override
+         public boolean excludeTable(TableIdentifier ti)
+         {
+            return !selection.contains(ti.getName()) || super.excludeTable(ti);
+         }
+      });
+      buildMappings(urls, driverName, result);
+   }
+
+   /**
+    * Returns the names of the tables and views matching the given schema and table name patterns, without reading
+    * their columns. The names are read once per connection and patterns, and then served from a cache for a while.
+    *
+    * @param schemaPattern a schema name pattern, as in {@link DatabaseMetaData#getTables}, or <code>null</code> to
+    *           list the tables of all the schemas
+    * @param tableNamePattern a table name pattern, as in {@link DatabaseMetaData#getTables}, or <code>null</code> to
+    *           list all the tables
+    */
+   public List<String> getTableNames(
+            URL[] urls,
+            String driverName,
+            Properties connectionProperties,
+            String schemaPattern,
+            String tableNamePattern)
+   {
+      String url = connectionProperties.getProperty("hibernate.connection.url");
+      String user = connectionProperties.getProperty("hibernate.connection.username");
+      String key = driverName + "|" + url + "|" + user + "|" + schemaPattern + "|" + tableNamePattern;
+      TableNames cached = tableNames.get(key);
+      if (cached != null && System.currentTimeMillis() - cached.timestamp < tableNamesMaxAge)
+      {
+         return cached.names;
+      }
+      try
+      {
+         RegisteredDriver driver = getDriver(urls, driverName);
+         List<String> names = readTableNames(driver.driver, connectionProperties, schemaPattern, tableNamePattern);
+         tableNames.put(key, new TableNames(names));
+         return names;
+      }
+      catch (Exception e)
+      {
+         throw new IllegalStateException("Could not read the tables of [" + url + "]", e);
+      }
+   }
+
+   /**
+    * Discards the cached table names, so they are read again from the database
+    */
+   public void clearTableNames()
+   {
+      tableNames.clear();
+   }
+
+   private List<String> readTableNames(Driver driver, Properties connectionProperties, String schemaPattern,
+            String tableNamePattern) throws SQLException
+   {
+      Connection connection = connect(driver, connectionProperties);
+      try
+      {
+         DatabaseMetaData metaData = connection.getMetaData();
+         Set<String> names = new LinkedHashSet<String>();
+         try (ResultSet tables = metaData.getTables(null, schemaPattern,
+                  tableNamePattern == null ? "%" : tableNamePattern, TABLE_TYPES))
+         {
+            while (tables.next())
+            {
+               names.add(tables.getString("TABLE_NAME"));
+            }
+         }
+         return Collections.unmodifiableList(new ArrayList<String>(names));
+      }
+      finally
+      {
+         connection.close();
+      }
+   }
+
+   private Set<String> readRelatedTableNames(Driver driver, Properties connectionProperties, Collection<String> tables)
+            throws SQLException
+   {
+      Connection connection = connect(driver, connectionProperties);
+      try
+      {
+         DatabaseMetaData metaData = connection.getMetaData();
+         Set<String> names = new HashSet<String>(tables);
+         for (String table : tables)
+         {
+            names.addAll(readKeyTables(metaData.getImportedKeys(null, null, table), "PKTABLE_NAME"));
+            for (String referencing : readKeyTables(metaData.getExportedKeys(null, null, table), "FKTABLE_NAME"))
+            {
+               names.add(referencing);
+               names.addAll(readKeyTables(metaData.getImportedKeys(null, null, referencing), "PKTABLE_NAME"));
+            }
+         }
+         return names;
+      }
+      finally
+      {
+         connection.close();
+      }
+   }
+
+   private static Set<String> readKeyTables(ResultSet keys, String column) throws SQLException
+   {
+      Set<String> names = new HashSet<String>();
+      try
+      {
+         while (keys.next())
+         {
+            names.add(keys.getString(column));
+         }
+      }
+      finally
+      {
+         keys.close();
+      }
+      return names;
+   }
+
+   private static Connection connect(Driver driver, Properties connectionProperties) throws SQLException
+   {
+      String url = connectionProperties.getProperty("hibernate.connection.url");
+      Properties info = new Properties();
+      String user = connectionProperties.getProperty("hibernate.connection.username");
+      if (user != null && !user.isEmpty())
+      {
+         info.setProperty("user", user);
+      }
+      String password = connectionProperties.getProperty("hibernate.connection.password");
+      if (password != null && !password.isEmpty())
+      {
+         info.setProperty("password", password);
+      }
+      Connection connection = driver.connect(url, info);
+      if (connection == null)
+      {
+         throw new SQLException("The driver does not accept the URL [" + url + "]");
+      }
+      return connection;
+   }
+
+   /**
+    * Loads the given driver and registers it into the {@link DriverManager}, once per driver and driver location
+    */
+   private synchronized RegisteredDriver getDriver(URL[] urls, String driverName) throws Exception
+   {
+      String key = driverName + "|" + Arrays.toString(urls);
+      RegisteredDriver result = drivers.get(key);
+      if (result == null)
+      {
+         ClassLoader classLoader = new URLClassLoader(urls == null ? new URL[0] : urls,
+                  Thread.currentThread().getContextClassLoader());
+         Driver driver = (Driver) Class.forName(driverName, true, classLoader).newInstance();
+         DelegatingDriver delegatingDriver = new DelegatingDriver(driver);
+         DriverManager.registerDriver(delegatingDriver);
+         result = new RegisteredDriver(classLoader, delegatingDriver);
+         drivers.put(key, result);
+      }
+      return result;
+   }
+
+   synchronized void shutdown(@Observes @Local PreShutdown event)
+   {
+      for (RegisteredDriver registered : drivers.values())
+      {
+         try
+         {
+            DriverManager.deregisterDriver(registered.driver);
+         }
+         catch (SQLException e)
+         {
+            log.log(Level.FINE, "Could not deregister driver", e);
+         }
+      }
+      drivers.clear();
+      tableNames.clear();
+   }
+
    public URL[] getDriverUrls(FileResource<?> resource)
    {
       try {
          File file = (File)resource.getUnderlyingResourceObject();
          ArrayList<URL> result = new ArrayList<URL>(1);
-         result.add(file.toURI().toURL());  
+         result.add(file.toURI().toURL());
          return result.toArray(new URL[1]);
       } catch (MalformedURLException e) {
          return null;
       }
    }
+
+   private static class RegisteredDriver
+   {
+      private final ClassLoader classLoader;
+      private final Driver driver;
+
+      RegisteredDriver(ClassLoader classLoader, Driver driver)
+      {
+         this.classLoader = classLoader;
+         this.driver = driver;
+      }
+   }
+
+   private static class TableNames
+   {
+      private final List<String> names;
+      private final long timestamp = System.currentTimeMillis();
+
+      TableNames(List<String> names)
+      {
+         this.names = names;
+      }
+   }
 }
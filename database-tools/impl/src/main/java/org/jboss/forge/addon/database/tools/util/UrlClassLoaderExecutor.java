@@ -15,5 +15,15 @@ public class UrlClassLoaderExecutor {
 			Thread.currentThread().setContextClassLoader(savedClassLoader);
 		}
 	}
+
+	public static void execute(ClassLoader classLoader, Runnable runnable) {
+		ClassLoader savedClassLoader = Thread.currentThread().getContextClassLoader();
+		try {
+			Thread.currentThread().setContextClassLoader(classLoader);
+			runnable.run();
+		} finally {
+			Thread.currentThread().setContextClassLoader(savedClassLoader);
+		}
+	}
 	
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.addon.database.tools.util;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+
+import javax.inject.Inject;
+
+import org.hibernate.cfg.JDBCMetaDataConfiguration;
+import org.hibernate.mapping.ManyToOne;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Table;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.addon.dependencies.Dependency;
+import org.jboss.forge.addon.dependencies.DependencyResolver;
+import org.jboss.forge.addon.dependencies.builder.DependencyQueryBuilder;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.Dependencies;
+import org.jboss.forge.arquillian.archive.ForgeArchive;
+import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class HibernateToolsHelperTest
+{
+   private static final String URL = "jdbc:h2:mem:helper;DB_CLOSE_DELAY=-1;INIT="
+            + "CREATE TABLE IF NOT EXISTS CUSTOMER(ID INT PRIMARY KEY)\\;"
+            + "CREATE TABLE IF NOT EXISTS ORDERS(ID INT PRIMARY KEY, CUSTOMER_ID INT REFERENCES CUSTOMER(ID))\\;"
+            + "CREATE TABLE IF NOT EXISTS PRODUCT(ID INT PRIMARY KEY)\\;"
+            + "CREATE TABLE IF NOT EXISTS ORDERS_PRODUCT(ORDERS_ID INT REFERENCES ORDERS(ID), "
+            + "PRODUCT_ID INT REFERENCES PRODUCT(ID), PRIMARY KEY(ORDERS_ID, PRODUCT_ID))\\;"
+            + "CREATE TABLE IF NOT EXISTS SUPPLIER(ID INT PRIMARY KEY)";
+
+   @Deployment
+   @Dependencies({
+            @AddonDependency(name = "org.jboss.forge.furnace.container:cdi"),
+            @AddonDependency(name = "org.jboss.forge.addon:database-tools"),
+            @AddonDependency(name = "org.jboss.forge.addon:maven")
+   })
+   public static ForgeArchive getDeployment()
+   {
+      ForgeArchive archive = ShrinkWrap
+               .create(ForgeArchive.class)
+               .addBeansXML()
+               .addAsAddonDependencies(
+                        AddonDependencyEntry.create("org.jboss.forge.furnace.container:cdi"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:maven"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:database-tools"));
+      return archive;
+   }
+
+   @Inject
+   private HibernateToolsHelper helper;
+
+   @Inject
+   private DependencyResolver resolver;
+
+   private URL[] urls;
+   private Properties properties;
+
+   @Before
+   public void setup() throws Exception
+   {
+      Dependency h2 = resolver.resolveArtifact(DependencyQueryBuilder.create("com.h2database:h2:1.3.167"));
+      urls = helper.getDriverUrls(h2.getArtifact());
+      properties = new Properties();
+      properties.setProperty("hibernate.connection.driver_class", "org.h2.Driver");
+      properties.setProperty("hibernate.connection.url", URL);
+      properties.setProperty("hibernate.connection.username", "sa");
+      properties.setProperty("hibernate.connection.password", "");
+      properties.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+   }
+
+   @Test
+   public void testGetTableNames() throws Exception
+   {
+      List<String> tables = helper.getTableNames(urls, "org.h2.Driver", properties, "PUBLIC", null);
+      Assert.assertEquals(Arrays.asList("CUSTOMER", "ORDERS", "ORDERS_PRODUCT", "PRODUCT", "SUPPLIER"), tables);
+      Assert.assertSame(tables, helper.getTableNames(urls, "org.h2.Driver", properties, "PUBLIC", null));
+      Assert.assertEquals(Arrays.asList("CUSTOMER"),
+               helper.getTableNames(urls, "org.h2.Driver", properties, "PUBLIC", "CUST%"));
+   }
+
+   @Test
+   public void testBuildMappingsOfSelectedTables() throws Exception
+   {
+      List<String> mapped = buildMappings("CUSTOMER", "ORDERS");
+      Assert.assertTrue(mapped.contains("CUSTOMER"));
+      Assert.assertTrue(mapped.contains("ORDERS"));
+      Assert.assertFalse(mapped.contains("SUPPLIER"));
+   }
+
+   @Test
+   public void testBuildMappingsReadsRelatedTables() throws Exception
+   {
+      List<String> mapped = buildMappings("ORDERS");
+      // The referenced table, and the link table with the table it links to
+      Assert.assertTrue(mapped.contains("CUSTOMER"));
+      Assert.assertTrue(mapped.contains("ORDERS_PRODUCT"));
+      Assert.assertTrue(mapped.contains("PRODUCT"));
+      Assert.assertFalse(mapped.contains("SUPPLIER"));
+   }
+
+   @Test
+   public void testBuildMappingsOfOneOfTwoRelatedTables() throws Exception
+   {
+      JDBCMetaDataConfiguration configuration = new JDBCMetaDataConfiguration();
+      configuration.setProperties(properties);
+      helper.buildMappings(urls, "org.h2.Driver", configuration, Arrays.asList("CUSTOMER"));
+      // The foreign key of ORDERS is still mapped as an association, not as a plain column
+      PersistentClass orders = getClassMapping(configuration, "ORDERS");
+      Assert.assertNotNull(orders);
+      Assert.assertTrue(orders.getProperty("customer").getValue() instanceof ManyToOne);
+   }
+
+   private List<String> buildMappings(String... tables)
+   {
+      JDBCMetaDataConfiguration configuration = new JDBCMetaDataConfiguration();
+      configuration.setProperties(properties);
+      helper.buildMappings(urls, "org.h2.Driver", configuration, Arrays.asList(tables));
+      List<String> mapped = new ArrayList<String>();
+      Iterator<?> iterator = configuration.getTableMappings();
+      while (iterator.hasNext())
+      {
+         mapped.add(((Table) iterator.next()).getName());
+      }
+      return mapped;
+   }
+
+   private static PersistentClass getClassMapping(JDBCMetaDataConfiguration configuration, String table)
+   {
+      Iterator<?> iterator = configuration.getClassMappings();
+      while (iterator.hasNext())
+      {
+         PersistentClass mapping = (PersistentClass) iterator.next();
+         if (table.equals(mapping.getTable().getName()))
+         {
+            return mapping;
+         }
+      }
+      return null;
+   }
+}
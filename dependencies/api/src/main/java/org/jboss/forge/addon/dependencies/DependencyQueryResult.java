@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.dependencies;
+
+/**
+ * The outcome of a single {@link DependencyQuery} resolved as part of a batch. Holds either the resolved value or the
+ * error that prevented its resolution.
+ *
+ * @param <T> the type of the resolved value
+ */
+public final class DependencyQueryResult<T>
+{
+   private final DependencyQuery query;
+   private final T result;
+   private final Throwable error;
+
+   private DependencyQueryResult(DependencyQuery query, T result, Throwable error)
+   {
+      this.query = query;
+      this.result = result;
+      this.error = error;
+   }
+
+   /**
+    * Create a successful {@link DependencyQueryResult}
+    */
+   public static <T> DependencyQueryResult<T> success(DependencyQuery query, T result)
+   {
+      return new DependencyQueryResult<>(query, result, null);
+   }
+
+   /**
+    * Create a failed {@link DependencyQueryResult}
+    */
+   public static <T> DependencyQueryResult<T> failure(DependencyQuery query, Throwable error)
+   {
+      return new DependencyQueryResult<>(query, null, error);
+   }
+
+   /**
+    * Return the {@link DependencyQuery} this result belongs to.
+    */
+   public DependencyQuery getQuery()
+   {
+      return query;
+   }
+
+   /**
+    * Return the resolved value.
+    *
+    * @throws DependencyException if the query could not be resolved
+    */
+   public T get()
+   {
+      if (error != null)
+      {
+         throw new DependencyException("Could not resolve query [" + query + "]", error);
+      }
+      return result;
+   }
+
+   /**
+    * Return the error that prevented the resolution of the query, or <code>null</code> if it was successful.
+    */
+   public Throwable getError()
+   {
+      return error;
+   }
+
+   /**
+    * Return <code>true</code> if the query was resolved successfully.
+    */
+   public boolean isSuccess()
+   {
+      return error == null;
+   }
+
+   @Override
+   public String toString()
+   {
+      return query + " -> " + (error == null ? result : error);
+   }
+}
@@ -7,6 +7,7 @@
 
 package org.jboss.forge.addon.dependencies;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -40,6 +41,24 @@ public interface DependencyResolver
     */
    List<Coordinate> resolveVersions(DependencyQuery query);
 
+   /**
+    * Resolve the versions for each of the given {@link DependencyQuery} objects, as
+    * {@link #resolveVersions(DependencyQuery)} does. Queries may be resolved concurrently.
+    * <p>
+    * Results are returned in the same order as the given queries. A query that fails does not affect the others: its
+    * error is reported in the corresponding {@link DependencyQueryResult}.
+    */
+   List<DependencyQueryResult<List<Coordinate>>> resolveVersions(Collection<? extends DependencyQuery> queries);
+
+   /**
+    * Resolve a single {@link Dependency} for each of the given {@link DependencyQuery} objects, as
+    * {@link #resolveArtifact(DependencyQuery)} does. Queries may be resolved concurrently.
+    * <p>
+    * Results are returned in the same order as the given queries. A query that fails does not affect the others: its
+    * error is reported in the corresponding {@link DependencyQueryResult}.
+    */
+   List<DependencyQueryResult<Dependency>> resolveArtifacts(Collection<? extends DependencyQuery> queries);
+
    /**
     * Resolve {@link DependencyMetadata} for a given {@link DependencyQuery}, searching the default repository. This
     * returns information about the configured repositories, dependencies, and managed dependencies of the given query.
@@ -1,11 +1,13 @@
 package org.jboss.forge.addon.facets;
 
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 
@@ -17,6 +19,12 @@ public abstract class AbstractFaceted<FACETTYPE extends Facet<?>> implements Mut
 {
    private Set<FACETTYPE> facets = Collections.newSetFromMap(new ConcurrentHashMap<FACETTYPE, Boolean>());
 
+   /**
+    * The registered facets assignable to each requested type. Replaced (never cleared) whenever the registered facets
+    * change, so lookups computed concurrently from the previous facets cannot leak into the new cache.
+    */
+   private volatile ConcurrentMap<Class<?>, List<FACETTYPE>> lookup = new ConcurrentHashMap<>();
+
    @Override
    public boolean hasFacet(Class<? extends FACETTYPE> type)
    {
@@ -76,6 +84,7 @@ public abstract class AbstractFaceted<FACETTYPE extends Facet<?>> implements Mut
          if (facet.isInstalled() || facet.install())
          {
             facets.add(facet);
+            invalidateLookup();
             return true;
          }
       }
@@ -96,6 +105,7 @@ public abstract class AbstractFaceted<FACETTYPE extends Facet<?>> implements Mut
          if (facet.isInstalled())
          {
             facets.add(facet);
+            invalidateLookup();
             return true;
          }
       }
@@ -106,15 +116,7 @@ public abstract class AbstractFaceted<FACETTYPE extends Facet<?>> implements Mut
    @SuppressWarnings("unchecked")
    public <F extends FACETTYPE> Iterable<F> getFacets(Class<F> type)
    {
-      Set<F> result = new HashSet<F>();
-      for (FACETTYPE facet : facets)
-      {
-         if (type.isInstance(facet))
-         {
-            result.add((F) facet);
-         }
-      }
-      return result;
+      return (Iterable<F>) lookup(type);
    }
 
    /**
@@ -127,30 +129,66 @@ public abstract class AbstractFaceted<FACETTYPE extends Facet<?>> implements Mut
     */
    @SuppressWarnings("unchecked")
    private <F extends FACETTYPE> F safeGetFacet(Class<F> type)
+   {
+      List<FACETTYPE> result = lookup(type);
+      return result.isEmpty() ? null : (F) result.get(0);
+   }
 
+   /**
+    * Returns the registered facets that are instances of the given type, scanning them only the first time the type
+    * is requested since the last change.
+    */
+   private List<FACETTYPE> lookup(Class<?> type)
    {
-      for (FACETTYPE facet : facets)
+      ConcurrentMap<Class<?>, List<FACETTYPE>> cache = lookup;
+      List<FACETTYPE> result = cache.get(type);
+      if (result == null)
       {
-         if (type.isInstance(facet))
+         List<FACETTYPE> found = new ArrayList<>();
+         for (FACETTYPE facet : facets)
          {
-            return (F) facet;
+            if (type.isInstance(facet))
+            {
+               found.add(facet);
+            }
          }
+         result = found.isEmpty() ? Collections.<FACETTYPE> emptyList() : Collections.unmodifiableList(found);
+         cache.put(type, result);
       }
-      return null;
+      return result;
+   }
+
+   private void invalidateLookup()
+   {
+      lookup = new ConcurrentHashMap<>();
    }
 
    @Override
    public boolean uninstall(FACETTYPE facet)
    {
-      return facet.isInstalled() ?
-               (facet.uninstall() && facets.remove(facet))
-               : (!facets.contains(facet) || facets.remove(facet));
+      try
+      {
+         return facet.isInstalled() ?
+                  (facet.uninstall() && facets.remove(facet))
+                  : (!facets.contains(facet) || facets.remove(facet));
+      }
+      finally
+      {
+         invalidateLookup();
+      }
    }
 
    @Override
    public boolean unregister(FACETTYPE facet)
    {
-      return facet.isInstalled() ? false : facets.remove(facet);
+      try
+      {
+         return facet.isInstalled() ? false : facets.remove(facet);
+      }
+      finally
+      {
+         invalidateLookup();
+      }
    }
 
 }
@@ -99,6 +99,33 @@ public class FacetedTest
       Assert.assertTrue(faceted.uninstall(facet));
    }
 
+   @Test
+   public void testLookupIsRefreshedOnChange()
+   {
+      MockFaceted faceted = new MockFaceted();
+      MockFacet facet = new MockFacet(faceted);
+      MockFacet3 facet3 = new MockFacet3(faceted);
+
+      Assert.assertFalse(faceted.hasFacet(MockFacet.class));
+      Assert.assertTrue(faceted.install(facet));
+      Assert.assertTrue(faceted.hasFacet(MockFacet.class));
+      Assert.assertFalse(faceted.hasFacet(MockFacet3.class));
+
+      Assert.assertTrue(faceted.install(facet3));
+      Assert.assertTrue(faceted.hasAllFacets(MockFacet.class, MockFacet3.class));
+      int count = 0;
+      for (MockFacet found : faceted.getFacets(MockFacet.class))
+      {
+         Assert.assertTrue(found == facet || found == facet3);
+         count++;
+      }
+      Assert.assertEquals(2, count);
+
+      Assert.assertTrue(faceted.uninstall(facet3));
+      Assert.assertFalse(faceted.hasFacet(MockFacet3.class));
+      Assert.assertEquals(facet, faceted.getFacet(MockFacet.class));
+   }
+
    @Test
    public void testSupports()
    {
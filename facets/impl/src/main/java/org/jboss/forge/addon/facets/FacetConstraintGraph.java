@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.addon.facets;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.forge.addon.facets.constraints.FacetConstraint;
+import org.jboss.forge.addon.facets.constraints.FacetInspector;
+
+/**
+ * Caches the {@link FacetConstraint} declarations of {@link Facet} types, so they are inspected through reflection only
+ * once per type.
+ */
+class FacetConstraintGraph
+{
+   private final ConcurrentMap<Class<?>, Node> nodes = new ConcurrentHashMap<>();
+
+   /**
+    * Returns the {@link Node} holding the constraints of the given {@link Facet} type
+    */
+   Node getNode(Class<?> type)
+   {
+      Node node = nodes.get(type);
+      if (node == null)
+      {
+         node = new Node(type);
+         Node existing = nodes.putIfAbsent(type, node);
+         if (existing != null)
+            node = existing;
+      }
+      return node;
+   }
+
+   /**
+    * Returns all the {@link Facet} types required by the given type (directly or not), sorted so that every type comes
+    * after the types it requires.
+    */
+   <FACETTYPE extends Facet<?>> List<Class<FACETTYPE>> getInstallPlan(Class<?> type)
+   {
+      Node node = getNode(type);
+      List<Class<FACETTYPE>> plan = node.getInstallPlan();
+      if (plan == null)
+      {
+         List<Class<FACETTYPE>> result = new ArrayList<>();
+         Set<Class<?>> visited = new HashSet<>();
+         visited.add(type);
+         for (Class<FACETTYPE> requirement : node.<FACETTYPE> getRequiredFacets())
+         {
+            sort(requirement, visited, result);
+         }
+         plan = Collections.unmodifiableList(result);
+         node.installPlan = plan;
+      }
+      return plan;
+   }
+
+   private <FACETTYPE extends Facet<?>> void sort(Class<FACETTYPE> type, Set<Class<?>> visited,
+            List<Class<FACETTYPE>> result)
+   {
+      if (visited.add(type))
+      {
+         for (Class<FACETTYPE> requirement : getNode(type).<FACETTYPE> getRequiredFacets())
+         {
+            sort(requirement, visited, result);
+         }
+         result.add(type);
+      }
+   }
+
+   /**
+    * Discards all the cached constraints
+    */
+   void clear()
+   {
+      nodes.clear();
+   }
+
+   int size()
+   {
+      return nodes.size();
+   }
+
+   /**
+    * The constraints declared by a single {@link Facet} type
+    */
+   @SuppressWarnings({ "rawtypes", "unchecked" })
+   static class Node
+   {
+      private final boolean circular;
+      private final Set requiredFacets;
+      private final Set allRelatedFacets;
+      private final Set allRequiredFacets;
+      private volatile List installPlan;
+
+      Node(Class<?> type)
+      {
+         this.circular = FacetInspector.hasCircularConstraints(type);
+         this.requiredFacets = Collections.unmodifiableSet(FacetInspector.getRequiredFacets(type));
+         this.allRelatedFacets = Collections.unmodifiableSet(FacetInspector.getAllRelatedFacets(type));
+         this.allRequiredFacets = Collections.unmodifiableSet(FacetInspector.getAllRequiredFacets((Class) type));
+      }
+
+      /**
+       * Returns <code>true</code> if any circular dependencies are declared by this type
+       */
+      boolean hasCircularConstraints()
+      {
+         return circular;
+      }
+
+      /**
+       * Returns the {@link Facet} types directly required by this type
+       */
+      <FACETTYPE extends Facet<?>> Set<Class<FACETTYPE>> getRequiredFacets()
+      {
+         return requiredFacets;
+      }
+
+      /**
+       * Returns all the {@link Facet} types related to this type, directly or not
+       */
+      <FACETTYPE extends Facet<?>> Set<Class<FACETTYPE>> getAllRelatedFacets()
+      {
+         return allRelatedFacets;
+      }
+
+      /**
+       * Returns all the {@link Facet} types required by this type, directly or not
+       */
+      <FACETTYPE extends Facet<?>> Set<Class<FACETTYPE>> getAllRequiredFacets()
+      {
+         return allRequiredFacets;
+      }
+
+      <FACETTYPE extends Facet<?>> List<Class<FACETTYPE>> getInstallPlan()
+      {
+         return installPlan;
+      }
+   }
+}
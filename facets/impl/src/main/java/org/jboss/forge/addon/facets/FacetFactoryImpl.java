@@ -33,6 +33,8 @@ public class FacetFactoryImpl implements FacetFactory, Service
    private static final Logger log = Logger.getLogger(FacetFactoryImpl.class.getName());
 
    private AddonRegistry registry;
+   private final FacetConstraintGraph constraintGraph = new FacetConstraintGraph();
+   private long constraintGraphVersion = -1;
 
    @Override
    public <FACETEDTYPE extends Faceted<?>, FACETTYPE extends Facet<FACETEDTYPE>> FACETTYPE create(
@@ -153,7 +155,9 @@ public class FacetFactoryImpl implements FacetFactory, Service
             }
          };
 
-      if (FacetInspector.hasCircularConstraints(facet.getClass()))
+      FacetConstraintGraph constraints = getConstraintGraph();
+      FacetConstraintGraph.Node node = constraints.getNode(facet.getClass());
+      if (node.hasCircularConstraints())
          throw new IllegalStateException("Circular dependencies detected in @" + FacetConstraint.class.getSimpleName()
                   + " annotation located at [" + facet.getClass().getName() + "]");
 
@@ -177,9 +181,11 @@ public class FacetFactoryImpl implements FacetFactory, Service
        */
       register(origin, facet);
 
-      Set<Class<FACETTYPE>> requiredFacets = FacetInspector.getRequiredFacets(facet.getClass());
-      List<Class<FACETTYPE>> facetsToInstall = new ArrayList<>();
-      for (Class<FACETTYPE> requirementType : requiredFacets)
+      /*
+       * Install all the requirements in dependency order, so each one finds its own requirements already installed.
+       */
+      Set<Class<FACETTYPE>> requiredFacets = node.getRequiredFacets();
+      for (Class<FACETTYPE> requirementType : constraints.<FACETTYPE> getInstallPlan(facet.getClass()))
       {
          boolean isSeen = false;
          for (Class<FACETTYPE> seenType : seen)
@@ -193,16 +199,11 @@ public class FacetFactoryImpl implements FacetFactory, Service
 
          if (!isSeen && !origin.hasFacet((Class) requirementType))
          {
-            facetsToInstall.add(requirementType);
+            FACETTYPE requirement = create(origin, requirementType);
+            install(seen, origin, requirement, filter);
          }
       }
 
-      for (Class<FACETTYPE> requirementType : facetsToInstall)
-      {
-         FACETTYPE requirement = create(origin, requirementType);
-         install(seen, origin, requirement, filter);
-      }
-
       boolean result = false;
       if (faceted.hasFacet((Class<? extends FACETTYPE>) facet.getClass()))
          result = true;
@@ -250,7 +251,8 @@ public class FacetFactoryImpl implements FacetFactory, Service
             Set<Class<FACETTYPE>> seen, FACETEDTYPE origin, FACETTYPE facet)
    {
       Class<? extends Facet> facetClass = facet.getClass();
-      if (FacetInspector.hasCircularConstraints(facetClass))
+      FacetConstraintGraph.Node node = getConstraintGraph().getNode(facetClass);
+      if (node.hasCircularConstraints())
          throw new IllegalStateException("Circular dependencies detected in @" + FacetConstraint.class.getSimpleName()
                   + " annotation located at [" + facetClass.getName() + "]");
 
@@ -269,8 +271,8 @@ public class FacetFactoryImpl implements FacetFactory, Service
                + MutableFaceted.class.getName() + "], and does not support " + Facet.class.getSimpleName()
                + " installation.");
 
-      final Set<Class<FACETTYPE>> relatedFacets = FacetInspector.getAllRelatedFacets(facetClass);
-      final Set<Class<FACETTYPE>> requiredFacets = FacetInspector.getAllRequiredFacets(facetClass);
+      final Set<Class<FACETTYPE>> relatedFacets = node.getAllRelatedFacets();
+      final Set<Class<FACETTYPE>> requiredFacets = node.getAllRequiredFacets();
 
       final List<Class<FACETTYPE>> facetsToRegister = new ArrayList<>();
       for (Class<FACETTYPE> relatedType : relatedFacets)
@@ -320,6 +322,24 @@ public class FacetFactoryImpl implements FacetFactory, Service
       return result;
    }
 
+   /**
+    * Returns the {@link FacetConstraintGraph}, discarding the cached constraints whenever the {@link AddonRegistry}
+    * changes, since the facet types may have been reloaded.
+    */
+   private FacetConstraintGraph getConstraintGraph()
+   {
+      AddonRegistry registry = getAddonRegistry();
+      synchronized (constraintGraph)
+      {
+         if (registry.getVersion() != constraintGraphVersion)
+         {
+            constraintGraph.clear();
+            constraintGraphVersion = registry.getVersion();
+         }
+      }
+      return constraintGraph;
+   }
+
    private AddonRegistry getAddonRegistry()
    {
       if (registry == null)
@@ -0,0 +1,22 @@
+package test.org.jboss.forge.addon.facets.constraints;
+
+import org.jboss.forge.addon.facets.constraints.FacetConstraint;
+
+import test.org.jboss.forge.addon.facets.factory.MockFacet;
+
+@FacetConstraint(FacetZ.class)
+public class FacetY extends MockFacet
+{
+   @Override
+   public boolean install()
+   {
+      return true;
+   }
+
+   @Override
+   public boolean isInstalled()
+   {
+      return getFaceted().hasFacet(getClass());
+   }
+
+}
@@ -0,0 +1,19 @@
+package test.org.jboss.forge.addon.facets.constraints;
+
+import test.org.jboss.forge.addon.facets.factory.MockFacet;
+
+public class FacetZ extends MockFacet
+{
+   @Override
+   public boolean install()
+   {
+      return true;
+   }
+
+   @Override
+   public boolean isInstalled()
+   {
+      return getFaceted().hasFacet(getClass());
+   }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package test.org.jboss.forge.addon.facets.constraints;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.forge.addon.facets.Facet;
+
+import test.org.jboss.forge.addon.facets.factory.MockFaceted;
+
+/**
+ * Records the types of the facets installed into it, in installation order.
+ */
+public class InstallOrderFaceted extends MockFaceted
+{
+   private final List<Class<?>> installed = new ArrayList<>();
+
+   @Override
+   public boolean install(Facet<?> facet)
+   {
+      boolean result = super.install(facet);
+      if (result)
+      {
+         installed.add(facet.getClass());
+      }
+      return result;
+   }
+
+   public List<Class<?>> getInstalled()
+   {
+      return installed;
+   }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package test.org.jboss.forge.addon.facets.constraints;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.addon.facets.FacetFactory;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.Dependencies;
+import org.jboss.forge.arquillian.archive.ForgeArchive;
+import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import test.org.jboss.forge.addon.facets.factory.MockFacet;
+import test.org.jboss.forge.addon.facets.factory.MockFaceted;
+
+@RunWith(Arquillian.class)
+public class FacetInstallPlanTest
+{
+   @Deployment
+   @Dependencies({
+            @AddonDependency(name = "org.jboss.forge.addon:facets"),
+            @AddonDependency(name = "org.jboss.forge.furnace.container:cdi")
+   })
+   public static ForgeArchive getDeployment()
+   {
+      ForgeArchive archive = ShrinkWrap
+               .create(ForgeArchive.class)
+               .addPackages(true, FacetA.class.getPackage())
+               .addClasses(MockFaceted.class, MockFacet.class)
+               .addBeansXML()
+               .addAsAddonDependencies(
+                        AddonDependencyEntry.create("org.jboss.forge.addon:facets"),
+                        AddonDependencyEntry.create("org.jboss.forge.furnace.container:cdi")
+               );
+      return archive;
+   }
+
+   @Inject
+   private FacetFactory facetFactory;
+
+   @Test
+   public void testTransitiveRequirementsAreInstalledFirst() throws Exception
+   {
+      InstallOrderFaceted faceted = new InstallOrderFaceted();
+      install(faceted, FacetX.class);
+
+      Assert.assertEquals(Arrays.<Class<?>> asList(FacetZ.class, FacetX.class), faceted.getInstalled());
+   }
+
+   @Test
+   public void testSharedRequirementIsInstalledOnce() throws Exception
+   {
+      InstallOrderFaceted faceted = new InstallOrderFaceted();
+      install(faceted, FacetW.class);
+
+      Assert.assertEquals(Arrays.<Class<?>> asList(FacetZ.class, FacetX.class, FacetY.class, FacetW.class),
+               faceted.getInstalled());
+      Assert.assertEquals(1, Collections.frequency(faceted.getInstalled(), FacetZ.class));
+   }
+
+   @Test
+   public void testInstalledRequirementsAreNotInstalledAgain() throws Exception
+   {
+      InstallOrderFaceted faceted = new InstallOrderFaceted();
+      install(faceted, FacetX.class);
+      install(faceted, FacetW.class);
+
+      Assert.assertEquals(Arrays.<Class<?>> asList(FacetZ.class, FacetX.class, FacetY.class, FacetW.class),
+               faceted.getInstalled());
+   }
+
+   @Test
+   public void testRequiringCircularDependenciesInstallsNothing() throws Exception
+   {
+      InstallOrderFaceted faceted = new InstallOrderFaceted();
+      for (int i = 0; i < 2; i++)
+      {
+         try
+         {
+            install(faceted, FacetR.class);
+            Assert.fail("Circular dependencies should have been detected");
+         }
+         catch (IllegalStateException e)
+         {
+            // expected, also once the constraints are cached
+         }
+      }
+      Assert.assertTrue(faceted.getInstalled().isEmpty());
+      Assert.assertFalse(faceted.hasFacet(FacetD.class));
+      Assert.assertFalse(faceted.hasFacet(FacetE.class));
+   }
+
+   private void install(MockFaceted faceted, Class<? extends MockFacet> type)
+   {
+      facetFactory.install(faceted, type);
+   }
+}
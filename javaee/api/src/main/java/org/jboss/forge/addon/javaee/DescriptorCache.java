@@ -0,0 +1,189 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.addon.javaee;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.enterprise.event.Observes;
+import javax.inject.Singleton;
+
+import org.jboss.forge.addon.resource.FileResource;
+import org.jboss.forge.furnace.container.cdi.events.Local;
+import org.jboss.forge.furnace.event.PreShutdown;
+import org.jboss.shrinkwrap.descriptor.api.Descriptor;
+import org.jboss.shrinkwrap.descriptor.spi.node.Node;
+import org.jboss.shrinkwrap.descriptor.spi.node.NodeDescriptor;
+
+/**
+ * Caches the descriptors imported from files, so that a descriptor read many times (as the scaffold and REST
+ * generators do for each entity) is only parsed again when its file changes. The cache is shared by all the facets
+ * reading the same file.
+ * <p/>
+ * Entries are validated with the last modification time and the length of their file. Files modified right before
+ * being read are also compared by contents, since writing them again may not change their modification time. Each
+ * call returns a copy of the cached descriptor, which callers may change and save freely.
+ * <p/>
+ * The number of cached descriptors is bounded by the <code>org.jboss.forge.addon.javaee.descriptorCache.maxEntries</code>
+ * system property; the least recently used one is discarded beyond it. The cache, and the importers held by
+ * {@link Descriptors}, are cleared when this addon stops, so that they do not hold on to its classes.
+ */
+@Singleton
+public class DescriptorCache
+{
+   /**
+    * Files modified less than this many milliseconds before being read are compared by contents
+    */
+   private static final long RACY_WINDOW = 2000;
+
+   private static final int MAX_ENTRIES = Integer.getInteger("org.jboss.forge.addon.javaee.descriptorCache.maxEntries",
+            64);
+
+   private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true)
+   {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest)
+      {
+         return size() > MAX_ENTRIES;
+      }
+   };
+
+   void shutdown(@Observes @Local PreShutdown event)
+   {
+      clear();
+      Descriptors.clearImporters();
+   }
+
+   /**
+    * Returns the descriptor of the given type held by the given file
+    */
+   public <T extends Descriptor> T importFrom(final Class<T> type, final FileResource<?> resource)
+   {
+      Object underlying = resource.getUnderlyingResourceObject();
+      if (!(underlying instanceof File) || resource.getResourceFactory().getTransaction().isStarted())
+      {
+         // The changes made in a transaction are not visible in the file
+         return Descriptors.importAs(type).fromStream(resource.getResourceInputStream());
+      }
+      File file = (File) underlying;
+      String path = file.getAbsolutePath();
+      long lastModified = file.lastModified();
+      long length = file.length();
+      Entry entry;
+      synchronized (this)
+      {
+         entry = entries.get(path);
+      }
+      long now = System.currentTimeMillis();
+      if (entry != null && entry.type == type && entry.lastModified == lastModified && entry.length == length
+               && (entry.contents == null || Arrays.equals(entry.contents, read(file))))
+      {
+         if (entry.contents != null && now - lastModified >= RACY_WINDOW)
+         {
+            synchronized (this)
+            {
+               if (entries.get(path) == entry)
+               {
+                  entries.put(path, new Entry(type, entry.descriptor, lastModified, length, null));
+               }
+            }
+         }
+         return copy(type, type.cast(entry.descriptor));
+      }
+
+      byte[] contents = read(file);
+      T descriptor = Descriptors.importAs(type).fromStream(new ByteArrayInputStream(contents));
+      if (descriptor instanceof NodeDescriptor && contents.length == length)
+      {
+         boolean racy = now - lastModified < RACY_WINDOW;
+         Entry newEntry = new Entry(type, copy(type, descriptor), lastModified, length, racy ? contents : null);
+         synchronized (this)
+         {
+            entries.put(path, newEntry);
+         }
+      }
+      return descriptor;
+   }
+
+   /**
+    * Discards the cached descriptor of the given file, if any
+    */
+   public synchronized void invalidate(final FileResource<?> resource)
+   {
+      Object underlying = resource.getUnderlyingResourceObject();
+      if (underlying instanceof File)
+      {
+         entries.remove(((File) underlying).getAbsolutePath());
+      }
+   }
+
+   /**
+    * Discards all the cached descriptors
+    */
+   public synchronized void clear()
+   {
+      entries.clear();
+   }
+
+   private static byte[] read(File file)
+   {
+      try
+      {
+         return Files.readAllBytes(file.toPath());
+      }
+      catch (IOException e)
+      {
+         throw new RuntimeException("Could not read descriptor [" + file + "]", e);
+      }
+   }
+
+   /**
+    * Copies the model of the given descriptor into a new descriptor of the same implementation, which is much faster
+    * than parsing it again
+    */
+   private static <T extends Descriptor> T copy(Class<T> type, T descriptor)
+   {
+      Node model = ((NodeDescriptor) descriptor).getRootNode().deepCopy();
+      try
+      {
+         return type.cast(descriptor.getClass().getConstructor(String.class, Node.class)
+                  .newInstance(descriptor.getDescriptorName(), model));
+      }
+      catch (ReflectiveOperationException e)
+      {
+         return Descriptors.importAs(type).fromString(descriptor.exportAsString());
+      }
+   }
+
+   private static class Entry
+   {
+      private final Class<?> type;
+      private final Descriptor descriptor;
+      private final long lastModified;
+      private final long length;
+      /**
+       * The contents the descriptor was parsed from, kept only if the file was modified right before
+       */
+      private final byte[] contents;
+
+      Entry(Class<?> type, Descriptor descriptor, long lastModified, long length, byte[] contents)
+      {
+         this.type = type;
+         this.descriptor = descriptor;
+         this.lastModified = lastModified;
+         this.length = length;
+         this.contents = contents;
+      }
+   }
+}
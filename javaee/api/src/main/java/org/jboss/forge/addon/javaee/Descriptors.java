@@ -8,6 +8,8 @@
 package org.jboss.forge.addon.javaee;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.forge.furnace.util.ClassLoaders;
 import org.jboss.shrinkwrap.descriptor.api.Descriptor;
@@ -20,6 +22,7 @@ import org.jboss.shrinkwrap.descriptor.api.DescriptorImporter;
  */
 public final class Descriptors
 {
+   private static final ConcurrentMap<Class<?>, DescriptorImporter<?>> importers = new ConcurrentHashMap<>();
 
    public static <T extends Descriptor> T create(final Class<T> type) throws IllegalArgumentException
    {
@@ -60,24 +63,43 @@ public final class Descriptors
       }
    }
 
+   /**
+    * Returns the {@link DescriptorImporter} of the given type. Importers are stateless, so they are created once per
+    * type.
+    */
+   @SuppressWarnings("unchecked")
    public static <T extends Descriptor> DescriptorImporter<T> importAs(final Class<T> type)
             throws IllegalArgumentException
    {
-      try
+      DescriptorImporter<T> importer = (DescriptorImporter<T>) importers.get(type);
+      if (importer == null)
       {
-         return ClassLoaders.executeIn(type.getClassLoader(), new Callable<DescriptorImporter<T>>()
+         try
          {
-            @Override
-            public DescriptorImporter<T> call() throws Exception
+            importer = ClassLoaders.executeIn(type.getClassLoader(), new Callable<DescriptorImporter<T>>()
             {
-               return org.jboss.shrinkwrap.descriptor.api.Descriptors.importAs(type);
-            }
-         });
-      }
-      catch (Exception e)
-      {
-         throw new RuntimeException(e);
+               @Override
+               public DescriptorImporter<T> call() throws Exception
+               {
+                  return org.jboss.shrinkwrap.descriptor.api.Descriptors.importAs(type);
+               }
+            });
+         }
+         catch (Exception e)
+         {
+            throw new RuntimeException(e);
+         }
+         importers.putIfAbsent(type, importer);
       }
+      return importer;
+   }
+
+   /**
+    * Discards the importers created so far
+    */
+   static void clearImporters()
+   {
+      importers.clear();
    }
 
    public static <T extends Descriptor> DescriptorImporter<T> importAs(final Class<T> type, final String descriptorName)
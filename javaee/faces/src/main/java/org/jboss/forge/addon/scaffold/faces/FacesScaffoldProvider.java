@@ -13,6 +13,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import javax.inject.Inject;
 import javax.persistence.CascadeType;
@@ -138,6 +144,7 @@ public class FacesScaffoldProvider implements ScaffoldProvider
    private static final String SCAFFOLD_META_WIDGET_QBE = "scaffold/faces/metawidget-qbe.xml";
    private static final String PAGINATOR = "/resources/scaffold/paginator.xhtml";
    private static final String SCAFFOLD_PAGINATOR = "/scaffold/faces/paginator.xhtml";
+   private static final String PARALLELISM_PROPERTY = "org.jboss.forge.addon.scaffold.faces.parallelism";
 
    private final Dependency richfaces3UI = DependencyBuilder.create("org.richfaces.ui:richfaces-ui");
    private final Dependency richfaces3Impl = DependencyBuilder.create("org.richfaces.framework:richfaces-impl");
@@ -232,6 +239,7 @@ public class FacesScaffoldProvider implements ScaffoldProvider
       setProject(project);
       List<Resource<?>> generatedResources = new ArrayList<Resource<?>>();
       Collection<?> resources = generationContext.getResources();
+      List<JavaClassSource> entities = new ArrayList<JavaClassSource>();
       for (Object resource : resources)
       {
          JavaSource<?> javaSource = null;
@@ -251,25 +259,49 @@ public class FacesScaffoldProvider implements ScaffoldProvider
          {
             continue;
          }
+         entities.add((JavaClassSource) javaSource);
+      }
+
+      String targetDir = generationContext.getTargetDirectory();
+      targetDir = (targetDir == null) ? "" : targetDir;
+      Resource<?> template = (Resource<?>) generationContext.getAttribute("pageTemplate");
+      boolean overwrite = generationContext.isOverwrite();
 
-         JavaClassSource entity = (JavaClassSource) javaSource;
-         String targetDir = generationContext.getTargetDirectory();
-         targetDir = (targetDir == null) ? "" : targetDir;
-         Resource<?> template = (Resource<?>) generationContext.getAttribute("pageTemplate");
-         boolean overwrite = generationContext.isOverwrite();
-         List<Resource<?>> generatedResourcesForEntity = this
-                  .generateFromEntity(targetDir, template, entity, overwrite);
-
-         // TODO give plugins a chance to react to generated resources, use event bus?
-         // if (!generatedResources.isEmpty())
-         // {
-         // generatedEvent.fire(new ScaffoldGeneratedResources(provider, prepareResources(generatedResources)));
-         // }
-         generatedResources.addAll(generatedResourcesForEntity);
+      int parallelism = getParallelism();
+      if (parallelism > 1 && entities.size() > 1)
+      {
+         generatedResources.addAll(generateFromEntities(targetDir, template, entities, overwrite,
+                  Math.min(parallelism, entities.size())));
+      }
+      else
+      {
+         for (JavaClassSource entity : entities)
+         {
+            List<Resource<?>> generatedResourcesForEntity = this
+                     .generateFromEntity(targetDir, template, entity, overwrite);
+
+            // TODO give plugins a chance to react to generated resources, use event bus?
+            // if (!generatedResources.isEmpty())
+            // {
+            // generatedEvent.fire(new ScaffoldGeneratedResources(provider, prepareResources(generatedResources)));
+            // }
+            generatedResources.addAll(generatedResourcesForEntity);
+         }
       }
       return generatedResources;
    }
 
+   /**
+    * Returns the number of threads used to render the entities, as set by the
+    * <code>org.jboss.forge.addon.scaffold.faces.parallelism</code> system property. A value of 1 (the default) generates
+    * the entities one at a time, 0 or less uses one thread per available processor.
+    */
+   private int getParallelism()
+   {
+      int parallelism = Integer.getInteger(PARALLELISM_PROPERTY, 1);
+      return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+   }
+
    @Override
    public NavigationResult getSetupFlow(Project project)
    {
@@ -681,27 +713,12 @@ public class FacesScaffoldProvider implements ScaffoldProvider
 
    private void resetMetaWidgets()
    {
-      ForgeConfigReader configReader = new ForgeConfigReader(this.config, this.project);
-
-      this.entityMetawidget = new StaticHtmlMetawidget();
-      this.entityMetawidget.setConfigReader(configReader);
-      this.entityMetawidget.setConfig(SCAFFOLD_META_WIDGET_ENTITY);
-
-      this.searchMetawidget = new StaticHtmlMetawidget();
-      this.searchMetawidget.setConfigReader(configReader);
-      this.searchMetawidget.setConfig(SCAFFOLD_META_WIDGET_SEARCH);
-
-      this.beanMetawidget = new StaticHtmlMetawidget();
-      this.beanMetawidget.setConfigReader(configReader);
-      this.beanMetawidget.setConfig(SCAFFOLD_META_WIDGET_BEAN);
-
-      this.qbeMetawidget = new StaticJavaMetawidget();
-      this.qbeMetawidget.setConfigReader(configReader);
-      this.qbeMetawidget.setConfig(SCAFFOLD_META_WIDGET_QBE);
-
-      this.rmEntityMetawidget = new StaticJavaMetawidget();
-      this.rmEntityMetawidget.setConfigReader(configReader);
-      this.rmEntityMetawidget.setConfig(SCAFFOLD_META_WIDGET_REMOVE_ENTITY);
+      Metawidgets metawidgets = new Metawidgets(new ForgeConfigReader(this.config, this.project));
+      this.entityMetawidget = metawidgets.entity;
+      this.searchMetawidget = metawidgets.search;
+      this.beanMetawidget = metawidgets.bean;
+      this.qbeMetawidget = metawidgets.qbe;
+      this.rmEntityMetawidget = metawidgets.rmEntity;
    }
 
    private List<Resource<?>> generateFromEntity(String targetDir, final Resource<?> template,
@@ -715,118 +732,226 @@ public class FacesScaffoldProvider implements ScaffoldProvider
       // TODO: Decide on whether to support Richfaces via the Faces scaffold
       // setupRichFaces();
 
-      // Track the list of resources generated
-
-      List<Resource<?>> result = new ArrayList<Resource<?>>();
       try
       {
          JavaSourceFacet java = this.project.getFacet(JavaSourceFacet.class);
-         WebResourcesFacet web = this.project.getFacet(WebResourcesFacet.class);
          JPAFacet<PersistenceCommonDescriptor> jpa = this.project.getFacet(JPAFacet.class);
 
          loadTemplates();
-         Map<Object, Object> context = CollectionUtils.newHashMap();
-         context.put("entity", entity);
-         String ccEntity = StringUtils.decapitalize(entity.getName());
-         context.put("ccEntity", ccEntity);
-         context.put("rmEntity", ccEntity + "ToDelete");
-         setPrimaryKeyMetaData(context, entity);
-
-         // Prepare qbeMetawidget
-         this.qbeMetawidget.setPath(entity.getQualifiedName());
-         StringWriter stringWriter = new StringWriter();
-         this.qbeMetawidget.write(stringWriter, this.backingBeanTemplateQbeMetawidgetIndent);
-         context.put("qbeMetawidget", stringWriter.toString().trim());
-
-         // Prepare removeEntityMetawidget
-         this.rmEntityMetawidget.setPath(entity.getQualifiedName());
-         stringWriter = new StringWriter();
-         this.rmEntityMetawidget.write(stringWriter, this.backingBeanTemplateRmEntityMetawidgetIndent);
-         context.put("rmEntityMetawidget", stringWriter.toString().trim());
-
-         // Prepare Java imports
-         Set<String> qbeMetawidgetImports = this.qbeMetawidget.getImports();
-         Set<String> rmEntityMetawidgetImports = this.rmEntityMetawidget.getImports();
-         Set<String> metawidgetImports = CollectionUtils.newHashSet();
-         metawidgetImports.addAll(qbeMetawidgetImports);
-         metawidgetImports.addAll(rmEntityMetawidgetImports);
-         metawidgetImports.remove(entity.getQualifiedName());
-         context.put("metawidgetImports",
-                  CollectionUtils.toString(metawidgetImports, ";\r\nimport ", true, false));
-
-         // Prepare JPA Persistence Unit
-         context.put("persistenceUnitName", jpa.getConfig().getOrCreatePersistenceUnit().getName());
-
-         // Create the Backing Bean for this entity
-         JavaClassSource viewBean = Roaster.parse(JavaClassSource.class,
-                  this.templateProcessor.processTemplate(context, this.backingBeanTemplate));
-         viewBean.setPackage(java.getBasePackage() + ".view");
-         result.add(ScaffoldUtil.createOrOverwrite(java.getJavaResource(viewBean), viewBean.toString(),
-                  overwrite));
-
-         // Set new context for view generation
-         context = getTemplateContext(targetDir, template);
-         String beanName = StringUtils.decapitalize(viewBean.getName());
-         context.put("beanName", beanName);
-         context.put("ccEntity", ccEntity);
-         context.put("entityName", StringUtils.uncamelCase(entity.getName()));
-         setPrimaryKeyMetaData(context, entity);
-
-         // Prepare entityMetawidget
-         this.entityMetawidget.setValue(StaticFacesUtils.wrapExpression(beanName + "." + ccEntity));
-         this.entityMetawidget.setPath(entity.getQualifiedName());
-         this.entityMetawidget.setReadOnly(false);
-         this.entityMetawidget.setStyle(null);
-
-         // Generate create
-         writeEntityMetawidget(context, this.createTemplateEntityMetawidgetIndent, this.createTemplateNamespaces);
-
-         result.add(ScaffoldUtil.createOrOverwrite(
-                  web.getWebResource(targetDir + "/" + ccEntity + "/create.xhtml"),
-                  this.templateProcessor.processTemplate(context, this.createTemplate),
-                  overwrite));
-
-         // Generate view
-         this.entityMetawidget.setReadOnly(true);
-         writeEntityMetawidget(context, this.viewTemplateEntityMetawidgetIndent, this.viewTemplateNamespaces);
-
-         result.add(ScaffoldUtil.createOrOverwrite(
-                  web.getWebResource(targetDir + "/" + ccEntity + "/view.xhtml"),
-                  this.templateProcessor.processTemplate(context, this.viewTemplate), overwrite));
-
-         // Generate search
-         this.searchMetawidget.setValue(StaticFacesUtils.wrapExpression(beanName + ".example"));
-         this.searchMetawidget.setPath(entity.getQualifiedName());
-         this.beanMetawidget.setValue(StaticFacesUtils.wrapExpression(beanName + ".pageItems"));
-         this.beanMetawidget.setPath(viewBean.getQualifiedName() + "/pageItems");
-         writeSearchAndBeanMetawidget(context, this.searchTemplateSearchMetawidgetIndent,
-                  this.searchTemplateBeanMetawidgetIndent, this.searchTemplateNamespaces);
-
-         result.add(ScaffoldUtil.createOrOverwrite(
-                  web.getWebResource(targetDir + "/" + ccEntity + "/search.xhtml"),
-                  this.templateProcessor.processTemplate(context, this.searchTemplate), overwrite));
-
-         // Generate navigation
-         result.add(generateNavigation(targetDir, overwrite));
-
-         // Need ViewUtils and forge.taglib.xml for forgeview:asList
-         JavaClassSource viewUtils = Roaster.parse(JavaClassSource.class,
-                  this.templateProcessor.processTemplate(context, this.viewUtilsTemplate));
-         viewUtils.setPackage(viewBean.getPackage());
-         result.add(ScaffoldUtil.createOrOverwrite(java.getJavaResource(viewUtils), viewUtils.toString(),
-                  true));
+         EntityPages pages = renderEntity(targetDir, template, entity, new Metawidgets(this),
+                  java.getBasePackage() + ".view", jpa.getConfig().getOrCreatePersistenceUnit().getName());
+         List<Resource<?>> result = writeEntity(targetDir, pages, overwrite);
+         createInitializers(entity);
+         return result;
+      }
+      catch (Exception e)
+      {
+         throw new RuntimeException("Error generating default scaffolding: " + e.getMessage(), e);
+      }
+   }
 
-         context.put("viewPackage", viewBean.getPackage());
-         result.add(ScaffoldUtil.createOrOverwrite(
-                  web.getWebResource("WEB-INF/classes/META-INF/forge.taglib.xml"),
-                  this.templateProcessor.processTemplate(context, this.taglibTemplate), true));
+   /**
+    * Renders the given entities with the given number of threads, then writes the rendered pages of each entity in
+    * order on the calling thread, so the generated files are the same as if the entities were generated one at a time.
+    * <p/>
+    * The entity initializers are all created before any rendering starts, since creating them modifies and saves the
+    * entities. The templates are loaded once and shared, while each rendering gets its own Metawidget instances and
+    * configuration reader.
+    */
+   private List<Resource<?>> generateFromEntities(final String targetDir, final Resource<?> template,
+            final List<JavaClassSource> entities, final boolean overwrite, int threads)
+   {
+      List<Resource<?>> result = new ArrayList<Resource<?>>();
+      final String viewPackage;
+      final String persistenceUnitName;
+      try
+      {
+         JavaSourceFacet java = this.project.getFacet(JavaSourceFacet.class);
+         JPAFacet<PersistenceCommonDescriptor> jpa = this.project.getFacet(JPAFacet.class);
+         viewPackage = java.getBasePackage() + ".view";
+         persistenceUnitName = jpa.getConfig().getOrCreatePersistenceUnit().getName();
+         loadTemplates();
+         for (JavaClassSource entity : entities)
+         {
+            createInitializers(entity);
+         }
+      }
+      catch (Exception e)
+      {
+         throw new RuntimeException("Error generating default scaffolding: " + e.getMessage(), e);
+      }
 
-         createInitializers(entity);
+      ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory()
+      {
+         @Override
+         public Thread newThread(Runnable r)
+         {
+            Thread thread = new Thread(r, "Faces Scaffold Generator");
+            thread.setDaemon(true);
+            return thread;
+         }
+      });
+      try
+      {
+         List<Future<EntityPages>> rendered = new ArrayList<Future<EntityPages>>();
+         for (final JavaClassSource entity : entities)
+         {
+            final Metawidgets metawidgets = new Metawidgets(new ForgeConfigReader(this.config, this.project));
+            rendered.add(executor.submit(new Callable<EntityPages>()
+            {
+               @Override
+               public EntityPages call() throws Exception
+               {
+                  return renderEntity(targetDir, template, entity, metawidgets, viewPackage, persistenceUnitName);
+               }
+            }));
+         }
+         // Files are written in order, on the calling thread only
+         for (Future<EntityPages> pages : rendered)
+         {
+            result.addAll(writeEntity(targetDir, pages.get(), overwrite));
+         }
+      }
+      catch (ExecutionException e)
+      {
+         Throwable cause = e.getCause();
+         throw new RuntimeException("Error generating default scaffolding: " + cause.getMessage(), cause);
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         throw new RuntimeException("Interrupted while generating default scaffolding", e);
       }
       catch (Exception e)
       {
          throw new RuntimeException("Error generating default scaffolding: " + e.getMessage(), e);
       }
+      finally
+      {
+         executor.shutdownNow();
+      }
+      return result;
+   }
+
+   /**
+    * Renders the pages of the given entity in memory. Does not modify the project, so it may be called concurrently
+    * provided each call uses its own {@link Metawidgets}.
+    */
+   private EntityPages renderEntity(String targetDir, final Resource<?> template, final JavaClassSource entity,
+            final Metawidgets metawidgets, final String viewPackage, final String persistenceUnitName)
+   {
+      EntityPages pages = new EntityPages();
+      Map<Object, Object> context = CollectionUtils.newHashMap();
+      context.put("entity", entity);
+      String ccEntity = StringUtils.decapitalize(entity.getName());
+      pages.ccEntity = ccEntity;
+      context.put("ccEntity", ccEntity);
+      context.put("rmEntity", ccEntity + "ToDelete");
+      setPrimaryKeyMetaData(context, entity);
+
+      // Prepare qbeMetawidget
+      metawidgets.qbe.setPath(entity.getQualifiedName());
+      StringWriter stringWriter = new StringWriter();
+      metawidgets.qbe.write(stringWriter, this.backingBeanTemplateQbeMetawidgetIndent);
+      context.put("qbeMetawidget", stringWriter.toString().trim());
+
+      // Prepare removeEntityMetawidget
+      metawidgets.rmEntity.setPath(entity.getQualifiedName());
+      stringWriter = new StringWriter();
+      metawidgets.rmEntity.write(stringWriter, this.backingBeanTemplateRmEntityMetawidgetIndent);
+      context.put("rmEntityMetawidget", stringWriter.toString().trim());
+
+      // Prepare Java imports
+      Set<String> qbeMetawidgetImports = metawidgets.qbe.getImports();
+      Set<String> rmEntityMetawidgetImports = metawidgets.rmEntity.getImports();
+      Set<String> metawidgetImports = CollectionUtils.newHashSet();
+      metawidgetImports.addAll(qbeMetawidgetImports);
+      metawidgetImports.addAll(rmEntityMetawidgetImports);
+      metawidgetImports.remove(entity.getQualifiedName());
+      context.put("metawidgetImports",
+               CollectionUtils.toString(metawidgetImports, ";\r\nimport ", true, false));
+
+      // Prepare JPA Persistence Unit
+      context.put("persistenceUnitName", persistenceUnitName);
+
+      // Create the Backing Bean for this entity
+      JavaClassSource viewBean = Roaster.parse(JavaClassSource.class,
+               this.templateProcessor.processTemplate(context, this.backingBeanTemplate));
+      viewBean.setPackage(viewPackage);
+      pages.viewBean = viewBean;
+
+      // Set new context for view generation
+      context = getTemplateContext(targetDir, template);
+      String beanName = StringUtils.decapitalize(viewBean.getName());
+      context.put("beanName", beanName);
+      context.put("ccEntity", ccEntity);
+      context.put("entityName", StringUtils.uncamelCase(entity.getName()));
+      setPrimaryKeyMetaData(context, entity);
+
+      // Prepare entityMetawidget
+      metawidgets.entity.setValue(StaticFacesUtils.wrapExpression(beanName + "." + ccEntity));
+      metawidgets.entity.setPath(entity.getQualifiedName());
+      metawidgets.entity.setReadOnly(false);
+      metawidgets.entity.setStyle(null);
+
+      // Generate create
+      writeEntityMetawidget(metawidgets.entity, context, this.createTemplateEntityMetawidgetIndent,
+               this.createTemplateNamespaces);
+      pages.create = this.templateProcessor.processTemplate(context, this.createTemplate);
+
+      // Generate view
+      metawidgets.entity.setReadOnly(true);
+      writeEntityMetawidget(metawidgets.entity, context, this.viewTemplateEntityMetawidgetIndent,
+               this.viewTemplateNamespaces);
+      pages.view = this.templateProcessor.processTemplate(context, this.viewTemplate);
+
+      // Generate search
+      metawidgets.search.setValue(StaticFacesUtils.wrapExpression(beanName + ".example"));
+      metawidgets.search.setPath(entity.getQualifiedName());
+      metawidgets.bean.setValue(StaticFacesUtils.wrapExpression(beanName + ".pageItems"));
+      metawidgets.bean.setPath(viewBean.getQualifiedName() + "/pageItems");
+      writeSearchAndBeanMetawidget(metawidgets.search, metawidgets.bean, context,
+               this.searchTemplateSearchMetawidgetIndent, this.searchTemplateBeanMetawidgetIndent,
+               this.searchTemplateNamespaces);
+      pages.search = this.templateProcessor.processTemplate(context, this.searchTemplate);
+
+      // Need ViewUtils and forge.taglib.xml for forgeview:asList
+      JavaClassSource viewUtils = Roaster.parse(JavaClassSource.class,
+               this.templateProcessor.processTemplate(context, this.viewUtilsTemplate));
+      viewUtils.setPackage(viewBean.getPackage());
+      pages.viewUtils = viewUtils;
+
+      context.put("viewPackage", viewBean.getPackage());
+      pages.taglib = this.templateProcessor.processTemplate(context, this.taglibTemplate);
+      return pages;
+   }
+
+   /**
+    * Writes the rendered pages of an entity into the project.
+    */
+   private List<Resource<?>> writeEntity(String targetDir, final EntityPages pages, final boolean overwrite)
+            throws IOException
+   {
+      List<Resource<?>> result = new ArrayList<Resource<?>>();
+      JavaSourceFacet java = this.project.getFacet(JavaSourceFacet.class);
+      WebResourcesFacet web = this.project.getFacet(WebResourcesFacet.class);
+
+      result.add(ScaffoldUtil.createOrOverwrite(java.getJavaResource(pages.viewBean), pages.viewBean.toString(),
+               overwrite));
+      result.add(ScaffoldUtil.createOrOverwrite(
+               web.getWebResource(targetDir + "/" + pages.ccEntity + "/create.xhtml"), pages.create, overwrite));
+      result.add(ScaffoldUtil.createOrOverwrite(
+               web.getWebResource(targetDir + "/" + pages.ccEntity + "/view.xhtml"), pages.view, overwrite));
+      result.add(ScaffoldUtil.createOrOverwrite(
+               web.getWebResource(targetDir + "/" + pages.ccEntity + "/search.xhtml"), pages.search, overwrite));
+
+      // Generate navigation
+      result.add(generateNavigation(targetDir, overwrite));
+
+      result.add(ScaffoldUtil.createOrOverwrite(java.getJavaResource(pages.viewUtils), pages.viewUtils.toString(),
+               true));
+      result.add(ScaffoldUtil.createOrOverwrite(
+               web.getWebResource("WEB-INF/classes/META-INF/forge.taglib.xml"), pages.taglib, true));
       return result;
    }
 
@@ -835,12 +960,18 @@ public class FacesScaffoldProvider implements ScaffoldProvider
     */
    protected void writeEntityMetawidget(final Map<Object, Object> context, final int entityMetawidgetIndent,
             final Map<String, String> existingNamespaces)
+   {
+      writeEntityMetawidget(this.entityMetawidget, context, entityMetawidgetIndent, existingNamespaces);
+   }
+
+   private void writeEntityMetawidget(final StaticHtmlMetawidget entityMetawidget, final Map<Object, Object> context,
+            final int entityMetawidgetIndent, final Map<String, String> existingNamespaces)
    {
       StringWriter stringWriter = new StringWriter();
-      this.entityMetawidget.write(stringWriter, entityMetawidgetIndent);
+      entityMetawidget.write(stringWriter, entityMetawidgetIndent);
       context.put("metawidget", stringWriter.toString().trim());
 
-      Map<String, String> namespaces = this.entityMetawidget.getNamespaces();
+      Map<String, String> namespaces = entityMetawidget.getNamespaces();
       namespaces.keySet().removeAll(existingNamespaces.keySet());
       context.put("metawidgetNamespaces", namespacesToString(namespaces));
    }
@@ -851,17 +982,26 @@ public class FacesScaffoldProvider implements ScaffoldProvider
    protected void writeSearchAndBeanMetawidget(final Map<Object, Object> context, final int searchMetawidgetIndent,
             final int beanMetawidgetIndent,
             final Map<String, String> existingNamespaces)
+   {
+      writeSearchAndBeanMetawidget(this.searchMetawidget, this.beanMetawidget, context, searchMetawidgetIndent,
+               beanMetawidgetIndent, existingNamespaces);
+   }
+
+   private void writeSearchAndBeanMetawidget(final StaticHtmlMetawidget searchMetawidget,
+            final StaticHtmlMetawidget beanMetawidget, final Map<Object, Object> context,
+            final int searchMetawidgetIndent, final int beanMetawidgetIndent,
+            final Map<String, String> existingNamespaces)
    {
       StringWriter stringWriter = new StringWriter();
-      this.searchMetawidget.write(stringWriter, searchMetawidgetIndent);
+      searchMetawidget.write(stringWriter, searchMetawidgetIndent);
       context.put("searchMetawidget", stringWriter.toString().trim());
 
       stringWriter = new StringWriter();
-      this.beanMetawidget.write(stringWriter, beanMetawidgetIndent);
+      beanMetawidget.write(stringWriter, beanMetawidgetIndent);
       context.put("beanMetawidget", stringWriter.toString().trim());
 
-      Map<String, String> namespaces = this.searchMetawidget.getNamespaces();
-      namespaces.putAll(this.beanMetawidget.getNamespaces());
+      Map<String, String> namespaces = searchMetawidget.getNamespaces();
+      namespaces.putAll(beanMetawidget.getNamespaces());
       namespaces.keySet().removeAll(existingNamespaces.keySet());
       context.put("metawidgetNamespaces", namespacesToString(namespaces));
    }
@@ -1051,4 +1191,62 @@ public class FacesScaffoldProvider implements ScaffoldProvider
                new CompositeWidgetBuilderConfig<W, M>().setWidgetBuilders(newWidgetBuilders));
    }
 
+   /**
+    * The Metawidgets used to render the pages of an entity, which are not thread-safe and must not be shared between
+    * threads.
+    */
+   private static class Metawidgets
+   {
+      private final StaticHtmlMetawidget entity;
+      private final StaticHtmlMetawidget search;
+      private final StaticHtmlMetawidget bean;
+      private final StaticJavaMetawidget qbe;
+      private final StaticJavaMetawidget rmEntity;
+
+      Metawidgets(ForgeConfigReader configReader)
+      {
+         this.entity = new StaticHtmlMetawidget();
+         this.entity.setConfigReader(configReader);
+         this.entity.setConfig(SCAFFOLD_META_WIDGET_ENTITY);
+
+         this.search = new StaticHtmlMetawidget();
+         this.search.setConfigReader(configReader);
+         this.search.setConfig(SCAFFOLD_META_WIDGET_SEARCH);
+
+         this.bean = new StaticHtmlMetawidget();
+         this.bean.setConfigReader(configReader);
+         this.bean.setConfig(SCAFFOLD_META_WIDGET_BEAN);
+
+         this.qbe = new StaticJavaMetawidget();
+         this.qbe.setConfigReader(configReader);
+         this.qbe.setConfig(SCAFFOLD_META_WIDGET_QBE);
+
+         this.rmEntity = new StaticJavaMetawidget();
+         this.rmEntity.setConfigReader(configReader);
+         this.rmEntity.setConfig(SCAFFOLD_META_WIDGET_REMOVE_ENTITY);
+      }
+
+      Metawidgets(FacesScaffoldProvider provider)
+      {
+         this.entity = provider.entityMetawidget;
+         this.search = provider.searchMetawidget;
+         this.bean = provider.beanMetawidget;
+         this.qbe = provider.qbeMetawidget;
+         this.rmEntity = provider.rmEntityMetawidget;
+      }
+   }
+
+   /**
+    * The pages of an entity, rendered but not written yet
+    */
+   private static class EntityPages
+   {
+      private String ccEntity;
+      private JavaClassSource viewBean;
+      private String create;
+      private String view;
+      private String search;
+      private JavaClassSource viewUtils;
+      private String taglib;
+   }
 }
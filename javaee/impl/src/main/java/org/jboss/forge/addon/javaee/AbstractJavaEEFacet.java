@@ -42,12 +42,23 @@ public abstract class AbstractJavaEEFacet extends AbstractFacet<Project> impleme
 
    private final DependencyInstaller installer;
 
+   @Inject
+   private DescriptorCache descriptorCache;
+
    @Inject
    public AbstractJavaEEFacet(final DependencyInstaller installer)
    {
       this.installer = installer;
    }
 
+   /**
+    * Return the {@link DescriptorCache} holding the descriptors read by this {@link Facet}.
+    */
+   protected DescriptorCache getDescriptorCache()
+   {
+      return descriptorCache;
+   }
+
    /**
     * Return the version of the relevant specification handled by this {@link Facet}.
     */
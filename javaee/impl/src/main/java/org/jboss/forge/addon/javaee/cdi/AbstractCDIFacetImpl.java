@@ -12,7 +12,6 @@ import java.io.File;
 import javax.inject.Inject;
 
 import org.jboss.forge.addon.javaee.AbstractJavaEEFacet;
-import org.jboss.forge.addon.javaee.Descriptors;
 import org.jboss.forge.addon.projects.Project;
 import org.jboss.forge.addon.projects.dependencies.DependencyInstaller;
 import org.jboss.forge.addon.projects.facets.PackagingFacet;
@@ -21,7 +20,6 @@ import org.jboss.forge.addon.projects.facets.WebResourcesFacet;
 import org.jboss.forge.addon.resource.DirectoryResource;
 import org.jboss.forge.addon.resource.FileResource;
 import org.jboss.shrinkwrap.descriptor.api.Descriptor;
-import org.jboss.shrinkwrap.descriptor.api.DescriptorImporter;
 
 /**
  * Implementation of {@link CDIFacet} for spec version 1.0
@@ -77,16 +75,16 @@ public abstract class AbstractCDIFacetImpl<DESCRIPTOR extends Descriptor> extend
    @Override
    public DESCRIPTOR getConfig()
    {
-      DescriptorImporter<DESCRIPTOR> importer = Descriptors.importAs(getDescriptorType());
-      DESCRIPTOR descriptor = importer.fromStream(getConfigFile().getResourceInputStream());
-      return descriptor;
+      return getDescriptorCache().importFrom(getDescriptorType(), getConfigFile());
    }
 
    @Override
    public void saveConfig(DESCRIPTOR model)
    {
       String output = model.exportAsString();
-      getConfigFile().setContents(output);
+      FileResource<?> configFile = getConfigFile();
+      configFile.setContents(output);
+      getDescriptorCache().invalidate(configFile);
    }
 
    @Override
@@ -6,7 +6,6 @@
  */
 package org.jboss.forge.addon.javaee.ejb.ui;
 
-import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,12 +22,10 @@ import org.jboss.forge.addon.javaee.ejb.EJBType;
 import org.jboss.forge.addon.javaee.ui.AbstractJavaEECommand;
 import org.jboss.forge.addon.parser.java.facets.JavaSourceFacet;
 import org.jboss.forge.addon.parser.java.resources.JavaResource;
-import org.jboss.forge.addon.parser.java.resources.JavaResourceVisitor;
 import org.jboss.forge.addon.projects.Project;
 import org.jboss.forge.addon.projects.facets.MetadataFacet;
 import org.jboss.forge.addon.resource.DirectoryResource;
 import org.jboss.forge.addon.resource.FileResource;
-import org.jboss.forge.addon.resource.visit.VisitContext;
 import org.jboss.forge.addon.ui.context.UIBuilder;
 import org.jboss.forge.addon.ui.context.UIContext;
 import org.jboss.forge.addon.ui.context.UIExecutionContext;
@@ -44,7 +41,6 @@ import org.jboss.forge.addon.ui.result.Results;
 import org.jboss.forge.addon.ui.util.Categories;
 import org.jboss.forge.addon.ui.util.Metadata;
 import org.jboss.forge.addon.ui.wizard.UIWizard;
-import org.jboss.forge.roaster.model.source.JavaSource;
 
 /**
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
@@ -129,31 +125,19 @@ public class NewEJBCommand extends AbstractJavaEECommand implements UIWizard
 
    private String calculateServicePackage(Project project)
    {
-      final String[] value = new String[1];
-      project.getFacet(JavaSourceFacet.class).visitJavaSources(new JavaResourceVisitor()
+      String value = null;
+      JavaSourceFacet facet = project.getFacet(JavaSourceFacet.class);
+      List<JavaResource> ejbs = facet.findTypesAnnotatedWith(Stateless.class.getName(), Stateful.class.getName(),
+               MessageDriven.class.getName(), Singleton.class.getName());
+      if (!ejbs.isEmpty())
       {
-         @Override
-         public void visit(VisitContext context, JavaResource javaResource)
-         {
-            try
-            {
-               JavaSource<?> javaSource = javaResource.getJavaType();
-               if (javaSource.hasAnnotation(Stateless.class) || javaSource.hasAnnotation(Stateful.class)
-                        || javaSource.hasAnnotation(MessageDriven.class) || javaSource.hasAnnotation(Singleton.class))
-               {
-                  value[0] = javaSource.getPackage();
-               }
-            }
-            catch (FileNotFoundException ignore)
-            {
-            }
-         }
-      });
-      if (value[0] == null)
+         value = facet.calculatePackage(ejbs.get(ejbs.size() - 1));
+      }
+      if (value == null)
       {
-         value[0] = project.getFacet(MetadataFacet.class).getTopLevelPackage() + ".service";
+         value = project.getFacet(MetadataFacet.class).getTopLevelPackage() + ".service";
       }
-      return value[0];
+      return value;
    }
 
    @Override
@@ -40,7 +40,6 @@ import org.jboss.forge.furnace.util.Streams;
 import org.jboss.forge.parser.xml.Node;
 import org.jboss.forge.parser.xml.XMLParser;
 import org.jboss.shrinkwrap.descriptor.api.Descriptor;
-import org.jboss.shrinkwrap.descriptor.api.DescriptorImporter;
 import org.jboss.shrinkwrap.descriptor.api.javaee.ParamValueCommonType;
 import org.jboss.shrinkwrap.descriptor.api.webapp.WebAppCommonDescriptor;
 import org.jboss.shrinkwrap.descriptor.api.webapp30.WebAppDescriptor;
@@ -129,8 +128,7 @@ public abstract class AbstractFacesFacetImpl<DESCRIPTOR extends Descriptor> exte
       FileResource<?> configFile = getConfigFile();
       if (configFile.exists())
       {
-         DescriptorImporter<DESCRIPTOR> importer = Descriptors.importAs(getDescriptorClass());
-         descriptor = importer.fromStream(configFile.getResourceInputStream());
+         descriptor = getDescriptorCache().importFrom(getDescriptorClass(), configFile);
       }
       else
       {
@@ -259,6 +257,7 @@ public abstract class AbstractFacesFacetImpl<DESCRIPTOR extends Descriptor> exte
       if (webXml != newWebXml)
       {
          facet.getConfigFile().setContents(newWebXml);
+         getDescriptorCache().invalidate(facet.getConfigFile());
       }
       Streams.closeQuietly(webXml);
       Streams.closeQuietly(newWebXml);
@@ -58,7 +58,9 @@ public class FacesFacetImpl_2_2 extends AbstractFacesFacetImpl<WebFacesConfigDes
    public void saveConfig(WebFacesConfigDescriptor descriptor)
    {
       String output = descriptor.exportAsString();
-      getConfigFile().setContents(output);
+      FileResource<?> configFile = getConfigFile();
+      configFile.setContents(output);
+      getDescriptorCache().invalidate(configFile);
    }
 
    @Override
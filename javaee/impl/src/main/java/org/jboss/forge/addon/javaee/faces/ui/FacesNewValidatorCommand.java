@@ -6,7 +6,7 @@
  */
 package org.jboss.forge.addon.javaee.faces.ui;
 
-import java.io.FileNotFoundException;
+import java.util.List;
 
 import javax.faces.validator.FacesValidator;
 import javax.inject.Inject;
@@ -14,12 +14,10 @@ import javax.inject.Inject;
 import org.jboss.forge.addon.javaee.faces.FacesOperations;
 import org.jboss.forge.addon.parser.java.facets.JavaSourceFacet;
 import org.jboss.forge.addon.parser.java.resources.JavaResource;
-import org.jboss.forge.addon.parser.java.resources.JavaResourceVisitor;
 import org.jboss.forge.addon.projects.Project;
 import org.jboss.forge.addon.projects.facets.MetadataFacet;
 import org.jboss.forge.addon.resource.DirectoryResource;
 import org.jboss.forge.addon.resource.FileResource;
-import org.jboss.forge.addon.resource.visit.VisitContext;
 import org.jboss.forge.addon.ui.context.UIBuilder;
 import org.jboss.forge.addon.ui.context.UIContext;
 import org.jboss.forge.addon.ui.context.UIExecutionContext;
@@ -31,7 +29,6 @@ import org.jboss.forge.addon.ui.result.Result;
 import org.jboss.forge.addon.ui.result.Results;
 import org.jboss.forge.addon.ui.util.Categories;
 import org.jboss.forge.addon.ui.util.Metadata;
-import org.jboss.forge.roaster.model.source.JavaSource;
 
 /**
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
@@ -94,30 +91,18 @@ public class FacesNewValidatorCommand extends AbstractFacesCommand
 
    private String calculateValidatorPackage(Project project)
    {
-      final String[] value = new String[1];
-      project.getFacet(JavaSourceFacet.class).visitJavaSources(new JavaResourceVisitor()
+      String value = null;
+      JavaSourceFacet facet = project.getFacet(JavaSourceFacet.class);
+      List<JavaResource> validators = facet.findTypesAnnotatedWith(FacesValidator.class.getName());
+      if (!validators.isEmpty())
       {
-         @Override
-         public void visit(VisitContext context, JavaResource javaResource)
-         {
-            try
-            {
-               JavaSource<?> javaSource = javaResource.getJavaType();
-               if (javaSource.hasAnnotation(FacesValidator.class))
-               {
-                  value[0] = javaSource.getPackage();
-               }
-            }
-            catch (FileNotFoundException ignore)
-            {
-            }
-         }
-      });
-      if (value[0] == null)
+         value = facet.calculatePackage(validators.get(validators.size() - 1));
+      }
+      if (value == null)
       {
-         value[0] = project.getFacet(MetadataFacet.class).getTopLevelPackage() + ".validator";
+         value = project.getFacet(MetadataFacet.class).getTopLevelPackage() + ".validator";
       }
-      return value[0];
+      return value;
    }
 
    @Override
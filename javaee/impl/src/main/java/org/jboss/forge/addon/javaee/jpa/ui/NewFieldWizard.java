@@ -34,11 +34,9 @@ import org.jboss.forge.addon.javaee.jpa.ui.setup.JPASetupWizard;
 import org.jboss.forge.addon.javaee.ui.AbstractJavaEECommand;
 import org.jboss.forge.addon.parser.java.facets.JavaSourceFacet;
 import org.jboss.forge.addon.parser.java.resources.JavaResource;
-import org.jboss.forge.addon.parser.java.resources.JavaResourceVisitor;
 import org.jboss.forge.addon.projects.Project;
 import org.jboss.forge.addon.resource.FileResource;
 import org.jboss.forge.addon.resource.ResourceException;
-import org.jboss.forge.addon.resource.visit.VisitContext;
 import org.jboss.forge.addon.ui.command.PrerequisiteCommandsProvider;
 import org.jboss.forge.addon.ui.context.UIBuilder;
 import org.jboss.forge.addon.ui.context.UIContext;
@@ -287,25 +285,8 @@ public class NewFieldWizard extends AbstractJavaEECommand implements UIWizard, P
       final List<JavaResource> entities = new ArrayList<>();
       if (project != null)
       {
-         project.getFacet(JavaSourceFacet.class).visitJavaSources(new JavaResourceVisitor()
-         {
-            @Override
-            public void visit(VisitContext context, JavaResource resource)
-            {
-               try
-               {
-                  JavaSource<?> javaSource = resource.getJavaType();
-                  if (javaSource.hasAnnotation(Entity.class) || javaSource.hasAnnotation(MappedSuperclass.class))
-                  {
-                     entities.add(resource);
-                  }
-               }
-               catch (ResourceException | FileNotFoundException e)
-               {
-                  // ignore
-               }
-            }
-         });
+         entities.addAll(project.getFacet(JavaSourceFacet.class).findTypesAnnotatedWith(Entity.class.getName(),
+                  MappedSuperclass.class.getName()));
       }
       return entities;
    }
@@ -315,25 +296,7 @@ public class NewFieldWizard extends AbstractJavaEECommand implements UIWizard, P
       final List<JavaResource> enums = new ArrayList<>();
       if (project != null)
       {
-         project.getFacet(JavaSourceFacet.class).visitJavaSources(new JavaResourceVisitor()
-         {
-            @Override
-            public void visit(VisitContext context, JavaResource resource)
-            {
-               try
-               {
-                  JavaSource<?> javaSource = resource.getJavaType();
-                  if (javaSource.isEnum())
-                  {
-                     enums.add(resource);
-                  }
-               }
-               catch (ResourceException | FileNotFoundException e)
-               {
-                  // ignore
-               }
-            }
-         });
+         enums.addAll(project.getFacet(JavaSourceFacet.class).findEnums());
       }
       return enums;
    }
@@ -6,6 +6,8 @@
  */
 package org.jboss.forge.addon.javaee.rest.generator;
 
+import java.util.List;
+
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.ManyToMany;
@@ -15,7 +17,9 @@ import javax.persistence.OneToOne;
 
 import org.jboss.forge.addon.javaee.rest.generation.RestGenerationContext;
 import org.jboss.forge.addon.parser.java.facets.JavaSourceFacet;
+import org.jboss.forge.addon.parser.java.resources.JavaResource;
 import org.jboss.forge.addon.projects.Project;
+import org.jboss.forge.addon.resource.visit.VisitContext;
 import org.jboss.forge.roaster.model.Annotation;
 import org.jboss.forge.roaster.model.Field;
 import org.jboss.forge.roaster.model.JavaClass;
@@ -41,9 +45,18 @@ public class ResourceGeneratorUtil
       resourceTypeVisitor.setFound(false);
       resourceTypeVisitor.setProposedPath(proposedResourcePath);
       JavaSourceFacet facet = project.getFacet(JavaSourceFacet.class);
+      List<JavaResource> restResources = facet.findTypesAnnotatedWith("javax.ws.rs.Path");
       while (true)
       {
-         facet.visitJavaSources(resourceTypeVisitor);
+         ListVisitContext visitContext = new ListVisitContext();
+         for (JavaResource restResource : restResources)
+         {
+            resourceTypeVisitor.visit(visitContext, restResource);
+            if (visitContext.terminated)
+            {
+               break;
+            }
+         }
          if (resourceTypeVisitor.isFound())
          {
             if (proposedQualifiedClassName.equals(resourceTypeVisitor.getQualifiedClassNameForMatch()))
@@ -273,4 +286,18 @@ public class ResourceGeneratorUtil
    {
       return entityTable.toLowerCase().charAt(0);
    }
+
+   /**
+    * The {@link VisitContext} of a visit of the resources returned by a {@link JavaSourceFacet} query
+    */
+   private static class ListVisitContext implements VisitContext
+   {
+      private boolean terminated;
+
+      @Override
+      public void terminate()
+      {
+         terminated = true;
+      }
+   }
 }
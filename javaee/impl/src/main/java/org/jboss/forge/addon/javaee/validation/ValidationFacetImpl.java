@@ -23,7 +23,6 @@ import org.jboss.forge.addon.projects.facets.ResourcesFacet;
 import org.jboss.forge.addon.resource.FileResource;
 import org.jboss.forge.furnace.versions.SingleVersion;
 import org.jboss.forge.furnace.versions.Version;
-import org.jboss.shrinkwrap.descriptor.api.DescriptorImporter;
 import org.jboss.shrinkwrap.descriptor.api.validationConfiguration11.ValidationConfigurationDescriptor;
 
 /**
@@ -79,15 +78,12 @@ public class ValidationFacetImpl extends AbstractJavaEEFacet implements Validati
    @Override
    public ValidationConfigurationDescriptor getConfig()
    {
-      DescriptorImporter<ValidationConfigurationDescriptor> importer = Descriptors
-               .importAs(ValidationConfigurationDescriptor.class);
       final FileResource<?> configFile = getConfigFile();
       if (!configFile.exists())
       {
          createDefaultConfig(configFile);
       }
-      ValidationConfigurationDescriptor descriptor = importer.fromStream(configFile.getResourceInputStream());
-      return descriptor;
+      return getDescriptorCache().importFrom(ValidationConfigurationDescriptor.class, configFile);
    }
 
    @Override
@@ -103,6 +99,7 @@ public class ValidationFacetImpl extends AbstractJavaEEFacet implements Validati
       final FileResource<?> fileResource = getConfigFile();
       fileResource.createNewFile();
       fileResource.setContents(descriptor.exportAsString());
+      getDescriptorCache().invalidate(fileResource);
    }
 
    private void createDefaultConfig(FileResource<?> descriptor)
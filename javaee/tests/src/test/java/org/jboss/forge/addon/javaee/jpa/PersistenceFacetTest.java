@@ -23,6 +23,7 @@ import org.jboss.forge.arquillian.archive.ForgeArchive;
 import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.descriptor.api.persistence.PersistenceCommonDescriptor;
+import org.jboss.shrinkwrap.descriptor.api.persistence20.PersistenceDescriptor;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -79,4 +80,23 @@ public class PersistenceFacetTest
       Assert.assertEquals("2.0", persistence.getConfig().getVersion());
    }
 
+   @Test
+   public void testConfigChangesAreOnlyVisibleOnceSaved() throws Exception
+   {
+      facetFactory.install(project, JPAFacet_2_0.class);
+      JPAFacet_2_0 persistence = project.getFacet(JPAFacet_2_0.class);
+
+      PersistenceDescriptor config = persistence.getConfig();
+      config.createPersistenceUnit().name("unsaved");
+      Assert.assertTrue(persistence.getConfig().getAllPersistenceUnit().isEmpty());
+
+      config = persistence.getConfig();
+      config.createPersistenceUnit().name("saved");
+      persistence.saveConfig(config);
+      Assert.assertEquals("saved", persistence.getConfig().getAllPersistenceUnit().get(0).getName());
+
+      persistence.getConfigFile().setContents(config.removeAllPersistenceUnit().exportAsString());
+      Assert.assertTrue(persistence.getConfig().getAllPersistenceUnit().isEmpty());
+   }
+
 }
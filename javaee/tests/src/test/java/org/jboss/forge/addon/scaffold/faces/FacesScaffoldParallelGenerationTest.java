@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.addon.scaffold.faces;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.inject.Inject;
+import javax.persistence.CascadeType;
+import javax.persistence.FetchType;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.addon.javaee.ProjectHelper;
+import org.jboss.forge.addon.javaee.jpa.JPAFieldOperations;
+import org.jboss.forge.addon.parser.java.resources.JavaResource;
+import org.jboss.forge.addon.projects.Project;
+import org.jboss.forge.addon.projects.facets.MetadataFacet;
+import org.jboss.forge.addon.resource.FileResource;
+import org.jboss.forge.addon.resource.Resource;
+import org.jboss.forge.addon.scaffold.spi.ScaffoldGenerationContext;
+import org.jboss.forge.addon.scaffold.spi.ScaffoldSetupContext;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.Dependencies;
+import org.jboss.forge.arquillian.archive.ForgeArchive;
+import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies that rendering the entities in parallel generates the same files as generating them one at a time.
+ */
+@RunWith(Arquillian.class)
+public class FacesScaffoldParallelGenerationTest
+{
+   private static final String PARALLELISM_PROPERTY = "org.jboss.forge.addon.scaffold.faces.parallelism";
+
+   @Deployment
+   @Dependencies({
+            @AddonDependency(name = "org.jboss.forge.addon:javaee"),
+            @AddonDependency(name = "org.jboss.forge.addon:maven"),
+            @AddonDependency(name = "org.jboss.forge.addon:scaffold"),
+            @AddonDependency(name = "org.jboss.forge.addon:scaffold-faces")
+   })
+   public static ForgeArchive getDeployment()
+   {
+      return ShrinkWrap
+               .create(ForgeArchive.class)
+               .addClass(ProjectHelper.class)
+               .addBeansXML()
+               .addAsAddonDependencies(
+                        AddonDependencyEntry.create("org.jboss.forge.furnace.container:cdi"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:projects"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:javaee"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:maven"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:scaffold"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:scaffold-faces")
+               );
+   }
+
+   @Inject
+   private ProjectHelper projectHelper;
+
+   @Inject
+   private JPAFieldOperations jpaFieldOperations;
+
+   @Inject
+   private FacesScaffoldProvider scaffoldProvider;
+
+   @After
+   public void clearParallelism()
+   {
+      System.clearProperty(PARALLELISM_PROPERTY);
+   }
+
+   @Test
+   public void testParallelGenerationMatchesSequentialGeneration() throws Exception
+   {
+      Map<String, String> sequential = scaffold(1);
+      Map<String, String> parallel = scaffold(4);
+      Assert.assertFalse(sequential.isEmpty());
+      Assert.assertEquals(sequential.keySet(), parallel.keySet());
+      for (Map.Entry<String, String> entry : sequential.entrySet())
+      {
+         Assert.assertEquals(entry.getKey(), entry.getValue(), parallel.get(entry.getKey()));
+      }
+   }
+
+   /**
+    * Scaffolds related entities in a new project with the given parallelism. Returns the contents of the generated
+    * files and of the entities, by path relative to the project root.
+    */
+   private Map<String, String> scaffold(int parallelism) throws Exception
+   {
+      System.setProperty(PARALLELISM_PROPERTY, String.valueOf(parallelism));
+      Project project = projectHelper.createWebProject();
+      projectHelper.installServlet_3_1(project);
+      projectHelper.installFaces_2_2(project);
+      projectHelper.installJPA_2_0(project);
+      projectHelper.installCDI_1_1(project);
+      projectHelper.installEJB_3_2(project);
+
+      JavaResource customer = projectHelper.createJPAEntity(project, "Customer");
+      JavaResource address = projectHelper.createJPAEntity(project, "Address");
+      JavaResource purchase = projectHelper.createJPAEntity(project, "Purchase");
+      JavaResource item = projectHelper.createJPAEntity(project, "Item");
+      List<CascadeType> noCascade = Collections.emptyList();
+      jpaFieldOperations.newOneToOneRelationship(project, customer, "address", address.getJavaType()
+               .getQualifiedName(), null, FetchType.EAGER, false, noCascade);
+      jpaFieldOperations.newManyToOneRelationship(project, purchase, "customer", customer.getJavaType()
+               .getQualifiedName(), "purchases", FetchType.EAGER, false, noCascade);
+      jpaFieldOperations.newManyToManyRelationship(project, purchase, "items", item.getJavaType().getQualifiedName(),
+               null, FetchType.LAZY, noCascade);
+      List<JavaResource> entities = Arrays.asList(customer, address, purchase, item);
+
+      scaffoldProvider.setup(project, new ScaffoldSetupContext("", true));
+      List<Resource<?>> generated = new ArrayList<Resource<?>>(scaffoldProvider.generateFrom(project,
+               new ScaffoldGenerationContext("", true, new ArrayList<Resource<?>>(entities))));
+      generated.addAll(entities);
+
+      String root = project.getRoot().getFullyQualifiedName();
+      String topLevelPackage = project.getFacet(MetadataFacet.class).getTopLevelPackage();
+      String projectName = project.getFacet(MetadataFacet.class).getProjectName();
+      Map<String, String> result = new TreeMap<String, String>();
+      for (Resource<?> resource : generated)
+      {
+         String path = resource.getFullyQualifiedName().substring(root.length());
+         String contents = ((FileResource<?>) resource).getContents();
+         // Each temporary project has its own name and package
+         result.put(normalize(path, topLevelPackage, projectName), normalize(contents, topLevelPackage, projectName));
+      }
+      project.getRoot().delete(true);
+      return result;
+   }
+
+   private String normalize(String text, String topLevelPackage, String projectName)
+   {
+      return text.replace(topLevelPackage.replace('.', '/'), "PACKAGE").replace(topLevelPackage, "PACKAGE")
+               .replace(projectName, "PROJECT");
+   }
+}
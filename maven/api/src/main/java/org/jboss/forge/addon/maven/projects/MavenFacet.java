@@ -39,6 +39,15 @@ public interface MavenFacet extends ProvidedProjectFacet
     */
    void setModel(Model pom);
 
+   /**
+    * Start a {@link MavenModelSession}, or join the current one. Until the outermost session ends,
+    * {@link #getModel()} returns the pending {@link Model} and {@link #setModel(Model)} replaces it in memory, without
+    * writing the POM file. The properties and the effective model of this {@link Project} are not affected by the
+    * pending changes. A session belongs to the thread that started it: other threads calling these methods wait until
+    * it ends.
+    */
+   MavenModelSession beginModelSession();
+
    /**
     * Get a {@link Map} of all resolvable project properties.
     */
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.addon.maven.projects;
+
+import org.apache.maven.model.Model;
+
+/**
+ * A batch of changes to the {@link Model} of a {@link MavenFacet}, written to the POM file at once when the outermost
+ * session is committed. Meant to be used in a try-with-resources block:
+ *
+ * <pre>
+ * try (MavenModelSession session = mavenFacet.beginModelSession())
+ * {
+ *    Model pom = mavenFacet.getModel();
+ *    // ...
+ *    mavenFacet.setModel(pom);
+ *    session.commit();
+ * }
+ * </pre>
+ *
+ * @see MavenFacet#beginModelSession()
+ */
+public interface MavenModelSession extends AutoCloseable
+{
+   /**
+    * Ends this session. If it is the outermost one, the pending {@link Model} is written to the POM file, if it was
+    * changed.
+    */
+   void commit();
+
+   /**
+    * Ends this session, if it was not committed. If it is the outermost one, the pending changes are discarded.
+    */
+   @Override
+   void close();
+}
@@ -0,0 +1,501 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.addon.maven.projects;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.ParseException;
+import org.apache.maven.Maven;
+import org.apache.maven.cli.CLIManager;
+import org.apache.maven.cli.MavenCli;
+import org.apache.maven.execution.AbstractExecutionListener;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionRequestPopulator;
+import org.apache.maven.execution.MavenExecutionResult;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.properties.internal.EnvironmentUtils;
+import org.codehaus.plexus.ContainerConfiguration;
+import org.codehaus.plexus.DefaultContainerConfiguration;
+import org.codehaus.plexus.PlexusConstants;
+import org.jboss.forge.addon.maven.projects.plexus.DefaultPlexusContainer;
+import org.jboss.forge.furnace.container.cdi.events.Local;
+import org.jboss.forge.furnace.event.PreShutdown;
+import org.jboss.forge.furnace.manager.maven.MavenContainer;
+
+/**
+ * Runs embedded Maven builds in a Plexus container that is created once and kept warm, so that the components, plugin
+ * class realms and extensions loaded by a build are reused by the next ones instead of being set up again as
+ * {@link MavenCli} does for every invocation.
+ * <p/>
+ * Builds of different projects may run at the same time; builds of the same project are run one after the other. The
+ * output of each build is printed to its own streams. Command lines using options that are not supported here, all
+ * builds if the {@value #COLD_BUILDS_PROPERTY} system property is set to <code>true</code>, and builds for which the
+ * container cannot be created, are run by a new {@link MavenCli} instead.
+ */
+@Singleton
+class MavenBuildEngine
+{
+   private static final Logger log = Logger.getLogger(MavenBuildEngine.class.getName());
+
+   static final String COLD_BUILDS_PROPERTY = "org.jboss.forge.addon.maven.projects.coldBuilds";
+
+   /**
+    * The command line options handled by {@link PlexusEmbedder#newRequest(File, CommandLine)}
+    */
+   private static final Set<String> SUPPORTED_OPTIONS = new HashSet<>(Arrays.asList(
+            String.valueOf(CLIManager.SET_SYSTEM_PROPERTY),
+            String.valueOf(CLIManager.OFFLINE),
+            String.valueOf(CLIManager.ACTIVATE_PROFILES),
+            String.valueOf(CLIManager.QUIET),
+            String.valueOf(CLIManager.DEBUG),
+            String.valueOf(CLIManager.ERRORS),
+            String.valueOf(CLIManager.BATCH_MODE),
+            String.valueOf(CLIManager.NON_RECURSIVE),
+            String.valueOf(CLIManager.UPDATE_SNAPSHOTS)));
+
+   private final MavenBuildLoggerManager loggerManager = new MavenBuildLoggerManager();
+   private final ConcurrentMap<String, ReentrantLock> projectLocks = new ConcurrentHashMap<>();
+
+   @Inject
+   private MavenContainer container;
+
+   private Embedder embedder;
+
+   /**
+    * Runs Maven with the given command line arguments on the project in the given directory
+    */
+   Execution execute(File directory, String[] args, PrintStream out, PrintStream err)
+   {
+      CommandLine commandLine = null;
+      if (!Boolean.getBoolean(COLD_BUILDS_PROPERTY))
+      {
+         try
+         {
+            commandLine = new CLIManager().parse(args);
+         }
+         catch (ParseException e)
+         {
+            // Let MavenCli report it
+         }
+      }
+      if (commandLine == null || !isSupported(commandLine))
+      {
+         return executeCold(directory, args, out, err);
+      }
+
+      ReentrantLock lock = getProjectLock(directory);
+      lock.lock();
+      try
+      {
+         Embedder current;
+         try
+         {
+            current = getEmbedder();
+         }
+         catch (Exception e)
+         {
+            log.log(Level.WARNING, "Could not embed Maven, running a new MavenCli instead", e);
+            return executeCold(directory, args, out, err);
+         }
+         return executeWarm(current, directory, commandLine, out, err);
+      }
+      finally
+      {
+         lock.unlock();
+      }
+   }
+
+   void preShutdown(@Observes @Local PreShutdown event)
+   {
+      synchronized (this)
+      {
+         if (embedder != null)
+         {
+            embedder.dispose();
+            embedder = null;
+         }
+      }
+      projectLocks.clear();
+   }
+
+   /**
+    * Creates the {@link Embedder} running the builds, whose loggers are provided by the given manager
+    */
+   Embedder createEmbedder(MavenBuildLoggerManager loggerManager) throws Exception
+   {
+      return new PlexusEmbedder(loggerManager);
+   }
+
+   Execution executeCold(File directory, String[] args, PrintStream out, PrintStream err)
+   {
+      MavenCli cli = new MavenCli();
+      int i = cli.doMain(args, directory.getAbsolutePath(), out, err);
+      return new Execution(i == 0, Collections.<String, Long> emptyMap());
+   }
+
+   private Execution executeWarm(Embedder current, File directory, CommandLine commandLine, PrintStream out,
+            PrintStream err)
+   {
+      ClassLoader cl = Thread.currentThread().getContextClassLoader();
+      try
+      {
+         MavenExecutionRequest request = current.newRequest(directory, commandLine);
+         PhaseListener listener = new PhaseListener(out, err);
+         request.setExecutionListener(listener);
+
+         Object previousOutput = loggerManager.redirect(out, err, request.getLoggingLevel());
+         try
+         {
+            Thread.currentThread().setContextClassLoader(current.getClassLoader());
+            MavenExecutionResult result = current.execute(request);
+            for (Throwable exception : result.getExceptions())
+            {
+               err.println("[ERROR] " + exception.getMessage());
+               if (request.isShowErrors())
+               {
+                  exception.printStackTrace(err);
+               }
+            }
+            return new Execution(!result.hasExceptions(), listener.getPhaseTimings());
+         }
+         finally
+         {
+            loggerManager.restore(previousOutput);
+         }
+      }
+      catch (Exception e)
+      {
+         e.printStackTrace(err);
+         return new Execution(false, Collections.<String, Long> emptyMap());
+      }
+      finally
+      {
+         /*
+          * Maven switches to the class realms of plugins while building, and may not switch back if a plugin fails
+          */
+         Thread.currentThread().setContextClassLoader(cl);
+      }
+   }
+
+   private synchronized Embedder getEmbedder() throws Exception
+   {
+      if (embedder == null)
+      {
+         embedder = createEmbedder(loggerManager);
+      }
+      return embedder;
+   }
+
+   private ReentrantLock getProjectLock(File directory)
+   {
+      String path = ProjectBuildingResultCache.canonicalPath(directory);
+      ReentrantLock lock = projectLocks.get(path);
+      if (lock == null)
+      {
+         ReentrantLock existing = projectLocks.putIfAbsent(path, lock = new ReentrantLock());
+         if (existing != null)
+         {
+            lock = existing;
+         }
+      }
+      return lock;
+   }
+
+   private static boolean isSupported(CommandLine commandLine)
+   {
+      for (Option option : commandLine.getOptions())
+      {
+         if (!SUPPORTED_OPTIONS.contains(option.getOpt()))
+         {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Runs the builds requested from command lines
+    */
+   interface Embedder
+   {
+      MavenExecutionRequest newRequest(File directory, CommandLine commandLine) throws Exception;
+
+      MavenExecutionResult execute(MavenExecutionRequest request);
+
+      /**
+       * Returns the class loader to build with
+       */
+      ClassLoader getClassLoader();
+
+      void dispose();
+   }
+
+   /**
+    * Runs the builds in a Plexus container holding the Maven components
+    */
+   private class PlexusEmbedder implements Embedder
+   {
+      private final DefaultPlexusContainer plexusContainer;
+      private final Maven maven;
+      private final MavenExecutionRequestPopulator populator;
+
+      PlexusEmbedder(MavenBuildLoggerManager loggerManager) throws Exception
+      {
+         ContainerConfiguration config = new DefaultContainerConfiguration().setAutoWiring(true)
+                  .setClassPathScanning(PlexusConstants.SCANNING_INDEX).setName("maven");
+         plexusContainer = new DefaultPlexusContainer(config);
+         try
+         {
+            plexusContainer.setLoggerManager(loggerManager);
+            maven = plexusContainer.lookup(Maven.class);
+            populator = plexusContainer.lookup(MavenExecutionRequestPopulator.class);
+         }
+         catch (Exception e)
+         {
+            plexusContainer.dispose();
+            throw e;
+         }
+      }
+
+      @Override
+      public MavenExecutionRequest newRequest(File directory, CommandLine commandLine) throws Exception
+      {
+         MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+         populator.populateFromSettings(request, container.getSettings());
+
+         List<String> goals = new ArrayList<>();
+         for (String goal : commandLine.getArgs())
+         {
+            if (!goal.trim().isEmpty())
+            {
+               goals.add(goal.trim());
+            }
+         }
+         request.setGoals(goals);
+         request.setBaseDirectory(directory);
+         request.setPom(new File(directory, "pom.xml"));
+         request.setStartTime(new Date());
+         request.setInteractiveMode(false);
+
+         Properties systemProperties = new Properties();
+         EnvironmentUtils.addEnvVars(systemProperties);
+         systemProperties.putAll(System.getProperties());
+         Properties userProperties = new Properties();
+         String[] definitions = commandLine.getOptionValues(CLIManager.SET_SYSTEM_PROPERTY);
+         if (definitions != null)
+         {
+            for (String definition : definitions)
+            {
+               int index = definition.indexOf('=');
+               String name = index < 0 ? definition.trim() : definition.substring(0, index).trim();
+               String value = index < 0 ? "true" : definition.substring(index + 1);
+               userProperties.setProperty(name, value);
+            }
+         }
+         request.setSystemProperties(systemProperties);
+         request.setUserProperties(userProperties);
+
+         String[] profiles = commandLine.getOptionValues(CLIManager.ACTIVATE_PROFILES);
+         if (profiles != null)
+         {
+            for (String value : profiles)
+            {
+               for (String profile : value.split(","))
+               {
+                  profile = profile.trim();
+                  if (profile.startsWith("-") || profile.startsWith("!"))
+                  {
+                     request.addInactiveProfile(profile.substring(1));
+                  }
+                  else if (!profile.isEmpty())
+                  {
+                     request.addActiveProfile(profile.startsWith("+") ? profile.substring(1) : profile);
+                  }
+               }
+            }
+         }
+
+         if (commandLine.hasOption(CLIManager.OFFLINE))
+         {
+            request.setOffline(true);
+         }
+         boolean debug = commandLine.hasOption(CLIManager.DEBUG);
+         if (debug)
+         {
+            request.setLoggingLevel(MavenExecutionRequest.LOGGING_LEVEL_DEBUG);
+         }
+         else if (commandLine.hasOption(CLIManager.QUIET))
+         {
+            request.setLoggingLevel(MavenExecutionRequest.LOGGING_LEVEL_ERROR);
+         }
+         else
+         {
+            request.setLoggingLevel(MavenExecutionRequest.LOGGING_LEVEL_INFO);
+         }
+         request.setShowErrors(debug || commandLine.hasOption(CLIManager.ERRORS));
+         request.setRecursive(!commandLine.hasOption(CLIManager.NON_RECURSIVE));
+         request.setUpdateSnapshots(commandLine.hasOption(CLIManager.UPDATE_SNAPSHOTS));
+
+         populator.populateDefaults(request);
+         return request;
+      }
+
+      @Override
+      public MavenExecutionResult execute(MavenExecutionRequest request)
+      {
+         return maven.execute(request);
+      }
+
+      @Override
+      public ClassLoader getClassLoader()
+      {
+         return plexusContainer.getContainerRealm();
+      }
+
+      @Override
+      public void dispose()
+      {
+         plexusContainer.dispose();
+      }
+   }
+
+   /**
+    * The outcome of a build
+    */
+   static class Execution
+   {
+      private final boolean success;
+      private final Map<String, Long> phaseTimings;
+
+      Execution(boolean success, Map<String, Long> phaseTimings)
+      {
+         this.success = success;
+         this.phaseTimings = phaseTimings;
+      }
+
+      boolean isSuccess()
+      {
+         return success;
+      }
+
+      /**
+       * Returns the time spent in each phase, in milliseconds and in execution order
+       */
+      Map<String, Long> getPhaseTimings()
+      {
+         return phaseTimings;
+      }
+   }
+
+   /**
+    * Reports the progress of a build and sums up the time spent running the goals of each phase. Goals invoked
+    * directly are reported under their own name.
+    */
+   private static class PhaseListener extends AbstractExecutionListener
+   {
+      private final PrintStream out;
+      private final PrintStream err;
+      private final Map<String, Long> phaseTimings = new LinkedHashMap<>();
+      private long mojoStart;
+
+      PhaseListener(PrintStream out, PrintStream err)
+      {
+         this.out = out;
+         this.err = err;
+      }
+
+      @Override
+      public void projectStarted(ExecutionEvent event)
+      {
+         MavenProject project = event.getProject();
+         out.println("[INFO] Building " + project.getName() + " " + project.getVersion());
+      }
+
+      @Override
+      public void mojoStarted(ExecutionEvent event)
+      {
+         MojoExecution execution = event.getMojoExecution();
+         out.println("[INFO] --- " + execution.getArtifactId() + ":" + execution.getVersion() + ":"
+                  + execution.getGoal() + " (" + execution.getExecutionId() + ") @ "
+                  + event.getProject().getArtifactId() + " ---");
+         mojoStart = System.nanoTime();
+      }
+
+      @Override
+      public void mojoSucceeded(ExecutionEvent event)
+      {
+         mojoEnded(event);
+      }
+
+      @Override
+      public void mojoFailed(ExecutionEvent event)
+      {
+         mojoEnded(event);
+      }
+
+      @Override
+      public void projectFailed(ExecutionEvent event)
+      {
+         err.println("[ERROR] Failed to build " + event.getProject().getName());
+      }
+
+      @Override
+      public void sessionEnded(ExecutionEvent event)
+      {
+         boolean failed = event.getSession().getResult().hasExceptions();
+         out.println("[INFO] BUILD " + (failed ? "FAILURE" : "SUCCESS"));
+         for (Map.Entry<String, Long> entry : phaseTimings.entrySet())
+         {
+            out.println("[INFO]    " + entry.getKey() + ": " + entry.getValue() + " ms");
+         }
+      }
+
+      private synchronized void mojoEnded(ExecutionEvent event)
+      {
+         long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mojoStart);
+         MojoExecution execution = event.getMojoExecution();
+         String phase = execution.getLifecyclePhase();
+         if (phase == null)
+         {
+            phase = execution.getArtifactId() + ":" + execution.getGoal();
+         }
+         Long total = phaseTimings.get(phase);
+         phaseTimings.put(phase, total == null ? elapsed : total + elapsed);
+      }
+
+      synchronized Map<String, Long> getPhaseTimings()
+      {
+         return Collections.unmodifiableMap(new LinkedHashMap<>(phaseTimings));
+      }
+   }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.addon.maven.projects;
+
+import java.io.PrintStream;
+
+import org.codehaus.plexus.logging.AbstractLogger;
+import org.codehaus.plexus.logging.BaseLoggerManager;
+import org.codehaus.plexus.logging.Logger;
+
+/**
+ * A {@link BaseLoggerManager} whose loggers print to the streams of the build running on the current thread, so that
+ * builds running at the same time in one container do not mix their output.
+ * <p/>
+ * Messages logged outside of a build are only printed if they are errors.
+ */
+class MavenBuildLoggerManager extends BaseLoggerManager
+{
+   private static final Output DEFAULT_OUTPUT = new Output(System.out, System.err, Logger.LEVEL_ERROR);
+
+   private final ThreadLocal<Output> output = new InheritableThreadLocal<Output>()
+   {
+      @Override
+      protected Output initialValue()
+      {
+         return DEFAULT_OUTPUT;
+      }
+   };
+
+   MavenBuildLoggerManager()
+   {
+      // Each build has its own threshold, so the loggers let everything through
+      setThreshold(Logger.LEVEL_DEBUG);
+   }
+
+   /**
+    * Redirects the messages logged by the current thread, and the threads it starts, to the given streams. Returns the
+    * previous output, to be restored with {@link #restore(Object)}.
+    */
+   Object redirect(PrintStream out, PrintStream err, int threshold)
+   {
+      Object previous = output.get();
+      output.set(new Output(out, err, threshold));
+      return previous;
+   }
+
+   void restore(Object previous)
+   {
+      output.set((Output) previous);
+   }
+
+   @Override
+   protected Logger createLogger(String key)
+   {
+      return new BuildLogger(key);
+   }
+
+   private static class Output
+   {
+      private final PrintStream out;
+      private final PrintStream err;
+      private final int threshold;
+
+      Output(PrintStream out, PrintStream err, int threshold)
+      {
+         this.out = out;
+         this.err = err;
+         this.threshold = threshold;
+      }
+   }
+
+   private class BuildLogger extends AbstractLogger
+   {
+      BuildLogger(String name)
+      {
+         super(Logger.LEVEL_DEBUG, name);
+      }
+
+      @Override
+      public boolean isDebugEnabled()
+      {
+         return isEnabled(LEVEL_DEBUG);
+      }
+
+      @Override
+      public boolean isInfoEnabled()
+      {
+         return isEnabled(LEVEL_INFO);
+      }
+
+      @Override
+      public boolean isWarnEnabled()
+      {
+         return isEnabled(LEVEL_WARN);
+      }
+
+      @Override
+      public boolean isErrorEnabled()
+      {
+         return isEnabled(LEVEL_ERROR);
+      }
+
+      @Override
+      public boolean isFatalErrorEnabled()
+      {
+         return isEnabled(LEVEL_FATAL);
+      }
+
+      @Override
+      public void debug(String message, Throwable throwable)
+      {
+         log(LEVEL_DEBUG, "DEBUG", message, throwable);
+      }
+
+      @Override
+      public void info(String message, Throwable throwable)
+      {
+         log(LEVEL_INFO, "INFO", message, throwable);
+      }
+
+      @Override
+      public void warn(String message, Throwable throwable)
+      {
+         log(LEVEL_WARN, "WARNING", message, throwable);
+      }
+
+      @Override
+      public void error(String message, Throwable throwable)
+      {
+         log(LEVEL_ERROR, "ERROR", message, throwable);
+      }
+
+      @Override
+      public void fatalError(String message, Throwable throwable)
+      {
+         log(LEVEL_FATAL, "FATAL", message, throwable);
+      }
+
+      @Override
+      public Logger getChildLogger(String name)
+      {
+         return new BuildLogger(getName() + "." + name);
+      }
+
+      private boolean isEnabled(int level)
+      {
+         return output.get().threshold <= level;
+      }
+
+      private void log(int level, String prefix, String message, Throwable throwable)
+      {
+         Output current = output.get();
+         if (current.threshold > level)
+         {
+            return;
+         }
+         PrintStream stream = level >= LEVEL_ERROR ? current.err : current.out;
+         synchronized (stream)
+         {
+            stream.println("[" + prefix + "] " + message);
+            if (throwable != null)
+            {
+               throwable.printStackTrace(stream);
+            }
+         }
+      }
+   }
+}
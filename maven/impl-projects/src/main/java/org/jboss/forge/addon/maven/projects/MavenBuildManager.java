@@ -11,8 +11,9 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -38,9 +39,12 @@ import org.jboss.forge.addon.environment.Environment;
 import org.jboss.forge.addon.maven.environment.Network;
 import org.jboss.forge.addon.maven.projects.util.RepositoryUtils;
 import org.jboss.forge.addon.maven.resources.MavenModelResource;
+import org.jboss.forge.addon.maven.util.SettingsCache;
 import org.jboss.forge.addon.resource.events.ResourceEvent;
 import org.jboss.forge.addon.resource.monitor.ResourceListener;
 import org.jboss.forge.addon.resource.monitor.ResourceMonitor;
+import org.jboss.forge.furnace.container.cdi.events.Local;
+import org.jboss.forge.furnace.event.PreShutdown;
 import org.jboss.forge.furnace.manager.maven.MavenContainer;
 import org.jboss.forge.furnace.util.Assert;
 
@@ -52,8 +56,8 @@ import org.jboss.forge.furnace.util.Assert;
 @Singleton
 public class MavenBuildManager
 {
-   // TODO: Repĺace this with a Cache implementation
-   private Map<MavenModelResource, ProjectBuildingResult> cache = new WeakHashMap<>();
+   private final ProjectBuildingResultCache cache = new ProjectBuildingResultCache();
+   private final Map<String, ResourceMonitor> monitors = new ConcurrentHashMap<>();
 
    @Inject
    private PlexusContainer plexus;
@@ -65,19 +69,39 @@ public class MavenBuildManager
    private Environment environment;
 
    private ProjectBuilder builder;
+   private SettingsCache settingsCache;
+
+   void shutdown(@Observes @Local PreShutdown event)
+   {
+      for (ResourceMonitor monitor : monitors.values())
+      {
+         monitor.cancel();
+      }
+      monitors.clear();
+      cache.clear();
+   }
 
    ProjectBuildingResult getProjectBuildingResult(MavenModelResource pomResource)
    {
-      ProjectBuildingResult result = cache.get(pomResource);
+      boolean offline = Network.isOffline(environment);
+      // FORGE-1287
+      boolean inTransaction = !pomResource.getUnderlyingResourceObject().exists();
+      ProjectBuildingResultCache.Key key = null;
+      ProjectBuildingResult result = null;
+      if (!inTransaction)
+      {
+         // The changes made in a transaction are not in the file, so they must not be cached under its path
+         key = new ProjectBuildingResultCache.Key(pomResource.getUnderlyingResourceObject(), offline,
+                  getSettings().getActiveProfiles());
+         result = cache.get(key);
+      }
       if (result == null)
       {
-         ProjectBuildingRequest request = getProjectBuildingRequest();
+         ProjectBuildingRequest request = getProjectBuildingRequest(offline);
          Assert.notNull(request, "Project building request was null");
          request.setResolveDependencies(true);
          try
          {
-            boolean inTransaction = !pomResource.getUnderlyingResourceObject().exists();
-            // FORGE-1287
             if (inTransaction)
             {
                result = getBuilder().build(new FileResourceModelSource(pomResource), request);
@@ -87,8 +111,8 @@ public class MavenBuildManager
             {
                result = getBuilder().build(pomResource.getUnderlyingResourceObject(), request);
                monitorResource(pomResource);
+               cache.put(key, result);
             }
-            cache.put(pomResource, result);
          }
          catch (RuntimeException full)
          {
@@ -104,17 +128,29 @@ public class MavenBuildManager
 
    private void monitorResource(final MavenModelResource pomResource)
    {
+      final String path = ProjectBuildingResultCache.canonicalPath(pomResource.getUnderlyingResourceObject());
+      if (monitors.containsKey(path))
+         return;
       final ResourceMonitor monitor = pomResource.monitor();
       monitor.addResourceListener(new ResourceListener()
       {
-
          @Override
          public void processEvent(ResourceEvent event)
          {
-            cache.remove(pomResource);
+            cache.evict(pomResource.getUnderlyingResourceObject());
+            monitors.remove(path);
             monitor.cancel();
          }
       });
+      monitors.put(path, monitor);
+   }
+
+   /**
+    * Returns the {@link ProjectBuildingResultCache} used by this build manager
+    */
+   ProjectBuildingResultCache getCache()
+   {
+      return cache;
    }
 
    ProjectBuildingRequest getProjectBuildingRequest()
@@ -127,13 +163,13 @@ public class MavenBuildManager
       ClassLoader cl = Thread.currentThread().getContextClassLoader();
       try
       {
-         Settings settings = container.getSettings();
+         Settings settings = getSettings();
          // TODO this needs to be configurable via .forge
          // TODO this reference to the M2_REPO should probably be centralized
 
          MavenExecutionRequest executionRequest = new DefaultMavenExecutionRequest();
          MavenExecutionRequestPopulator populator = plexus.lookup(MavenExecutionRequestPopulator.class);
-         populator.populateFromSettings(executionRequest, container.getSettings());
+         populator.populateFromSettings(executionRequest, settings);
          populator.populateDefaults(executionRequest);
          RepositorySystem system = plexus.lookup(RepositorySystem.class);
          ProjectBuildingRequest request = executionRequest.getProjectBuildingRequest();
@@ -218,12 +254,24 @@ public class MavenBuildManager
 
    File getLocalRepositoryDirectory()
    {
-      return new File(container.getSettings().getLocalRepository()).getAbsoluteFile();
+      return new File(getSettings().getLocalRepository()).getAbsoluteFile();
+   }
+
+   /**
+    * Returns the Maven settings, read again only when the settings files change
+    */
+   private synchronized Settings getSettings()
+   {
+      if (settingsCache == null)
+      {
+         settingsCache = new SettingsCache(container);
+      }
+      return settingsCache.getSettings();
    }
 
    void evictFromCache(MavenModelResource pom)
    {
-      cache.remove(pom);
+      cache.evict(pom.getUnderlyingResourceObject());
    }
 
 }
\ No newline at end of file
@@ -7,6 +7,7 @@
 package org.jboss.forge.addon.maven.projects;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
@@ -22,13 +23,13 @@ import java.util.logging.Logger;
 
 import javax.inject.Inject;
 
-import org.apache.maven.cli.MavenCli;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.project.ProjectBuildingResult;
 import org.jboss.forge.addon.facets.AbstractFacet;
 import org.jboss.forge.addon.maven.projects.util.NativeSystemCall;
+import org.jboss.forge.addon.maven.projects.util.PropertyInterpolator;
 import org.jboss.forge.addon.maven.resources.MavenModelResource;
 import org.jboss.forge.addon.projects.Project;
 import org.jboss.forge.addon.projects.ProjectFacet;
@@ -49,6 +50,20 @@ public class MavenFacetImpl extends AbstractFacet<Project> implements ProjectFac
    @Inject
    private MavenBuildManager buildManager;
 
+   @Inject
+   private MavenBuildEngine buildEngine;
+
+   private volatile PropertyInterpolator propertyInterpolator;
+
+   /*
+    * The state of the current model session, guarded by this facet. Only the thread that started a session takes part
+    * in it; the others wait for it to end.
+    */
+   private Thread sessionOwner;
+   private int sessionDepth;
+   private Model pendingModel;
+   private boolean pendingChanges;
+
    public ProjectBuildingRequest getRequest()
    {
       return buildManager.getProjectBuildingRequest();
@@ -111,11 +126,96 @@ public class MavenFacetImpl extends AbstractFacet<Project> implements ProjectFac
    @Override
    public Model getModel()
    {
+      synchronized (this)
+      {
+         if (awaitSession())
+         {
+            // Changes are only kept when set back, as when the model is read from the POM file
+            return pendingModel.clone();
+         }
+      }
       return getModelResource().getCurrentModel();
    }
 
    @Override
    public void setModel(final Model pom)
+   {
+      synchronized (this)
+      {
+         if (awaitSession())
+         {
+            // Later changes made by the caller are not part of the session, as when the model is written right away
+            pendingModel = pom.clone();
+            pendingChanges = true;
+            return;
+         }
+      }
+      writeModel(pom);
+   }
+
+   @Override
+   public synchronized MavenModelSession beginModelSession()
+   {
+      if (!awaitSession())
+      {
+         sessionOwner = Thread.currentThread();
+         pendingModel = getModelResource().getCurrentModel();
+         pendingChanges = false;
+      }
+      sessionDepth++;
+      return new ModelSession();
+   }
+
+   /**
+    * Ends a model session, writing the pending model if the outermost session is committed
+    */
+   private synchronized void endModelSession(boolean commit)
+   {
+      if (--sessionDepth == 0)
+      {
+         Model pom = pendingModel;
+         boolean changed = pendingChanges;
+         pendingModel = null;
+         pendingChanges = false;
+         try
+         {
+            if (commit && changed)
+            {
+               writeModel(pom);
+            }
+         }
+         finally
+         {
+            sessionOwner = null;
+            notifyAll();
+         }
+      }
+   }
+
+   /**
+    * Waits for the model session started by another thread, if any, to end. Returns <code>true</code> if the current
+    * thread is in a model session. Must be called while holding the lock of this facet.
+    */
+   private boolean awaitSession()
+   {
+      Thread current = Thread.currentThread();
+      while (sessionDepth > 0 && sessionOwner != current)
+      {
+         try
+         {
+            wait();
+         }
+         catch (InterruptedException e)
+         {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the model session of another thread to end",
+                     e);
+         }
+      }
+      return sessionDepth > 0;
+   }
+
+   private void writeModel(final Model pom)
    {
       MavenXpp3Writer writer = new MavenXpp3Writer();
       ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
@@ -172,16 +272,9 @@ public class MavenFacetImpl extends AbstractFacet<Project> implements ProjectFac
       String result = input;
       try
       {
-         if (input != null)
+         if (input != null && input.contains("${"))
          {
-            Properties properties = getProjectBuildingResult().getProject().getProperties();
-
-            for (Entry<Object, Object> e : properties.entrySet())
-            {
-               String key = "\\$\\{" + e.getKey().toString() + "\\}";
-               Object value = e.getValue();
-               result = result.replaceAll(key, value.toString());
-            }
+            result = getPropertyInterpolator().interpolate(input);
          }
       }
       catch (Exception e)
@@ -195,6 +288,22 @@ public class MavenFacetImpl extends AbstractFacet<Project> implements ProjectFac
       return result;
    }
 
+   /**
+    * Returns the {@link PropertyInterpolator} of the properties of the current model, which is created again only when
+    * the model changes
+    */
+   public PropertyInterpolator getPropertyInterpolator() throws Exception
+   {
+      Properties properties = getProjectBuildingResult().getProject().getProperties();
+      PropertyInterpolator interpolator = propertyInterpolator;
+      if (interpolator == null || !interpolator.isSnapshotOf(properties))
+      {
+         interpolator = new PropertyInterpolator(properties);
+         propertyInterpolator = interpolator;
+      }
+      return interpolator;
+   }
+
    @Override
    public boolean executeMavenEmbedded(final List<String> parameters)
    {
@@ -213,15 +322,21 @@ public class MavenFacetImpl extends AbstractFacet<Project> implements ProjectFac
    }
 
    public boolean executeMavenEmbedded(final PrintStream out, final PrintStream err, String[] parms)
+   {
+      return executeBuild(out, err, parms).isSuccess();
+   }
+
+   /**
+    * Runs an embedded Maven build, reporting the time spent in each phase
+    */
+   MavenBuildEngine.Execution executeBuild(final PrintStream out, final PrintStream err, String[] parms)
    {
       if ((parms == null) || (parms.length == 0))
       {
          parms = new String[] { "" };
       }
-      MavenCli cli = new MavenCli();
-      int i = cli.doMain(parms, getFaceted().getRoot().getFullyQualifiedName(),
-               out, err);
-      return i == 0;
+      File directory = new File(getFaceted().getRoot().getFullyQualifiedName());
+      return buildEngine.execute(directory, parms, out, err);
    }
 
    @Override
@@ -280,4 +395,32 @@ public class MavenFacetImpl extends AbstractFacet<Project> implements ProjectFac
       }
    }
 
+   private class ModelSession implements MavenModelSession
+   {
+      private boolean ended;
+
+      @Override
+      public void commit()
+      {
+         end(true);
+      }
+
+      @Override
+      public void close()
+      {
+         end(false);
+      }
+
+      private void end(boolean commit)
+      {
+         synchronized (MavenFacetImpl.this)
+         {
+            if (!ended)
+            {
+               ended = true;
+               endModelSession(commit);
+            }
+         }
+      }
+   }
 }
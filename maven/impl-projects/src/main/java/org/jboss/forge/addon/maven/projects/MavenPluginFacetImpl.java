@@ -178,10 +178,15 @@ public class MavenPluginFacetImpl extends AbstractFacet<Project> implements Mave
 
    private void updatePlugin(final MavenPlugin plugin, boolean managedPlugin)
    {
-      this.removePlugin(plugin.getCoordinate(), managedPlugin);
-      if (!this.hasPlugin(plugin.getCoordinate(), managedPlugin, false))
+      MavenFacet mavenCoreFacet = getFaceted().getFacet(MavenFacet.class);
+      try (MavenModelSession session = mavenCoreFacet.beginModelSession())
       {
-         this.addPlugin(plugin, managedPlugin);
+         this.removePlugin(plugin.getCoordinate(), managedPlugin);
+         if (!this.hasPlugin(plugin.getCoordinate(), managedPlugin, false))
+         {
+            this.addPlugin(plugin, managedPlugin);
+         }
+         session.commit();
       }
    }
 
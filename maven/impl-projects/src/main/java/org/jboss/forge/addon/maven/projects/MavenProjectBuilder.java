@@ -9,7 +9,9 @@ package org.jboss.forge.addon.maven.projects;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.forge.addon.environment.Environment;
 import org.jboss.forge.addon.maven.environment.Network;
@@ -30,6 +32,7 @@ public class MavenProjectBuilder implements ProjectBuilder
 
    private boolean runTests = true;
    private final List<String> args = new ArrayList<>();
+   private volatile Map<String, Long> phaseTimings = Collections.emptyMap();
 
    public MavenProjectBuilder(final Environment environment, final Project project)
    {
@@ -80,9 +83,11 @@ public class MavenProjectBuilder implements ProjectBuilder
          selected.add("-Dmaven.test.skip=true");
       }
 
-      boolean success = project.getFacet(MavenFacet.class).executeMavenEmbedded(selected, out, err);
+      MavenBuildEngine.Execution execution = project.getFacet(MavenFacetImpl.class).executeBuild(out, err,
+               selected.toArray(new String[selected.size()]));
+      phaseTimings = execution.getPhaseTimings();
 
-      if (success)
+      if (execution.isSuccess())
       {
          return project.getFacet(PackagingFacet.class).getFinalArtifact();
       }
@@ -91,4 +96,10 @@ public class MavenProjectBuilder implements ProjectBuilder
          throw new BuildException("Build failed.");
       }
    }
+
+   @Override
+   public Map<String, Long> getPhaseTimings()
+   {
+      return phaseTimings;
+   }
 }
@@ -0,0 +1,316 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.maven.projects;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingResult;
+
+/**
+ * A bounded LRU cache of {@link ProjectBuildingResult} instances.
+ * <p/>
+ * Entries are keyed by the canonical POM path, the offline flag and the active settings profiles. Each entry remembers
+ * the last modification time, size and content hash of its POM and of every parent POM found in the filesystem, and is
+ * discarded as soon as one of them changes. The content of a file is only hashed again when its modification time or
+ * size change.
+ */
+public class ProjectBuildingResultCache
+{
+   /**
+    * The default maximum number of cached results. May be overridden by the
+    * <code>org.jboss.forge.addon.maven.buildCache.maxEntries</code> system property.
+    */
+   public static final int DEFAULT_MAX_ENTRIES = 64;
+
+   private final int maxEntries;
+   private final Map<Key, CachedResult> entries;
+
+   private long hits;
+   private long misses;
+   private long evictions;
+
+   public ProjectBuildingResultCache()
+   {
+      this(Integer.getInteger("org.jboss.forge.addon.maven.buildCache.maxEntries", DEFAULT_MAX_ENTRIES));
+   }
+
+   @SuppressWarnings("serial")
+   public ProjectBuildingResultCache(int maxEntries)
+   {
+      this.maxEntries = maxEntries;
+      this.entries = new LinkedHashMap<Key, CachedResult>(16, 0.75f, true)
+      {
+         @Override
+         protected boolean removeEldestEntry(Entry<Key, CachedResult> eldest)
+         {
+            boolean evict = size() > ProjectBuildingResultCache.this.maxEntries;
+            if (evict)
+            {
+               evictions++;
+            }
+            return evict;
+         }
+      };
+   }
+
+   /**
+    * Returns the cached {@link ProjectBuildingResult} for the given {@link Key}, or <code>null</code> if there is no
+    * entry or its POM or one of its parent POMs has changed.
+    */
+   public synchronized ProjectBuildingResult get(Key key)
+   {
+      CachedResult cached = entries.get(key);
+      if (cached != null && !cached.isUnchanged())
+      {
+         entries.remove(key);
+         evictions++;
+         cached = null;
+      }
+      if (cached == null)
+      {
+         misses++;
+         return null;
+      }
+      hits++;
+      return cached.result;
+   }
+
+   /**
+    * Stores the given {@link ProjectBuildingResult}
+    */
+   public synchronized void put(Key key, ProjectBuildingResult result)
+   {
+      // Only one entry per POM file is useful, since older contents will never be looked up again
+      evict(key.path);
+      entries.put(key, new CachedResult(new File(key.path), result));
+   }
+
+   /**
+    * Evicts all the entries for the given POM file
+    */
+   public synchronized void evict(File pomFile)
+   {
+      evict(canonicalPath(pomFile));
+   }
+
+   private void evict(String path)
+   {
+      Iterator<Key> iterator = entries.keySet().iterator();
+      while (iterator.hasNext())
+      {
+         if (iterator.next().path.equals(path))
+         {
+            iterator.remove();
+            evictions++;
+         }
+      }
+   }
+
+   /**
+    * Removes all the entries from this cache
+    */
+   public synchronized void clear()
+   {
+      evictions += entries.size();
+      entries.clear();
+   }
+
+   public synchronized int size()
+   {
+      return entries.size();
+   }
+
+   public int getMaxEntries()
+   {
+      return maxEntries;
+   }
+
+   public synchronized long getHitCount()
+   {
+      return hits;
+   }
+
+   public synchronized long getMissCount()
+   {
+      return misses;
+   }
+
+   public synchronized long getEvictionCount()
+   {
+      return evictions;
+   }
+
+   @Override
+   public synchronized String toString()
+   {
+      return "ProjectBuildingResultCache [size=" + entries.size() + ", maxEntries=" + maxEntries + ", hits=" + hits
+               + ", misses=" + misses + ", evictions=" + evictions + "]";
+   }
+
+   static String canonicalPath(File file)
+   {
+      try
+      {
+         return file.getCanonicalPath();
+      }
+      catch (IOException e)
+      {
+         return file.getAbsolutePath();
+      }
+   }
+
+   static String toHex(byte[] digest)
+   {
+      StringBuilder sb = new StringBuilder(digest.length * 2);
+      for (byte b : digest)
+      {
+         sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return sb.toString();
+   }
+
+   static String hash(File file)
+   {
+      try
+      {
+         return toHex(MessageDigest.getInstance("MD5").digest(Files.readAllBytes(file.toPath())));
+      }
+      catch (IOException e)
+      {
+         return null;
+      }
+      catch (NoSuchAlgorithmException e)
+      {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   /**
+    * The key of a cached {@link ProjectBuildingResult}
+    */
+   public static final class Key
+   {
+      private final String path;
+      private final boolean offline;
+      private final List<String> activeProfiles;
+
+      public Key(File pomFile, boolean offline, List<String> activeProfiles)
+      {
+         this.path = canonicalPath(pomFile);
+         this.offline = offline;
+         this.activeProfiles = activeProfiles == null ? new ArrayList<String>() : new ArrayList<>(activeProfiles);
+      }
+
+      @Override
+      public int hashCode()
+      {
+         final int prime = 31;
+         int result = 1;
+         result = prime * result + path.hashCode();
+         result = prime * result + (offline ? 1231 : 1237);
+         result = prime * result + activeProfiles.hashCode();
+         return result;
+      }
+
+      @Override
+      public boolean equals(Object obj)
+      {
+         if (this == obj)
+            return true;
+         if (!(obj instanceof Key))
+            return false;
+         Key other = (Key) obj;
+         return path.equals(other.path) && offline == other.offline && activeProfiles.equals(other.activeProfiles);
+      }
+
+      @Override
+      public String toString()
+      {
+         return path + (offline ? " (offline)" : "") + " " + activeProfiles;
+      }
+   }
+
+   private static class CachedResult
+   {
+      private final ProjectBuildingResult result;
+      private final List<FileState> files = new ArrayList<>();
+
+      CachedResult(File pomFile, ProjectBuildingResult result)
+      {
+         this.result = result;
+         files.add(new FileState(pomFile));
+         MavenProject project = result.getProject();
+         while (project != null && project.getParentFile() != null)
+         {
+            files.add(new FileState(project.getParentFile()));
+            project = project.getParent();
+         }
+      }
+
+      boolean isUnchanged()
+      {
+         for (FileState file : files)
+         {
+            if (!file.isUnchanged())
+            {
+               return false;
+            }
+         }
+         return true;
+      }
+   }
+
+   /**
+    * The state of a file a cached result was built from
+    */
+   private static class FileState
+   {
+      private final File file;
+      private final String hash;
+      private long lastModified;
+      private long size;
+
+      FileState(File file)
+      {
+         this.file = file;
+         this.lastModified = file.lastModified();
+         this.size = file.length();
+         this.hash = hash(file);
+      }
+
+      boolean isUnchanged()
+      {
+         long currentLastModified = file.lastModified();
+         long currentSize = file.length();
+         if (currentLastModified == lastModified && currentSize == size)
+         {
+            return true;
+         }
+         String current = hash(file);
+         if (current == null ? hash != null : !current.equals(hash))
+         {
+            return false;
+         }
+         // Touched, but not changed
+         lastModified = currentLastModified;
+         size = currentSize;
+         return true;
+      }
+   }
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.maven.projects.facets;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.event.Observes;
+import javax.inject.Singleton;
+
+import org.jboss.forge.addon.parser.java.index.JavaTypeIndex;
+import org.jboss.forge.addon.resource.DirectoryResource;
+import org.jboss.forge.addon.resource.FileResource;
+import org.jboss.forge.addon.resource.events.ResourceEvent;
+import org.jboss.forge.addon.resource.monitor.ResourceBatchListener;
+import org.jboss.forge.addon.resource.monitor.ResourceMonitor;
+import org.jboss.forge.furnace.container.cdi.events.Local;
+import org.jboss.forge.furnace.event.PreShutdown;
+
+/**
+ * Keeps one {@link JavaTypeIndex} per source directory, persisted under the project's <code>.forge</code> directory
+ * and kept up to date by {@link ResourceMonitor} events.
+ * <p/>
+ * An index is fully updated only when it is loaded, or on each query if its directory cannot be monitored. The number
+ * of indexes held is bounded by the <code>org.jboss.forge.addon.maven.projects.typeIndexes</code> system property; the
+ * least recently used one is released beyond it.
+ */
+@Singleton
+public class JavaTypeIndexManager
+{
+   private static final Logger log = Logger.getLogger(JavaTypeIndexManager.class.getName());
+
+   static final String INDEX_DIRECTORY = ".forge";
+
+   private static final int MAX_INDEXES = Integer.getInteger("org.jboss.forge.addon.maven.projects.typeIndexes", 16);
+
+   private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true)
+   {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest)
+      {
+         if (size() > MAX_INDEXES)
+         {
+            eldest.getValue().release();
+            return true;
+         }
+         return false;
+      }
+   };
+
+   synchronized void shutdown(@Observes @Local PreShutdown event)
+   {
+      for (Entry entry : entries.values())
+      {
+         entry.release();
+      }
+      entries.clear();
+   }
+
+   /**
+    * Returns the up-to-date {@link JavaTypeIndex} for the given source directory.
+    */
+   synchronized JavaTypeIndex getIndex(DirectoryResource projectRoot, DirectoryResource sourceDirectory)
+   {
+      File sourceDir = sourceDirectory.getUnderlyingResourceObject();
+      String key = sourceDir.getAbsolutePath();
+      Entry entry = entries.get(key);
+      if (entry == null)
+      {
+         File indexDir = new File(projectRoot.getUnderlyingResourceObject(), INDEX_DIRECTORY);
+         entry = new Entry(new JavaTypeIndex(new File(indexDir, sourceDir.getName() + "-"
+                  + Integer.toHexString(key.hashCode()) + ".idx")));
+         entries.put(key, entry);
+      }
+      if (entry.monitor == null)
+      {
+         // Not loaded yet, or changes are not notified
+         if (sourceDir.isDirectory())
+         {
+            entry.monitor = monitor(sourceDirectory, entry.index);
+         }
+         entry.index.update(Collections.singletonList(sourceDir));
+      }
+      return entry.index;
+   }
+
+   /**
+    * Updates the index holding the given file, if loaded, without waiting for the change to be notified
+    */
+   synchronized void refresh(DirectoryResource sourceDirectory, File file)
+   {
+      Entry entry = entries.get(sourceDirectory.getUnderlyingResourceObject().getAbsolutePath());
+      if (entry != null)
+      {
+         entry.index.refresh(file);
+      }
+   }
+
+   /**
+    * Releases the index of the given source directory, if loaded
+    */
+   synchronized void release(DirectoryResource sourceDirectory)
+   {
+      Entry entry = entries.remove(sourceDirectory.getUnderlyingResourceObject().getAbsolutePath());
+      if (entry != null)
+      {
+         entry.release();
+      }
+   }
+
+   private ResourceMonitor monitor(DirectoryResource sourceDirectory, final JavaTypeIndex index)
+   {
+      try
+      {
+         ResourceMonitor monitor = sourceDirectory.monitor();
+         monitor.addResourceBatchListener(new ResourceBatchListener()
+         {
+            @Override
+            public void processEvents(List<ResourceEvent> events)
+            {
+               for (ResourceEvent event : events)
+               {
+                  index.refresh(((FileResource<?>) event.getResource()).getUnderlyingResourceObject());
+               }
+            }
+         });
+         return monitor;
+      }
+      catch (IllegalStateException e)
+      {
+         // File monitor is not available, rely on last modified time and size checks only
+         log.log(Level.FINE, "Could not monitor " + sourceDirectory, e);
+         return null;
+      }
+   }
+
+   private static class Entry
+   {
+      private final JavaTypeIndex index;
+      private ResourceMonitor monitor;
+
+      Entry(JavaTypeIndex index)
+      {
+         this.index = index;
+      }
+
+      void release()
+      {
+         if (monitor != null)
+         {
+            monitor.cancel();
+         }
+         index.flush();
+      }
+   }
+}
@@ -7,8 +7,10 @@
 package org.jboss.forge.addon.maven.projects.facets;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -23,6 +25,7 @@ import org.apache.maven.project.ProjectBuildingResult;
 import org.jboss.forge.addon.dependencies.Coordinate;
 import org.jboss.forge.addon.dependencies.Dependency;
 import org.jboss.forge.addon.dependencies.DependencyQuery;
+import org.jboss.forge.addon.dependencies.DependencyQueryResult;
 import org.jboss.forge.addon.dependencies.DependencyRepository;
 import org.jboss.forge.addon.dependencies.DependencyResolver;
 import org.jboss.forge.addon.dependencies.builder.DependencyBuilder;
@@ -34,6 +37,8 @@ import org.jboss.forge.addon.facets.constraints.FacetConstraint;
 import org.jboss.forge.addon.maven.dependencies.MavenDependencyAdapter;
 import org.jboss.forge.addon.maven.projects.MavenFacet;
 import org.jboss.forge.addon.maven.projects.MavenFacetImpl;
+import org.jboss.forge.addon.maven.projects.MavenModelSession;
+import org.jboss.forge.addon.maven.projects.util.PropertyInterpolator;
 import org.jboss.forge.addon.projects.Project;
 import org.jboss.forge.addon.projects.facets.DependencyFacet;
 
@@ -64,14 +69,18 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
    @Override
    public void addDirectDependency(final Dependency dep)
    {
-      removeDependency(dep);
-
       MavenFacet maven = getFaceted().getFacet(MavenFacet.class);
-      Model pom = maven.getModel();
-      List<Dependency> dependencies = MavenDependencyAdapter.fromMavenList(pom.getDependencies());
-      dependencies.add(dep);
-      pom.setDependencies(MavenDependencyAdapter.toMavenList(dependencies));
-      maven.setModel(pom);
+      try (MavenModelSession session = maven.beginModelSession())
+      {
+         removeDependency(dep);
+
+         Model pom = maven.getModel();
+         List<Dependency> dependencies = MavenDependencyAdapter.fromMavenList(pom.getDependencies());
+         dependencies.add(dep);
+         pom.setDependencies(MavenDependencyAdapter.toMavenList(dependencies));
+         maven.setModel(pom);
+         session.commit();
+      }
    }
 
    @Override
@@ -81,9 +90,10 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
       Model pom = maven.getModel();
       List<Dependency> dependencies = MavenDependencyAdapter.fromMavenList(pom.getDependencies());
 
+      Dependency resolved = resolveProperties(dependency);
       for (Dependency dep : dependencies)
       {
-         if (Dependencies.areEquivalent(resolveProperties(dependency), dep))
+         if (Dependencies.areEquivalent(resolved, dep))
          {
             return true;
          }
@@ -99,9 +109,10 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
       List<Dependency> dependencies = MavenDependencyAdapter.fromMavenList(pom.getDependencies());
 
       List<Dependency> toBeRemoved = new ArrayList<>();
+      Dependency resolved = resolveProperties(dep);
       for (Dependency dependency : dependencies)
       {
-         if (Dependencies.areEquivalent(dependency, resolveProperties(dep)))
+         if (Dependencies.areEquivalent(dependency, resolved))
          {
             toBeRemoved.add(dependency);
          }
@@ -118,10 +129,11 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
       Model pom = maven.getModel();
       List<Dependency> dependencies = MavenDependencyAdapter.fromMavenList(pom.getDependencies());
 
+      PropertyInterpolator interpolator = getPropertyInterpolator();
       List<Dependency> result = new ArrayList<>();
       for (Dependency dependency : dependencies)
       {
-         result.add(resolveProperties(dependency));
+         result.add(resolveProperties(interpolator, dependency));
       }
 
       return result;
@@ -134,11 +146,13 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
       Model pom = maven.getModel();
       List<Dependency> dependencies = MavenDependencyAdapter.fromMavenList(pom.getDependencies());
 
+      PropertyInterpolator interpolator = getPropertyInterpolator();
+      Dependency resolved = resolveProperties(interpolator, dependency);
       for (Dependency dep : dependencies)
       {
-         if (Dependencies.areEquivalent(resolveProperties(dependency), dep))
+         if (Dependencies.areEquivalent(resolved, dep))
          {
-            return resolveProperties(dep);
+            return resolveProperties(interpolator, dep);
          }
       }
       return null;
@@ -153,11 +167,13 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
    @Override
    public Dependency getEffectiveDependency(final Dependency manDep)
    {
+      Dependency resolved = resolveProperties(manDep);
       for (Dependency dependency : getEffectiveDependencies())
       {
-         if (Dependencies.areEquivalent(dependency, resolveProperties(manDep)))
+         if (Dependencies.areEquivalent(dependency, resolved))
          {
-            return resolveProperties(dependency);
+            // Effective dependencies are already resolved
+            return dependency;
          }
       }
       return null;
@@ -175,9 +191,10 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
          DependencyResolutionResult dependencyResolutionResult = projectBuildingResult.getDependencyResolutionResult();
          List<Dependency> deps = MavenDependencyAdapter.fromAetherList(dependencyResolutionResult.getDependencies());
 
+         PropertyInterpolator interpolator = maven.getPropertyInterpolator();
          for (Dependency dependency : deps)
          {
-            result.add(resolveProperties(dependency));
+            result.add(resolveProperties(interpolator, dependency));
          }
 
       }
@@ -211,18 +228,22 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
    @Override
    public void addDirectManagedDependency(final Dependency dep)
    {
-      removeManagedDependency(dep);
-
       MavenFacet maven = getFaceted().getFacet(MavenFacet.class);
-      Model pom = maven.getModel();
-      DependencyManagement depMan = pom.getDependencyManagement();
-      depMan = depMan != null ? depMan : new DependencyManagement();
+      try (MavenModelSession session = maven.beginModelSession())
+      {
+         removeManagedDependency(dep);
 
-      List<Dependency> managedDependencies = MavenDependencyAdapter.fromMavenList(depMan.getDependencies());
-      managedDependencies.add(dep);
-      depMan.setDependencies(MavenDependencyAdapter.toMavenList(managedDependencies));
-      pom.setDependencyManagement(depMan);
-      maven.setModel(pom);
+         Model pom = maven.getModel();
+         DependencyManagement depMan = pom.getDependencyManagement();
+         depMan = depMan != null ? depMan : new DependencyManagement();
+
+         List<Dependency> managedDependencies = MavenDependencyAdapter.fromMavenList(depMan.getDependencies());
+         managedDependencies.add(dep);
+         depMan.setDependencies(MavenDependencyAdapter.toMavenList(managedDependencies));
+         pom.setDependencyManagement(depMan);
+         maven.setModel(pom);
+         session.commit();
+      }
    }
 
    @Override
@@ -242,11 +263,13 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
          List<Dependency> managedDependencies = (depMan != null ? MavenDependencyAdapter.fromMavenList(depMan
                   .getDependencies()) : new ArrayList<Dependency>());
 
+         PropertyInterpolator interpolator = ((MavenFacetImpl) maven).getPropertyInterpolator();
+         Dependency resolved = resolveProperties(interpolator, manDep);
          for (Dependency managedDependency : managedDependencies)
          {
-            if (Dependencies.areEquivalent(managedDependency, resolveProperties(manDep)))
+            if (Dependencies.areEquivalent(managedDependency, resolved))
             {
-               return resolveProperties(managedDependency);
+               return resolveProperties(interpolator, managedDependency);
             }
          }
       }
@@ -268,9 +291,10 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
       List<Dependency> managedDependencies = depMan != null ? MavenDependencyAdapter.fromMavenList(depMan
                .getDependencies()) : new ArrayList<Dependency>();
 
+      Dependency resolved = resolveProperties(managedDependency);
       for (Dependency manDep : managedDependencies)
       {
-         if (Dependencies.areEquivalent(resolveProperties(managedDependency), manDep))
+         if (Dependencies.areEquivalent(resolved, manDep))
          {
             return true;
          }
@@ -315,10 +339,11 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
       else
          managedDependencies = new ArrayList<>();
 
+      PropertyInterpolator interpolator = getPropertyInterpolator();
       List<Dependency> result = new ArrayList<>();
       for (Dependency dependency : managedDependencies)
       {
-         result.add(resolveProperties(dependency));
+         result.add(resolveProperties(interpolator, dependency));
       }
       return result;
    }
@@ -333,11 +358,13 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
       List<Dependency> managedDependencies = depMan != null ? MavenDependencyAdapter.fromMavenList(depMan
                .getDependencies()) : new ArrayList<Dependency>();
 
+      PropertyInterpolator interpolator = getPropertyInterpolator();
+      Dependency resolved = resolveProperties(interpolator, manDep);
       for (Dependency managedDependency : managedDependencies)
       {
-         if (Dependencies.areEquivalent(managedDependency, resolveProperties(manDep)))
+         if (Dependencies.areEquivalent(managedDependency, resolved))
          {
-            return resolveProperties(managedDependency);
+            return resolveProperties(interpolator, managedDependency);
          }
       }
       return null;
@@ -346,19 +373,43 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
    @Override
    public Dependency resolveProperties(final Dependency dependency)
    {
-      MavenFacet mvn = getFaceted().getFacet(MavenFacet.class);
+      return resolveProperties(getPropertyInterpolator(), dependency);
+   }
+
+   private Dependency resolveProperties(PropertyInterpolator interpolator, final Dependency dependency)
+   {
       DependencyBuilder builder = DependencyBuilder.create(dependency);
 
-      builder.setGroupId(mvn.resolveProperties(dependency.getCoordinate().getGroupId()));
-      builder.setArtifactId(mvn.resolveProperties(dependency.getCoordinate().getArtifactId()));
-      builder.setVersion(mvn.resolveProperties(dependency.getCoordinate().getVersion()));
-      builder.setClassifier(mvn.resolveProperties(dependency.getCoordinate().getClassifier()));
-      builder.setPackaging(mvn.resolveProperties(dependency.getCoordinate().getPackaging()));
-      builder.setScopeType(mvn.resolveProperties(dependency.getScopeType()));
+      builder.setGroupId(interpolator.interpolate(dependency.getCoordinate().getGroupId()));
+      builder.setArtifactId(interpolator.interpolate(dependency.getCoordinate().getArtifactId()));
+      builder.setVersion(interpolator.interpolate(dependency.getCoordinate().getVersion()));
+      builder.setClassifier(interpolator.interpolate(dependency.getCoordinate().getClassifier()));
+      builder.setPackaging(interpolator.interpolate(dependency.getCoordinate().getPackaging()));
+      builder.setScopeType(interpolator.interpolate(dependency.getScopeType()));
 
       return builder;
    }
 
+   /**
+    * Returns the {@link PropertyInterpolator} of the current model, once per query
+    */
+   private PropertyInterpolator getPropertyInterpolator()
+   {
+      MavenFacetImpl maven = getFaceted().getFacet(MavenFacetImpl.class);
+      try
+      {
+         return maven.getPropertyInterpolator();
+      }
+      catch (Exception e)
+      {
+         log.log(Level.WARNING, "Failed to resolve properties in [" + maven.getModelResource().getFullyQualifiedName()
+                  + "].");
+         log.log(Level.FINE, "Failed to resolve properties in Project ["
+                  + maven.getModelResource().getFullyQualifiedName() + "].", e);
+         return new PropertyInterpolator(new Properties());
+      }
+   }
+
    @Override
    public List<Coordinate> resolveAvailableVersions(final String gavs)
    {
@@ -385,6 +436,13 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
       return versions;
    }
 
+   @Override
+   public List<DependencyQueryResult<List<Coordinate>>> resolveAvailableVersions(
+            final Collection<? extends DependencyQuery> queries)
+   {
+      return resolver.resolveVersions(queries);
+   }
+
    @Override
    public void addRepository(final String name, final String url)
    {
@@ -466,7 +524,7 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
          {
             if ((dependency.getScopeType() == null) || dependency.getScopeType().equals(scope))
             {
-               dependency = resolveProperties(dependency);
+               // Already resolved
                result.add(dependency);
                break;
             }
@@ -486,7 +544,7 @@ public class MavenDependencyFacet extends AbstractFacet<Project> implements Depe
          {
             if ((dependency.getScopeType() == null) || dependency.getScopeType().equals(scope))
             {
-               dependency = resolveProperties(dependency);
+               // Already resolved
                result.add(dependency);
                break;
             }
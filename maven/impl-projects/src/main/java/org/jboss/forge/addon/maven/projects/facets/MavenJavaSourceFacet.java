@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
 
 import org.apache.maven.model.Build;
 import org.jboss.forge.addon.facets.AbstractFacet;
@@ -19,6 +20,8 @@ import org.jboss.forge.addon.facets.constraints.FacetConstraint;
 import org.jboss.forge.addon.maven.projects.MavenFacet;
 import org.jboss.forge.addon.maven.projects.util.Packages;
 import org.jboss.forge.addon.parser.java.facets.JavaSourceFacet;
+import org.jboss.forge.addon.parser.java.index.JavaTypeIndex;
+import org.jboss.forge.addon.parser.java.index.JavaTypeSummary;
 import org.jboss.forge.addon.parser.java.resources.JavaResource;
 import org.jboss.forge.addon.parser.java.resources.JavaResourceVisitor;
 import org.jboss.forge.addon.projects.Project;
@@ -36,6 +39,9 @@ import org.jboss.forge.roaster.model.source.JavaSource;
 @FacetConstraint(MavenFacet.class)
 public class MavenJavaSourceFacet extends AbstractFacet<Project> implements JavaSourceFacet
 {
+   @Inject
+   private JavaTypeIndexManager indexManager;
+
    @Override
    public List<DirectoryResource> getSourceDirectories()
    {
@@ -181,7 +187,9 @@ public class MavenJavaSourceFacet extends AbstractFacet<Project> implements Java
    @Override
    public JavaResource saveJavaSource(final JavaSource<?> source) throws FileNotFoundException
    {
-      return getJavaResource(source.getQualifiedName()).setContents(source);
+      JavaResource resource = getJavaResource(source.getQualifiedName()).setContents(source);
+      indexManager.refresh(getSourceDirectory(), resource.getUnderlyingResourceObject());
+      return resource;
    }
 
    @Override
@@ -232,4 +240,47 @@ public class MavenJavaSourceFacet extends AbstractFacet<Project> implements Java
       });
    }
 
+   @Override
+   public List<JavaResource> findTypesAnnotatedWith(final String... annotationTypes)
+   {
+      return toJavaResources(getTypeIndex().findTypesAnnotatedWith(annotationTypes));
+   }
+
+   @Override
+   public List<JavaResource> findEnums()
+   {
+      return toJavaResources(getTypeIndex().findEnums());
+   }
+
+   @Override
+   public List<JavaResource> findSubtypesOf(final String type)
+   {
+      return toJavaResources(getTypeIndex().findSubtypesOf(type));
+   }
+
+   @Override
+   public boolean uninstall()
+   {
+      if (getFaceted() != null)
+      {
+         indexManager.release(getSourceDirectory());
+      }
+      return super.uninstall();
+   }
+
+   private JavaTypeIndex getTypeIndex()
+   {
+      return indexManager.getIndex(getFaceted().getRootDirectory(), getSourceDirectory());
+   }
+
+   private List<JavaResource> toJavaResources(List<JavaTypeSummary> summaries)
+   {
+      List<JavaResource> result = new ArrayList<>();
+      DirectoryResource sourceDirectory = getSourceDirectory();
+      for (JavaTypeSummary summary : summaries)
+      {
+         result.add(sourceDirectory.getResourceFactory().create(JavaResource.class, new File(summary.getPath())));
+      }
+      return result;
+   }
 }
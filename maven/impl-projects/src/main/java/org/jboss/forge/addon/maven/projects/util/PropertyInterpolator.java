@@ -0,0 +1,175 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.addon.maven.projects.util;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Replaces the <code>${...}</code> expressions of a {@link String} with the values of a snapshot of {@link Properties}
+ * in a single pass.
+ * <p/>
+ * Expressions may be nested, as in <code>${version.${module}}</code>, and property values may contain expressions
+ * themselves, which are resolved once and remembered. Expressions of unknown properties, and of properties whose
+ * values refer back to themselves, are left untouched.
+ */
+public class PropertyInterpolator
+{
+   private static final String PREFIX = "${";
+   private static final char SUFFIX = '}';
+
+   private final Properties source;
+   private final Map<String, String> properties = new HashMap<>();
+   private final ConcurrentMap<String, String> resolved = new ConcurrentHashMap<>();
+
+   public PropertyInterpolator(Properties properties)
+   {
+      this.source = properties;
+      for (Entry<Object, Object> entry : properties.entrySet())
+      {
+         this.properties.put(entry.getKey().toString(), entry.getValue().toString());
+      }
+   }
+
+   /**
+    * Returns <code>true</code> if this interpolator was created from the given {@link Properties} instance
+    */
+   public boolean isSnapshotOf(Properties properties)
+   {
+      return source == properties;
+   }
+
+   /**
+    * Returns the given value with all the expressions of known properties replaced by their values
+    */
+   public String interpolate(String input)
+   {
+      if (input == null || input.indexOf(PREFIX) < 0)
+      {
+         return input;
+      }
+      return interpolate(input, new Resolution());
+   }
+
+   private String interpolate(String input, Resolution resolution)
+   {
+      int start = input.indexOf(PREFIX);
+      if (start < 0)
+      {
+         return input;
+      }
+      StringBuilder result = new StringBuilder(input.length() + 16);
+      int from = 0;
+      while (start >= 0)
+      {
+         int end = findEnd(input, start + PREFIX.length());
+         if (end < 0)
+         {
+            break;
+         }
+         String expression = input.substring(start + PREFIX.length(), end);
+         String key = expression.indexOf(PREFIX) < 0 ? expression : interpolate(expression, resolution);
+         String value = resolve(key, resolution);
+         result.append(input, from, start);
+         if (value == null)
+         {
+            result.append(input, start, end + 1);
+         }
+         else
+         {
+            result.append(value);
+         }
+         from = end + 1;
+         start = input.indexOf(PREFIX, from);
+      }
+      result.append(input, from, input.length());
+      return result.toString();
+   }
+
+   /**
+    * Returns the resolved value of the given property, or <code>null</code> if it is unknown or refers back to itself
+    */
+   private String resolve(String key, Resolution resolution)
+   {
+      String value = resolved.get(key);
+      if (value != null)
+      {
+         return value;
+      }
+      value = properties.get(key);
+      if (value == null)
+      {
+         return null;
+      }
+      if (value.indexOf(PREFIX) >= 0)
+      {
+         if (!resolution.pending.add(key))
+         {
+            resolution.cyclic = true;
+            return null;
+         }
+         boolean cyclic = resolution.cyclic;
+         resolution.cyclic = false;
+         try
+         {
+            value = interpolate(value, resolution);
+         }
+         finally
+         {
+            resolution.pending.remove(key);
+         }
+         if (resolution.cyclic)
+         {
+            // Depends on a property being resolved, so it is only valid for this resolution
+            return value;
+         }
+         resolution.cyclic = cyclic;
+      }
+      resolved.put(key, value);
+      return value;
+   }
+
+   /**
+    * Returns the index of the end of the expression starting before the given index, skipping nested expressions
+    */
+   private static int findEnd(String input, int from)
+   {
+      int depth = 1;
+      for (int i = from; i < input.length(); i++)
+      {
+         char c = input.charAt(i);
+         if (c == SUFFIX)
+         {
+            if (--depth == 0)
+            {
+               return i;
+            }
+         }
+         else if (c == '$' && i + 1 < input.length() && input.charAt(i + 1) == '{')
+         {
+            depth++;
+            i++;
+         }
+      }
+      return -1;
+   }
+
+   /**
+    * The properties being resolved by an interpolation, used to detect cycles
+    */
+   private static class Resolution
+   {
+      private final Set<String> pending = new HashSet<>();
+      private boolean cyclic;
+   }
+}
@@ -0,0 +1,269 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.maven.projects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionResult;
+import org.codehaus.plexus.logging.Logger;
+import org.junit.Test;
+
+/**
+ * Test case for {@link MavenBuildEngine}, with builds simulated by a {@link FakeEmbedder}
+ */
+public class MavenBuildEngineTest
+{
+   private static final String[] ARGS = { "-B", "package" };
+
+   @Test
+   public void testContainerIsReusedAcrossBuilds() throws Exception
+   {
+      TestEngine engine = new TestEngine(false);
+      assertTrue(engine.execute(new File("a"), ARGS, newStream(), newStream()).isSuccess());
+      assertTrue(engine.execute(new File("b"), ARGS, newStream(), newStream()).isSuccess());
+      assertTrue(engine.execute(new File("a"), ARGS, newStream(), newStream()).isSuccess());
+      assertEquals(1, engine.embedders.get());
+      assertEquals(3, engine.embedder.builds.get());
+      assertEquals(0, engine.coldBuilds.get());
+   }
+
+   @Test
+   public void testColdBuildWhenEmbeddingFails() throws Exception
+   {
+      TestEngine engine = new TestEngine(true);
+      assertTrue(engine.execute(new File("a"), ARGS, newStream(), newStream()).isSuccess());
+      assertEquals(1, engine.coldBuilds.get());
+      assertEquals(0, engine.embedder.builds.get());
+   }
+
+   @Test
+   public void testColdBuildForUnsupportedOptions() throws Exception
+   {
+      TestEngine engine = new TestEngine(false);
+      engine.execute(new File("a"), new String[] { "-T", "4", "package" }, newStream(), newStream());
+      assertEquals(1, engine.coldBuilds.get());
+      assertEquals(0, engine.embedders.get());
+   }
+
+   @Test
+   public void testBuildsOfTheSameProjectAreSerialized() throws Exception
+   {
+      TestEngine engine = new TestEngine(false);
+      engine.embedder.duration = 100;
+      List<Future<MavenBuildEngine.Execution>> executions = executeConcurrently(engine, new File("a"),
+               new File("a"), new File("a"));
+      for (Future<MavenBuildEngine.Execution> execution : executions)
+      {
+         assertTrue(execution.get().isSuccess());
+      }
+      assertEquals(3, engine.embedder.builds.get());
+      assertEquals(1, engine.embedder.maxConcurrentBuilds.get());
+   }
+
+   @Test
+   public void testBuildsOfDifferentProjectsRunConcurrently() throws Exception
+   {
+      TestEngine engine = new TestEngine(false);
+      // Each build waits for the other one to start, which only happens if they run concurrently
+      engine.embedder.rendezvous = new CountDownLatch(2);
+      for (Future<MavenBuildEngine.Execution> execution : executeConcurrently(engine, new File("a"), new File("b")))
+      {
+         assertTrue(execution.get().isSuccess());
+      }
+      assertEquals(2, engine.embedder.maxConcurrentBuilds.get());
+   }
+
+   @Test
+   public void testEachBuildLogsToItsOwnStreams() throws Exception
+   {
+      final TestEngine engine = new TestEngine(false);
+      engine.embedder.duration = 100;
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+      try
+      {
+         List<Future<String>> outputs = new ArrayList<>();
+         for (final String project : new String[] { "a", "b" })
+         {
+            outputs.add(executor.submit(new Callable<String>()
+            {
+               @Override
+               public String call() throws Exception
+               {
+                  ByteArrayOutputStream out = new ByteArrayOutputStream();
+                  engine.execute(new File(project), ARGS, new PrintStream(out, true), newStream());
+                  return out.toString();
+               }
+            }));
+         }
+         String a = outputs.get(0).get(10, TimeUnit.SECONDS);
+         String b = outputs.get(1).get(10, TimeUnit.SECONDS);
+         assertTrue(a.contains("[INFO] Building a"));
+         assertFalse(a.contains("[INFO] Building b"));
+         assertTrue(b.contains("[INFO] Building b"));
+         assertFalse(b.contains("[INFO] Building a"));
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   private static List<Future<MavenBuildEngine.Execution>> executeConcurrently(final MavenBuildEngine engine,
+            File... directories) throws Exception
+   {
+      ExecutorService executor = Executors.newFixedThreadPool(directories.length);
+      try
+      {
+         List<Future<MavenBuildEngine.Execution>> executions = new ArrayList<>();
+         for (final File directory : directories)
+         {
+            executions.add(executor.submit(new Callable<MavenBuildEngine.Execution>()
+            {
+               @Override
+               public MavenBuildEngine.Execution call() throws Exception
+               {
+                  return engine.execute(directory, ARGS, newStream(), newStream());
+               }
+            }));
+         }
+         for (Future<MavenBuildEngine.Execution> execution : executions)
+         {
+            execution.get(10, TimeUnit.SECONDS);
+         }
+         return executions;
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   private static PrintStream newStream()
+   {
+      return new PrintStream(new ByteArrayOutputStream(), true);
+   }
+
+   private static class TestEngine extends MavenBuildEngine
+   {
+      private final boolean failEmbedding;
+      private final FakeEmbedder embedder = new FakeEmbedder();
+      private final AtomicInteger embedders = new AtomicInteger();
+      private final AtomicInteger coldBuilds = new AtomicInteger();
+
+      TestEngine(boolean failEmbedding)
+      {
+         this.failEmbedding = failEmbedding;
+      }
+
+      @Override
+      Embedder createEmbedder(MavenBuildLoggerManager loggerManager) throws Exception
+      {
+         if (failEmbedding)
+         {
+            throw new IllegalStateException("Embedding is not available");
+         }
+         embedders.incrementAndGet();
+         embedder.logger = loggerManager.getLoggerForComponent("fake");
+         return embedder;
+      }
+
+      @Override
+      Execution executeCold(File directory, String[] args, PrintStream out, PrintStream err)
+      {
+         coldBuilds.incrementAndGet();
+         return new Execution(true, null);
+      }
+   }
+
+   /**
+    * Logs the name of the project built and waits for the given duration, or for the given number of builds to start
+    */
+   private static class FakeEmbedder implements MavenBuildEngine.Embedder
+   {
+      private final AtomicInteger builds = new AtomicInteger();
+      private final AtomicInteger concurrentBuilds = new AtomicInteger();
+      private final AtomicInteger maxConcurrentBuilds = new AtomicInteger();
+      private volatile Logger logger;
+      private volatile long duration;
+      private volatile CountDownLatch rendezvous;
+
+      @Override
+      public MavenExecutionRequest newRequest(File directory, CommandLine commandLine)
+      {
+         return new DefaultMavenExecutionRequest().setBaseDirectory(directory).setLoggingLevel(
+                  MavenExecutionRequest.LOGGING_LEVEL_INFO);
+      }
+
+      @Override
+      public MavenExecutionResult execute(MavenExecutionRequest request)
+      {
+         int concurrent = concurrentBuilds.incrementAndGet();
+         try
+         {
+            synchronized (maxConcurrentBuilds)
+            {
+               maxConcurrentBuilds.set(Math.max(concurrent, maxConcurrentBuilds.get()));
+            }
+            logger.info("Building " + new File(request.getBaseDirectory()).getName());
+            CountDownLatch latch = rendezvous;
+            if (latch != null)
+            {
+               latch.countDown();
+               if (!latch.await(5, TimeUnit.SECONDS))
+               {
+                  return new DefaultMavenExecutionResult().addException(new IllegalStateException(
+                           "The other builds did not start"));
+               }
+            }
+            Thread.sleep(duration);
+            logger.info("Building " + new File(request.getBaseDirectory()).getName());
+            builds.incrementAndGet();
+            return new DefaultMavenExecutionResult();
+         }
+         catch (InterruptedException e)
+         {
+            Thread.currentThread().interrupt();
+            return new DefaultMavenExecutionResult().addException(e);
+         }
+         finally
+         {
+            concurrentBuilds.decrementAndGet();
+         }
+      }
+
+      @Override
+      public ClassLoader getClassLoader()
+      {
+         return getClass().getClassLoader();
+      }
+
+      @Override
+      public void dispose()
+      {
+      }
+   }
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.maven.projects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.building.ModelProblem;
+import org.apache.maven.project.DependencyResolutionResult;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingResult;
+import org.junit.Test;
+
+/**
+ * Test case for {@link ProjectBuildingResultCache}
+ */
+public class ProjectBuildingResultCacheTest
+{
+   @Test
+   public void testHitAndMiss()
+   {
+      ProjectBuildingResultCache cache = new ProjectBuildingResultCache(4);
+      ProjectBuildingResult result = newResult();
+      cache.put(key("a/pom.xml"), result);
+      assertSame(result, cache.get(key("a/pom.xml")));
+      assertNull(cache.get(key("b/pom.xml")));
+      assertEquals(1, cache.getHitCount());
+      assertEquals(1, cache.getMissCount());
+   }
+
+   @Test
+   public void testKeyIncludesOfflineAndProfiles()
+   {
+      ProjectBuildingResultCache cache = new ProjectBuildingResultCache(4);
+      cache.put(key("a/pom.xml"), newResult());
+      assertNull(cache.get(new ProjectBuildingResultCache.Key(new File("a/pom.xml"), true, null)));
+      assertNull(cache.get(new ProjectBuildingResultCache.Key(new File("a/pom.xml"), false, Arrays
+               .asList("release"))));
+   }
+
+   @Test
+   public void testNewResultReplacesOldEntry()
+   {
+      ProjectBuildingResultCache cache = new ProjectBuildingResultCache(4);
+      cache.put(key("a/pom.xml"), newResult());
+      cache.put(new ProjectBuildingResultCache.Key(new File("a/pom.xml"), true, null), newResult());
+      assertEquals(1, cache.size());
+      assertNull(cache.get(key("a/pom.xml")));
+   }
+
+   @Test
+   public void testChangedPomIsRebuilt() throws Exception
+   {
+      File pom = newFile("<project/>");
+      ProjectBuildingResultCache cache = new ProjectBuildingResultCache(4);
+      ProjectBuildingResult result = newResult();
+      cache.put(key(pom.getPath()), result);
+      assertSame(result, cache.get(key(pom.getPath())));
+
+      write(pom, "<project><name>changed</name></project>");
+      assertNull(cache.get(key(pom.getPath())));
+   }
+
+   @Test
+   public void testChangedParentPomIsRebuilt() throws Exception
+   {
+      File pom = newFile("<project/>");
+      File parentPom = newFile("<project><version>1</version></project>");
+      ProjectBuildingResultCache cache = new ProjectBuildingResultCache(4);
+      ProjectBuildingResult result = newResult(parentPom);
+      cache.put(key(pom.getPath()), result);
+      assertSame(result, cache.get(key(pom.getPath())));
+
+      write(parentPom, "<project><version>2</version></project>");
+      assertNull(cache.get(key(pom.getPath())));
+   }
+
+   @Test
+   public void testTouchedParentPomIsNotRebuilt() throws Exception
+   {
+      File pom = newFile("<project/>");
+      File parentPom = newFile("<project><version>1</version></project>");
+      ProjectBuildingResultCache cache = new ProjectBuildingResultCache(4);
+      ProjectBuildingResult result = newResult(parentPom);
+      cache.put(key(pom.getPath()), result);
+
+      parentPom.setLastModified(parentPom.lastModified() - 10000);
+      assertSame(result, cache.get(key(pom.getPath())));
+   }
+
+   @Test
+   public void testLeastRecentlyUsedIsEvicted()
+   {
+      ProjectBuildingResultCache cache = new ProjectBuildingResultCache(2);
+      cache.put(key("a/pom.xml"), newResult());
+      cache.put(key("b/pom.xml"), newResult());
+      cache.get(key("a/pom.xml"));
+      cache.put(key("c/pom.xml"), newResult());
+      assertEquals(2, cache.size());
+      assertNull(cache.get(key("b/pom.xml")));
+      assertEquals(1, cache.getEvictionCount());
+   }
+
+   @Test
+   public void testEvictByFile()
+   {
+      ProjectBuildingResultCache cache = new ProjectBuildingResultCache(4);
+      cache.put(key("a/pom.xml"), newResult());
+      cache.put(key("b/pom.xml"), newResult());
+      cache.evict(new File("a/pom.xml"));
+      assertEquals(1, cache.size());
+      assertNull(cache.get(key("a/pom.xml")));
+   }
+
+   private ProjectBuildingResultCache.Key key(String path)
+   {
+      return new ProjectBuildingResultCache.Key(new File(path), false, Collections.<String> emptyList());
+   }
+
+   private File newFile(String contents) throws Exception
+   {
+      File file = File.createTempFile("pom", ".xml");
+      file.deleteOnExit();
+      write(file, contents);
+      return file;
+   }
+
+   private void write(File file, String contents) throws Exception
+   {
+      long lastModified = file.lastModified();
+      Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+      // Make the change visible even if the file system has a coarse timestamp granularity
+      file.setLastModified(lastModified + 2000);
+   }
+
+   private ProjectBuildingResult newResult()
+   {
+      return newResult(null);
+   }
+
+   private ProjectBuildingResult newResult(File parentPom)
+   {
+      final MavenProject project = new MavenProject();
+      if (parentPom != null)
+      {
+         project.setParentFile(parentPom);
+         project.setParent(new MavenProject());
+      }
+      return new ProjectBuildingResult()
+      {
+         @Override
+         public String getProjectId()
+         {
+            return project.getId();
+         }
+
+         @Override
+         public File getPomFile()
+         {
+            return null;
+         }
+
+         @Override
+         public MavenProject getProject()
+         {
+            return project;
+         }
+
+         @Override
+         public List<ModelProblem> getProblems()
+         {
+            return Collections.emptyList();
+         }
+
+         @Override
+         public DependencyResolutionResult getDependencyResolutionResult()
+         {
+            return null;
+         }
+      };
+   }
+}
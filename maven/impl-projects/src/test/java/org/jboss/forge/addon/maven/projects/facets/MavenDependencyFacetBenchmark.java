@@ -0,0 +1,309 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.maven.projects.facets;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.building.ModelProblem;
+import org.apache.maven.project.DependencyResolutionResult;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingResult;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DependencyNode;
+import org.jboss.forge.addon.dependencies.Dependency;
+import org.jboss.forge.addon.dependencies.builder.DependencyBuilder;
+import org.jboss.forge.addon.maven.projects.MavenFacetImpl;
+import org.jboss.forge.addon.projects.AbstractProject;
+import org.jboss.forge.addon.projects.ProjectFacet;
+import org.jboss.forge.addon.resource.DirectoryResource;
+import org.jboss.forge.addon.resource.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the query methods of {@link MavenDependencyFacet} on an in-memory model whose dependency coordinates are
+ * all property expressions, so their cost is dominated by property resolution.
+ * <p/>
+ * {@link #getDependenciesWithRegexes()} resolves the same dependencies by replacing one regular expression per
+ * property, for comparison. Run the {@link #main(String[])} method from the test classpath to get a report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MavenDependencyFacetBenchmark
+{
+   @Param({ "30", "300" })
+   public int properties;
+
+   @Param({ "20", "200" })
+   public int dependencies;
+
+   private MavenDependencyFacet facet;
+   private Model model;
+   private Dependency lastDependency;
+
+   @Setup
+   public void setup()
+   {
+      model = new Model();
+      model.setModelVersion("4.0.0");
+      Properties props = model.getProperties();
+      props.setProperty("group", "org.example");
+      props.setProperty("base.version", "1.0");
+      for (int i = 0; i < properties; i++)
+      {
+         props.setProperty("property." + i, "value-" + i);
+      }
+      List<org.apache.maven.model.Dependency> deps = new ArrayList<>();
+      List<org.eclipse.aether.graph.Dependency> effective = new ArrayList<>();
+      for (int i = 0; i < dependencies; i++)
+      {
+         props.setProperty("version.artifact" + i, "${base.version}." + i);
+         org.apache.maven.model.Dependency dep = new org.apache.maven.model.Dependency();
+         dep.setGroupId("${group}");
+         dep.setArtifactId("artifact" + i);
+         dep.setVersion("${version.artifact" + i + "}");
+         deps.add(dep);
+         effective.add(new org.eclipse.aether.graph.Dependency(new DefaultArtifact("org.example:artifact" + i
+                  + ":1.0." + i), "compile"));
+      }
+      model.setDependencies(deps);
+      DependencyManagement dependencyManagement = new DependencyManagement();
+      dependencyManagement.setDependencies(new ArrayList<>(deps));
+      model.setDependencyManagement(dependencyManagement);
+      lastDependency = DependencyBuilder.create("org.example:artifact" + (dependencies - 1) + ":${version.artifact"
+               + (dependencies - 1) + "}");
+
+      BenchmarkProject project = new BenchmarkProject();
+      ModelFacet maven = new ModelFacet(newResult(new MavenProject(model), effective));
+      maven.setFaceted(project);
+      project.register(maven);
+      facet = new MavenDependencyFacet();
+      facet.setFaceted(project);
+      project.register(facet);
+   }
+
+   @Benchmark
+   public List<Dependency> getDependencies()
+   {
+      return facet.getDependencies();
+   }
+
+   @Benchmark
+   public List<Dependency> getManagedDependencies()
+   {
+      return facet.getManagedDependencies();
+   }
+
+   @Benchmark
+   public List<Dependency> getEffectiveDependencies()
+   {
+      return facet.getEffectiveDependencies();
+   }
+
+   @Benchmark
+   public boolean hasDirectDependency()
+   {
+      return facet.hasDirectDependency(lastDependency);
+   }
+
+   @Benchmark
+   public Dependency getEffectiveManagedDependency()
+   {
+      return facet.getEffectiveManagedDependency(lastDependency);
+   }
+
+   @Benchmark
+   public List<Dependency> getDependenciesWithRegexes()
+   {
+      Properties props = model.getProperties();
+      List<Dependency> result = new ArrayList<>();
+      for (org.apache.maven.model.Dependency dep : model.getDependencies())
+      {
+         DependencyBuilder builder = DependencyBuilder.create();
+         builder.setGroupId(resolveWithRegexes(props, dep.getGroupId()));
+         builder.setArtifactId(resolveWithRegexes(props, dep.getArtifactId()));
+         builder.setVersion(resolveWithRegexes(props, dep.getVersion()));
+         builder.setClassifier(resolveWithRegexes(props, dep.getClassifier()));
+         builder.setPackaging(resolveWithRegexes(props, dep.getType()));
+         builder.setScopeType(resolveWithRegexes(props, dep.getScope()));
+         result.add(builder);
+      }
+      return result;
+   }
+
+   public static void main(String[] args) throws Exception
+   {
+      new Runner(new OptionsBuilder().include(MavenDependencyFacetBenchmark.class.getName()).build()).run();
+   }
+
+   private static String resolveWithRegexes(Properties properties, String input)
+   {
+      String result = input;
+      if (input != null)
+      {
+         for (Entry<Object, Object> e : properties.entrySet())
+         {
+            String key = "\\$\\{" + e.getKey().toString() + "\\}";
+            // Quoted, since values containing expressions are not valid replacements
+            result = result.replaceAll(key, Matcher.quoteReplacement(e.getValue().toString()));
+         }
+      }
+      return result;
+   }
+
+   private static ProjectBuildingResult newResult(final MavenProject project,
+            final List<org.eclipse.aether.graph.Dependency> effective)
+   {
+      final DependencyResolutionResult resolution = new DependencyResolutionResult()
+      {
+         @Override
+         public DependencyNode getDependencyGraph()
+         {
+            return null;
+         }
+
+         @Override
+         public List<org.eclipse.aether.graph.Dependency> getDependencies()
+         {
+            return effective;
+         }
+
+         @Override
+         public List<org.eclipse.aether.graph.Dependency> getResolvedDependencies()
+         {
+            return effective;
+         }
+
+         @Override
+         public List<org.eclipse.aether.graph.Dependency> getUnresolvedDependencies()
+         {
+            return Collections.emptyList();
+         }
+
+         @Override
+         public List<Exception> getCollectionErrors()
+         {
+            return Collections.emptyList();
+         }
+
+         @Override
+         public List<Exception> getResolutionErrors(org.eclipse.aether.graph.Dependency dependency)
+         {
+            return Collections.emptyList();
+         }
+      };
+      return new ProjectBuildingResult()
+      {
+         @Override
+         public String getProjectId()
+         {
+            return project.getId();
+         }
+
+         @Override
+         public File getPomFile()
+         {
+            return null;
+         }
+
+         @Override
+         public MavenProject getProject()
+         {
+            return project;
+         }
+
+         @Override
+         public List<ModelProblem> getProblems()
+         {
+            return Collections.emptyList();
+         }
+
+         @Override
+         public DependencyResolutionResult getDependencyResolutionResult()
+         {
+            return resolution;
+         }
+      };
+   }
+
+   /**
+    * A {@link MavenFacetImpl} serving an in-memory model instead of a pom.xml file
+    */
+   private static class ModelFacet extends MavenFacetImpl
+   {
+      private final ProjectBuildingResult result;
+
+      ModelFacet(ProjectBuildingResult result)
+      {
+         this.result = result;
+      }
+
+      @Override
+      public boolean isInstalled()
+      {
+         return true;
+      }
+
+      @Override
+      public Model getModel()
+      {
+         return result.getProject().getModel();
+      }
+
+      @Override
+      public synchronized ProjectBuildingResult getProjectBuildingResult() throws Exception
+      {
+         return result;
+      }
+   }
+
+   private static class BenchmarkProject extends AbstractProject
+   {
+      @Override
+      public DirectoryResource getRootDirectory()
+      {
+         return null;
+      }
+
+      @Override
+      public Resource<?> getRoot()
+      {
+         return null;
+      }
+
+      @Override
+      public <F extends ProjectFacet> boolean supports(F facet)
+      {
+         return true;
+      }
+   }
+}
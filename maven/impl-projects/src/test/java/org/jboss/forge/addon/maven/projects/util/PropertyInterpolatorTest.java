@@ -0,0 +1,93 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.maven.projects.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Properties;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link PropertyInterpolator}
+ */
+public class PropertyInterpolatorTest
+{
+   @Test
+   public void testInterpolate()
+   {
+      PropertyInterpolator interpolator = new PropertyInterpolator(properties("version.junit", "4.11", "group",
+               "org.jboss"));
+      assertEquals("4.11", interpolator.interpolate("${version.junit}"));
+      assertEquals("org.jboss:junit:4.11", interpolator.interpolate("${group}:junit:${version.junit}"));
+      assertNull(interpolator.interpolate(null));
+      String plain = "no expression";
+      assertSame(plain, interpolator.interpolate(plain));
+   }
+
+   @Test
+   public void testUnknownPropertiesAreLeftUntouched()
+   {
+      PropertyInterpolator interpolator = new PropertyInterpolator(properties("a", "1"));
+      assertEquals("${b}-1", interpolator.interpolate("${b}-${a}"));
+      assertEquals("${a", interpolator.interpolate("${a"));
+      assertEquals("${versionXjunit}", new PropertyInterpolator(properties("version.junit", "4.11"))
+               .interpolate("${versionXjunit}"));
+   }
+
+   @Test
+   public void testValuesAreTakenLiterally()
+   {
+      PropertyInterpolator interpolator = new PropertyInterpolator(properties("a", "$1\\"));
+      assertEquals("x$1\\", interpolator.interpolate("x${a}"));
+   }
+
+   @Test
+   public void testNestedExpressions()
+   {
+      PropertyInterpolator interpolator = new PropertyInterpolator(properties("module", "core", "version.core",
+               "${base}.1", "base", "2.0"));
+      assertEquals("2.0.1", interpolator.interpolate("${version.${module}}"));
+      assertEquals("2.0.1", interpolator.interpolate("${version.core}"));
+   }
+
+   @Test
+   public void testCycles()
+   {
+      PropertyInterpolator interpolator = new PropertyInterpolator(properties("a", "${b}", "b", "x${a}", "self",
+               "${self}"));
+      assertEquals("${self}", interpolator.interpolate("${self}"));
+      assertEquals("x${a}", interpolator.interpolate("${a}"));
+      assertEquals("x${b}", interpolator.interpolate("${b}"));
+   }
+
+   @Test
+   public void testSnapshot()
+   {
+      Properties properties = properties("a", "1");
+      PropertyInterpolator interpolator = new PropertyInterpolator(properties);
+      properties.setProperty("a", "2");
+      assertEquals("1", interpolator.interpolate("${a}"));
+      assertTrue(interpolator.isSnapshotOf(properties));
+      assertFalse(interpolator.isSnapshotOf(new Properties()));
+   }
+
+   private static Properties properties(String... keysAndValues)
+   {
+      Properties properties = new Properties();
+      for (int i = 0; i < keysAndValues.length; i += 2)
+      {
+         properties.setProperty(keysAndValues[i], keysAndValues[i + 1]);
+      }
+      return properties;
+   }
+}
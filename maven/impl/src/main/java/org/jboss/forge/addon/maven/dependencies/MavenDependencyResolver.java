@@ -8,13 +8,22 @@
 package org.jboss.forge.addon.maven.dependencies;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.inject.Inject;
+import javax.inject.Singleton;
 
-import org.apache.maven.settings.Settings;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.artifact.Artifact;
@@ -40,23 +49,34 @@ import org.jboss.forge.addon.dependencies.Dependency;
 import org.jboss.forge.addon.dependencies.DependencyException;
 import org.jboss.forge.addon.dependencies.DependencyMetadata;
 import org.jboss.forge.addon.dependencies.DependencyQuery;
+import org.jboss.forge.addon.dependencies.DependencyQueryResult;
 import org.jboss.forge.addon.dependencies.DependencyResolver;
 import org.jboss.forge.addon.dependencies.builder.CoordinateBuilder;
 import org.jboss.forge.addon.dependencies.builder.DependencyBuilder;
 import org.jboss.forge.addon.dependencies.builder.DependencyNodeBuilder;
+import org.jboss.forge.addon.maven.dependencies.RepositorySessionPool.PooledSession;
 import org.jboss.forge.addon.maven.util.MavenConvertUtils;
 import org.jboss.forge.addon.resource.FileResource;
 import org.jboss.forge.addon.resource.ResourceFactory;
 import org.jboss.forge.furnace.manager.maven.MavenContainer;
 import org.jboss.forge.furnace.manager.maven.MavenOperationException;
-import org.jboss.forge.furnace.manager.maven.util.MavenRepositories;
 import org.jboss.forge.furnace.util.Predicate;
 import org.jboss.forge.furnace.util.Strings;
 
+@Singleton
 public class MavenDependencyResolver implements DependencyResolver
 {
+   /**
+    * The default maximum number of queries resolved concurrently by the batch methods. May be overridden by the
+    * <code>org.jboss.forge.addon.maven.resolver.batchThreads</code> system property.
+    */
+   static final int DEFAULT_BATCH_THREADS = 4;
+
    private final MavenContainer container;
    private final ResourceFactory factory;
+   private final RepositorySessionPool sessionPool;
+   private final int batchThreads = Integer.getInteger("org.jboss.forge.addon.maven.resolver.batchThreads",
+            DEFAULT_BATCH_THREADS);
 
    @Inject
    public MavenDependencyResolver(ResourceFactory factory, MavenContainer container)
@@ -64,6 +84,7 @@ public class MavenDependencyResolver implements DependencyResolver
       super();
       this.container = container;
       this.factory = factory;
+      this.sessionPool = new RepositorySessionPool(container);
    }
 
    @Override
@@ -72,15 +93,13 @@ public class MavenDependencyResolver implements DependencyResolver
       Set<Dependency> result = new HashSet<>();
       Predicate<Dependency> filter = query.getDependencyFilter();
       RepositorySystem system = container.getRepositorySystem();
-      Settings settings = container.getSettings();
 
-      DefaultRepositorySystemSession session = container.setupRepoSession(system, settings);
+      PooledSession pooledSession = sessionPool.get(system);
+      DefaultRepositorySystemSession session = pooledSession.newSession();
 
       Artifact queryArtifact = MavenConvertUtils.coordinateToMavenArtifact(query.getCoordinate());
 
-      List<RemoteRepository> remoteRepos = MavenConvertUtils.convertToMavenRepos(query.getDependencyRepositories(),
-               settings);
-      remoteRepos.addAll(MavenRepositories.getRemoteRepositories(container, settings));
+      List<RemoteRepository> remoteRepos = pooledSession.getRemoteRepositories(query.getDependencyRepositories());
 
       CollectRequest collectRequest = new CollectRequest(new org.eclipse.aether.graph.Dependency(queryArtifact,
                query.getScopeType()), remoteRepos);
@@ -132,6 +151,106 @@ public class MavenDependencyResolver implements DependencyResolver
       return result;
    }
 
+   @Override
+   public List<DependencyQueryResult<List<Coordinate>>> resolveVersions(Collection<? extends DependencyQuery> queries)
+   {
+      return resolveAll(queries, new Resolution<List<Coordinate>>()
+      {
+         @Override
+         public List<Coordinate> resolve(DependencyQuery query)
+         {
+            return resolveVersions(query);
+         }
+      });
+   }
+
+   @Override
+   public List<DependencyQueryResult<Dependency>> resolveArtifacts(Collection<? extends DependencyQuery> queries)
+   {
+      return resolveAll(queries, new Resolution<Dependency>()
+      {
+         @Override
+         public Dependency resolve(DependencyQuery query)
+         {
+            return resolveArtifact(query);
+         }
+      });
+   }
+
+   /**
+    * Resolves the given queries on a bounded executor. Equivalent queries are resolved only once, and transitive
+    * metadata is shared through the pooled repository session.
+    */
+   private <T> List<DependencyQueryResult<T>> resolveAll(Collection<? extends DependencyQuery> queries,
+            final Resolution<T> resolution)
+   {
+      List<DependencyQueryResult<T>> result = new ArrayList<>(queries.size());
+      if (queries.isEmpty())
+      {
+         return result;
+      }
+      ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(queries.size(), batchThreads)));
+      try
+      {
+         Map<String, Future<T>> tasks = new HashMap<>();
+         List<Future<T>> futures = new ArrayList<>(queries.size());
+         for (final DependencyQuery query : queries)
+         {
+            String key = toKey(query);
+            Future<T> future = tasks.get(key);
+            if (future == null)
+            {
+               future = executor.submit(new Callable<T>()
+               {
+                  @Override
+                  public T call() throws Exception
+                  {
+                     return resolution.resolve(query);
+                  }
+               });
+               tasks.put(key, future);
+            }
+            futures.add(future);
+         }
+         Iterator<? extends DependencyQuery> iterator = queries.iterator();
+         for (Future<T> future : futures)
+         {
+            DependencyQuery query = iterator.next();
+            try
+            {
+               result.add(DependencyQueryResult.success(query, future.get()));
+            }
+            catch (ExecutionException e)
+            {
+               result.add(DependencyQueryResult.<T> failure(query, e.getCause()));
+            }
+            catch (InterruptedException e)
+            {
+               Thread.currentThread().interrupt();
+               result.add(DependencyQueryResult.<T> failure(query, e));
+            }
+         }
+         return result;
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   private static String toKey(DependencyQuery query)
+   {
+      Coordinate coordinate = query.getCoordinate();
+      return coordinate.getGroupId() + ":" + coordinate.getArtifactId() + ":" + coordinate.getPackaging() + ":"
+               + coordinate.getClassifier() + ":" + coordinate.getVersion() + " " + query.getScopeType() + " "
+               + query.getDependencyRepositories() + " " + System.identityHashCode(query.getDependencyFilter());
+   }
+
+   private interface Resolution<T>
+   {
+      T resolve(DependencyQuery query);
+   }
+
    /**
     * Returns the versions of a specific artifact
     * 
@@ -154,17 +273,14 @@ public class MavenDependencyResolver implements DependencyResolver
          }
 
          RepositorySystem maven = container.getRepositorySystem();
-         Settings settings = container.getSettings();
 
-         DefaultRepositorySystemSession session = container.setupRepoSession(maven, settings);
+         PooledSession pooledSession = sessionPool.get(maven);
          Artifact artifact = MavenConvertUtils.coordinateToMavenArtifact(dep);
-         List<RemoteRepository> remoteRepos = MavenConvertUtils.convertToMavenRepos(query.getDependencyRepositories(),
-                  settings);
-         remoteRepos.addAll(MavenRepositories.getRemoteRepositories(container, settings));
+         List<RemoteRepository> remoteRepos = pooledSession.getRemoteRepositories(query.getDependencyRepositories());
 
          VersionRangeRequest rangeRequest = new VersionRangeRequest(artifact, remoteRepos, null);
 
-         VersionRangeResult rangeResult = maven.resolveVersionRange(session, rangeRequest);
+         VersionRangeResult rangeResult = pooledSession.resolveVersionRange(maven, rangeRequest);
          return rangeResult;
       }
       catch (Exception e)
@@ -177,13 +293,11 @@ public class MavenDependencyResolver implements DependencyResolver
    public Dependency resolveArtifact(DependencyQuery query)
    {
       RepositorySystem system = container.getRepositorySystem();
-      Settings settings = container.getSettings();
 
-      List<RemoteRepository> remoteRepos = MavenConvertUtils.convertToMavenRepos(query.getDependencyRepositories(),
-               settings);
-      remoteRepos.addAll(MavenRepositories.getRemoteRepositories(container, settings));
+      PooledSession pooledSession = sessionPool.get(system);
+      List<RemoteRepository> remoteRepos = pooledSession.getRemoteRepositories(query.getDependencyRepositories());
 
-      DefaultRepositorySystemSession session = container.setupRepoSession(system, settings);
+      DefaultRepositorySystemSession session = pooledSession.newSession();
       Artifact queryArtifact = MavenConvertUtils.coordinateToMavenArtifact(query.getCoordinate());
       ArtifactRequest request = new ArtifactRequest(queryArtifact, remoteRepos, null);
       try
@@ -214,8 +328,8 @@ public class MavenDependencyResolver implements DependencyResolver
       try
       {
          RepositorySystem system = container.getRepositorySystem();
-         Settings settings = container.getSettings();
-         DefaultRepositorySystemSession session = container.setupRepoSession(system, settings);
+         PooledSession pooledSession = sessionPool.get(system);
+         DefaultRepositorySystemSession session = pooledSession.newSession();
          session.setDependencyTraverser(new DependencyTraverser()
          {
             @Override
@@ -238,9 +352,7 @@ public class MavenDependencyResolver implements DependencyResolver
          final CoordinateBuilder coord = CoordinateBuilder.create(query.getCoordinate());
          Artifact queryArtifact = MavenConvertUtils.coordinateToMavenArtifact(coord);
 
-         List<RemoteRepository> remoteRepos = MavenConvertUtils.convertToMavenRepos(query.getDependencyRepositories(),
-                  settings);
-         remoteRepos.addAll(MavenRepositories.getRemoteRepositories(container, settings));
+         List<RemoteRepository> remoteRepos = pooledSession.getRemoteRepositories(query.getDependencyRepositories());
          CollectRequest collectRequest = new CollectRequest(new org.eclipse.aether.graph.Dependency(queryArtifact,
                   null), remoteRepos);
 
@@ -267,16 +379,13 @@ public class MavenDependencyResolver implements DependencyResolver
          }
 
          RepositorySystem system = container.getRepositorySystem();
-         Settings settings = container.getSettings();
 
-         DefaultRepositorySystemSession session = container.setupRepoSession(system, settings);
+         PooledSession pooledSession = sessionPool.get(system);
          Artifact artifact = MavenConvertUtils.coordinateToMavenArtifact(query.getCoordinate());
 
-         List<RemoteRepository> remoteRepos = MavenConvertUtils.convertToMavenRepos(query.getDependencyRepositories(),
-                  settings);
-         remoteRepos.addAll(MavenRepositories.getRemoteRepositories(container, settings));
+         List<RemoteRepository> remoteRepos = pooledSession.getRemoteRepositories(query.getDependencyRepositories());
          ArtifactDescriptorRequest ar = new ArtifactDescriptorRequest(artifact, remoteRepos, null);
-         ArtifactDescriptorResult results = system.readArtifactDescriptor(session, ar);
+         ArtifactDescriptorResult results = pooledSession.readArtifactDescriptor(system, ar);
 
          Artifact a = results.getArtifact();
          Dependency d = DependencyBuilder.create().setArtifactId(a.getArtifactId()).setGroupId(a.getGroupId())
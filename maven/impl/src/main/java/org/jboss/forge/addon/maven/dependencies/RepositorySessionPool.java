@@ -0,0 +1,237 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.maven.dependencies;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.maven.settings.Settings;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorException;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.jboss.forge.addon.dependencies.DependencyRepository;
+import org.jboss.forge.addon.maven.util.MavenConvertUtils;
+import org.jboss.forge.addon.maven.util.SettingsCache;
+import org.jboss.forge.furnace.manager.maven.MavenContainer;
+import org.jboss.forge.furnace.manager.maven.util.MavenRepositories;
+
+/**
+ * Keeps a long-lived {@link DefaultRepositorySystemSession} per settings fingerprint (the location, modification time
+ * and size of the settings files), so consecutive resolutions share the Aether data pools, the remote repository list
+ * and the version range and artifact descriptor results.
+ * <p/>
+ * Pooled sessions expire after a configurable time to live (in milliseconds, through the
+ * <code>org.jboss.forge.addon.maven.sessionPool.ttl</code> system property), and are discarded as soon as the settings
+ * files change. The number of results kept by each session is bounded by the
+ * <code>org.jboss.forge.addon.maven.sessionPool.maxResults</code> system property; the least recently used ones are
+ * discarded beyond it.
+ */
+class RepositorySessionPool
+{
+   /**
+    * The default time to live of a pooled session, in milliseconds
+    */
+   static final long DEFAULT_TTL = 5 * 60 * 1000;
+
+   /**
+    * The default maximum number of version range results, and of artifact descriptor results, kept by a session
+    */
+   static final int DEFAULT_MAX_RESULTS = 1024;
+
+   private static final int MAX_RESULTS = Integer.getInteger("org.jboss.forge.addon.maven.sessionPool.maxResults",
+            DEFAULT_MAX_RESULTS);
+
+   private final MavenContainer container;
+   private final SettingsCache settingsCache;
+   private final long ttl;
+   private final ConcurrentMap<String, PooledSession> sessions = new ConcurrentHashMap<>();
+
+   RepositorySessionPool(MavenContainer container)
+   {
+      this(container, Long.getLong("org.jboss.forge.addon.maven.sessionPool.ttl", DEFAULT_TTL));
+   }
+
+   RepositorySessionPool(MavenContainer container, long ttl)
+   {
+      this.container = container;
+      this.settingsCache = new SettingsCache(container);
+      this.ttl = ttl;
+   }
+
+   /**
+    * Returns the {@link PooledSession} matching the current settings, creating a new one if none exists or the
+    * existing one has expired. The settings are only read when a session is created.
+    */
+   PooledSession get(RepositorySystem system)
+   {
+      String fingerprint = settingsCache.getFingerprint();
+      PooledSession session = sessions.get(fingerprint);
+      if (session == null || session.isExpired(ttl))
+      {
+         // Sessions created from older settings will never be used again
+         sessions.keySet().retainAll(Collections.singleton(fingerprint));
+         Settings settings = settingsCache.getSettings();
+         session = new PooledSession(container.setupRepoSession(system, settings),
+                  MavenRepositories.getRemoteRepositories(container, settings), settings);
+         sessions.put(fingerprint, session);
+      }
+      return session;
+   }
+
+   /**
+    * Discards all the pooled sessions
+    */
+   void invalidate()
+   {
+      sessions.clear();
+      settingsCache.invalidate();
+   }
+
+   int size()
+   {
+      return sessions.size();
+   }
+
+   /**
+    * A {@link DefaultRepositorySystemSession} shared across resolutions, along with the results it already resolved
+    */
+   static class PooledSession
+   {
+      private final long created = System.currentTimeMillis();
+      private final DefaultRepositorySystemSession session;
+      private final List<RemoteRepository> remoteRepositories;
+      private final Settings settings;
+      private final Map<String, VersionRangeResult> versionRanges = newResultMap();
+      private final Map<String, ArtifactDescriptorResult> descriptors = newResultMap();
+
+      PooledSession(DefaultRepositorySystemSession session, List<RemoteRepository> remoteRepositories,
+               Settings settings)
+      {
+         this.session = session;
+         this.remoteRepositories = remoteRepositories;
+         this.settings = settings;
+      }
+
+      /**
+       * Returns the settings this session was created from
+       */
+      Settings getSettings()
+      {
+         return settings;
+      }
+
+      boolean isExpired(long ttl)
+      {
+         return System.currentTimeMillis() - created > ttl;
+      }
+
+      /**
+       * Returns a new session sharing the cache and data of the pooled one. Callers may freely change its settings
+       * (eg. dependency traversers and selectors) without affecting other resolutions.
+       */
+      DefaultRepositorySystemSession newSession()
+      {
+         return new DefaultRepositorySystemSession(session);
+      }
+
+      /**
+       * Returns the given repositories followed by the repositories enabled in the settings
+       */
+      List<RemoteRepository> getRemoteRepositories(List<DependencyRepository> repositories)
+      {
+         List<RemoteRepository> result = MavenConvertUtils.convertToMavenRepos(repositories, settings);
+         result.addAll(remoteRepositories);
+         return result;
+      }
+
+      VersionRangeResult resolveVersionRange(RepositorySystem system, VersionRangeRequest request)
+               throws VersionRangeResolutionException
+      {
+         String key = request.getArtifact() + " " + request.getRepositories();
+         VersionRangeResult result;
+         synchronized (versionRanges)
+         {
+            result = versionRanges.get(key);
+         }
+         if (result == null)
+         {
+            result = system.resolveVersionRange(newSession(), request);
+            if (result.getExceptions().isEmpty())
+            {
+               synchronized (versionRanges)
+               {
+                  versionRanges.put(key, result);
+               }
+            }
+         }
+         return result;
+      }
+
+      ArtifactDescriptorResult readArtifactDescriptor(RepositorySystem system, ArtifactDescriptorRequest request)
+               throws ArtifactDescriptorException
+      {
+         String key = request.getArtifact() + " " + request.getRepositories();
+         ArtifactDescriptorResult result;
+         synchronized (descriptors)
+         {
+            result = descriptors.get(key);
+         }
+         if (result == null)
+         {
+            result = system.readArtifactDescriptor(newSession(), request);
+            if (result.getExceptions().isEmpty())
+            {
+               synchronized (descriptors)
+               {
+                  descriptors.put(key, result);
+               }
+            }
+         }
+         return result;
+      }
+
+      int getResultCount()
+      {
+         synchronized (versionRanges)
+         {
+            synchronized (descriptors)
+            {
+               return versionRanges.size() + descriptors.size();
+            }
+         }
+      }
+
+      /**
+       * Returns a map keeping the {@value RepositorySessionPool#MAX_RESULTS} most recently used results, to be guarded
+       * by itself
+       */
+      private static <T> Map<String, T> newResultMap()
+      {
+         return new LinkedHashMap<String, T>(16, 0.75f, true)
+         {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, T> eldest)
+            {
+               return size() > MAX_RESULTS;
+            }
+         };
+      }
+   }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.maven.util;
+
+import java.io.File;
+
+import org.apache.maven.settings.Settings;
+import org.jboss.forge.furnace.manager.maven.MavenContainer;
+
+/**
+ * Holds the {@link Settings} read by a {@link MavenContainer}, and reads them again only when the user or global
+ * settings file, or the system properties locating them, change.
+ * <p/>
+ * Changes are detected by the last modification time and size of the files, so checking them does not parse
+ * anything. The returned {@link Settings} are shared, and must not be modified.
+ */
+public class SettingsCache
+{
+   private static final String M2_HOME = System.getenv("M2_HOME");
+
+   private final MavenContainer container;
+
+   private String fingerprint;
+   private Settings settings;
+
+   public SettingsCache(MavenContainer container)
+   {
+      this.container = container;
+   }
+
+   /**
+    * Returns the current {@link Settings}, reading them if the settings files changed since they were last read
+    */
+   public synchronized Settings getSettings()
+   {
+      String current = computeFingerprint();
+      if (settings == null || !current.equals(fingerprint))
+      {
+         settings = container.getSettings();
+         fingerprint = current;
+      }
+      return settings;
+   }
+
+   /**
+    * Returns a string that changes whenever the {@link Settings} returned by {@link #getSettings()} may change
+    */
+   public String getFingerprint()
+   {
+      return computeFingerprint();
+   }
+
+   /**
+    * Discards the cached {@link Settings}
+    */
+   public synchronized void invalidate()
+   {
+      settings = null;
+      fingerprint = null;
+   }
+
+   /**
+    * Describes the settings files, located as {@link MavenContainer#getSettings()} does, by path, modification time
+    * and size
+    */
+   static String computeFingerprint()
+   {
+      StringBuilder sb = new StringBuilder();
+      append(sb, getUserSettingsFile());
+      append(sb, getGlobalSettingsFile());
+      sb.append(System.getProperty(MavenContainer.ALT_LOCAL_REPOSITORY_LOCATION));
+      return sb.toString();
+   }
+
+   private static File getUserSettingsFile()
+   {
+      String location = System.getProperty(MavenContainer.ALT_USER_SETTINGS_XML_LOCATION);
+      if (location == null)
+      {
+         location = System.getProperty("teamcity.maven.userSettings.path");
+      }
+      if (location != null)
+      {
+         return new File(location);
+      }
+      return new File(new File(System.getProperty("user.home")).getAbsoluteFile(), "/.m2/settings.xml");
+   }
+
+   private static File getGlobalSettingsFile()
+   {
+      String location = System.getProperty(MavenContainer.ALT_GLOBAL_SETTINGS_XML_LOCATION);
+      if (location != null)
+      {
+         return new File(location);
+      }
+      return M2_HOME == null ? null : new File(M2_HOME, "/conf/settings.xml");
+   }
+
+   private static void append(StringBuilder sb, File file)
+   {
+      if (file != null)
+      {
+         sb.append(file.getPath()).append(':').append(file.lastModified()).append(':').append(file.length());
+      }
+      sb.append('|');
+   }
+}
@@ -78,6 +78,12 @@ public class FileResourceFactory implements ResourceFactory
       throw new UnsupportedOperationException();
    }
 
+   @Override
+   public ResourceMonitor monitor(Resource<?> resource, ResourceFilter resourceFilter, ResourceFilter directoryFilter)
+   {
+      throw new UnsupportedOperationException();
+   }
+
    @Override
    public ResourceTransaction getTransaction()
    {
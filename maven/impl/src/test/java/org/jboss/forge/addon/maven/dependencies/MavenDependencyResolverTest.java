@@ -6,6 +6,7 @@
  */
 package org.jboss.forge.addon.maven.dependencies;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
@@ -14,6 +15,7 @@ import org.jboss.forge.addon.dependencies.Dependency;
 import org.jboss.forge.addon.dependencies.DependencyMetadata;
 import org.jboss.forge.addon.dependencies.DependencyNode;
 import org.jboss.forge.addon.dependencies.DependencyQuery;
+import org.jboss.forge.addon.dependencies.DependencyQueryResult;
 import org.jboss.forge.addon.dependencies.builder.CoordinateBuilder;
 import org.jboss.forge.addon.dependencies.builder.DependencyBuilder;
 import org.jboss.forge.addon.dependencies.builder.DependencyQueryBuilder;
@@ -98,6 +100,32 @@ public class MavenDependencyResolverTest
       Assert.assertFalse(versions.isEmpty());
    }
 
+   @Test
+   public void testResolveVersionsBatch() throws Exception
+   {
+      DependencyQuery resources = DependencyQueryBuilder.create(CoordinateBuilder
+               .create("org.jboss.forge:resources-api"));
+      DependencyQuery missing = DependencyQueryBuilder.create(CoordinateBuilder
+               .create("org.jboss.forge:does-not-exist").setVersion("[,"));
+      List<DependencyQueryResult<List<Coordinate>>> results = resolver.resolveVersions(Arrays.asList(resources,
+               missing, resources));
+      Assert.assertEquals(3, results.size());
+      Assert.assertSame(resources, results.get(0).getQuery());
+      Assert.assertFalse(results.get(0).get().isEmpty());
+      Assert.assertFalse(results.get(1).isSuccess());
+      Assert.assertEquals(results.get(0).get(), results.get(2).get());
+   }
+
+   @Test
+   public void testResolveArtifactsBatch() throws Exception
+   {
+      DependencyQuery query = DependencyQueryBuilder
+               .create("org.jboss.forge:resources:jar:forge-addon:2.0.0.Alpha3");
+      List<DependencyQueryResult<Dependency>> results = resolver.resolveArtifacts(Arrays.asList(query));
+      Assert.assertEquals(1, results.size());
+      Assert.assertTrue(results.get(0).get().getArtifact().exists());
+   }
+
    @Test
    public void testResolveArtifact() throws Exception
    {
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.maven.dependencies;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import org.eclipse.aether.RepositorySystem;
+import org.jboss.forge.addon.maven.dependencies.RepositorySessionPool.PooledSession;
+import org.jboss.forge.furnace.manager.maven.MavenContainer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link RepositorySessionPool}
+ */
+public class RepositorySessionPoolTest
+{
+   private MavenContainer container;
+   private RepositorySystem system;
+   private File userSettings;
+   private String previousUserSettings;
+
+   @Before
+   public void setUp() throws IOException
+   {
+      container = new MavenContainer();
+      system = container.getRepositorySystem();
+      userSettings = File.createTempFile("settings", ".xml");
+      writeSettings(false);
+      previousUserSettings = System.setProperty(MavenContainer.ALT_USER_SETTINGS_XML_LOCATION,
+               userSettings.getAbsolutePath());
+   }
+
+   @After
+   public void tearDown()
+   {
+      if (previousUserSettings == null)
+      {
+         System.clearProperty(MavenContainer.ALT_USER_SETTINGS_XML_LOCATION);
+      }
+      else
+      {
+         System.setProperty(MavenContainer.ALT_USER_SETTINGS_XML_LOCATION, previousUserSettings);
+      }
+      userSettings.delete();
+   }
+
+   @Test
+   public void testSessionIsReusedForSameSettings()
+   {
+      RepositorySessionPool pool = new RepositorySessionPool(container);
+      PooledSession session = pool.get(system);
+      Assert.assertSame(session, pool.get(system));
+      Assert.assertSame(session.newSession().getCache(), session.newSession().getCache());
+   }
+
+   @Test
+   public void testSessionIsDiscardedWhenSettingsChange() throws IOException
+   {
+      RepositorySessionPool pool = new RepositorySessionPool(container);
+      PooledSession session = pool.get(system);
+      Assert.assertFalse(session.getSettings().isOffline());
+      writeSettings(true);
+      userSettings.setLastModified(userSettings.lastModified() + 2000);
+      PooledSession offlineSession = pool.get(system);
+      Assert.assertNotSame(session, offlineSession);
+      Assert.assertTrue(offlineSession.getSettings().isOffline());
+      Assert.assertEquals(1, pool.size());
+   }
+
+   @Test
+   public void testSessionExpires() throws Exception
+   {
+      RepositorySessionPool pool = new RepositorySessionPool(container, 0);
+      PooledSession session = pool.get(system);
+      Thread.sleep(5);
+      Assert.assertNotSame(session, pool.get(system));
+   }
+
+   private void writeSettings(boolean offline) throws IOException
+   {
+      try (Writer writer = new FileWriter(userSettings))
+      {
+         writer.write("<settings><offline>" + offline + "</offline></settings>");
+      }
+   }
+}
@@ -0,0 +1,202 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.maven.projects;
+
+import java.io.File;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.inject.Inject;
+
+import org.apache.maven.model.Model;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.addon.dependencies.builder.DependencyBuilder;
+import org.jboss.forge.addon.maven.resources.MavenModelResource;
+import org.jboss.forge.addon.projects.Project;
+import org.jboss.forge.addon.projects.ProjectFactory;
+import org.jboss.forge.addon.projects.facets.DependencyFacet;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.Dependencies;
+import org.jboss.forge.arquillian.archive.ForgeArchive;
+import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class MavenModelSessionTest
+{
+   @Deployment
+   @Dependencies({
+            @AddonDependency(name = "org.jboss.forge.addon:projects"),
+            @AddonDependency(name = "org.jboss.forge.addon:maven")
+   })
+   public static ForgeArchive getDeployment()
+   {
+      ForgeArchive archive = ShrinkWrap
+               .create(ForgeArchive.class)
+               .addBeansXML()
+               .addAsAddonDependencies(
+                        AddonDependencyEntry.create("org.jboss.forge.furnace.container:cdi"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:maven"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:projects")
+               );
+
+      return archive;
+   }
+
+   @Inject
+   private ProjectFactory projectFactory;
+
+   @Test
+   public void testChangesAreWrittenOnCommit() throws Exception
+   {
+      Project project = projectFactory.createTempProject();
+      MavenFacet facet = project.getFacet(MavenFacet.class);
+      MavenModelResource pomFile = facet.getModelResource();
+      String original = pomFile.getContents();
+
+      try (MavenModelSession session = facet.beginModelSession())
+      {
+         Model pom = facet.getModel();
+         pom.setDescription("first");
+         facet.setModel(pom);
+
+         try (MavenModelSession nested = facet.beginModelSession())
+         {
+            pom = facet.getModel();
+            Assert.assertEquals("first", pom.getDescription());
+            pom.setName("second");
+            facet.setModel(pom);
+            nested.commit();
+         }
+
+         Assert.assertEquals("second", facet.getModel().getName());
+         Assert.assertEquals(original, pomFile.getContents());
+         session.commit();
+      }
+
+      Model pom = facet.getModel();
+      Assert.assertEquals("first", pom.getDescription());
+      Assert.assertEquals("second", pom.getName());
+   }
+
+   @Test
+   public void testChangesAreDiscardedOnClose() throws Exception
+   {
+      Project project = projectFactory.createTempProject();
+      MavenFacet facet = project.getFacet(MavenFacet.class);
+      String original = facet.getModelResource().getContents();
+
+      try (MavenModelSession session = facet.beginModelSession())
+      {
+         Model pom = facet.getModel();
+         pom.setDescription("discarded");
+         facet.setModel(pom);
+      }
+
+      Assert.assertNull(facet.getModel().getDescription());
+      Assert.assertEquals(original, facet.getModelResource().getContents());
+   }
+
+   @Test
+   public void testOtherThreadsWaitForTheSessionToEnd() throws Exception
+   {
+      Project project = projectFactory.createTempProject();
+      final MavenFacet facet = project.getFacet(MavenFacet.class);
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      try
+      {
+         Future<String> description;
+         try (MavenModelSession session = facet.beginModelSession())
+         {
+            Model pom = facet.getModel();
+            pom.setDescription("committed");
+            facet.setModel(pom);
+
+            description = executor.submit(new Callable<String>()
+            {
+               @Override
+               public String call() throws Exception
+               {
+                  return facet.getModel().getDescription();
+               }
+            });
+            try
+            {
+               description.get(500, TimeUnit.MILLISECONDS);
+               Assert.fail("The model was read while another thread was in a session");
+            }
+            catch (TimeoutException e)
+            {
+               // Expected
+            }
+            session.commit();
+         }
+         Assert.assertEquals("committed", description.get(10, TimeUnit.SECONDS));
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   @Test
+   public void testSessionWritesThePomOnce() throws Exception
+   {
+      Project project = projectFactory.createTempProject();
+      MavenFacet facet = project.getFacet(MavenFacet.class);
+      DependencyFacet dependencies = project.getFacet(DependencyFacet.class);
+      MavenModelResource pomFile = facet.getModelResource();
+      String original = pomFile.getContents();
+      File file = pomFile.getUnderlyingResourceObject();
+      long lastModified = System.currentTimeMillis() - 60000;
+      file.setLastModified(lastModified);
+      lastModified = file.lastModified();
+
+      try (MavenModelSession session = facet.beginModelSession())
+      {
+         dependencies.addDirectDependency(DependencyBuilder.create("org.example:first:1.0"));
+         dependencies.addDirectDependency(DependencyBuilder.create("org.example:second:1.0"));
+         dependencies.addDirectDependency(DependencyBuilder.create("org.example:third:1.0"));
+         // Nested sessions do not write anything
+         Assert.assertEquals(lastModified, file.lastModified());
+         Assert.assertEquals(original, pomFile.getContents());
+         Assert.assertEquals(3, facet.getModel().getDependencies().size());
+         session.commit();
+      }
+
+      Assert.assertNotEquals(lastModified, file.lastModified());
+      Assert.assertEquals(3, facet.getModel().getDependencies().size());
+   }
+
+   @Test
+   public void testModelSetInSessionIsCopied() throws Exception
+   {
+      Project project = projectFactory.createTempProject();
+      MavenFacet facet = project.getFacet(MavenFacet.class);
+
+      try (MavenModelSession session = facet.beginModelSession())
+      {
+         Model pom = facet.getModel();
+         pom.setDescription("set");
+         facet.setModel(pom);
+         pom.setDescription("changed after set");
+         Assert.assertEquals("set", facet.getModel().getDescription());
+         session.commit();
+      }
+
+      Assert.assertEquals("set", facet.getModel().getDescription());
+   }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.maven.projects;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.addon.projects.Project;
+import org.jboss.forge.addon.projects.ProjectFactory;
+import org.jboss.forge.addon.projects.building.ProjectBuilder;
+import org.jboss.forge.addon.projects.facets.PackagingFacet;
+import org.jboss.forge.addon.resource.Resource;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.Dependencies;
+import org.jboss.forge.arquillian.archive.ForgeArchive;
+import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Builds projects through the embedded Maven build engine
+ */
+@RunWith(Arquillian.class)
+public class MavenProjectBuilderTest
+{
+   @Deployment
+   @Dependencies({
+            @AddonDependency(name = "org.jboss.forge.addon:projects"),
+            @AddonDependency(name = "org.jboss.forge.addon:maven")
+   })
+   public static ForgeArchive getDeployment()
+   {
+      ForgeArchive archive = ShrinkWrap
+               .create(ForgeArchive.class)
+               .addBeansXML()
+               .addAsAddonDependencies(
+                        AddonDependencyEntry.create("org.jboss.forge.furnace.container:cdi"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:maven"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:projects")
+               );
+
+      return archive;
+   }
+
+   @Inject
+   private ProjectFactory projectFactory;
+
+   @Test
+   public void testProjectIsBuiltTwiceWithPhaseTimings() throws Exception
+   {
+      Project project = projectFactory.createTempProject();
+      ProjectBuilder builder = project.getFacet(PackagingFacet.class).createBuilder().runTests(false);
+      Assert.assertTrue(builder.getPhaseTimings().isEmpty());
+
+      // The second build runs in the container kept from the first one
+      for (int i = 0; i < 2; i++)
+      {
+         ByteArrayOutputStream out = new ByteArrayOutputStream();
+         Resource<?> artifact = builder.build(new PrintStream(out, true), new PrintStream(out, true));
+         Assert.assertNotNull(artifact);
+         Assert.assertTrue(artifact.exists());
+         Map<String, Long> timings = builder.getPhaseTimings();
+         Assert.assertTrue("No timing reported for the package phase: " + timings, timings.containsKey("package"));
+         Assert.assertTrue(out.toString().contains("BUILD SUCCESS"));
+      }
+      project.getRoot().delete(true);
+   }
+}
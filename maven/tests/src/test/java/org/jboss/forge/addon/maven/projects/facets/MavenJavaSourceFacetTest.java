@@ -0,0 +1,122 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.maven.projects.facets;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.addon.parser.java.facets.JavaSourceFacet;
+import org.jboss.forge.addon.parser.java.resources.JavaResource;
+import org.jboss.forge.addon.projects.Project;
+import org.jboss.forge.addon.projects.ProjectFacet;
+import org.jboss.forge.addon.projects.ProjectFactory;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.Dependencies;
+import org.jboss.forge.arquillian.archive.ForgeArchive;
+import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.source.JavaClassSource;
+import org.jboss.forge.roaster.model.source.JavaEnumSource;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class MavenJavaSourceFacetTest
+{
+   @Deployment
+   @Dependencies({
+            @AddonDependency(name = "org.jboss.forge.addon:resources"),
+            @AddonDependency(name = "org.jboss.forge.addon:projects"),
+            @AddonDependency(name = "org.jboss.forge.addon:parser-java"),
+            @AddonDependency(name = "org.jboss.forge.addon:maven")
+   })
+   public static ForgeArchive getDeployment()
+   {
+      ForgeArchive archive = ShrinkWrap
+               .create(ForgeArchive.class)
+               .addBeansXML()
+               .addAsAddonDependencies(
+                        AddonDependencyEntry.create("org.jboss.forge.furnace.container:cdi"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:maven"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:parser-java"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:projects")
+               );
+
+      return archive;
+   }
+
+   private Project project;
+
+   @Inject
+   private ProjectFactory projectFactory;
+
+   @Before
+   public void setUp()
+   {
+      List<Class<? extends ProjectFacet>> facets = Arrays.<Class<? extends ProjectFacet>> asList(JavaSourceFacet.class);
+      project = projectFactory.createTempProject(facets);
+   }
+
+   @Test
+   public void testFindTypesAnnotatedWith() throws Exception
+   {
+      JavaSourceFacet facet = project.getFacet(JavaSourceFacet.class);
+      JavaClassSource annotated = Roaster.create(JavaClassSource.class).setPackage("org.example").setName("Annotated");
+      annotated.addAnnotation(Deprecated.class);
+      facet.saveJavaSource(annotated);
+      facet.saveJavaSource(Roaster.create(JavaClassSource.class).setPackage("org.example").setName("Plain"));
+
+      List<JavaResource> result = facet.findTypesAnnotatedWith(Deprecated.class.getName());
+      Assert.assertEquals(1, result.size());
+      Assert.assertEquals("org.example.Annotated", result.get(0).getJavaType().getQualifiedName());
+   }
+
+   @Test
+   public void testFindEnums() throws Exception
+   {
+      JavaSourceFacet facet = project.getFacet(JavaSourceFacet.class);
+      facet.saveJavaSource(Roaster.create(JavaEnumSource.class).setPackage("org.example").setName("Color"));
+      facet.saveJavaSource(Roaster.create(JavaClassSource.class).setPackage("org.example").setName("Plain"));
+
+      List<JavaResource> result = facet.findEnums();
+      Assert.assertEquals(1, result.size());
+      Assert.assertEquals("org.example.Color", result.get(0).getJavaType().getQualifiedName());
+   }
+
+   @Test
+   public void testFindSubtypesOf() throws Exception
+   {
+      JavaSourceFacet facet = project.getFacet(JavaSourceFacet.class);
+      facet.saveJavaSource(Roaster.create(JavaClassSource.class).setPackage("org.example").setName("Task")
+               .addInterface(Runnable.class));
+      facet.saveJavaSource(Roaster.create(JavaClassSource.class).setPackage("org.example").setName("Plain"));
+
+      List<JavaResource> result = facet.findSubtypesOf(Runnable.class.getName());
+      Assert.assertEquals(1, result.size());
+      Assert.assertEquals("org.example.Task", result.get(0).getJavaType().getQualifiedName());
+   }
+
+   @Test
+   public void testIndexIsUpdatedOnChanges() throws Exception
+   {
+      JavaSourceFacet facet = project.getFacet(JavaSourceFacet.class);
+      Assert.assertTrue(facet.findEnums().isEmpty());
+      JavaResource resource = facet.saveJavaSource(Roaster.create(JavaEnumSource.class).setPackage("org.example")
+               .setName("Color"));
+      Assert.assertEquals(1, facet.findEnums().size());
+      resource.delete();
+      Assert.assertTrue(facet.findEnums().isEmpty());
+   }
+}
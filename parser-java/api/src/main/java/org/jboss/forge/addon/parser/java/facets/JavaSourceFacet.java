@@ -131,4 +131,28 @@ public interface JavaSourceFacet extends ProjectFacet
     */
    public void visitJavaTestSources(JavaResourceVisitor visitor);
 
+   /**
+    * Return the {@link JavaResource}s in {@link #getSourceDirectory()} declaring a type annotated with any of the given
+    * annotation types. The lookup is served by an incremental type index, so only changed files are parsed. As with
+    * {@link #visitJavaSources(JavaResourceVisitor)}, the test sources are not included.
+    *
+    * @param annotationTypes The fully qualified names of the annotation types to look for.
+    */
+   public List<JavaResource> findTypesAnnotatedWith(String... annotationTypes);
+
+   /**
+    * Return the {@link JavaResource}s in {@link #getSourceDirectory()} declaring an enum type. The lookup is served by
+    * an incremental type index, so only changed files are parsed. The test sources are not included.
+    */
+   public List<JavaResource> findEnums();
+
+   /**
+    * Return the {@link JavaResource}s in {@link #getSourceDirectory()} declaring a type that directly extends or
+    * implements the given type. The lookup is served by an incremental type index, so only changed files are parsed.
+    * The test sources are not included.
+    *
+    * @param type The fully qualified name of the super class or interface.
+    */
+   public List<JavaResource> findSubtypesOf(String type);
+
 }
@@ -0,0 +1,326 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.parser.java.index;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.JavaType;
+
+/**
+ * An incremental index of the Java types declared under a source directory. Each source file is summarized once and
+ * only parsed again when its last modified time or size changes, or when it is explicitly invalidated.
+ * <p/>
+ * The index may optionally be persisted to a file, so the summaries survive between sessions.
+ */
+public class JavaTypeIndex
+{
+   private static final Logger log = Logger.getLogger(JavaTypeIndex.class.getName());
+
+   private static final int FORMAT_VERSION = 1;
+
+   private final File storeFile;
+   private final Map<String, JavaTypeSummary> summaries = new TreeMap<>();
+   private boolean modified;
+
+   /**
+    * Creates a new index, loading any summaries previously saved in the given file.
+    *
+    * @param storeFile the file the index is persisted to. May be <code>null</code> for an in-memory index
+    */
+   public JavaTypeIndex(File storeFile)
+   {
+      this.storeFile = storeFile;
+      load();
+   }
+
+   /**
+    * Brings the index up to date with the Java files found under the given source directories. Only files that were
+    * added, changed or invalidated since the last update are parsed.
+    */
+   public synchronized void update(List<File> sourceDirectories)
+   {
+      Set<String> found = new HashSet<>();
+      for (File directory : sourceDirectories)
+      {
+         scan(directory, found);
+      }
+      Iterator<String> iterator = summaries.keySet().iterator();
+      while (iterator.hasNext())
+      {
+         if (!found.contains(iterator.next()))
+         {
+            iterator.remove();
+            modified = true;
+         }
+      }
+      if (modified)
+      {
+         save();
+      }
+   }
+
+   private void scan(File directory, Set<String> found)
+   {
+      File[] children = directory.listFiles();
+      if (children == null)
+         return;
+      for (File child : children)
+      {
+         String name = child.getName();
+         if (name.endsWith(".java"))
+         {
+            String path = child.getAbsolutePath();
+            found.add(path);
+            JavaTypeSummary summary = summaries.get(path);
+            if (summary == null || !summary.isUpToDate(child))
+            {
+               summaries.put(path, summarize(child));
+               modified = true;
+            }
+         }
+         else if (child.isDirectory())
+         {
+            scan(child, found);
+         }
+      }
+   }
+
+   private JavaTypeSummary summarize(File file)
+   {
+      try
+      {
+         JavaType<?> type = Roaster.parse(file);
+         return JavaTypeSummary.of(file, type);
+      }
+      catch (Exception e)
+      {
+         log.log(Level.FINE, "Could not parse " + file, e);
+         return JavaTypeSummary.unparseable(file);
+      }
+   }
+
+   /**
+    * Discards the summary of the given file (or all files under it, if it is a directory), so it is parsed again on
+    * the next {@link #update(List)}.
+    */
+   public synchronized void invalidate(File file)
+   {
+      String path = file.getAbsolutePath();
+      String prefix = path + File.separator;
+      Iterator<String> iterator = summaries.keySet().iterator();
+      while (iterator.hasNext())
+      {
+         String next = iterator.next();
+         if (next.equals(path) || next.startsWith(prefix))
+         {
+            iterator.remove();
+            modified = true;
+         }
+      }
+   }
+
+   /**
+    * Parses the given file again right away, or all the files under it if it is a directory, and discards the
+    * summaries of the files that do not exist anymore.
+    */
+   public synchronized void refresh(File file)
+   {
+      invalidate(file);
+      if (file.isDirectory())
+      {
+         scan(file, new HashSet<String>());
+      }
+      else if (file.isFile() && file.getName().endsWith(".java"))
+      {
+         summaries.put(file.getAbsolutePath(), summarize(file));
+         modified = true;
+      }
+   }
+
+   /**
+    * Persists the changes made since the index was last saved
+    */
+   public synchronized void flush()
+   {
+      if (modified)
+      {
+         save();
+      }
+   }
+
+   /**
+    * Returns the summaries of all types annotated with any of the given annotation types
+    */
+   public synchronized List<JavaTypeSummary> findTypesAnnotatedWith(final String... annotationTypes)
+   {
+      return find(new Criteria()
+      {
+         @Override
+         boolean matches(JavaTypeSummary summary)
+         {
+            for (String annotationType : annotationTypes)
+            {
+               if (summary.isAnnotatedWith(annotationType))
+               {
+                  return true;
+               }
+            }
+            return false;
+         }
+      });
+   }
+
+   /**
+    * Returns the summaries of all the enum types
+    */
+   public synchronized List<JavaTypeSummary> findEnums()
+   {
+      return find(new Criteria()
+      {
+         @Override
+         boolean matches(JavaTypeSummary summary)
+         {
+            return summary.getKind() == JavaTypeSummary.Kind.ENUM;
+         }
+      });
+   }
+
+   /**
+    * Returns the summaries of all types directly extending or implementing the given type
+    */
+   public synchronized List<JavaTypeSummary> findSubtypesOf(final String type)
+   {
+      return find(new Criteria()
+      {
+         @Override
+         boolean matches(JavaTypeSummary summary)
+         {
+            return summary.isSubtypeOf(type);
+         }
+      });
+   }
+
+   /**
+    * Returns the summaries matching the given criteria. The files of the matches are checked, so that a change not
+    * notified yet does not return a type that was deleted or does not match anymore.
+    */
+   private List<JavaTypeSummary> find(Criteria criteria)
+   {
+      List<JavaTypeSummary> result = new ArrayList<>();
+      for (JavaTypeSummary summary : new ArrayList<>(summaries.values()))
+      {
+         if (criteria.matches(summary))
+         {
+            File file = new File(summary.getPath());
+            if (!summary.isUpToDate(file))
+            {
+               refresh(file);
+               summary = summaries.get(summary.getPath());
+               if (summary == null || !criteria.matches(summary))
+               {
+                  continue;
+               }
+            }
+            result.add(summary);
+         }
+      }
+      return result;
+   }
+
+   /**
+    * Returns the summaries of all the indexed types
+    */
+   public synchronized List<JavaTypeSummary> getSummaries()
+   {
+      List<JavaTypeSummary> result = new ArrayList<>();
+      for (JavaTypeSummary summary : summaries.values())
+      {
+         if (summary.isParsed())
+         {
+            result.add(summary);
+         }
+      }
+      return result;
+   }
+
+   private abstract static class Criteria
+   {
+      abstract boolean matches(JavaTypeSummary summary);
+   }
+
+   private void load()
+   {
+      if (storeFile == null || !storeFile.isFile())
+         return;
+      try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(storeFile))))
+      {
+         if (in.readInt() == FORMAT_VERSION)
+         {
+            int size = in.readInt();
+            for (int i = 0; i < size; i++)
+            {
+               JavaTypeSummary summary = JavaTypeSummary.readFrom(in);
+               summaries.put(summary.getPath(), summary);
+            }
+         }
+      }
+      catch (IOException | IllegalArgumentException e)
+      {
+         log.log(Level.FINE, "Discarding unreadable Java type index " + storeFile, e);
+         summaries.clear();
+      }
+   }
+
+   private void save()
+   {
+      if (storeFile == null)
+         return;
+      File parent = storeFile.getParentFile();
+      if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+         return;
+      File tmp = new File(parent, storeFile.getName() + ".tmp");
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp))))
+      {
+         out.writeInt(FORMAT_VERSION);
+         out.writeInt(summaries.size());
+         for (JavaTypeSummary summary : summaries.values())
+         {
+            summary.writeTo(out);
+         }
+      }
+      catch (IOException e)
+      {
+         log.log(Level.WARNING, "Could not save Java type index to " + storeFile, e);
+         tmp.delete();
+         return;
+      }
+      if ((storeFile.exists() && !storeFile.delete()) || !tmp.renameTo(storeFile))
+      {
+         tmp.delete();
+         return;
+      }
+      modified = false;
+   }
+}
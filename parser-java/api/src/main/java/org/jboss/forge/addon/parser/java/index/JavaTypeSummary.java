@@ -0,0 +1,310 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.parser.java.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.forge.roaster.model.Annotation;
+import org.jboss.forge.roaster.model.Extendable;
+import org.jboss.forge.roaster.model.Field;
+import org.jboss.forge.roaster.model.FieldHolder;
+import org.jboss.forge.roaster.model.InterfaceCapable;
+import org.jboss.forge.roaster.model.JavaType;
+import org.jboss.forge.roaster.model.Method;
+import org.jboss.forge.roaster.model.MethodHolder;
+import org.jboss.forge.roaster.model.util.Types;
+
+/**
+ * A lightweight summary of the top-level type declared in a Java source file.
+ */
+public class JavaTypeSummary
+{
+   /**
+    * The kind of the summarized type
+    */
+   public enum Kind
+   {
+      CLASS, INTERFACE, ENUM, ANNOTATION
+   }
+
+   private final String path;
+   private final long lastModified;
+   private final long length;
+
+   private String qualifiedName;
+   private String packageName;
+   private Kind kind;
+   private final Set<String> annotations = new LinkedHashSet<>();
+   private final Set<String> supertypes = new LinkedHashSet<>();
+   private final List<String> fields = new ArrayList<>();
+   private final List<String> methods = new ArrayList<>();
+
+   private JavaTypeSummary(File file)
+   {
+      this(file.getAbsolutePath(), file.lastModified(), file.length());
+   }
+
+   private JavaTypeSummary(String path, long lastModified, long length)
+   {
+      this.path = path;
+      this.lastModified = lastModified;
+      this.length = length;
+   }
+
+   /**
+    * Creates a summary for a file that could not be parsed. Such summaries are kept so the file is not parsed again
+    * until it changes.
+    */
+   public static JavaTypeSummary unparseable(File file)
+   {
+      return new JavaTypeSummary(file);
+   }
+
+   /**
+    * Creates a summary of the given parsed {@link JavaType} declared in the given {@link File}
+    */
+   @SuppressWarnings({ "rawtypes", "unchecked" })
+   public static JavaTypeSummary of(File file, JavaType<?> type)
+   {
+      JavaTypeSummary summary = new JavaTypeSummary(file);
+      summary.qualifiedName = type.getQualifiedName();
+      summary.packageName = type.getPackage();
+      if (type.isEnum())
+         summary.kind = Kind.ENUM;
+      else if (type.isAnnotation())
+         summary.kind = Kind.ANNOTATION;
+      else if (type.isInterface())
+         summary.kind = Kind.INTERFACE;
+      else
+         summary.kind = Kind.CLASS;
+
+      for (Annotation<?> annotation : type.getAnnotations())
+      {
+         String name;
+         try
+         {
+            name = annotation.getQualifiedName();
+         }
+         catch (RuntimeException e)
+         {
+            // Wildcard imports may not be resolvable
+            name = annotation.getName();
+         }
+         summary.annotations.add(name);
+      }
+      if (type instanceof Extendable)
+      {
+         try
+         {
+            String superType = ((Extendable<?>) type).getSuperType();
+            if (superType != null && !Object.class.getName().equals(superType))
+            {
+               summary.supertypes.add(Types.stripGenerics(superType));
+            }
+         }
+         catch (RuntimeException e)
+         {
+            // Wildcard imports may not be resolvable
+         }
+      }
+      if (type instanceof InterfaceCapable)
+      {
+         try
+         {
+            for (String iface : ((InterfaceCapable) type).getInterfaces())
+            {
+               summary.supertypes.add(Types.stripGenerics(iface));
+            }
+         }
+         catch (RuntimeException e)
+         {
+            // Wildcard imports may not be resolvable
+         }
+      }
+      if (type instanceof FieldHolder)
+      {
+         for (Field<?> field : (List<Field<?>>) ((FieldHolder) type).getFields())
+         {
+            String fieldType;
+            try
+            {
+               fieldType = field.getType().getQualifiedName();
+            }
+            catch (RuntimeException e)
+            {
+               fieldType = field.getType().getName();
+            }
+            summary.fields.add(fieldType + " " + field.getName());
+         }
+      }
+      if (type instanceof MethodHolder)
+      {
+         for (Method<?, ?> method : (List<Method<?, ?>>) ((MethodHolder) type).getMethods())
+         {
+            summary.methods.add(method.toSignature());
+         }
+      }
+      return summary;
+   }
+
+   /**
+    * Reads a summary previously written with {@link #writeTo(DataOutput)}
+    */
+   public static JavaTypeSummary readFrom(DataInput in) throws IOException
+   {
+      JavaTypeSummary summary = new JavaTypeSummary(in.readUTF(), in.readLong(), in.readLong());
+      if (in.readBoolean())
+      {
+         summary.qualifiedName = in.readUTF();
+         summary.packageName = in.readUTF();
+         summary.kind = Kind.valueOf(in.readUTF());
+         readStrings(in, summary.annotations);
+         readStrings(in, summary.supertypes);
+         readStrings(in, summary.fields);
+         readStrings(in, summary.methods);
+      }
+      return summary;
+   }
+
+   /**
+    * Writes this summary to the given {@link DataOutput}
+    */
+   public void writeTo(DataOutput out) throws IOException
+   {
+      out.writeUTF(path);
+      out.writeLong(lastModified);
+      out.writeLong(length);
+      out.writeBoolean(isParsed());
+      if (isParsed())
+      {
+         out.writeUTF(qualifiedName);
+         out.writeUTF(packageName == null ? "" : packageName);
+         out.writeUTF(kind.name());
+         writeStrings(out, annotations);
+         writeStrings(out, supertypes);
+         writeStrings(out, fields);
+         writeStrings(out, methods);
+      }
+   }
+
+   private static void readStrings(DataInput in, Collection<String> target) throws IOException
+   {
+      int size = in.readInt();
+      for (int i = 0; i < size; i++)
+      {
+         target.add(in.readUTF());
+      }
+   }
+
+   private static void writeStrings(DataOutput out, Collection<String> source) throws IOException
+   {
+      out.writeInt(source.size());
+      for (String value : source)
+      {
+         out.writeUTF(value);
+      }
+   }
+
+   /**
+    * Returns <code>true</code> if the given {@link File} still has the same last modified time and size as the file
+    * this summary was created from.
+    */
+   public boolean isUpToDate(File file)
+   {
+      return file.lastModified() == lastModified && file.length() == length;
+   }
+
+   /**
+    * Returns <code>true</code> if the summarized type is annotated with the given annotation type
+    */
+   public boolean isAnnotatedWith(String annotationType)
+   {
+      for (String annotation : annotations)
+      {
+         if (Types.areEquivalent(annotation, annotationType))
+            return true;
+      }
+      return false;
+   }
+
+   /**
+    * Returns <code>true</code> if the summarized type directly extends or implements the given type
+    */
+   public boolean isSubtypeOf(String type)
+   {
+      for (String supertype : supertypes)
+      {
+         if (Types.areEquivalent(supertype, type))
+            return true;
+      }
+      return false;
+   }
+
+   /**
+    * Returns <code>true</code> if the source file was parsed successfully
+    */
+   public boolean isParsed()
+   {
+      return kind != null;
+   }
+
+   public String getPath()
+   {
+      return path;
+   }
+
+   public String getQualifiedName()
+   {
+      return qualifiedName;
+   }
+
+   public String getPackage()
+   {
+      return packageName;
+   }
+
+   public Kind getKind()
+   {
+      return kind;
+   }
+
+   public Set<String> getAnnotations()
+   {
+      return Collections.unmodifiableSet(annotations);
+   }
+
+   public Set<String> getSupertypes()
+   {
+      return Collections.unmodifiableSet(supertypes);
+   }
+
+   public List<String> getFields()
+   {
+      return Collections.unmodifiableList(fields);
+   }
+
+   public List<String> getMethods()
+   {
+      return Collections.unmodifiableList(methods);
+   }
+
+   @Override
+   public String toString()
+   {
+      return qualifiedName == null ? path : qualifiedName;
+   }
+}
@@ -2,12 +2,17 @@ package org.jboss.forge.addon.parser.java.resources;
 
 import java.io.File;
 
+import javax.inject.Inject;
+
 import org.jboss.forge.addon.resource.Resource;
 import org.jboss.forge.addon.resource.ResourceFactory;
 import org.jboss.forge.addon.resource.ResourceGenerator;
 
 public class JavaResourceGenerator implements ResourceGenerator<JavaResource, File>
 {
+   @Inject
+   private JavaSourceCache cache;
+
    @Override
    public boolean handles(Class<?> type, Object resource)
    {
@@ -22,7 +27,7 @@ public class JavaResourceGenerator implements ResourceGenerator<JavaResource, Fi
    @SuppressWarnings("unchecked")
    public <T extends Resource<File>> T getResource(ResourceFactory factory, Class<JavaResource> type, File resource)
    {
-      return (T) new JavaResourceImpl(factory, resource);
+      return (T) new JavaResourceImpl(factory, resource, cache);
    }
 
    @Override
@@ -7,6 +7,7 @@
 
 package org.jboss.forge.addon.parser.java.resources;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
@@ -38,21 +39,32 @@ import org.jboss.forge.roaster.model.source.JavaSource;
  */
 public class JavaResourceImpl extends AbstractFileResource<JavaResource> implements JavaResource
 {
+   private final JavaSourceCache cache;
    private JavaType<?> javaType;
    private byte[] lastDigest;
+   private byte[] parsedContent;
+   private String cachePath;
 
-   public JavaResourceImpl(final ResourceFactory factory, final File file)
+   public JavaResourceImpl(final ResourceFactory factory, final File file, final JavaSourceCache cache)
    {
       super(factory, file);
+      this.cache = cache;
    }
 
    @Override
    @SuppressWarnings("unchecked")
    public <T extends JavaType<?>> T getJavaType() throws FileNotFoundException
    {
-      if (isStale())
+      if (isTransactional())
       {
-         refresh();
+         if (isStale())
+         {
+            refresh();
+         }
+      }
+      else
+      {
+         parse(cache.getContent(getCachePath(), this));
       }
 
       return (T) javaType;
@@ -61,20 +73,63 @@ public class JavaResourceImpl extends AbstractFileResource<JavaResource> impleme
    @Override
    public boolean isStale()
    {
-      if (javaType == null || super.isStale()
-               || (lastDigest != null && !Arrays.equals(lastDigest, ResourceUtil.getDigest(this))))
+      if (javaType == null)
       {
          return true;
       }
-      return false;
+      if (isTransactional())
+      {
+         return super.isStale()
+                  || (lastDigest != null && !Arrays.equals(lastDigest, ResourceUtil.getDigest(this)));
+      }
+      return !cache.isCurrent(getCachePath(), this, parsedContent);
    }
 
    @Override
    public void refresh()
    {
       super.refresh();
-      lastDigest = ResourceUtil.getDigest(this);
-      javaType = Roaster.parse(getResourceInputStream());
+      if (isTransactional())
+      {
+         // Uncommitted changes are only visible to this resource, so they are not shared
+         lastDigest = ResourceUtil.getDigest(this);
+         parsedContent = null;
+         javaType = Roaster.parse(getResourceInputStream());
+      }
+      else
+      {
+         cache.invalidate(getCachePath());
+         parse(cache.getContent(getCachePath(), this));
+      }
+   }
+
+   /**
+    * Parses the given content, unless this resource already holds the type parsed from it. The type is never shared
+    * with other resources, since callers modify it.
+    */
+   private void parse(byte[] content)
+   {
+      if (javaType == null || content != parsedContent)
+      {
+         long start = System.nanoTime();
+         javaType = Roaster.parse(new ByteArrayInputStream(content));
+         cache.addParseTime(System.nanoTime() - start);
+         parsedContent = content;
+      }
+   }
+
+   private boolean isTransactional()
+   {
+      return getResourceFactory().getTransaction().isStarted();
+   }
+
+   private String getCachePath()
+   {
+      if (cachePath == null)
+      {
+         cachePath = JavaSourceCache.canonicalPath(getUnderlyingResourceObject());
+      }
+      return cachePath;
    }
 
    @Override
@@ -165,7 +220,7 @@ public class JavaResourceImpl extends AbstractFileResource<JavaResource> impleme
    @Override
    public JavaResourceImpl createFrom(final File file)
    {
-      return new JavaResourceImpl(getResourceFactory(), file);
+      return new JavaResourceImpl(getResourceFactory(), file, cache);
    }
 
    @Override
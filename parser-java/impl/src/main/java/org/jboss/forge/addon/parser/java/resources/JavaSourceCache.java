@@ -0,0 +1,442 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.parser.java.resources;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.event.Observes;
+import javax.inject.Singleton;
+
+import org.jboss.forge.addon.resource.DirectoryResource;
+import org.jboss.forge.addon.resource.Resource;
+import org.jboss.forge.addon.resource.ResourceException;
+import org.jboss.forge.addon.resource.ResourceFactory;
+import org.jboss.forge.addon.resource.ResourceFilter;
+import org.jboss.forge.addon.resource.events.ResourceEvent;
+import org.jboss.forge.addon.resource.monitor.ResourceListener;
+import org.jboss.forge.addon.resource.monitor.ResourceMonitor;
+import org.jboss.forge.addon.resource.util.ResourceUtil;
+import org.jboss.forge.furnace.container.cdi.events.Local;
+import org.jboss.forge.furnace.event.PreShutdown;
+
+/**
+ * A bounded LRU cache of the content of Java source files, shared by all the {@link JavaResource} instances of the same
+ * file. Each {@link JavaResource} still parses its own type, which callers may modify freely, but only parses it again
+ * when the cached content changes.
+ * <p/>
+ * An entry is reused as long as the last modification time and the size of its file are unchanged. The content of the
+ * file is hashed only when its modification time is too recent to be trusted. Entries are also discarded as soon as a
+ * {@link ResourceMonitor} reports a change to their file. A directory is monitored as long as at least one of its files
+ * is cached. The cached content is never modified, so it is returned as is.
+ */
+@Singleton
+public class JavaSourceCache
+{
+   private static final Logger log = Logger.getLogger(JavaSourceCache.class.getName());
+
+   /**
+    * The default maximum number of cached sources. May be overridden by the
+    * <code>org.jboss.forge.addon.parser.java.cache.maxEntries</code> system property.
+    */
+   static final int DEFAULT_MAX_ENTRIES = 1024;
+
+   /**
+    * A file modified less than this many milliseconds before it was read may be modified again without changing its
+    * modification time, so its content is hashed to detect such changes.
+    */
+   static final long TIMESTAMP_GRANULARITY = 2000;
+
+   private static final ResourceFilter NO_SUBDIRECTORIES = new ResourceFilter()
+   {
+      @Override
+      public boolean accept(Resource<?> resource)
+      {
+         return false;
+      }
+   };
+
+   private final int maxEntries;
+   private final Map<String, CachedSource> entries;
+   // Guarded by this, keyed by directory path
+   private final Map<String, WatchedDirectory> watchedDirectories = new HashMap<>();
+
+   private long hits;
+   private long misses;
+   private long evictions;
+   private long parseTime;
+
+   public JavaSourceCache()
+   {
+      this(Integer.getInteger("org.jboss.forge.addon.parser.java.cache.maxEntries", DEFAULT_MAX_ENTRIES));
+   }
+
+   @SuppressWarnings("serial")
+   JavaSourceCache(int maxEntries)
+   {
+      this.maxEntries = maxEntries;
+      this.entries = new LinkedHashMap<String, CachedSource>(16, 0.75f, true)
+      {
+         @Override
+         protected boolean removeEldestEntry(Entry<String, CachedSource> eldest)
+         {
+            boolean evict = size() > JavaSourceCache.this.maxEntries;
+            if (evict)
+            {
+               evictions++;
+               release(eldest.getKey());
+            }
+            return evict;
+         }
+      };
+   }
+
+   /**
+    * Returns the content of the given {@link JavaResource}, reading it if it is not cached or was modified since it was
+    * cached. The same array is returned as long as the file is unchanged, and must not be modified.
+    */
+   byte[] getContent(String path, JavaResource resource)
+   {
+      File file = resource.getUnderlyingResourceObject();
+      long lastModified = file.lastModified();
+      long size = file.length();
+      CachedSource cached;
+      synchronized (this)
+      {
+         cached = entries.get(path);
+      }
+      if (cached != null && cached.isFresh(resource, lastModified, size))
+      {
+         synchronized (this)
+         {
+            hits++;
+         }
+         return cached.content;
+      }
+
+      // Read outside the lock, so other sources can be served meanwhile
+      byte[] content = read(resource);
+      byte[] digest = isRacy(lastModified, System.currentTimeMillis()) ? digest(content) : null;
+      synchronized (this)
+      {
+         misses++;
+         if (entries.put(path, new CachedSource(content, lastModified, size, digest)) == null)
+         {
+            watch(resource.getResourceFactory(), path);
+         }
+      }
+      return content;
+   }
+
+   /**
+    * Returns <code>true</code> if the given content is the one currently cached for the given {@link JavaResource},
+    * and its file was not modified since it was read.
+    */
+   boolean isCurrent(String path, JavaResource resource, byte[] content)
+   {
+      CachedSource cached;
+      synchronized (this)
+      {
+         cached = entries.get(path);
+      }
+      File file = resource.getUnderlyingResourceObject();
+      return cached != null && cached.content == content
+               && cached.isFresh(resource, file.lastModified(), file.length());
+   }
+
+   /**
+    * Discards the entry of the given file, or the entries of all the files under the given directory
+    */
+   synchronized void invalidate(String path)
+   {
+      if (entries.remove(path) != null)
+      {
+         release(path);
+      }
+      else
+      {
+         String prefix = path + File.separator;
+         for (Iterator<String> iterator = entries.keySet().iterator(); iterator.hasNext();)
+         {
+            String key = iterator.next();
+            if (key.startsWith(prefix))
+            {
+               iterator.remove();
+               release(key);
+            }
+         }
+      }
+   }
+
+   /**
+    * Records the time spent parsing the content returned by {@link #getContent(String, JavaResource)}
+    */
+   synchronized void addParseTime(long nanos)
+   {
+      parseTime += nanos;
+   }
+
+   /**
+    * Removes all the entries from this cache
+    */
+   public synchronized void clear()
+   {
+      evictions += entries.size();
+      entries.clear();
+      for (WatchedDirectory directory : watchedDirectories.values())
+      {
+         directory.cancel();
+      }
+      watchedDirectories.clear();
+   }
+
+   public synchronized int size()
+   {
+      return entries.size();
+   }
+
+   public int getMaxEntries()
+   {
+      return maxEntries;
+   }
+
+   public synchronized long getHitCount()
+   {
+      return hits;
+   }
+
+   public synchronized long getMissCount()
+   {
+      return misses;
+   }
+
+   public synchronized long getEvictionCount()
+   {
+      return evictions;
+   }
+
+   /**
+    * Returns the ratio of the lookups served from this cache, between 0 and 1
+    */
+   public synchronized double getHitRate()
+   {
+      long lookups = hits + misses;
+      return lookups == 0 ? 0 : (double) hits / lookups;
+   }
+
+   /**
+    * Returns the total time spent parsing the sources served by this cache
+    */
+   public synchronized long getParseTime(TimeUnit unit)
+   {
+      return unit.convert(parseTime, TimeUnit.NANOSECONDS);
+   }
+
+   /**
+    * Returns the number of directories currently monitored
+    */
+   public synchronized int getWatchedDirectoryCount()
+   {
+      return watchedDirectories.size();
+   }
+
+   @Override
+   public synchronized String toString()
+   {
+      return "JavaSourceCache [size=" + entries.size() + ", maxEntries=" + maxEntries + ", hits=" + hits + ", misses="
+               + misses + ", evictions=" + evictions + ", parseTime=" + TimeUnit.NANOSECONDS.toMillis(parseTime)
+               + "ms]";
+   }
+
+   /**
+    * Monitors the directory of the given newly cached file, unless one of its other files is already cached. Must be
+    * called while holding the lock of this cache.
+    */
+   private void watch(ResourceFactory factory, String path)
+   {
+      File directory = new File(path).getParentFile();
+      if (directory == null)
+      {
+         return;
+      }
+      WatchedDirectory watched = watchedDirectories.get(directory.getPath());
+      if (watched == null)
+      {
+         watched = new WatchedDirectory(monitor(factory, directory));
+         watchedDirectories.put(directory.getPath(), watched);
+      }
+      watched.entries++;
+   }
+
+   /**
+    * Stops monitoring the directory of the given file once none of its files is cached anymore. Must be called while
+    * holding the lock of this cache.
+    */
+   private void release(String path)
+   {
+      File directory = new File(path).getParentFile();
+      WatchedDirectory watched = directory == null ? null : watchedDirectories.get(directory.getPath());
+      if (watched != null && --watched.entries == 0)
+      {
+         watchedDirectories.remove(directory.getPath());
+         watched.cancel();
+      }
+   }
+
+   private ResourceMonitor monitor(ResourceFactory factory, File directory)
+   {
+      try
+      {
+         DirectoryResource resource = factory.create(DirectoryResource.class, directory);
+         ResourceMonitor monitor = factory.monitor(resource, null, NO_SUBDIRECTORIES);
+         monitor.addResourceListener(new ResourceListener()
+         {
+            @Override
+            public void processEvent(ResourceEvent event)
+            {
+               Object file = event.getResource().getUnderlyingResourceObject();
+               if (file instanceof File)
+               {
+                  // Entries are keyed by canonical path
+                  invalidate(canonicalPath((File) file));
+               }
+            }
+         });
+         return monitor;
+      }
+      catch (RuntimeException e)
+      {
+         // Changes are still detected through the modification time of the files
+         log.log(Level.FINE, "Could not monitor directory [" + directory + "]", e);
+         return null;
+      }
+   }
+
+   void shutdown(@Observes @Local PreShutdown event)
+   {
+      clear();
+   }
+
+   static String canonicalPath(File file)
+   {
+      try
+      {
+         return file.getCanonicalPath();
+      }
+      catch (IOException e)
+      {
+         return file.getAbsolutePath();
+      }
+   }
+
+   private static boolean isRacy(long lastModified, long readTime)
+   {
+      return readTime - lastModified < TIMESTAMP_GRANULARITY;
+   }
+
+   private static byte[] read(JavaResource resource)
+   {
+      try (InputStream stream = resource.getResourceInputStream())
+      {
+         ByteArrayOutputStream content = new ByteArrayOutputStream();
+         byte[] buffer = new byte[16384];
+         int read;
+         while ((read = stream.read(buffer)) != -1)
+         {
+            content.write(buffer, 0, read);
+         }
+         return content.toByteArray();
+      }
+      catch (IOException e)
+      {
+         throw new ResourceException("Could not read [" + resource.getFullyQualifiedName() + "]", e);
+      }
+   }
+
+   private static byte[] digest(byte[] content)
+   {
+      try
+      {
+         return MessageDigest.getInstance("MD5").digest(content);
+      }
+      catch (NoSuchAlgorithmException e)
+      {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   private static class WatchedDirectory
+   {
+      private final ResourceMonitor monitor;
+      private int entries;
+
+      WatchedDirectory(ResourceMonitor monitor)
+      {
+         this.monitor = monitor;
+      }
+
+      void cancel()
+      {
+         if (monitor != null)
+         {
+            monitor.cancel();
+         }
+      }
+   }
+
+   private static class CachedSource
+   {
+      private final byte[] content;
+      private final long lastModified;
+      private final long size;
+      private volatile byte[] digest;
+
+      CachedSource(byte[] content, long lastModified, long size, byte[] digest)
+      {
+         this.content = content;
+         this.lastModified = lastModified;
+         this.size = size;
+         this.digest = digest;
+      }
+
+      boolean isFresh(JavaResource resource, long lastModified, long size)
+      {
+         if (this.lastModified != lastModified || this.size != size)
+         {
+            return false;
+         }
+         byte[] expected = digest;
+         if (expected != null)
+         {
+            if (!Arrays.equals(expected, ResourceUtil.getDigest(resource)))
+            {
+               return false;
+            }
+            if (!isRacy(lastModified, System.currentTimeMillis()))
+            {
+               // The modification time can be trusted from now on
+               digest = null;
+            }
+         }
+         return true;
+      }
+   }
+}
@@ -11,6 +11,7 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 
@@ -64,6 +65,9 @@ public class JavaResourceTest
    @Inject
    private ResourceFactory resourceFactory;
 
+   @Inject
+   private JavaSourceCache cache;
+
    @Test
    public void testParserClass() throws Exception
    {
@@ -84,4 +88,62 @@ public class JavaResourceTest
       JavaType<?> javaType = resource.getJavaType();
       Assert.assertThat(javaType, instanceOf(JavaClassSource.class));
    }
+
+   @Test
+   public void testParsedTypeIsNotSharedBetweenResources() throws Exception
+   {
+      File tmpFile = File.createTempFile("MyClass", ".java");
+      tmpFile.deleteOnExit();
+      try (FileOutputStream fos = new FileOutputStream(tmpFile))
+      {
+         Streams.write(getClass().getResource("MyClass.java").openStream(), fos);
+      }
+      JavaResource resource = resourceFactory.create(tmpFile).reify(JavaResource.class);
+      JavaResource other = resourceFactory.create(tmpFile).reify(JavaResource.class);
+      Assert.assertNotSame(resource, other);
+
+      JavaClassSource javaType = resource.getJavaType();
+      Assert.assertSame(javaType, resource.getJavaType());
+      JavaClassSource otherType = other.getJavaType();
+      Assert.assertNotSame(javaType, otherType);
+      Assert.assertFalse(other.isStale());
+
+      // Unsaved changes are only visible to the resource that made them
+      javaType.addField("private String addedField;");
+      Assert.assertFalse(other.<JavaClassSource> getJavaType().hasField("addedField"));
+
+      resource.setContents(javaType);
+      Assert.assertTrue(other.isStale());
+      Assert.assertTrue(other.<JavaClassSource> getJavaType().hasField("addedField"));
+      Assert.assertNotSame(otherType, other.getJavaType());
+   }
+
+   @Test
+   public void testDirectoryIsNoLongerMonitoredOnceItsSourcesAreDiscarded() throws Exception
+   {
+      File directory = File.createTempFile("sources", "");
+      directory.delete();
+      directory.mkdir();
+      File tmpFile = new File(directory, "MyClass.java");
+      try (FileOutputStream fos = new FileOutputStream(tmpFile))
+      {
+         Streams.write(getClass().getResource("MyClass.java").openStream(), fos);
+      }
+      int watched = cache.getWatchedDirectoryCount();
+      long parseTime = cache.getParseTime(TimeUnit.NANOSECONDS);
+      JavaResource resource = resourceFactory.create(tmpFile).reify(JavaResource.class);
+      resource.getJavaType();
+      Assert.assertEquals(watched + 1, cache.getWatchedDirectoryCount());
+      Assert.assertTrue(cache.getParseTime(TimeUnit.NANOSECONDS) > parseTime);
+
+      // The monitor reports the deletion, which discards the last cached source of the directory
+      tmpFile.delete();
+      long timeout = System.currentTimeMillis() + 10000;
+      while (cache.getWatchedDirectoryCount() > watched && System.currentTimeMillis() < timeout)
+      {
+         Thread.sleep(50);
+      }
+      Assert.assertEquals(watched, cache.getWatchedDirectoryCount());
+      directory.delete();
+   }
 }
@@ -7,10 +7,15 @@
 
 package org.jboss.forge.addon.projects;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jboss.forge.addon.facets.AbstractFaceted;
+import org.jboss.forge.addon.facets.FacetNotFoundException;
+import org.jboss.forge.addon.projects.spi.ProjectFacetResolver;
 
 /**
  * Convenience base class for {@link Project} implementations.
@@ -20,6 +25,78 @@ import org.jboss.forge.addon.facets.AbstractFaceted;
 public abstract class AbstractProject extends AbstractFaceted<ProjectFacet> implements Project
 {
    private final Map<Object, Object> attributes = new HashMap<>();
+   private final Set<Class<?>> resolvedFacetTypes = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+   private volatile ProjectFacetResolver facetResolver;
+   private volatile boolean allFacetsResolved;
+
+   /**
+    * Set the {@link ProjectFacetResolver} used to register {@link ProjectFacet} instances the first time their type is
+    * requested. The result of each resolution is kept until {@link #invalidateResolvedFacets()} is called.
+    */
+   public void setFacetResolver(ProjectFacetResolver facetResolver)
+   {
+      this.facetResolver = facetResolver;
+      invalidateResolvedFacets();
+   }
+
+   /**
+    * Forget which {@link ProjectFacet} types were already resolved, so they are resolved again when next requested.
+    */
+   public void invalidateResolvedFacets()
+   {
+      allFacetsResolved = false;
+      resolvedFacetTypes.clear();
+   }
+
+   @Override
+   public boolean hasFacet(Class<? extends ProjectFacet> type)
+   {
+      if (!super.hasFacet(type))
+      {
+         resolveFacets(type);
+         return super.hasFacet(type);
+      }
+      return true;
+   }
+
+   @Override
+   public <F extends ProjectFacet> F getFacet(Class<F> type) throws FacetNotFoundException
+   {
+      if (!super.hasFacet(type))
+      {
+         resolveFacets(type);
+      }
+      return super.getFacet(type);
+   }
+
+   @Override
+   public <F extends ProjectFacet> Iterable<F> getFacets(Class<F> type)
+   {
+      resolveFacets(type);
+      return super.getFacets(type);
+   }
+
+   @Override
+   public Iterable<ProjectFacet> getFacets()
+   {
+      ProjectFacetResolver resolver = facetResolver;
+      if (resolver != null && !allFacetsResolved)
+      {
+         allFacetsResolved = true;
+         resolver.resolveAll(this);
+      }
+      return super.getFacets();
+   }
+
+   private void resolveFacets(Class<? extends ProjectFacet> type)
+   {
+      ProjectFacetResolver resolver = facetResolver;
+      // The type is marked before resolving, since facet registration checks for the facets it requires
+      if (resolver != null && !allFacetsResolved && resolvedFacetTypes.add(type))
+      {
+         resolver.resolve(this, type);
+      }
+   }
 
    @Override
    public Object getAttribute(final Object key)
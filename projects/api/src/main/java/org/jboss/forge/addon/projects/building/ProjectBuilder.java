@@ -8,6 +8,7 @@
 package org.jboss.forge.addon.projects.building;
 
 import java.io.PrintStream;
+import java.util.Map;
 
 import org.jboss.forge.addon.resource.Resource;
 
@@ -39,4 +40,10 @@ public interface ProjectBuilder
     */
    Resource<?> build(PrintStream out, PrintStream err) throws BuildException;
 
+   /**
+    * Get the time spent in each phase of the last build executed by this {@link ProjectBuilder}, in milliseconds and in
+    * execution order. Empty if no build was executed, or if the underlying build system does not report it.
+    */
+   Map<String, Long> getPhaseTimings();
+
 }
@@ -1,5 +1,8 @@
 package org.jboss.forge.addon.projects.dependencies;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.jboss.forge.addon.dependencies.Dependency;
 import org.jboss.forge.addon.projects.Project;
 import org.jboss.forge.addon.projects.facets.DependencyFacet;
@@ -21,6 +24,15 @@ public interface DependencyInstaller
     */
    Dependency install(Project project, Dependency dependency);
 
+   /**
+    * Install the given {@link Dependency} instances, as {@link #install(Project, Dependency)} does. The versions of all
+    * the dependencies that omit one are resolved in a single batch before any of them is installed. Return the
+    * installed dependencies, in the same order as the given ones.
+    * <p>
+    * <b>Project requires: {@link DependencyFacet}
+    */
+   List<Dependency> install(Project project, Collection<Dependency> dependencies);
+
    /**
     * Install a the given {@link Dependency} as a managed dependency. This method overwrites existing managed
     * dependencies. If a version range is supplied, or dependency version is omitted, a the highest matching dependency
@@ -7,11 +7,13 @@
 
 package org.jboss.forge.addon.projects.facets;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.jboss.forge.addon.dependencies.Coordinate;
 import org.jboss.forge.addon.dependencies.Dependency;
 import org.jboss.forge.addon.dependencies.DependencyQuery;
+import org.jboss.forge.addon.dependencies.DependencyQueryResult;
 import org.jboss.forge.addon.dependencies.DependencyRepository;
 import org.jboss.forge.addon.dependencies.DependencyResolver;
 import org.jboss.forge.addon.dependencies.builder.DependencyBuilder;
@@ -249,6 +251,13 @@ public interface DependencyFacet extends ProvidedProjectFacet
     */
    List<Coordinate> resolveAvailableVersions(DependencyQuery query);
 
+   /**
+    * Resolve the available {@link Coordinate} results for each of the given {@link DependencyQuery} objects, as
+    * {@link #resolveAvailableVersions(DependencyQuery)} does, in a single batch. Results are returned in the same order
+    * as the given queries.
+    */
+   List<DependencyQueryResult<List<Coordinate>>> resolveAvailableVersions(Collection<? extends DependencyQuery> queries);
+
    /**
     * Resolve properties in the given dependency, converting them to their actual values.
     */
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.addon.projects.spi;
+
+import org.jboss.forge.addon.projects.AbstractProject;
+import org.jboss.forge.addon.projects.Project;
+import org.jboss.forge.addon.projects.ProjectFacet;
+
+/**
+ * Registers the available {@link ProjectFacet} instances into a {@link Project} on demand, instead of registering all
+ * of them as soon as the {@link Project} is created.
+ *
+ * @see AbstractProject#setFacetResolver(ProjectFacetResolver)
+ */
+public interface ProjectFacetResolver
+{
+   /**
+    * Register into the given {@link Project} every available {@link ProjectFacet} that is an instance of the given type
+    * and is installed.
+    */
+   void resolve(Project project, Class<? extends ProjectFacet> type);
+
+   /**
+    * Register into the given {@link Project} every available {@link ProjectFacet} that is installed.
+    */
+   void resolveAll(Project project);
+}
@@ -1,9 +1,13 @@
 package org.jboss.forge.addon.projects.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.jboss.forge.addon.dependencies.Coordinate;
 import org.jboss.forge.addon.dependencies.Dependency;
+import org.jboss.forge.addon.dependencies.DependencyQuery;
+import org.jboss.forge.addon.dependencies.DependencyQueryResult;
 import org.jboss.forge.addon.dependencies.builder.DependencyBuilder;
 import org.jboss.forge.addon.dependencies.builder.DependencyQueryBuilder;
 import org.jboss.forge.addon.dependencies.util.NonSnapshotDependencyFilter;
@@ -98,6 +102,69 @@ public class DependencyInstallerImpl implements DependencyInstaller
       }
    }
 
+   @Override
+   public List<Dependency> install(final Project project, final Collection<Dependency> dependencies)
+   {
+      DependencyFacet deps = project.getFacet(DependencyFacet.class);
+      List<Dependency> requests = new ArrayList<>(dependencies.size());
+      List<Integer> unresolved = new ArrayList<>();
+      List<DependencyQuery> queries = new ArrayList<>();
+      for (Dependency request : dependencies)
+      {
+         Dependency dependency = deps.resolveProperties(request);
+         Dependency unversioned = getUnversioned(dependency);
+         if (Strings.isNullOrEmpty(dependency.getCoordinate().getVersion())
+                  && deps.getEffectiveDependency(unversioned) == null
+                  && deps.getEffectiveManagedDependency(unversioned) == null)
+         {
+            unresolved.add(requests.size());
+            queries.add(DependencyQueryBuilder.create(dependency.getCoordinate()));
+         }
+         requests.add(dependency);
+      }
+
+      if (!queries.isEmpty())
+      {
+         List<DependencyQueryResult<List<Coordinate>>> versions = deps.resolveAvailableVersions(queries);
+         for (int i = 0; i < queries.size(); i++)
+         {
+            int index = unresolved.get(i);
+            Dependency dependency = requests.get(index);
+            DependencyQueryResult<List<Coordinate>> result = versions.get(i);
+            String version = result.isSuccess() ? getLatestVersion(result.get()) : null;
+            if (version == null)
+            {
+               throw new IllegalStateException("Could not resolve version for dependency ["
+                        + dependency.getCoordinate() + "].", result.getError());
+            }
+            requests.set(index, DependencyBuilder.create(dependency).setVersion(version));
+         }
+      }
+
+      List<Dependency> result = new ArrayList<>(requests.size());
+      for (Dependency dependency : requests)
+      {
+         result.add(install(project, dependency));
+      }
+      return result;
+   }
+
+   /**
+    * Returns the latest non-SNAPSHOT version, or the latest SNAPSHOT version if there are no others
+    */
+   private String getLatestVersion(List<Coordinate> versions)
+   {
+      NonSnapshotDependencyFilter filter = new NonSnapshotDependencyFilter();
+      for (int i = versions.size() - 1; i >= 0; i--)
+      {
+         if (filter.accept(DependencyBuilder.create().setCoordinate(versions.get(i))))
+         {
+            return versions.get(i).getVersion();
+         }
+      }
+      return versions.isEmpty() ? null : versions.get(versions.size() - 1).getVersion();
+   }
+
    private Dependency getUnversioned(Dependency dependency)
    {
       return DependencyBuilder.create(dependency).setVersion(null);
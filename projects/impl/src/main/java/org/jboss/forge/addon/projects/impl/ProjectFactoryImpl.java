@@ -9,10 +9,19 @@ package org.jboss.forge.addon.projects.impl;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.enterprise.event.Observes;
@@ -21,6 +30,7 @@ import javax.inject.Singleton;
 
 import org.jboss.forge.addon.facets.Facet;
 import org.jboss.forge.addon.facets.FacetFactory;
+import org.jboss.forge.addon.projects.AbstractProject;
 import org.jboss.forge.addon.projects.Project;
 import org.jboss.forge.addon.projects.ProjectAssociationProvider;
 import org.jboss.forge.addon.projects.ProjectFacet;
@@ -29,6 +39,7 @@ import org.jboss.forge.addon.projects.ProjectListener;
 import org.jboss.forge.addon.projects.ProjectProvider;
 import org.jboss.forge.addon.projects.ProvidedProjectFacet;
 import org.jboss.forge.addon.projects.spi.ProjectCache;
+import org.jboss.forge.addon.projects.spi.ProjectFacetResolver;
 import org.jboss.forge.addon.resource.DirectoryResource;
 import org.jboss.forge.addon.resource.Resource;
 import org.jboss.forge.addon.resource.ResourceFactory;
@@ -45,6 +56,10 @@ import org.jboss.forge.furnace.util.OperatingSystemUtils;
 import org.jboss.forge.furnace.util.Predicate;
 
 /**
+ * When the <code>org.jboss.forge.addon.projects.lazyFacets</code> system property is set to <code>true</code>, the
+ * available {@link ProjectFacet} types are not registered when a {@link Project} is created or found, but the first
+ * time each type is requested from an {@link AbstractProject}.
+ *
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
 @Singleton
@@ -52,6 +67,8 @@ public class ProjectFactoryImpl implements ProjectFactory
 {
    private static final Logger log = Logger.getLogger(ProjectFactoryImpl.class.getName());
 
+   static final String LAZY_FACETS_PROPERTY = "org.jboss.forge.addon.projects.lazyFacets";
+
    @Inject
    private AddonRegistry registry;
 
@@ -69,9 +86,29 @@ public class ProjectFactoryImpl implements ProjectFactory
 
    private final List<ListenerRegistration<ResourceListener>> listeners = new ArrayList<>();
 
+   private final ConcurrentMap<String, AtomicLong> facetTimings = new ConcurrentHashMap<>();
+
+   private final ProjectRootIndex rootIndex = new ProjectRootIndex();
+
+   private final ProjectFacetResolver facetResolver = new ProjectFacetResolver()
+   {
+      @Override
+      public void resolve(Project project, Class<? extends ProjectFacet> type)
+      {
+         registerAvailableFacets(project, type);
+      }
+
+      @Override
+      public void resolveAll(Project project)
+      {
+         registerAvailableFacets(project, ProjectFacet.class);
+      }
+   };
+
    void shutdown(@Observes @Local PreShutdown event)
    {
       invalidateCaches();
+      rootIndex.close();
       for (ListenerRegistration<ResourceListener> registration : listeners)
       {
          registration.removeListener();
@@ -121,23 +158,40 @@ public class ProjectFactoryImpl implements ProjectFactory
          filter = acceptsAllProjects;
       }
 
-      Project result = null;
-
-      for (Resource<?> dir : allDirectoriesOnPath(target))
+      Resource<?> dir = target;
+      while (dir != null)
       {
+         // The closest root of any provider, and the providers having a project there
+         Resource<?> closest = null;
+         List<ProjectProvider> closestProviders = new ArrayList<>();
          for (ProjectProvider projectProvider : getProviders())
          {
-            result = findProjectInDirectory(dir, projectProvider, filter);
+            Resource<?> root = rootIndex.findRoot(dir, projectProvider);
+            if (root == null)
+               continue;
+            if (closest == null || isParent(closest, root))
+            {
+               closest = root;
+               closestProviders.clear();
+            }
+            if (closest.equals(root))
+            {
+               closestProviders.add(projectProvider);
+            }
+         }
+         if (closest == null)
+            break;
 
+         for (ProjectProvider projectProvider : closestProviders)
+         {
+            Project result = getProjectInDirectory(closest, projectProvider, filter);
             if (result != null)
-               break;
+               return result;
          }
-
-         if (result != null)
-            break;
+         dir = closest.getParent();
       }
 
-      return result;
+      return null;
    }
 
    private Iterable<ProjectProvider> getProviders()
@@ -145,6 +199,7 @@ public class ProjectFactoryImpl implements ProjectFactory
       if (registry.getVersion() != version)
       {
          version = registry.getVersion();
+         rootIndex.clear();
          providers.clear();
          for (ProjectProvider provider : registry.getServices(ProjectProvider.class))
          {
@@ -165,78 +220,65 @@ public class ProjectFactoryImpl implements ProjectFactory
 
       Project result = null;
 
-      Iterator<Resource<?>> pathIterator = allDirectoriesOnPath(target).iterator();
-      while (pathIterator.hasNext() && result == null)
+      Resource<?> root = rootIndex.findRoot(target, projectProvider);
+      while (root != null && result == null)
       {
-         result = findProjectInDirectory(pathIterator.next(), projectProvider, filter);
-      }
-
-      return result;
-   }
-
-   /**
-    * Returns all directories on path starting from given directory up to the root.
-    */
-   private List<Resource<?>> allDirectoriesOnPath(Resource<?> startingDir)
-   {
-      List<Resource<?>> result = new ArrayList<>();
-
-      while (startingDir != null)
-      {
-         result.add(startingDir);
-         startingDir = startingDir.getParent();
+         result = getProjectInDirectory(root, projectProvider, filter);
+         if (result == null)
+         {
+            Resource<?> parent = root.getParent();
+            root = parent == null ? null : rootIndex.findRoot(parent, projectProvider);
+         }
       }
 
       return result;
    }
 
    /**
-    * Returns project residing in given directory, if no such is found then null is returned.
+    * Returns the project residing in the given directory, which is known to contain one, or null if it is not accepted
+    * by the given filter.
     */
-   private Project findProjectInDirectory(Resource<?> target, ProjectProvider projectProvider,
+   private Project getProjectInDirectory(Resource<?> target, ProjectProvider projectProvider,
             Predicate<Project> filter)
    {
       Project result = null;
 
-      if (projectProvider.containsProject(target))
+      boolean cached = false;
+      Iterator<ProjectCache> cacheIterator = caches.iterator();
+      while (cacheIterator.hasNext())
       {
-         boolean cached = false;
-         Iterator<ProjectCache> cacheIterator = caches.iterator();
-         while (cacheIterator.hasNext())
+         ProjectCache cache = cacheIterator.next();
+         try
          {
-            ProjectCache cache = cacheIterator.next();
-            try
+            result = cache.get(target);
+            if (result != null && !filter.accept(result))
             {
-               result = cache.get(target);
-               if (result != null && !filter.accept(result))
-               {
-                  result = null;
-               }
-               if (result != null)
-               {
-                  cached = true;
-                  break;
-               }
+               result = null;
             }
-            finally
+            if (result != null)
             {
-               caches.release(cache);
+               cached = true;
+               break;
             }
          }
-         if (result == null)
-         {
-            result = projectProvider.createProject(target);
-         }
-         if (result != null && !filter.accept(result))
-         {
-            result = null;
-         }
-         if (result != null && !cached)
+         finally
          {
-            registerAvailableFacets(result);
-            cacheProject(result);
+            caches.release(cache);
          }
       }
+      if (result == null)
+      {
+         result = projectProvider.createProject(target);
+      }
+      if (result != null && !filter.accept(result))
+      {
+         result = null;
+      }
+      if (result != null && !cached)
+      {
+         registerAvailableFacets(result);
+         cacheProject(result);
+      }
 
       return result;
    }
@@ -266,6 +308,7 @@ public class ProjectFactoryImpl implements ProjectFactory
       Project result = projectProvider.createProject(target);
       if (result != null)
       {
+         rootIndex.invalidate(result.getRoot().getFullyQualifiedName());
          Resource<?> parent = result.getRoot().getParent();
          if (parent != null)
          {
@@ -376,17 +419,83 @@ public class ProjectFactoryImpl implements ProjectFactory
 
    private void registerAvailableFacets(Project result)
    {
+      if (Boolean.getBoolean(LAZY_FACETS_PROPERTY) && result instanceof AbstractProject)
+      {
+         ((AbstractProject) result).setFacetResolver(facetResolver);
+      }
+      else
+      {
+         registerAvailableFacets(result, ProjectFacet.class);
+      }
+   }
+
+   /**
+    * Registers the available facets that are instances of the given type, recording the time spent by each one
+    */
+   private void registerAvailableFacets(Project result, Class<? extends ProjectFacet> requestedType)
+   {
+      long start = System.nanoTime();
       for (Class<ProjectFacet> type : registry.getExportedTypes(ProjectFacet.class))
       {
+         if (!requestedType.isAssignableFrom(type))
+            continue;
          Iterable<ProjectFacet> facets = factory.createFacets(result, type);
          for (ProjectFacet facet : facets)
          {
-            if (facet != null && factory.register(result, facet))
+            if (facet != null)
             {
-               log.fine("Registered Facet [" + facet + "] into Project [" + result + "]");
+               long facetStart = System.nanoTime();
+               boolean registered = factory.register(result, facet);
+               recordFacetTiming(facet, System.nanoTime() - facetStart);
+               if (registered)
+               {
+                  log.fine("Registered Facet [" + facet + "] into Project [" + result + "]");
+               }
             }
          }
       }
+      if (log.isLoggable(Level.FINE))
+      {
+         log.fine("Resolved Facets of type [" + requestedType.getName() + "] for Project [" + result + "] in "
+                  + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms. Cumulative registration time: "
+                  + getFacetTimings());
+      }
+   }
+
+   private void recordFacetTiming(ProjectFacet facet, long elapsed)
+   {
+      String name = facet.getClass().getName();
+      AtomicLong timing = facetTimings.get(name);
+      if (timing == null)
+      {
+         AtomicLong existing = facetTimings.putIfAbsent(name, timing = new AtomicLong());
+         if (existing != null)
+            timing = existing;
+      }
+      timing.addAndGet(elapsed);
+   }
+
+   /**
+    * Returns the cumulative time (in nanoseconds) spent registering each {@link ProjectFacet} implementation (which is
+    * mostly spent in {@link ProjectFacet#isInstalled()}), slowest first
+    */
+   private Map<String, Long> getFacetTimings()
+   {
+      List<Entry<String, AtomicLong>> entries = new ArrayList<>(facetTimings.entrySet());
+      Collections.sort(entries, new Comparator<Entry<String, AtomicLong>>()
+      {
+         @Override
+         public int compare(Entry<String, AtomicLong> left, Entry<String, AtomicLong> right)
+         {
+            return Long.compare(right.getValue().get(), left.getValue().get());
+         }
+      });
+      Map<String, Long> timings = new LinkedHashMap<>();
+      for (Entry<String, AtomicLong> entry : entries)
+      {
+         timings.put(entry.getKey(), entry.getValue().get());
+      }
+      return timings;
    }
 
    private void cacheProject(final Project project)
@@ -412,6 +521,10 @@ public class ProjectFactoryImpl implements ProjectFactory
             @Override
             public void processEvent(ResourceEvent event)
             {
+               if (project instanceof AbstractProject)
+               {
+                  ((AbstractProject) project).invalidateResolvedFacets();
+               }
                for (ProjectCache cache : caches)
                {
                   try
@@ -565,19 +678,13 @@ public class ProjectFactoryImpl implements ProjectFactory
    {
       Assert.notNull(target, "Target resource must not be null.");
       Assert.notNull(buildSystem, "Project build system must not be null.");
-      boolean found = false;
-      Resource<?> r = target;
-      while (r != null && !found)
-      {
-         found = buildSystem.containsProject(r);
-         r = r.getParent();
-      }
-      return found;
+      return rootIndex.findRoot(target, buildSystem) != null;
    }
 
    @Override
    public void invalidateCaches()
    {
+      rootIndex.clear();
       for (ProjectCache cache : caches)
       {
          try
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.addon.projects.impl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.forge.addon.projects.ProjectProvider;
+import org.jboss.forge.addon.resource.DirectoryResource;
+import org.jboss.forge.addon.resource.Resource;
+import org.jboss.forge.addon.resource.ResourceFactory;
+import org.jboss.forge.addon.resource.ResourceFilter;
+import org.jboss.forge.addon.resource.events.ResourceCreated;
+import org.jboss.forge.addon.resource.events.ResourceDeleted;
+import org.jboss.forge.addon.resource.events.ResourceEvent;
+import org.jboss.forge.addon.resource.events.ResourceRenamed;
+import org.jboss.forge.addon.resource.monitor.ResourceListener;
+import org.jboss.forge.addon.resource.monitor.ResourceMonitor;
+
+/**
+ * Remembers, for each {@link ProjectProvider} and each directory looked up, the closest directory containing a project
+ * (or that there is none), so that looking up a project root again from anywhere inside it does not probe every parent
+ * directory.
+ * <p/>
+ * A positive answer is confirmed by probing the cached root only, so deleted projects are noticed right away. A
+ * negative answer is confirmed by probing the directory looked up only, so a project created there is noticed right
+ * away too; projects created in its parent directories are noticed once their monitors report the change.
+ * <p/>
+ * Lookups do not go above the directory set by the <code>org.jboss.forge.addon.projects.rootBoundary</code> system
+ * property (the user home directory by default), unless they start outside of it. The number of answers kept per
+ * provider and the number of monitored directories are bounded by the
+ * <code>org.jboss.forge.addon.projects.rootIndex.maxEntries</code> and
+ * <code>org.jboss.forge.addon.projects.rootIndex.maxWatchedDirectories</code> system properties; the least recently
+ * used ones are discarded beyond them.
+ */
+class ProjectRootIndex
+{
+   private static final Logger log = Logger.getLogger(ProjectRootIndex.class.getName());
+
+   private static final Object NONE = new Object();
+
+   private static final int MAX_ENTRIES = Integer.getInteger("org.jboss.forge.addon.projects.rootIndex.maxEntries",
+            4096);
+
+   private static final int MAX_WATCHED_DIRECTORIES = Integer.getInteger(
+            "org.jboss.forge.addon.projects.rootIndex.maxWatchedDirectories", 256);
+
+   private static final ResourceFilter NO_SUBDIRECTORIES = new ResourceFilter()
+   {
+      @Override
+      public boolean accept(Resource<?> resource)
+      {
+         return false;
+      }
+   };
+
+   /**
+    * The cached roots (or {@link #NONE}) of each provider type, by directory. Guarded by this index.
+    */
+   private final Map<String, Map<String, Object>> roots = new HashMap<>();
+
+   /**
+    * The monitors of the watched directories, by directory. Guarded by this index.
+    */
+   private final Map<String, ResourceMonitor> monitors = new LinkedHashMap<String, ResourceMonitor>(16, 0.75f, true)
+   {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, ResourceMonitor> eldest)
+      {
+         if (size() > MAX_WATCHED_DIRECTORIES)
+         {
+            // Changes to this directory are not noticed anymore, so neither are the answers computed from it
+            eldest.getValue().cancel();
+            invalidateAll(eldest.getKey());
+            return true;
+         }
+         return false;
+      }
+   };
+
+   private final List<ProjectProvider> providers = new CopyOnWriteArrayList<>();
+   private final String boundary;
+
+   /**
+    * Incremented by each invalidation, so that a lookup racing with it does not cache what it found
+    */
+   private final AtomicLong generation = new AtomicLong();
+   private final AtomicLong hits = new AtomicLong();
+   private final AtomicLong misses = new AtomicLong();
+
+   ProjectRootIndex()
+   {
+      this(System.getProperty("org.jboss.forge.addon.projects.rootBoundary", System.getProperty("user.home")));
+   }
+
+   ProjectRootIndex(String boundary)
+   {
+      this.boundary = boundary == null ? null : new File(boundary).getAbsolutePath();
+   }
+
+   /**
+    * Returns the closest resource containing a project of the given {@link ProjectProvider}, starting from the given
+    * resource up to the boundary directory (or the root of the file system if it is outside of it), or
+    * <code>null</code> if there is none.
+    */
+   Resource<?> findRoot(Resource<?> target, ProjectProvider provider)
+   {
+      if (!isIndexable(target))
+      {
+         return walk(target, provider);
+      }
+      String path = target.getFullyQualifiedName();
+      Object cached = get(provider, path);
+      if (cached == NONE)
+      {
+         if (!provider.containsProject(target))
+         {
+            hits.incrementAndGet();
+            return null;
+         }
+         invalidate(path);
+      }
+      else if (cached != null)
+      {
+         Resource<?> root = (Resource<?>) cached;
+         if (provider.containsProject(root))
+         {
+            hits.incrementAndGet();
+            return root;
+         }
+         invalidate(root.getFullyQualifiedName());
+      }
+      misses.incrementAndGet();
+
+      long start = generation.get();
+      List<Resource<?>> visited = new ArrayList<>();
+      Resource<?> root = null;
+      String limit = getLimit(path);
+      for (Resource<?> r = target; r != null && root == null; r = r.getParent())
+      {
+         visited.add(r);
+         if (provider.containsProject(r))
+         {
+            root = r;
+         }
+         else if (r.getFullyQualifiedName().equals(limit))
+         {
+            break;
+         }
+      }
+      // Watch first, so that no change made once the answer is cached can be missed
+      for (Resource<?> r : visited)
+      {
+         watch(r);
+      }
+      synchronized (this)
+      {
+         if (generation.get() == start)
+         {
+            Map<String, Object> cache = getCache(provider);
+            Object value = root == null ? NONE : root;
+            for (Resource<?> r : visited)
+            {
+               cache.put(r.getFullyQualifiedName(), value);
+            }
+         }
+      }
+      return root;
+   }
+
+   /**
+    * Discards the cached answers of the given directory and of all the directories under it
+    */
+   synchronized void invalidate(String path)
+   {
+      invalidateAll(path);
+   }
+
+   private void invalidateAll(String path)
+   {
+      generation.incrementAndGet();
+      String prefix = path.endsWith(File.separator) ? path : path + File.separator;
+      for (Map<String, Object> cache : roots.values())
+      {
+         for (Iterator<String> iterator = cache.keySet().iterator(); iterator.hasNext();)
+         {
+            String key = iterator.next();
+            if (key.equals(path) || key.startsWith(prefix))
+            {
+               iterator.remove();
+            }
+         }
+      }
+   }
+
+   /**
+    * Discards all the cached answers
+    */
+   synchronized void clear()
+   {
+      generation.incrementAndGet();
+      roots.clear();
+      providers.clear();
+   }
+
+   /**
+    * Stops monitoring the directories and discards all the cached answers
+    */
+   synchronized void close()
+   {
+      for (ResourceMonitor monitor : monitors.values())
+      {
+         monitor.cancel();
+      }
+      monitors.clear();
+      clear();
+   }
+
+   @Override
+   public synchronized String toString()
+   {
+      int size = 0;
+      for (Map<String, Object> cache : roots.values())
+      {
+         size += cache.size();
+      }
+      return "ProjectRootIndex [size=" + size + ", watchedDirectories=" + monitors.size() + ", hits="
+               + hits.get() + ", misses=" + misses.get() + "]";
+   }
+
+   private synchronized Object get(ProjectProvider provider, String path)
+   {
+      Map<String, Object> cache = roots.get(provider.getType());
+      return cache == null ? null : cache.get(path);
+   }
+
+   private Map<String, Object> getCache(ProjectProvider provider)
+   {
+      String type = provider.getType();
+      Map<String, Object> cache = roots.get(type);
+      if (cache == null)
+      {
+         cache = new LinkedHashMap<String, Object>(16, 0.75f, true)
+         {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest)
+            {
+               return size() > MAX_ENTRIES;
+            }
+         };
+         roots.put(type, cache);
+         providers.add(provider);
+      }
+      return cache;
+   }
+
+   /**
+    * Returns the last directory to look up from the given path: the boundary if the path is inside of it, or
+    * <code>null</code> to go up to the root of the file system
+    */
+   private String getLimit(String path)
+   {
+      if (boundary != null && (path.equals(boundary) || path.startsWith(boundary + File.separator)))
+      {
+         return boundary;
+      }
+      return null;
+   }
+
+   /**
+    * Only files outside of a transaction are indexed, because the changes made to the others are not monitored
+    */
+   private boolean isIndexable(Resource<?> target)
+   {
+      return target.getUnderlyingResourceObject() instanceof File
+               && !target.getResourceFactory().getTransaction().isStarted();
+   }
+
+   private Resource<?> walk(Resource<?> target, ProjectProvider provider)
+   {
+      String limit = getLimit(target.getFullyQualifiedName());
+      for (Resource<?> r = target; r != null; r = r.getParent())
+      {
+         if (provider.containsProject(r))
+         {
+            return r;
+         }
+         if (r.getFullyQualifiedName().equals(limit))
+         {
+            break;
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Monitors the files directly under the given directory, once per directory
+    */
+   private void watch(Resource<?> resource)
+   {
+      final DirectoryResource directory = resource.reify(DirectoryResource.class);
+      if (directory == null || !directory.exists())
+      {
+         return;
+      }
+      String path = directory.getFullyQualifiedName();
+      synchronized (this)
+      {
+         if (monitors.get(path) != null)
+         {
+            return;
+         }
+      }
+      try
+      {
+         final ResourceFactory factory = directory.getResourceFactory();
+         ResourceMonitor monitor = factory.monitor(directory, null, NO_SUBDIRECTORIES);
+         monitor.addResourceListener(new ResourceListener()
+         {
+            @Override
+            public void processEvent(ResourceEvent event)
+            {
+               if (event instanceof ResourceCreated || event instanceof ResourceDeleted)
+               {
+                  recheck(event.getResource().getParent());
+               }
+               else if (event instanceof ResourceRenamed)
+               {
+                  recheck(event.getResource().getParent());
+                  File original = new File(((ResourceRenamed) event).getOriginalLocation()).getParentFile();
+                  if (original != null)
+                  {
+                     recheck(factory.create(original));
+                  }
+               }
+               else if (event.getResource().equals(directory))
+               {
+                  // Events were lost, so whatever was computed from this directory may be wrong
+                  invalidate(directory.getFullyQualifiedName());
+               }
+            }
+         });
+         synchronized (this)
+         {
+            if (monitors.containsKey(path))
+            {
+               // Watched by another lookup meanwhile
+               monitor.cancel();
+            }
+            else
+            {
+               monitors.put(path, monitor);
+            }
+         }
+      }
+      catch (RuntimeException e)
+      {
+         log.log(Level.FINE, "Could not monitor directory [" + directory + "]", e);
+      }
+   }
+
+   /**
+    * Invalidates the answers computed from the given directory if it does not contain the same projects anymore
+    */
+   private void recheck(Resource<?> directory)
+   {
+      if (directory == null)
+      {
+         return;
+      }
+      String path = directory.getFullyQualifiedName();
+      for (ProjectProvider provider : providers)
+      {
+         Object cached = get(provider, path);
+         if (cached == null)
+         {
+            continue;
+         }
+         boolean wasRoot = cached != NONE && path.equals(((Resource<?>) cached).getFullyQualifiedName());
+         if (provider.containsProject(directory) != wasRoot)
+         {
+            invalidate(path);
+            return;
+         }
+      }
+   }
+
+}
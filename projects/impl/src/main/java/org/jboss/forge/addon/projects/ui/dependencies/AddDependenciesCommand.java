@@ -1,5 +1,8 @@
 package org.jboss.forge.addon.projects.ui.dependencies;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.inject.Inject;
 
 import org.jboss.forge.addon.dependencies.Dependency;
@@ -58,7 +61,7 @@ public class AddDependenciesCommand extends AbstractProjectCommand
 
       if (arguments.hasValue())
       {
-         int count = 0;
+         List<Dependency> dependencies = new ArrayList<>();
          for (Dependency gav : arguments.getValue())
          {
             Dependency existingDep = deps.getEffectiveManagedDependency(DependencyBuilder.create(gav).setVersion(null));
@@ -77,10 +80,10 @@ public class AddDependenciesCommand extends AbstractProjectCommand
                }
             }
 
-            this.installer.install(project, gav);
-            count++;
+            dependencies.add(gav);
          }
 
+         int count = this.installer.install(project, dependencies).size();
          return Results.success("Installed [" + count + "] dependenc" + (count == 1 ? "y" : "ies") + ".");
       }
       return Results.fail("No arguments specified.");
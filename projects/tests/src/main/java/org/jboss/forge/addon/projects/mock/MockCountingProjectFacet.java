@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.addon.projects.mock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.forge.addon.facets.AbstractFacet;
+import org.jboss.forge.addon.projects.Project;
+import org.jboss.forge.addon.projects.ProjectFacet;
+
+/**
+ * Counts how many times its instances are attached to a {@link Project} and checked for installation.
+ */
+public class MockCountingProjectFacet extends AbstractFacet<Project> implements ProjectFacet
+{
+   public static final AtomicInteger ATTACHED = new AtomicInteger();
+   public static final AtomicInteger CHECKED = new AtomicInteger();
+
+   public static void reset()
+   {
+      ATTACHED.set(0);
+      CHECKED.set(0);
+   }
+
+   @Override
+   public void setFaceted(Project origin)
+   {
+      if (origin != null)
+         ATTACHED.incrementAndGet();
+      super.setFaceted(origin);
+   }
+
+   @Override
+   public boolean install()
+   {
+      return true;
+   }
+
+   @Override
+   public boolean isInstalled()
+   {
+      CHECKED.incrementAndGet();
+      return true;
+   }
+
+}
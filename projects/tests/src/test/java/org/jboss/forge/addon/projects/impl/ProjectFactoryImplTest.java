@@ -21,6 +21,7 @@ import org.jboss.forge.addon.projects.ProjectListener;
 import org.jboss.forge.addon.projects.ProjectProvider;
 import org.jboss.forge.addon.projects.facets.WebResourcesFacet;
 import org.jboss.forge.addon.resource.DirectoryResource;
+import org.jboss.forge.addon.resource.FileResource;
 import org.jboss.forge.addon.resource.Resource;
 import org.jboss.forge.arquillian.AddonDependency;
 import org.jboss.forge.arquillian.Dependencies;
@@ -195,6 +196,56 @@ public class ProjectFactoryImplTest
       }
    }
 
+   @Test
+   public void testContainsProjectAfterBuildDescriptorIsCreated() throws Exception
+   {
+      Project project = projectFactory.createTempProject();
+      DirectoryResource parent = project.getRoot().reify(DirectoryResource.class).getParent();
+      DirectoryResource child = parent.createTempResource();
+      child.deleteOnExit();
+      DirectoryResource nested = child.getChildDirectory("src/main/java");
+      nested.mkdirs();
+      Assert.assertFalse(projectFactory.containsProject(nested));
+      Assert.assertFalse(projectFactory.containsProject(nested));
+
+      FileResource<?> descriptor = child.getChild("pom.xml").reify(FileResource.class);
+      descriptor.setContents(project.getRoot().getChild("pom.xml").reify(FileResource.class).getResourceInputStream());
+      // The descriptor is created in a parent directory, which is only noticed through its monitor
+      long timeout = System.currentTimeMillis() + 10000;
+      while (!projectFactory.containsProject(nested) && System.currentTimeMillis() < timeout)
+      {
+         Thread.sleep(50);
+      }
+      Assert.assertTrue(projectFactory.containsProject(nested));
+      Assert.assertEquals(child, projectFactory.findProject(nested).getRoot());
+
+      descriptor.delete();
+      Assert.assertFalse(projectFactory.containsProject(nested));
+
+      child.delete(true);
+      project.getRoot().delete(true);
+   }
+
+   @Test
+   public void testContainsProjectRightAfterBuildDescriptorIsCreatedInTarget() throws Exception
+   {
+      Project project = projectFactory.createTempProject();
+      DirectoryResource parent = project.getRoot().reify(DirectoryResource.class).getParent();
+      DirectoryResource child = parent.createTempResource();
+      child.deleteOnExit();
+      Assert.assertFalse(projectFactory.containsProject(child));
+      Assert.assertFalse(projectFactory.containsProject(child));
+
+      FileResource<?> descriptor = child.getChild("pom.xml").reify(FileResource.class);
+      descriptor.setContents(project.getRoot().getChild("pom.xml").reify(FileResource.class).getResourceInputStream());
+      // Answered without waiting for the monitor event
+      Assert.assertTrue(projectFactory.containsProject(child));
+      Assert.assertEquals(child, projectFactory.findProject(child).getRoot());
+
+      child.delete(true);
+      project.getRoot().delete(true);
+   }
+
    @Test
    public void testProjectListenerExportedService()
    {
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.addon.projects.impl;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.addon.projects.Project;
+import org.jboss.forge.addon.projects.ProjectFacet;
+import org.jboss.forge.addon.projects.ProjectFactory;
+import org.jboss.forge.addon.projects.facets.MetadataFacet;
+import org.jboss.forge.addon.projects.mock.MockAmbiguousProjectFacet;
+import org.jboss.forge.addon.projects.mock.MockAmbiguousProjectFacet_1;
+import org.jboss.forge.addon.projects.mock.MockAmbiguousProjectFacet_2;
+import org.jboss.forge.addon.projects.mock.MockCountingProjectFacet;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.Dependencies;
+import org.jboss.forge.arquillian.archive.ForgeArchive;
+import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class ProjectFactoryLazyFacetRegistrationTest
+{
+   @Deployment
+   @Dependencies({
+            @AddonDependency(name = "org.jboss.forge.addon:resources"),
+            @AddonDependency(name = "org.jboss.forge.addon:projects"),
+            @AddonDependency(name = "org.jboss.forge.addon:ui"),
+            @AddonDependency(name = "org.jboss.forge.addon:maven")
+   })
+   public static ForgeArchive getDeployment()
+   {
+      ForgeArchive archive = ShrinkWrap
+               .create(ForgeArchive.class)
+               .addClass(MockAmbiguousProjectFacet.class)
+               .addClass(MockAmbiguousProjectFacet_1.class)
+               .addClass(MockAmbiguousProjectFacet_2.class)
+               .addClass(MockCountingProjectFacet.class)
+               .addBeansXML()
+               .addAsAddonDependencies(
+                        AddonDependencyEntry.create("org.jboss.forge.furnace.container:cdi"),
+                        AddonDependencyEntry.create("org.jboss.forge.addon:projects")
+               );
+
+      return archive;
+   }
+
+   @Inject
+   private ProjectFactory projectFactory;
+
+   @Before
+   public void setUp()
+   {
+      System.setProperty(ProjectFactoryImpl.LAZY_FACETS_PROPERTY, "true");
+      MockCountingProjectFacet.reset();
+   }
+
+   @After
+   public void tearDown()
+   {
+      System.clearProperty(ProjectFactoryImpl.LAZY_FACETS_PROPERTY);
+   }
+
+   @Test
+   public void testFacetsAreResolvedOnDemand() throws Exception
+   {
+      Project project = projectFactory.createTempProject();
+      Assert.assertNotNull(project);
+      Project found = projectFactory.findProject(project.getRoot());
+      Assert.assertNotNull(found);
+      Assert.assertTrue(found.hasFacet(MetadataFacet.class));
+      Assert.assertTrue(found.hasFacet(MockAmbiguousProjectFacet.class));
+      Assert.assertNotNull(found.getFacet(MockAmbiguousProjectFacet.class));
+      project.getRoot().delete(true);
+   }
+
+   @Test
+   public void testFacetsAreNotCreatedUntilRequested() throws Exception
+   {
+      Project project = projectFactory.createTempProject();
+      Project found = projectFactory.findProject(project.getRoot());
+      Assert.assertTrue(found.hasFacet(MetadataFacet.class));
+      Assert.assertEquals(0, MockCountingProjectFacet.ATTACHED.get());
+      Assert.assertEquals(0, MockCountingProjectFacet.CHECKED.get());
+
+      Assert.assertTrue(found.hasFacet(MockCountingProjectFacet.class));
+      Assert.assertTrue(MockCountingProjectFacet.ATTACHED.get() > 0);
+      Assert.assertTrue(MockCountingProjectFacet.CHECKED.get() > 0);
+      project.getRoot().delete(true);
+   }
+
+   @Test
+   public void testGetFacetsResolvesAllFacets() throws Exception
+   {
+      Project project = projectFactory.createTempProject();
+      boolean found = false;
+      for (ProjectFacet facet : project.getFacets())
+      {
+         if (facet instanceof MockAmbiguousProjectFacet)
+            found = true;
+      }
+      Assert.assertTrue(found);
+      project.getRoot().delete(true);
+   }
+}
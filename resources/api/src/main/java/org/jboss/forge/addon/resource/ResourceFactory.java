@@ -51,6 +51,19 @@ public interface ResourceFactory
     */
    ResourceMonitor monitor(Resource<?> resource, ResourceFilter resourceFilter);
 
+   /**
+    * Monitors a specific resource for changes and fires the registered listeners given the specified filter. Only the
+    * sub-directories accepted by the given directory filter are watched; the others (and all their contents) are
+    * skipped. Build output, version control and dependency directories (eg. <code>target</code>, <code>.git</code>,
+    * <code>node_modules</code>) are never watched.
+    * 
+    * @param resource the resource to be monitored
+    * @param resourceFilter a filter for children of the specified resource
+    * @param directoryFilter a filter for the sub-directories to be watched
+    * @return a {@link ResourceMonitor} for the specific resource
+    */
+   ResourceMonitor monitor(Resource<?> resource, ResourceFilter resourceFilter, ResourceFilter directoryFilter);
+
    /**
     * Get the transaction associated with this {@link ResourceFactory} in the calling thread
     * 
@@ -0,0 +1,27 @@
+/**
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.resource.monitor;
+
+import java.util.List;
+
+import org.jboss.forge.addon.resource.events.ResourceEvent;
+
+/**
+ * A Listener for batches of Resource events.
+ * <p/>
+ * Events are delivered once no more changes happened for a short quiet period, and are coalesced per resource: a
+ * resource created and then modified is reported as created, a resource created and then deleted is not reported at
+ * all, and so on. If the underlying file system dropped events, a {@link ResourceEvent} for the monitored resource
+ * itself is included, meaning that anything below it may have changed.
+ * 
+ * @see ResourceMonitor#addResourceBatchListener(ResourceBatchListener)
+ */
+public interface ResourceBatchListener
+{
+   void processEvents(List<ResourceEvent> events);
+}
@@ -27,6 +27,28 @@ public interface ResourceMonitor
     */
    ListenerRegistration<ResourceListener> addResourceListener(ResourceListener listener);
 
+   /**
+    * Register a listener for coalesced batches of resource events.
+    */
+   ListenerRegistration<ResourceBatchListener> addResourceBatchListener(ResourceBatchListener listener);
+
+   /**
+    * Returns the number of events merged into another pending event for the same resource before being delivered to
+    * {@link ResourceBatchListener} instances.
+    */
+   long getCoalescedEventCount();
+
+   /**
+    * Returns the number of pending events discarded because they cancelled each other out (eg. a resource created and
+    * deleted within the same batch).
+    */
+   long getDroppedEventCount();
+
+   /**
+    * Returns the number of times the underlying file system reported that events were lost.
+    */
+   long getOverflowCount();
+
    /**
     * Cancels this monitor. All registered listeners are automatically discarded.
     */
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.addon.resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * What a {@link File} is on disk, read with a single stat when no transaction is running
+ */
+enum FileKind
+{
+   MISSING, FILE, DIRECTORY;
+
+   /**
+    * Returns the kind of the given {@link File}, as seen by the given {@link FileOperations}
+    */
+   static FileKind of(FileOperations fileOperations, File file)
+   {
+      if (fileOperations == DefaultFileOperations.INSTANCE)
+      {
+         try
+         {
+            BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            return attributes.isDirectory() ? DIRECTORY : FILE;
+         }
+         catch (NoSuchFileException e)
+         {
+            return MISSING;
+         }
+         catch (IOException | InvalidPathException | SecurityException e)
+         {
+            // Let the file operations decide
+         }
+      }
+      if (fileOperations.fileExistsAndIsDirectory(file))
+      {
+         return DIRECTORY;
+      }
+      return fileOperations.fileExists(file) ? FILE : MISSING;
+   }
+}
@@ -14,21 +14,32 @@ public class FileResourceGenerator implements ResourceGenerator<FileResource<?>,
    @SuppressWarnings("unchecked")
    public <T extends Resource<File>> T getResource(ResourceFactory factory, Class<FileResource<?>> type, File resource)
    {
-      FileOperations fileOperations = factory.getFileOperations();
-      if ((DirectoryResource.class.isAssignableFrom(type) && (!fileOperations.fileExists(resource) || fileOperations
-               .fileExistsAndIsDirectory(resource))) || (fileOperations.fileExistsAndIsDirectory(resource)))
-         return (T) new DirectoryResourceImpl(factory, resource);
-      return (T) new FileResourceImpl(factory, resource);
+      return (T) createResource(factory, type, resource, FileKind.of(factory.getFileOperations(), resource));
    }
 
    @Override
    public <T extends Resource<File>> Class<?> getResourceType(ResourceFactory factory, Class<FileResource<?>> type,
             File resource)
    {
-      FileOperations fileOperations = factory.getFileOperations();
-      if ((DirectoryResource.class.isAssignableFrom(type) && (!fileOperations.fileExists(resource) || fileOperations
-               .fileExistsAndIsDirectory(resource))) || (fileOperations.fileExistsAndIsDirectory(resource)))
+      return getResourceType(type, FileKind.of(factory.getFileOperations(), resource));
+   }
+
+   static Resource<File> createResource(ResourceFactory factory, Class<?> type, File resource, FileKind kind)
+   {
+      if (isDirectory(type, kind))
+         return new DirectoryResourceImpl(factory, resource);
+      return new FileResourceImpl(factory, resource);
+   }
+
+   static Class<?> getResourceType(Class<?> type, FileKind kind)
+   {
+      if (isDirectory(type, kind))
          return DirectoryResource.class;
       return FileResource.class;
    }
+
+   private static boolean isDirectory(Class<?> type, FileKind kind)
+   {
+      return kind == FileKind.DIRECTORY || (DirectoryResource.class.isAssignableFrom(type) && kind == FileKind.MISSING);
+   }
 }
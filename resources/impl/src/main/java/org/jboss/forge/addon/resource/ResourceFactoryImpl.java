@@ -6,9 +6,13 @@
  */
 package org.jboss.forge.addon.resource;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -20,6 +24,7 @@ import org.jboss.forge.addon.resource.transaction.file.FileResourceTransactionIm
 import org.jboss.forge.addon.resource.transaction.file.FileResourceTransactionManager;
 import org.jboss.forge.addon.resource.util.RelatedClassComparator;
 import org.jboss.forge.furnace.addons.AddonRegistry;
+import org.jboss.forge.furnace.proxy.Proxies;
 import org.jboss.forge.furnace.spi.ListenerRegistration;
 import org.jboss.forge.furnace.util.Assert;
 
@@ -42,52 +47,50 @@ public class ResourceFactoryImpl implements ResourceFactory
    @Inject
    private FileResourceTransactionManager transactionManager;
 
-   @SuppressWarnings("rawtypes")
-   private final Set<ResourceGenerator> generators = new HashSet<>();
-   private long version = -1;
+   private volatile Generators generators;
 
    @Override
    @SuppressWarnings({ "unchecked", "rawtypes" })
    public <E, T extends Resource<E>> T create(final Class<T> type, final E underlyingResource)
    {
-      T result = null;
-      synchronized (this)
+      Generators current = getGenerators();
+      if (underlyingResource instanceof File)
       {
-         TreeMap<Class<?>, ResourceGenerator> generated = new TreeMap<>(
-                  new RelatedClassComparator());
-
-         for (ResourceGenerator generator : getGenerators())
+         // One stat per file, shared by the resolution and the creation of the resource
+         File file = (File) underlyingResource;
+         FileKind kind = FileKind.of(getFileOperations(), file);
+         ResourceGenerator generator = current.resolve(this, type, file, kind);
+         if (generator == null)
          {
-            if (generator.handles(type, underlyingResource))
-            {
-               Class resourceType = generator.getResourceType(this, type, underlyingResource);
-               if (type.isAssignableFrom(resourceType))
-               {
-                  generated.put(resourceType, generator);
-               }
-            }
+            return null;
          }
-         if (generated.size() > 0)
+         if (Proxies.unwrap(generator) instanceof FileResourceGenerator)
          {
-            result = (T) generated.lastEntry().getValue().getResource(this, type, underlyingResource);
+            return (T) FileResourceGenerator.createResource(this, type, file, kind);
          }
+         return (T) generator.getResource(this, type, underlyingResource);
       }
-      return result;
+      ResourceGenerator generator = current.select(this, type, underlyingResource);
+      return generator == null ? null : (T) generator.getResource(this, type, underlyingResource);
    }
 
-   @SuppressWarnings("rawtypes")
-   private Iterable<ResourceGenerator> getGenerators()
+   private Generators getGenerators()
    {
-      if (registry.getVersion() != version)
+      Generators current = generators;
+      long registryVersion = registry.getVersion();
+      if (current == null || current.version != registryVersion)
       {
-         version = registry.getVersion();
-         generators.clear();
-         for (ResourceGenerator generator : registry.getServices(ResourceGenerator.class))
+         synchronized (this)
          {
-            generators.add(generator);
+            current = generators;
+            if (current == null || current.version != registryVersion)
+            {
+               current = new Generators(registryVersion, registry.getServices(ResourceGenerator.class));
+               generators = current;
+            }
          }
       }
-      return generators;
+      return current;
    }
 
    @Override
@@ -105,6 +108,12 @@ public class ResourceFactoryImpl implements ResourceFactory
 
    @Override
    public ResourceMonitor monitor(Resource<?> resource, ResourceFilter resourceFilter)
+   {
+      return monitor(resource, resourceFilter, null);
+   }
+
+   @Override
+   public ResourceMonitor monitor(Resource<?> resource, ResourceFilter resourceFilter, ResourceFilter directoryFilter)
    {
       Assert.notNull(resource, "Resource cannot be null");
       Assert.isTrue(resource instanceof FileResource, "Resource must be a FileResource, was "
@@ -114,7 +123,7 @@ public class ResourceFactoryImpl implements ResourceFactory
          throw new IllegalStateException("Resource must exist to be monitored");
       }
       FileResource<?> fileResource = (FileResource<?>) resource;
-      return fileMonitor.registerMonitor(this, fileResource, resourceFilter);
+      return fileMonitor.registerMonitor(this, fileResource, resourceFilter, directoryFilter);
    }
 
    @Override
@@ -142,4 +151,112 @@ public class ResourceFactoryImpl implements ResourceFactory
    {
       return transactionManager.addTransactionListener(listener);
    }
-}
\ No newline at end of file
+
+   /**
+    * The {@link ResourceGenerator} instances available for a given version of the {@link AddonRegistry}, along with the
+    * generator resolved for each requested type, kind of file and set of generators handling the file.
+    */
+   @SuppressWarnings({ "rawtypes", "unchecked" })
+   private static class Generators
+   {
+      private static final Object NOT_FOUND = new Object();
+
+      private final long version;
+      private final List<ResourceGenerator> generators = new ArrayList<>();
+      private final ConcurrentMap<Resolution, Object> resolved = new ConcurrentHashMap<>();
+
+      Generators(long version, Iterable<ResourceGenerator> generators)
+      {
+         this.version = version;
+         for (ResourceGenerator generator : generators)
+         {
+            this.generators.add(generator);
+         }
+      }
+
+      ResourceGenerator resolve(ResourceFactory factory, Class<?> type, File file, FileKind kind)
+      {
+         // Generators tell whether they handle a file by its name, which is cheap to ask
+         BitSet handling = new BitSet(generators.size());
+         for (int i = 0; i < generators.size(); i++)
+         {
+            if (generators.get(i).handles(type, file))
+            {
+               handling.set(i);
+            }
+         }
+         Resolution resolution = new Resolution(type, kind, handling);
+         Object result = resolved.get(resolution);
+         if (result == null)
+         {
+            ResourceGenerator generator = select(factory, type, file, kind, handling);
+            result = generator == null ? NOT_FOUND : generator;
+            resolved.putIfAbsent(resolution, result);
+         }
+         return result == NOT_FOUND ? null : (ResourceGenerator) result;
+      }
+
+      ResourceGenerator select(ResourceFactory factory, Class<?> type, Object underlyingResource)
+      {
+         return select(factory, type, underlyingResource, null, null);
+      }
+
+      private ResourceGenerator select(ResourceFactory factory, Class<?> type, Object underlyingResource,
+               FileKind kind, BitSet handling)
+      {
+         TreeMap<Class<?>, ResourceGenerator> generated = new TreeMap<>(new RelatedClassComparator());
+         for (int i = 0; i < generators.size(); i++)
+         {
+            ResourceGenerator generator = generators.get(i);
+            if (handling == null ? generator.handles(type, underlyingResource) : handling.get(i))
+            {
+               Class resourceType;
+               if (kind != null && Proxies.unwrap(generator) instanceof FileResourceGenerator)
+               {
+                  resourceType = FileResourceGenerator.getResourceType(type, kind);
+               }
+               else
+               {
+                  resourceType = generator.getResourceType(factory, type, underlyingResource);
+               }
+               if (type.isAssignableFrom(resourceType))
+               {
+                  generated.put(resourceType, generator);
+               }
+            }
+         }
+         return generated.isEmpty() ? null : generated.lastEntry().getValue();
+      }
+   }
+
+   private static class Resolution
+   {
+      private final Class<?> type;
+      private final FileKind kind;
+      private final BitSet handling;
+
+      Resolution(Class<?> type, FileKind kind, BitSet handling)
+      {
+         this.type = type;
+         this.kind = kind;
+         this.handling = handling;
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return (type.hashCode() * 31 + kind.hashCode()) * 31 + handling.hashCode();
+      }
+
+      @Override
+      public boolean equals(Object obj)
+      {
+         if (this == obj)
+            return true;
+         if (!(obj instanceof Resolution))
+            return false;
+         Resolution other = (Resolution) obj;
+         return type == other.type && kind == other.kind && handling.equals(other.handling);
+      }
+   }
+}
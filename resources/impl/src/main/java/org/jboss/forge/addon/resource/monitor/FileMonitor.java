@@ -8,6 +8,12 @@
 package org.jboss.forge.addon.resource.monitor;
 
 import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import javax.enterprise.event.Observes;
 import javax.inject.Singleton;
@@ -29,10 +35,31 @@ import org.jboss.forge.furnace.event.PreShutdown;
 @Singleton
 public class FileMonitor
 {
+   /**
+    * The default quiet period, in milliseconds, after which batched events are delivered. May be overridden by the
+    * <code>org.jboss.forge.addon.resource.monitor.quietPeriod</code> system property.
+    */
+   static final long DEFAULT_QUIET_PERIOD = 250;
+
+   private final long quietPeriod = Long.getLong("org.jboss.forge.addon.resource.monitor.quietPeriod",
+            DEFAULT_QUIET_PERIOD);
+
    private FileWatcher watcher;
+   private ScheduledExecutorService dispatcher;
 
    void init(@Observes @Local PostStartup postStartup) throws Exception
    {
+      dispatcher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+      {
+         @Override
+         public Thread newThread(Runnable r)
+         {
+            Thread thread = new Thread(r, "Resource Event Dispatcher");
+            thread.setDaemon(true);
+            thread.setContextClassLoader(null);
+            return thread;
+         }
+      });
       watcher = new FileWatcher();
       watcher.start();
    }
@@ -44,10 +71,50 @@ public class FileMonitor
          watcher.stop();
          watcher = null;
       }
+      if (dispatcher != null)
+      {
+         dispatcher.shutdownNow();
+         dispatcher = null;
+      }
+   }
+
+   /**
+    * Returns the quiet period, in milliseconds, after which batched events are delivered
+    */
+   long getQuietPeriod()
+   {
+      return quietPeriod;
+   }
+
+   /**
+    * Schedules the delivery of batched events. Returns <code>null</code> if the dispatcher is not running, in which
+    * case the caller should deliver them right away.
+    */
+   ScheduledFuture<?> schedule(Runnable task, long delay)
+   {
+      ScheduledExecutorService executor = dispatcher;
+      if (executor == null)
+      {
+         return null;
+      }
+      try
+      {
+         return executor.schedule(task, delay, TimeUnit.MILLISECONDS);
+      }
+      catch (RejectedExecutionException e)
+      {
+         return null;
+      }
    }
 
    public ResourceMonitor registerMonitor(final ResourceFactory resourceFactory, final FileResource<?> resource,
             final ResourceFilter resourceFilter)
+   {
+      return registerMonitor(resourceFactory, resource, resourceFilter, null);
+   }
+
+   public ResourceMonitor registerMonitor(final ResourceFactory resourceFactory, final FileResource<?> resource,
+            final ResourceFilter resourceFilter, final ResourceFilter directoryFilter)
    {
       if (watcher == null)
       {
@@ -55,9 +122,11 @@ public class FileMonitor
       }
       DirectoryResource dirResource = resource.reify(DirectoryResource.class);
       ResourceFilter filter = resourceFilter;
+      boolean recursive = true;
       if (dirResource == null)
       {
-         // It's a file, monitor the parent and add a filter to the file
+         // It's a file, monitor only the parent and add a filter to the file
+         recursive = false;
          dirResource = resource.getParent();
          filter = new ResourceFilter()
          {
@@ -80,7 +149,8 @@ public class FileMonitor
             }
          };
       }
-      ResourceMonitorImpl resourceMonitor = new ResourceMonitorImpl(this, dirResource, resourceFactory, filter);
+      ResourceMonitorImpl resourceMonitor = new ResourceMonitorImpl(this, dirResource, resourceFactory, filter,
+               directoryFilter, recursive);
       try
       {
          watcher.register(resourceMonitor);
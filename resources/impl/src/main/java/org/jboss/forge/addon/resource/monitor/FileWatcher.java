@@ -29,11 +29,16 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Uses {@link WatchService} to watch files
+ * Uses {@link WatchService} to watch files.
+ * <p/>
+ * Each directory is registered at most once, no matter how many monitors are interested in it. Sub-directories
+ * excluded by a monitor (see {@link ResourceMonitorImpl#isWatched(Path)}) are pruned when the tree is walked, so they
+ * do not consume any watch.
  *
  * @author <a href="ggastald@redhat.com">George Gastaldi</a>
  */
@@ -42,7 +47,8 @@ public class FileWatcher implements Runnable
    private static Logger log = Logger.getLogger(FileWatcher.class.getName());
 
    private final WatchService watcher;
-   private final Map<WatchKey, ResourceMonitorImpl> keys = new ConcurrentHashMap<>();
+   private final Map<Path, WatchKey> registrations = new ConcurrentHashMap<>();
+   private final Map<WatchKey, Set<ResourceMonitorImpl>> keys = new ConcurrentHashMap<>();
    private Thread resourceMonitorThread;
    private volatile boolean alive = true;
 
@@ -87,34 +93,65 @@ public class FileWatcher implements Runnable
    }
 
    /**
-    * Register the given directory with the WatchService
+    * Unregister the given monitor. Directories are no longer watched once no monitor is interested in them.
     */
-   void unregister(ResourceMonitorImpl monitorImpl)
+   synchronized void unregister(ResourceMonitorImpl monitorImpl)
    {
-      Set<Entry<WatchKey, ResourceMonitorImpl>> entrySet = keys.entrySet();
-      Iterator<Entry<WatchKey, ResourceMonitorImpl>> iterator = entrySet.iterator();
+      Iterator<Entry<Path, WatchKey>> iterator = registrations.entrySet().iterator();
       while (iterator.hasNext())
       {
-         Entry<WatchKey, ResourceMonitorImpl> next = iterator.next();
-         if (next.getValue() == monitorImpl)
+         WatchKey key = iterator.next().getValue();
+         Set<ResourceMonitorImpl> monitors = keys.get(key);
+         if (monitors != null)
          {
-            next.getKey().cancel();
-            iterator.remove();
+            monitors.remove(monitorImpl);
+            if (monitors.isEmpty())
+            {
+               keys.remove(key);
+               key.cancel();
+               iterator.remove();
+            }
          }
       }
    }
 
    /**
-    * Register the given directory with the WatchService
+    * Returns the number of directories currently watched
+    */
+   int getWatchedDirectoryCount()
+   {
+      return registrations.size();
+   }
+
+   /**
+    * Register the given directory with the WatchService. A directory is registered only once, and shared by all the
+    * monitors interested in it.
     */
-   private void register(Path path, ResourceMonitorImpl monitorImpl) throws IOException
+   private synchronized void register(Path path, ResourceMonitorImpl monitorImpl) throws IOException
    {
-      WatchKey key = path.register(watcher, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
-      keys.put(key, monitorImpl);
+      WatchKey key = registrations.get(path);
+      if (key == null || !key.isValid())
+      {
+         key = path.register(watcher, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+         registrations.put(path, key);
+      }
+      Set<ResourceMonitorImpl> monitors = keys.get(key);
+      if (monitors == null)
+      {
+         monitors = new CopyOnWriteArraySet<>();
+         keys.put(key, monitors);
+      }
+      monitors.add(monitorImpl);
+   }
+
+   private synchronized void discard(WatchKey key)
+   {
+      keys.remove(key);
+      registrations.remove(key.watchable());
    }
 
    /**
-    * Register the given directory, and all its sub-directories, with the WatchService.
+    * Register the given directory, and all the sub-directories watched by the given monitor, with the WatchService.
     */
    private void registerAll(Path start, final ResourceMonitorImpl monitorImpl) throws IOException
    {
@@ -125,7 +162,18 @@ public class FileWatcher implements Runnable
          public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
                   throws IOException
          {
+            if (!monitorImpl.isWatched(dir))
+            {
+               return FileVisitResult.SKIP_SUBTREE;
+            }
             register(dir, monitorImpl);
+            return monitorImpl.isRecursive() ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
+         }
+
+         @Override
+         public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException
+         {
+            log.log(Level.FINE, "Could not watch " + file, exc);
             return FileVisitResult.CONTINUE;
          }
       });
@@ -152,42 +200,53 @@ public class FileWatcher implements Runnable
             WatchEvent.Kind<?> kind = event.kind();
             if (kind == OVERFLOW)
             {
+               // Events were lost, monitors must assume anything may have changed
+               Set<ResourceMonitorImpl> resourceMonitors = keys.get(key);
+               if (resourceMonitors != null)
+               {
+                  for (ResourceMonitorImpl resourceMonitor : resourceMonitors)
+                  {
+                     resourceMonitor.onOverflow();
+                  }
+               }
                continue;
             }
 
             WatchEvent<Path> ev = (WatchEvent<Path>) event;
             Path name = ev.context();
-            ResourceMonitorImpl resourceMonitor = keys.get(key);
-            if (resourceMonitor == null)
+            Set<ResourceMonitorImpl> resourceMonitors = keys.get(key);
+            if (resourceMonitors == null)
             {
                log.finest("WatchKey not recognized " + name + " - " + key.watchable() + "> " + kind);
                continue;
             }
-            Path resourcePath = resourceMonitor.getResourcePath();
-            Path child = resourcePath.resolve(name);
+            Path child = ((Path) key.watchable()).resolve(name);
             log.log(Level.FINE, String.format("%s: %s %s %s\n", event.kind().name(), child, key, keys.keySet()));
-            if (kind == ENTRY_CREATE)
+            for (ResourceMonitorImpl resourceMonitor : resourceMonitors)
             {
-               try
+               if (kind == ENTRY_CREATE)
                {
-                  if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS))
+                  try
                   {
-                     registerAll(child, resourceMonitor);
+                     if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS) && resourceMonitor.isWatched(child))
+                     {
+                        registerAll(child, resourceMonitor);
+                     }
                   }
+                  catch (IOException e)
+                  {
+                     log.log(Level.SEVERE, "Error while registering child directories", e);
+                  }
+                  resourceMonitor.onPathCreate(child);
                }
-               catch (IOException e)
+               else if (kind == ENTRY_DELETE)
                {
-                  log.log(Level.SEVERE, "Error while registering child directories", e);
+                  resourceMonitor.onPathDelete(child);
+               }
+               else if (kind == ENTRY_MODIFY)
+               {
+                  resourceMonitor.onPathModify(child);
                }
-               resourceMonitor.onPathCreate(child);
-            }
-            else if (kind == ENTRY_DELETE)
-            {
-               resourceMonitor.onPathDelete(child);
-            }
-            else if (kind == ENTRY_MODIFY)
-            {
-               resourceMonitor.onPathModify(child);
             }
          }
 
@@ -202,7 +261,7 @@ public class FileWatcher implements Runnable
             boolean valid = key.reset();
             if (!valid)
             {
-               keys.remove(key);
+               discard(key);
             }
          }
       }
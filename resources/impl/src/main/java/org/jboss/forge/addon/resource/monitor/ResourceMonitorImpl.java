@@ -8,8 +8,18 @@
 package org.jboss.forge.addon.resource.monitor;
 
 import java.nio.file.Path;
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -34,20 +44,64 @@ public class ResourceMonitorImpl implements ResourceMonitor
 {
    private static final Logger log = Logger.getLogger(ResourceMonitorImpl.class.getName());
 
+   /**
+    * The names of the build output, version control and dependency directories that are not watched by default. May
+    * be overridden with a comma separated list in the
+    * <code>org.jboss.forge.addon.resource.monitor.excludedDirectories</code> system property.
+    */
+   static final String DEFAULT_EXCLUDED_DIRECTORIES = "target,.git,.svn,.hg,.bzr,CVS,node_modules,bower_components";
+
+   private static final Set<String> EXCLUDED_DIRECTORIES = new HashSet<>(Arrays.asList(System.getProperty(
+            "org.jboss.forge.addon.resource.monitor.excludedDirectories", DEFAULT_EXCLUDED_DIRECTORIES)
+            .split("\\s*,\\s*")));
+
    private final FileMonitor fileMonitor;
 
    private final DirectoryResource resource;
-   private final Set<ResourceListener> listeners = new LinkedHashSet<>();
+   /**
+    * Batched events are delivered at the latest after this many quiet periods, even if changes keep happening
+    */
+   private static final int MAX_DELAY_FACTOR = 10;
+
+   private final Set<ResourceListener> listeners = new CopyOnWriteArraySet<>();
+   private final Set<ResourceBatchListener> batchListeners = new CopyOnWriteArraySet<>();
    private final ResourceFactory resourceFactory;
    private final ResourceFilter resourceFilter;
+   private final ResourceFilter directoryFilter;
+   private final boolean recursive;
+
+   private final Map<Path, EventType> pendingEvents = new LinkedHashMap<>();
+   private boolean pendingOverflow;
+   private long batchStart;
+   private ScheduledFuture<?> flushTask;
+   private final Runnable flush = new Runnable()
+   {
+      @Override
+      public void run()
+      {
+         flush();
+      }
+   };
+
+   private final AtomicLong coalescedEvents = new AtomicLong();
+   private final AtomicLong droppedEvents = new AtomicLong();
+   private final AtomicLong overflows = new AtomicLong();
 
    public ResourceMonitorImpl(FileMonitor fileMonitor, DirectoryResource resource, ResourceFactory resourceFactory,
             ResourceFilter resourceFilter)
+   {
+      this(fileMonitor, resource, resourceFactory, resourceFilter, null, true);
+   }
+
+   public ResourceMonitorImpl(FileMonitor fileMonitor, DirectoryResource resource, ResourceFactory resourceFactory,
+            ResourceFilter resourceFilter, ResourceFilter directoryFilter, boolean recursive)
    {
       this.fileMonitor = fileMonitor;
       this.resource = resource;
       this.resourceFactory = resourceFactory;
       this.resourceFilter = resourceFilter;
+      this.directoryFilter = directoryFilter;
+      this.recursive = recursive;
    }
 
    @Override
@@ -66,42 +120,214 @@ public class ResourceMonitorImpl implements ResourceMonitor
       };
    }
 
+   @Override
+   public ListenerRegistration<ResourceBatchListener> addResourceBatchListener(final ResourceBatchListener listener)
+   {
+      batchListeners.add(listener);
+      return new ListenerRegistration<ResourceBatchListener>()
+      {
+         @Override
+         public ResourceBatchListener removeListener()
+         {
+            batchListeners.remove(listener);
+            return listener;
+         }
+      };
+   }
+
    void onPathModify(Path path)
    {
-      FileResource<?> fileResource = resourceFactory.create(FileResource.class, path.toFile());
-      fireEvent(new ResourceModified(fileResource));
+      onEvent(path, EventType.MODIFIED);
    }
 
    void onPathCreate(Path path)
    {
-      FileResource<?> fileResource = resourceFactory.create(FileResource.class, path.toFile());
-      fireEvent(new ResourceCreated(fileResource));
+      onEvent(path, EventType.CREATED);
    }
 
    void onPathDelete(Path path)
    {
-      FileResource<?> fileResource = resourceFactory.create(FileResource.class, path.toFile());
-      fireEvent(new ResourceDeleted(fileResource));
+      onEvent(path, EventType.DELETED);
    }
 
-   private void fireEvent(ResourceEvent event)
+   /**
+    * Called when the underlying file system lost events. Listeners are notified that the monitored resource itself was
+    * modified, regardless of the resource filter, so they can discard anything they know about it.
+    */
+   void onOverflow()
    {
-      if (resourceFilter == null || resourceFilter.accept(event.getResource()))
+      overflows.incrementAndGet();
+      if (!listeners.isEmpty())
+      {
+         notifyListeners(new ResourceModified(resource));
+      }
+      if (!batchListeners.isEmpty())
+      {
+         boolean flushNow;
+         synchronized (this)
+         {
+            pendingOverflow = true;
+            flushNow = scheduleFlush();
+         }
+         if (flushNow)
+         {
+            flush();
+         }
+      }
+   }
+
+   private void onEvent(Path path, EventType type)
+   {
+      if (!listeners.isEmpty())
+      {
+         FileResource<?> fileResource = resourceFactory.create(FileResource.class, path.toFile());
+         fireEvent(type.createEvent(fileResource));
+      }
+      if (!batchListeners.isEmpty())
+      {
+         boolean flushNow;
+         synchronized (this)
+         {
+            EventType previous = pendingEvents.get(path);
+            if (previous == null)
+            {
+               pendingEvents.put(path, type);
+            }
+            else
+            {
+               coalescedEvents.incrementAndGet();
+               EventType merged = previous.merge(type);
+               if (merged == null)
+               {
+                  pendingEvents.remove(path);
+                  droppedEvents.incrementAndGet();
+               }
+               else
+               {
+                  pendingEvents.put(path, merged);
+               }
+            }
+            flushNow = scheduleFlush();
+         }
+         if (flushNow)
+         {
+            flush();
+         }
+      }
+   }
+
+   /**
+    * Postpones the delivery of the pending events until no more events arrive for a quiet period. Returns
+    * <code>true</code> if the events could not be scheduled and should be delivered right away.
+    */
+   private boolean scheduleFlush()
+   {
+      long now = System.currentTimeMillis();
+      if (batchStart == 0)
+      {
+         batchStart = now;
+      }
+      long quietPeriod = fileMonitor == null ? 0 : fileMonitor.getQuietPeriod();
+      if (flushTask != null)
+      {
+         if (now - batchStart >= quietPeriod * MAX_DELAY_FACTOR)
+         {
+            // Changes keep happening, do not postpone the delivery any further
+            return false;
+         }
+         flushTask.cancel(false);
+      }
+      flushTask = quietPeriod <= 0 ? null : fileMonitor.schedule(flush, quietPeriod);
+      return flushTask == null;
+   }
+
+   /**
+    * Delivers the pending events to the {@link ResourceBatchListener} instances
+    */
+   void flush()
+   {
+      Map<Path, EventType> events;
+      boolean overflow;
+      synchronized (this)
+      {
+         events = new LinkedHashMap<>(pendingEvents);
+         overflow = pendingOverflow;
+         pendingEvents.clear();
+         pendingOverflow = false;
+         batchStart = 0;
+         flushTask = null;
+      }
+      List<ResourceEvent> batch = new ArrayList<>(events.size() + 1);
+      if (overflow)
       {
-         for (ResourceListener listener : listeners)
+         batch.add(new ResourceModified(resource));
+      }
+      for (Entry<Path, EventType> entry : events.entrySet())
+      {
+         FileResource<?> fileResource = resourceFactory.create(FileResource.class, entry.getKey().toFile());
+         if (resourceFilter == null || resourceFilter.accept(fileResource))
+         {
+            batch.add(entry.getValue().createEvent(fileResource));
+         }
+      }
+      if (!batch.isEmpty())
+      {
+         List<ResourceEvent> unmodifiableBatch = Collections.unmodifiableList(batch);
+         for (ResourceBatchListener listener : batchListeners)
          {
             try
             {
-               listener.processEvent(event);
+               listener.processEvents(unmodifiableBatch);
             }
             catch (Exception e)
             {
-               log.log(Level.SEVERE, "Error while firing listener", e);
+               log.log(Level.SEVERE, "Error while firing batch listener", e);
             }
          }
       }
    }
 
+   private void fireEvent(ResourceEvent event)
+   {
+      if (resourceFilter == null || resourceFilter.accept(event.getResource()))
+      {
+         notifyListeners(event);
+      }
+   }
+
+   private void notifyListeners(ResourceEvent event)
+   {
+      for (ResourceListener listener : listeners)
+      {
+         try
+         {
+            listener.processEvent(event);
+         }
+         catch (Exception e)
+         {
+            log.log(Level.SEVERE, "Error while firing listener", e);
+         }
+      }
+   }
+
+   @Override
+   public long getCoalescedEventCount()
+   {
+      return coalescedEvents.get();
+   }
+
+   @Override
+   public long getDroppedEventCount()
+   {
+      return droppedEvents.get();
+   }
+
+   @Override
+   public long getOverflowCount()
+   {
+      return overflows.get();
+   }
+
    @Override
    public DirectoryResource getResource()
    {
@@ -113,10 +339,86 @@ public class ResourceMonitorImpl implements ResourceMonitor
       return resource.getUnderlyingResourceObject().toPath();
    }
 
+   /**
+    * Returns <code>true</code> if sub-directories of the monitored directory are watched as well
+    */
+   boolean isRecursive()
+   {
+      return recursive;
+   }
+
+   /**
+    * Returns <code>true</code> if the given directory should be watched by this monitor. The monitored directory
+    * itself is always watched. Its sub-directories are watched only if this monitor is recursive, their name is not
+    * excluded by default and they are accepted by the directory filter.
+    */
+   boolean isWatched(Path directory)
+   {
+      if (directory.equals(getResourcePath()))
+      {
+         return true;
+      }
+      if (!recursive || EXCLUDED_DIRECTORIES.contains(directory.getFileName().toString()))
+      {
+         return false;
+      }
+      return directoryFilter == null
+               || directoryFilter.accept(resourceFactory.create(DirectoryResource.class, directory.toFile()));
+   }
+
    @Override
    public void cancel()
    {
       fileMonitor.cancel(this);
       listeners.clear();
+      batchListeners.clear();
+      synchronized (this)
+      {
+         if (flushTask != null)
+         {
+            flushTask.cancel(false);
+            flushTask = null;
+         }
+         pendingEvents.clear();
+         pendingOverflow = false;
+      }
+   }
+
+   /**
+    * The type of a pending event
+    */
+   private enum EventType
+   {
+      CREATED, MODIFIED, DELETED;
+
+      /**
+       * Merges this pending event with the given next event on the same path. Returns <code>null</code> if both events
+       * cancel each other out.
+       */
+      EventType merge(EventType next)
+      {
+         switch (this)
+         {
+         case CREATED:
+            return next == DELETED ? null : CREATED;
+         case DELETED:
+            return next == DELETED ? DELETED : MODIFIED;
+         default:
+            return next == DELETED ? DELETED : MODIFIED;
+         }
+      }
+
+      ResourceEvent createEvent(FileResource<?> resource)
+      {
+         switch (this)
+         {
+         case CREATED:
+            return new ResourceCreated(resource);
+         case DELETED:
+            return new ResourceDeleted(resource);
+         default:
+            return new ResourceModified(resource);
+         }
+      }
    }
 }
@@ -101,6 +101,23 @@ public class FileResourceGeneratorTest
       Assert.assertTrue(childResource.exists());
    }
 
+   @Test
+   public void testCreateMissingDirectoryResource() throws Exception
+   {
+      File dir = new File(OperatingSystemUtils.createTempDir(), "missing");
+      dir.getParentFile().deleteOnExit();
+
+      DirectoryResource resource = factory.create(DirectoryResource.class, dir);
+      Assert.assertNotNull(resource);
+      Assert.assertFalse(resource.exists());
+      Assert.assertTrue(factory.create(dir) instanceof FileResource);
+      Assert.assertFalse(factory.create(dir) instanceof DirectoryResource);
+
+      Assert.assertTrue(resource.mkdir());
+      Assert.assertTrue(factory.create(dir) instanceof DirectoryResource);
+      dir.delete();
+   }
+
    @Test
    public void testFileSize() throws Exception
    {
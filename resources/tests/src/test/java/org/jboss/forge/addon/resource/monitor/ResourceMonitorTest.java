@@ -14,8 +14,10 @@ import java.io.File;
 import java.net.URL;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -630,6 +632,111 @@ public class ResourceMonitorTest
       Assert.assertThat(iterator.next(), is(instanceOf(ResourceDeleted.class)));
    }
 
+   @Test
+   public void testResourceMonitorSkipsExcludedDirectories() throws Exception
+   {
+      Assume.assumeFalse("FORGE-1679", OperatingSystemUtils.isWindows());
+      File tempDir = OperatingSystemUtils.createTempDir();
+      DirectoryResource tempDirResource = resourceFactory.create(DirectoryResource.class, tempDir);
+      final DirectoryResource target = tempDirResource.getOrCreateChildDirectory("target");
+      final DirectoryResource generated = tempDirResource.getOrCreateChildDirectory("generated");
+      final DirectoryResource src = tempDirResource.getOrCreateChildDirectory("src");
+      monitor = resourceFactory.monitor(tempDirResource, null, new ResourceFilter()
+      {
+         @Override
+         public boolean accept(Resource<?> resource)
+         {
+            return !"generated".equals(resource.getName());
+         }
+      });
+      final Set<ResourceEvent> eventCollector = new LinkedHashSet<>();
+      monitor.addResourceListener(new ResourceListener()
+      {
+         @Override
+         public void processEvent(ResourceEvent event)
+         {
+            eventCollector.add(event);
+         }
+      });
+
+      waitForMonitor(new Callable<Void>()
+      {
+         @Override
+         public Void call() throws Exception
+         {
+            // NO EVENTS: target is excluded by default, generated by the directory filter
+            target.getChild("Foo.class").reify(FileResource.class).createNewFile();
+            generated.getChild("Foo.java").reify(FileResource.class).createNewFile();
+            // NEW EVENT: ResourceCreated
+            src.getChild("Foo.java").reify(FileResource.class).createNewFile();
+            return null;
+         }
+      }, new Callable<Boolean>()
+      {
+         @Override
+         public Boolean call() throws Exception
+         {
+            return eventCollector.size() == 1;
+         }
+      }, 5, TimeUnit.SECONDS);
+
+      Thread.sleep(500);
+      Assert.assertEquals(1, eventCollector.size());
+      ResourceEvent event = eventCollector.iterator().next();
+      Assert.assertThat(event, is(instanceOf(ResourceCreated.class)));
+      Assert.assertEquals(src.getChild("Foo.java"), event.getResource());
+   }
+
+   @Test
+   public void testResourceMonitorBatchListenerCoalescesEvents() throws Exception
+   {
+      Assume.assumeFalse("FORGE-1679", OperatingSystemUtils.isWindows());
+      File tempDir = OperatingSystemUtils.createTempDir();
+      DirectoryResource tempDirResource = resourceFactory.create(DirectoryResource.class, tempDir);
+      monitor = resourceFactory.monitor(tempDirResource);
+      final List<List<ResourceEvent>> batches = new CopyOnWriteArrayList<>();
+      monitor.addResourceBatchListener(new ResourceBatchListener()
+      {
+         @Override
+         public void processEvents(List<ResourceEvent> events)
+         {
+            batches.add(events);
+         }
+      });
+      final FileResource<?> kept = tempDirResource.getChild("kept.txt").reify(FileResource.class);
+      final FileResource<?> removed = tempDirResource.getChild("removed.txt").reify(FileResource.class);
+
+      waitForMonitor(new Callable<Void>()
+      {
+         @Override
+         public Void call() throws Exception
+         {
+            // Created and modified: a single ResourceCreated
+            kept.createNewFile();
+            kept.setContents("foo");
+            kept.setContents("bar");
+            // Created and deleted: nothing
+            removed.createNewFile();
+            removed.delete();
+            return null;
+         }
+      }, new Callable<Boolean>()
+      {
+         @Override
+         public Boolean call() throws Exception
+         {
+            return batches.size() == 1;
+         }
+      }, 5, TimeUnit.SECONDS);
+
+      List<ResourceEvent> batch = batches.get(0);
+      Assert.assertEquals(1, batch.size());
+      Assert.assertThat(batch.get(0), is(instanceOf(ResourceCreated.class)));
+      Assert.assertEquals(kept, batch.get(0).getResource());
+      Assert.assertTrue(monitor.getCoalescedEventCount() > 0);
+      Assert.assertEquals(1, monitor.getDroppedEventCount());
+   }
+
    private void waitForMonitor(Callable<Void> task, Callable<Boolean> status, int quantity, TimeUnit unit)
             throws TimeoutException
    {
@@ -1,5 +1,10 @@
 package org.jboss.forge.addon.shell.command;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
 import java.util.Collections;
 import java.util.Iterator;
 
@@ -85,13 +90,31 @@ public class CatCommand extends AbstractShellCommand
          }
          else
          {
+            // Stream the contents, so large files are not loaded fully in memory
             if(color.getValue()) {
-               highlighter.byFileName(resource.getName(), resource.getContents(), output.out());
+               try (Reader reader = new InputStreamReader(resource.getResourceInputStream()))
+               {
+                  highlighter.byFileName(resource.getName(), reader, output.out());
+               }
             } else {
-               output.out().println(resource.getContents());
+               try (InputStream stream = resource.getResourceInputStream())
+               {
+                  copy(stream, output.out());
+               }
+               output.out().println();
             }
          }
       }
       return result;
    }
+
+   private void copy(InputStream in, PrintStream out) throws IOException
+   {
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) != -1)
+      {
+         out.write(buffer, 0, read);
+      }
+   }
 }
@@ -6,6 +6,9 @@
  */
 package org.jboss.forge.addon.templates;
 
+import java.io.IOException;
+import java.util.List;
+
 import org.jboss.forge.addon.resource.Resource;
 
 /**
@@ -20,4 +23,10 @@ public interface TemplateFactory
     * Create a {@link TemplateProcessor} for the supplied {@link Resource} and {@link Template} type.
     */
    Template create(Resource<?> template, Class<? extends Template> type);
+
+   /**
+    * Process each of the given models through a single {@link Template} created for the supplied {@link Resource} and
+    * {@link Template} type, and return the results in the same order as the models.
+    */
+   List<String> process(Resource<?> template, Class<? extends Template> type, Iterable<?> models) throws IOException;
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.addon.templates.freemarker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.jboss.forge.addon.resource.FileResource;
+import org.jboss.forge.addon.resource.Resource;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+
+/**
+ * A bounded LRU cache of parsed Freemarker {@link Template} instances, which are safe to be processed concurrently.
+ * <p/>
+ * Entries are keyed by the canonical path of the template {@link Resource} and remember its last modification time, so
+ * a template is parsed again as soon as its file changes.
+ */
+class FreemarkerTemplateCache
+{
+   /**
+    * The default maximum number of cached templates. May be overridden by the
+    * <code>org.jboss.forge.addon.templates.freemarker.cache.maxEntries</code> system property.
+    */
+   static final int DEFAULT_MAX_ENTRIES = 256;
+
+   private final int maxEntries;
+   private final Map<String, CachedTemplate> entries;
+
+   private long hits;
+   private long misses;
+   private long evictions;
+
+   FreemarkerTemplateCache()
+   {
+      this(Integer.getInteger("org.jboss.forge.addon.templates.freemarker.cache.maxEntries", DEFAULT_MAX_ENTRIES));
+   }
+
+   @SuppressWarnings("serial")
+   FreemarkerTemplateCache(int maxEntries)
+   {
+      this.maxEntries = maxEntries;
+      this.entries = new LinkedHashMap<String, CachedTemplate>(16, 0.75f, true)
+      {
+         @Override
+         protected boolean removeEldestEntry(Entry<String, CachedTemplate> eldest)
+         {
+            boolean evict = size() > FreemarkerTemplateCache.this.maxEntries;
+            if (evict)
+            {
+               evictions++;
+            }
+            return evict;
+         }
+      };
+   }
+
+   /**
+    * Returns the parsed {@link Template} for the given {@link Resource}, parsing it if it is not cached or was modified
+    * since it was cached.
+    */
+   Template getTemplate(Resource<?> resource, Configuration config) throws IOException
+   {
+      String path = canonicalPath(resource);
+      long lastModified = lastModified(resource);
+      synchronized (this)
+      {
+         CachedTemplate cached = entries.get(path);
+         if (cached != null && cached.lastModified == lastModified && cached.config == config)
+         {
+            hits++;
+            return cached.template;
+         }
+         misses++;
+      }
+      // Parsed outside the lock, so other templates can be served meanwhile
+      Template template;
+      String encoding = config.getEncoding(config.getLocale());
+      try (Reader reader = new InputStreamReader(resource.getResourceInputStream(), encoding))
+      {
+         // Named after the resource, so relative includes are resolved as before
+         template = new Template(resource.getName(), reader, config, encoding);
+      }
+      synchronized (this)
+      {
+         entries.put(path, new CachedTemplate(template, config, lastModified));
+      }
+      return template;
+   }
+
+   /**
+    * Removes all the entries from this cache
+    */
+   synchronized void clear()
+   {
+      evictions += entries.size();
+      entries.clear();
+   }
+
+   synchronized int size()
+   {
+      return entries.size();
+   }
+
+   int getMaxEntries()
+   {
+      return maxEntries;
+   }
+
+   synchronized long getHitCount()
+   {
+      return hits;
+   }
+
+   synchronized long getMissCount()
+   {
+      return misses;
+   }
+
+   synchronized long getEvictionCount()
+   {
+      return evictions;
+   }
+
+   @Override
+   public synchronized String toString()
+   {
+      return "FreemarkerTemplateCache [size=" + entries.size() + ", maxEntries=" + maxEntries + ", hits=" + hits
+               + ", misses=" + misses + ", evictions=" + evictions + "]";
+   }
+
+   static String canonicalPath(Resource<?> resource)
+   {
+      Object underlying = resource.getUnderlyingResourceObject();
+      if (underlying instanceof File)
+      {
+         File file = (File) underlying;
+         try
+         {
+            return file.getCanonicalPath();
+         }
+         catch (IOException e)
+         {
+            return file.getAbsolutePath();
+         }
+      }
+      return resource.getFullyQualifiedName();
+   }
+
+   static long lastModified(Resource<?> resource)
+   {
+      if (resource instanceof FileResource)
+      {
+         return ((FileResource<?>) resource).getLastModified();
+      }
+      return 0L;
+   }
+
+   private static class CachedTemplate
+   {
+      private final Template template;
+      private final Configuration config;
+      private final long lastModified;
+
+      CachedTemplate(Template template, Configuration config, long lastModified)
+      {
+         this.template = template;
+         this.config = config;
+         this.lastModified = lastModified;
+      }
+   }
+}
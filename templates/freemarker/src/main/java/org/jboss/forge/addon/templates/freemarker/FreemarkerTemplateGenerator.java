@@ -27,6 +27,7 @@ public class FreemarkerTemplateGenerator implements TemplateGenerator
    @Inject
    private ResourceTemplateLoader loader;
    private Configuration config;
+   private final FreemarkerTemplateCache cache = new FreemarkerTemplateCache();
 
    @Override
    public boolean handles(Class<? extends Template> type)
@@ -37,10 +38,10 @@ public class FreemarkerTemplateGenerator implements TemplateGenerator
    @Override
    public Template create(Resource<?> template, Class<? extends Template> type)
    {
-      return new FreemarkerTemplateImpl(loader, template, getConfiguration());
+      return new FreemarkerTemplateImpl(cache, template, getConfiguration());
    }
 
-   private Configuration getConfiguration()
+   private synchronized Configuration getConfiguration()
    {
       if (config == null)
       {
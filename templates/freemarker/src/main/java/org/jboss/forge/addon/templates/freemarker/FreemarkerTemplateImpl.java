@@ -21,12 +21,12 @@ import freemarker.template.TemplateException;
 class FreemarkerTemplateImpl extends AbstractTemplate implements FreemarkerTemplate
 {
    private final freemarker.template.Configuration config;
-   private final ResourceTemplateLoader loader;
+   private final FreemarkerTemplateCache cache;
 
-   public FreemarkerTemplateImpl(ResourceTemplateLoader loader, Resource<?> resource, Configuration config)
+   public FreemarkerTemplateImpl(FreemarkerTemplateCache cache, Resource<?> resource, Configuration config)
    {
       super(resource);
-      this.loader = loader;
+      this.cache = cache;
 
       this.config = config;
    }
@@ -42,10 +42,9 @@ class FreemarkerTemplateImpl extends AbstractTemplate implements FreemarkerTempl
    @Override
    public void process(Object model, Writer output) throws IOException
    {
-      String id = loader.register(this.getResource());
       try
       {
-         freemarker.template.Template templateFile = getFreemarkerConfig().getTemplate(id);
+         freemarker.template.Template templateFile = cache.getTemplate(getResource(), getFreemarkerConfig());
          templateFile.process(model, output);
          output.flush();
       }
@@ -53,10 +52,6 @@ class FreemarkerTemplateImpl extends AbstractTemplate implements FreemarkerTempl
       {
          throw new RuntimeException(e);
       }
-      finally
-      {
-         loader.dispose(id);
-      }
    }
 
    @Override
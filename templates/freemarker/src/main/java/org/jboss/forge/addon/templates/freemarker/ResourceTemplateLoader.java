@@ -10,9 +10,6 @@ package org.jboss.forge.addon.templates.freemarker;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -24,7 +21,8 @@ import org.jboss.forge.addon.resource.ResourceFactory;
 import freemarker.cache.StatefulTemplateLoader;
 
 /**
- * Loader for Resource objects
+ * Loader for Resource objects. Top-level templates are parsed through the {@link FreemarkerTemplateCache}, so this
+ * loader only needs to resolve the templates they include.
  * 
  * @author <a href="ggastald@redhat.com">George Gastaldi</a>
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
@@ -32,49 +30,20 @@ import freemarker.cache.StatefulTemplateLoader;
 @Singleton
 public class ResourceTemplateLoader implements StatefulTemplateLoader
 {
-   private final Map<String, ResourceId> resourceMap = new ConcurrentHashMap<>();
-
    /**
     * Needed for includes
     */
    @Inject
    private ResourceFactory resourceFactory;
 
-   String register(Resource<?> resource)
-   {
-      ResourceId resourceId = generateResourceId(resource);
-      resourceMap.put(resourceId.getId(), resourceId);
-      return resourceId.getId();
-   }
-
-   void dispose(String id)
-   {
-      resourceMap.remove(id);
-   }
-
    @Override
    public Object findTemplateSource(String name) throws IOException
    {
-      ResourceId id = resourceMap.get(name);
-      if (id == null)
+      ResourceId id = null;
+      Resource<?> includedResource = resourceFactory.create(name);
+      if (includedResource != null && includedResource.exists())
       {
-         for (Entry<String, ResourceId> entry : resourceMap.entrySet())
-         {
-            if (name.startsWith(entry.getKey()))
-            {
-               id = entry.getValue();
-               break;
-            }
-         }
-      }
-
-      if (id == null)
-      {
-         Resource<?> includedResource = resourceFactory.create(name);
-         if (includedResource != null && includedResource.exists())
-         {
-            id = generateResourceId(includedResource);
-         }
+         id = generateResourceId(includedResource);
       }
       return id;
    }
@@ -101,14 +70,13 @@ public class ResourceTemplateLoader implements StatefulTemplateLoader
    @Override
    public void closeTemplateSource(Object templateSource) throws IOException
    {
-      ResourceId resourceId = (ResourceId) templateSource;
-      dispose(resourceId.getId());
+      // Nothing to release
    }
 
    @Override
    public void resetState()
    {
-      resourceMap.clear();
+      // Stateless
    }
 
    private ResourceId generateResourceId(Resource<?> resource)
@@ -7,6 +7,11 @@
 
 package org.jboss.forge.addon.templates;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -41,4 +46,23 @@ public class TemplateFactoryImpl implements TemplateFactory
 
       return null;
    }
+
+   @Override
+   public List<String> process(Resource<?> template, Class<? extends Template> type, Iterable<?> models)
+            throws IOException
+   {
+      Assert.notNull(models, "Models cannot be null");
+      Template result = create(template, type);
+      Assert.notNull(result, "No template generator handles templates of type: " + type);
+
+      List<String> outputs = new ArrayList<>();
+      StringWriter writer = new StringWriter();
+      for (Object model : models)
+      {
+         writer.getBuffer().setLength(0);
+         result.process(model, writer);
+         outputs.add(writer.toString());
+      }
+      return outputs;
+   }
 }
@@ -8,12 +8,15 @@ package org.jboss.forge.addon.templates;
 
 import java.io.File;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import javax.inject.Inject;
 
 import org.jboss.arquillian.container.test.api.Deployment;
 import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.addon.resource.DirectoryResource;
 import org.jboss.forge.addon.resource.FileResource;
 import org.jboss.forge.addon.resource.Resource;
 import org.jboss.forge.addon.resource.ResourceFactory;
@@ -22,6 +25,7 @@ import org.jboss.forge.arquillian.AddonDependency;
 import org.jboss.forge.arquillian.Dependencies;
 import org.jboss.forge.arquillian.archive.ForgeArchive;
 import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
+import org.jboss.forge.furnace.util.OperatingSystemUtils;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.junit.Assert;
 import org.junit.Test;
@@ -119,4 +123,33 @@ public class TemplateTestCase
       Assert.assertEquals(expected, actual);
    }
 
-}
\ No newline at end of file
+   @Test
+   @SuppressWarnings("rawtypes")
+   public void testBatchTemplateProcessor() throws Exception
+   {
+      File tempFile = File.createTempFile("template", ".tmp");
+      tempFile.deleteOnExit();
+      FileResource resource = resourceFactory.create(tempFile).reify(FileResource.class);
+      resource.setContents("Hello ${name}!");
+      List<String> actual = templateFactory.process(resource, FreemarkerTemplate.class, Arrays.asList(
+               Collections.singletonMap("name", "JBoss"), Collections.singletonMap("name", "Forge")));
+      Assert.assertEquals(Arrays.asList("Hello JBoss!", "Hello Forge!"), actual);
+   }
+
+   @Test
+   public void testTemplatesWithSameNameDoNotCollide() throws Exception
+   {
+      DirectoryResource root = resourceFactory.create(OperatingSystemUtils.createTempDir()).reify(
+               DirectoryResource.class);
+      FileResource<?> first = root.getChildDirectory("first").getChild("template.ftl").reify(FileResource.class);
+      FileResource<?> second = root.getChildDirectory("second").getChild("template.ftl").reify(FileResource.class);
+      first.setContents("Hello ${name}!");
+      second.setContents("Goodbye ${name}!");
+      Template firstTemplate = templateFactory.create(first, FreemarkerTemplate.class);
+      Template secondTemplate = templateFactory.create(second, FreemarkerTemplate.class);
+      Assert.assertEquals("Hello Forge!", firstTemplate.process(Collections.singletonMap("name", "Forge")));
+      Assert.assertEquals("Goodbye Forge!", secondTemplate.process(Collections.singletonMap("name", "Forge")));
+      root.delete(true);
+   }
+
+}
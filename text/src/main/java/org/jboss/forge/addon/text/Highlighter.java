@@ -1,9 +1,11 @@
 package org.jboss.forge.addon.text;
 
 import java.io.OutputStream;
+import java.io.Reader;
 
 import org.jboss.forge.addon.text.highlight.Encoder;
 import org.jboss.forge.addon.text.highlight.Scanner;
+import org.jboss.forge.addon.text.highlight.StringScanner;
 import org.jboss.forge.addon.text.highlight.Syntax;
 import org.jboss.forge.furnace.Furnace;
 import org.jboss.forge.furnace.container.simple.Service;
@@ -19,6 +21,48 @@ public class Highlighter implements Service
    }
 
    public void byType(String contentType, String content, OutputStream out)
+   {
+      if (content == null)
+      {
+         throw new IllegalArgumentException("content must be specified");
+      }
+      byType(contentType, new StringScanner(content), out);
+   }
+
+   /**
+    * Highlights the content of the given {@link Reader}, streaming the output as the content is read
+    */
+   public void byType(String contentType, Reader content, OutputStream out)
+   {
+      if (content == null)
+      {
+         throw new IllegalArgumentException("content must be specified");
+      }
+      byType(contentType, new StringScanner(content), out);
+   }
+
+   public void byFileName(String fileName, String content, OutputStream out)
+   {
+      if (content == null)
+      {
+         throw new IllegalArgumentException("content must be specified");
+      }
+      byFileName(fileName, new StringScanner(content), out);
+   }
+
+   /**
+    * Highlights the content of the given {@link Reader}, streaming the output as the content is read
+    */
+   public void byFileName(String fileName, Reader content, OutputStream out)
+   {
+      if (content == null)
+      {
+         throw new IllegalArgumentException("content must be specified");
+      }
+      byFileName(fileName, new StringScanner(content), out);
+   }
+
+   private void byType(String contentType, StringScanner content, OutputStream out)
    {
       if (contentType == null)
       {
@@ -41,7 +85,7 @@ public class Highlighter implements Service
       execute(Scanner.Factory.byType(contentType), content, out);
    }
 
-   public void byFileName(String fileName, String content, OutputStream out)
+   private void byFileName(String fileName, StringScanner content, OutputStream out)
    {
       if (fileName == null)
       {
@@ -64,7 +108,7 @@ public class Highlighter implements Service
       execute(Scanner.Factory.byFileName(fileName), content, out);
    }
 
-   private void execute(Scanner scanner, String content, OutputStream out)
+   private void execute(Scanner scanner, StringScanner content, OutputStream out)
    {
       if (scanner == null)
       {
@@ -17,6 +17,12 @@ public interface Encoder
 
    void textToken(String text, TokenType type);
 
+   /**
+    * Emits the characters of the given text between <code>start</code> (inclusive) and <code>end</code> (exclusive) as
+    * a token, without requiring the caller to copy them into a new {@link String}.
+    */
+   void textToken(CharSequence text, int start, int end, TokenType type);
+
    void beginGroup(TokenType type);
 
    void endGroup(TokenType type);
@@ -45,6 +51,27 @@ public interface Encoder
          return this.theme.lookup(type);
       }
 
+      @Override
+      public void textToken(CharSequence text, int start, int end, TokenType type)
+      {
+         textToken(text.subSequence(start, end).toString(), type);
+      }
+
+      /**
+       * Writes any buffered output and flushes the underlying {@link OutputStream}
+       */
+      public void flush()
+      {
+         try
+         {
+            out.flush();
+         }
+         catch (IOException e)
+         {
+            throw new RuntimeException("Could not write to output", e);
+         }
+      }
+
       protected void write(String str)
       {
          try
@@ -58,10 +85,15 @@ public interface Encoder
       }
 
       protected void write(byte[] bytes)
+      {
+         write(bytes, 0, bytes.length);
+      }
+
+      protected void write(byte[] bytes, int offset, int length)
       {
          try
          {
-            out.write(bytes);
+            out.write(bytes, offset, length);
          }
          catch (IOException e)
          {
@@ -1,11 +1,23 @@
 package org.jboss.forge.addon.text.highlight;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Scans a {@link String} or a {@link Reader} using regular expressions.
+ * <p/>
+ * When created from a {@link Reader}, the source is read in chunks as the scanner advances, and the text before the
+ * current line is discarded, so the memory used is bounded by the longest line (or token) instead of the whole source.
+ */
 public class StringScanner
 {
+   /**
+    * The default number of characters read at once from a {@link Reader}
+    */
+   public static final int DEFAULT_CHUNK_SIZE = 8192;
 
    private StringSequence sequence;
 
@@ -14,6 +26,16 @@ public class StringScanner
       this.sequence = new StringSequence(source);
    }
 
+   public StringScanner(Reader source)
+   {
+      this(source, DEFAULT_CHUNK_SIZE);
+   }
+
+   public StringScanner(Reader source, int chunkSize)
+   {
+      this.sequence = new StringSequence(source, chunkSize);
+   }
+
    public MatchResult scan(String pattern)
    {
       return scan(Pattern.compile(pattern));
@@ -21,8 +43,8 @@ public class StringScanner
 
    public MatchResult scan(Pattern pattern)
    {
-      Matcher m = pattern.matcher(sequence);
-      if (m.lookingAt())
+      Matcher m = match(pattern, false);
+      if (m != null)
       {
          MatchResult result = new StaticMatchResult(sequence, m);
          sequence.advance(m.end());
@@ -38,8 +60,8 @@ public class StringScanner
 
    public MatchResult scanUntil(Pattern pattern)
    {
-      Matcher m = pattern.matcher(sequence);
-      if (m.find())
+      Matcher m = match(pattern, true);
+      if (m != null)
       {
          MatchResult result = new UntilStaticMatchResult(sequence, m);
          sequence.advance(m.end());
@@ -55,14 +77,30 @@ public class StringScanner
 
    public MatchResult check(Pattern pattern)
    {
-      Matcher m = pattern.matcher(sequence);
-      if (m.lookingAt())
+      Matcher m = match(pattern, false);
+      if (m != null)
       {
          return new StaticMatchResult(sequence, m);
       }
       return null;
    }
 
+   /**
+    * Matches the given {@link Pattern} at the current position, reading more of the source as long as the result could
+    * change with more input.
+    */
+   private Matcher match(Pattern pattern, boolean find)
+   {
+      Matcher m = pattern.matcher(sequence);
+      boolean found = find ? m.find() : m.lookingAt();
+      while (m.hitEnd() && sequence.fill())
+      {
+         m.reset();
+         found = find ? m.find() : m.lookingAt();
+      }
+      return found ? m : null;
+   }
+
    public String next()
    {
       return sequence.pop();
@@ -109,15 +147,24 @@ public class StringScanner
    private static class StaticMatchResult implements MatchResult
    {
 
-      protected StringSequence sequence;
+      protected CharSequence text;
       protected int previousIndex;
       protected MatchResult originalMatch;
 
       public StaticMatchResult(StringSequence sequence, MatchResult result)
       {
          this.originalMatch = result;
-         this.sequence = sequence;
-         this.previousIndex = sequence.index();
+         if (sequence.isStreaming())
+         {
+            // The sequence may discard the matched text once it reads more input
+            this.text = sequence.subSequence(0, result.end()).toString();
+            this.previousIndex = 0;
+         }
+         else
+         {
+            this.text = sequence.source;
+            this.previousIndex = sequence.index();
+         }
       }
 
       @Override
@@ -159,7 +206,7 @@ public class StringScanner
             return null;
          }
          int end = originalMatch.end();
-         return (String) sequence.subSequence(previousIndex, start, end);
+         return text.subSequence(previousIndex + start, previousIndex + end).toString();
       }
 
       @Override
@@ -171,7 +218,7 @@ public class StringScanner
             return null;
          }
          int end = originalMatch.end(group);
-         return (String) sequence.subSequence(previousIndex, start, end);
+         return text.subSequence(previousIndex + start, previousIndex + end).toString();
       }
 
       @Override
@@ -212,7 +259,7 @@ public class StringScanner
       {
          int start = 0;
          int end = originalMatch.end();
-         return (String) sequence.subSequence(previousIndex, start, end);
+         return text.subSequence(previousIndex + start, previousIndex + end).toString();
       }
 
       @Override
@@ -228,13 +275,22 @@ public class StringScanner
             start = 0;
          }
          int end = originalMatch.end(group);
-         return (String) sequence.subSequence(previousIndex, start, end);
+         return text.subSequence(previousIndex + start, previousIndex + end).toString();
       }
    }
 
    private static class StringSequence implements CharSequence
    {
-      private String source;
+      private CharSequence source;
+
+      private Reader reader;
+
+      private int chunkSize;
+
+      /**
+       * The position in the whole source of the first character of the buffered source
+       */
+      private int offset;
 
       private int index;
 
@@ -244,31 +300,42 @@ public class StringScanner
          this.index = 0;
       }
 
+      public StringSequence(Reader reader, int chunkSize)
+      {
+         if (chunkSize <= 0)
+         {
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+         }
+         this.source = new StringBuilder();
+         this.reader = reader;
+         this.chunkSize = chunkSize;
+         this.index = 0;
+      }
+
       @Override
       public int length()
       {
-         return source.length() - index;
+         return source.length() - (index - offset);
       }
 
       @Override
       public char charAt(int index)
       {
-         return source.charAt(this.index + index);
+         return source.charAt(this.index - offset + index);
       }
 
       @Override
       public CharSequence subSequence(int start, int end)
       {
-         return source.subSequence(this.index + start, this.index + end);
-      }
-
-      public CharSequence subSequence(int index, int start, int end)
-      {
-         return source.subSequence(index + start, index + end);
+         return source.subSequence(this.index - offset + start, this.index - offset + end);
       }
 
       public String peek(int length)
       {
+         while (length() < length && fill())
+         {
+            // read until there are enough characters
+         }
          return peek(index, length);
       }
 
@@ -276,14 +343,18 @@ public class StringScanner
       {
          if(length < 0)
          {
-            return source.substring(pos+length, pos);
+            return source.subSequence(pos - offset + length, pos - offset).toString();
          }
-         return source.substring(pos, pos + length);
+         return source.subSequence(pos - offset, pos - offset + length).toString();
       }
 
       public String pop()
       {
-         return String.valueOf(source.charAt(this.index++));
+         if (length() == 0)
+         {
+            fill();
+         }
+         return String.valueOf(source.charAt(this.index++ - offset));
       }
 
       public int index()
@@ -298,7 +369,50 @@ public class StringScanner
 
       public boolean hasMore()
       {
-         return this.index < source.length();
+         return length() > 0 || fill();
+      }
+
+      public boolean isStreaming()
+      {
+         return source instanceof StringBuilder;
+      }
+
+      /**
+       * Reads the next chunk of the source, discarding the characters before the current line.
+       *
+       * @return <code>true</code> if more characters were read
+       */
+      public boolean fill()
+      {
+         if (reader == null)
+         {
+            return false;
+         }
+         StringBuilder buffer = (StringBuilder) source;
+         int lineStart = buffer.lastIndexOf("\n", index - offset - 1);
+         if (lineStart > 0)
+         {
+            // Keep the line break so the beginning of the current line can still be detected
+            buffer.delete(0, lineStart);
+            offset += lineStart;
+         }
+         // Grow the reads along with the buffer so very long lines are still read in linear time
+         char[] chunk = new char[Math.max(chunkSize, buffer.length())];
+         try
+         {
+            int read = reader.read(chunk);
+            if (read == -1)
+            {
+               reader = null;
+               return false;
+            }
+            buffer.append(chunk, 0, read);
+            return true;
+         }
+         catch (IOException e)
+         {
+            throw new RuntimeException("Could not read from source", e);
+         }
       }
    }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Reader;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Map;
@@ -125,6 +126,14 @@ public class Syntax
          execute(new StringScanner(source));
       }
 
+      /**
+       * Highlights the given {@link Reader}, reading it in chunks instead of loading it fully in memory
+       */
+      public void execute(Reader source)
+      {
+         execute(new StringScanner(source));
+      }
+
       public void execute(StringScanner source)
       {
          if (output == null && encoder == null)
@@ -152,6 +161,10 @@ public class Syntax
                      : encoderOptions);
          }
          in.scan(source, out, scannerOptions == null ? Options.create() : scannerOptions);
+         if (out instanceof Encoder.AbstractEncoder)
+         {
+            ((Encoder.AbstractEncoder) out).flush();
+         }
       }
    }
 
@@ -2,32 +2,72 @@ package org.jboss.forge.addon.text.highlight.encoder;
 
 import java.awt.Color;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
 import java.util.Map;
 
 import org.jboss.forge.addon.text.highlight.Encoder;
 import org.jboss.forge.addon.text.highlight.Theme;
 import org.jboss.forge.addon.text.highlight.TokenType;
 
+/**
+ * Writes the tokens to a terminal, using ANSI escape sequences for the colors of the {@link Theme}.
+ * <p/>
+ * The escape sequence of every {@link TokenType} is computed once, and the output is buffered and encoded in bulk, so
+ * no objects are allocated per token. Call {@link #flush()} once all the tokens are written.
+ */
 public class TerminalEncoder extends Encoder.AbstractEncoder implements Encoder
 {
+   private static final int BUFFER_SIZE = 8192;
+
+   private final String[] colors = new String[TokenType.values().length];
+
+   private final CharsetEncoder charsetEncoder = Charset.defaultCharset().newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+   private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE * 2);
+   private char[] chars = new char[BUFFER_SIZE];
+   private CharBuffer charBuffer = CharBuffer.wrap(chars);
+   private int length;
 
    public TerminalEncoder(OutputStream out, Theme theme, Map<String, Object> options)
    {
       super(out, theme, options);
-      write(TerminalString.RESET); // reset terminal colors
+      for (TokenType type : TokenType.values())
+      {
+         Color color = color(type);
+         if (color != null)
+         {
+            colors[type.ordinal()] = TerminalString.START_COLOR + TerminalString.from(color) + TerminalString.END;
+         }
+      }
+      append(TerminalString.RESET); // reset terminal colors
    }
 
    @Override
    public void textToken(String text, TokenType type)
    {
-      Color color = color(type);
+      textToken(text, 0, text.length(), type);
+   }
+
+   @Override
+   public void textToken(CharSequence text, int start, int end, TokenType type)
+   {
+      String color = colors[type.ordinal()];
       if (color != null)
       {
-         write(TerminalString.of(color, text));
+         append(color);
+         append(text, start, end);
+         append(TerminalString.RESET);
       }
       else
       {
-         write(text);
+         append(text, start, end);
       }
    }
 
@@ -51,6 +91,85 @@ public class TerminalEncoder extends Encoder.AbstractEncoder implements Encoder
    {
    }
 
+   @Override
+   public void flush()
+   {
+      drain(true);
+      super.flush();
+   }
+
+   private void append(String text)
+   {
+      append(text, 0, text.length());
+   }
+
+   private void append(CharSequence text, int start, int end)
+   {
+      int count = end - start;
+      if (length + count > chars.length)
+      {
+         drain(false);
+         if (length + count > chars.length)
+         {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + count));
+            charBuffer = CharBuffer.wrap(chars);
+         }
+      }
+      if (text instanceof String)
+      {
+         ((String) text).getChars(start, end, chars, length);
+      }
+      else if (text instanceof StringBuilder)
+      {
+         ((StringBuilder) text).getChars(start, end, chars, length);
+      }
+      else
+      {
+         for (int i = start; i < end; i++)
+         {
+            chars[length + i - start] = text.charAt(i);
+         }
+      }
+      length += count;
+   }
+
+   /**
+    * Encodes the buffered characters and writes them to the output
+    */
+   private void drain(boolean endOfInput)
+   {
+      charBuffer.limit(length).position(0);
+      CoderResult result;
+      do
+      {
+         result = charsetEncoder.encode(charBuffer, bytes, endOfInput);
+         if (result.isOverflow())
+         {
+            writeBytes();
+         }
+      }
+      while (result.isOverflow());
+      if (endOfInput)
+      {
+         while (charsetEncoder.flush(bytes).isOverflow())
+         {
+            writeBytes();
+         }
+         charsetEncoder.reset();
+      }
+      writeBytes();
+      // Keep what could not be encoded yet (eg. the first half of a surrogate pair)
+      int remaining = charBuffer.remaining();
+      System.arraycopy(chars, charBuffer.position(), chars, 0, remaining);
+      length = remaining;
+   }
+
+   private void writeBytes()
+   {
+      write(bytes.array(), 0, bytes.position());
+      bytes.clear();
+   }
+
    public static class TerminalString
    {
 
@@ -88,4 +207,4 @@ public class TerminalEncoder extends Encoder.AbstractEncoder implements Encoder
          return Math.round(color / (255/5));
       }
    }
-}
\ No newline at end of file
+}
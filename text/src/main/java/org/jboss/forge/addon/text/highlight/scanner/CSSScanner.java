@@ -149,36 +149,38 @@ public class CSSScanner implements Scanner
          }
          else if ((m = source.scan(STRING)) != null)
          {
+            String string = m.group();
             encoder.beginGroup(TokenType.string);
-            encoder.textToken(m.group().substring(0, 1), TokenType.delimiter);
-            if (m.group().length() > 2)
+            encoder.textToken(string, 0, 1, TokenType.delimiter);
+            if (string.length() > 2)
             {
-               encoder.textToken(m.group().substring(1, m.group().length() - 1), TokenType.content);
+               encoder.textToken(string, 1, string.length() - 1, TokenType.content);
             }
-            if (m.group().length() >= 2)
+            if (string.length() >= 2)
             {
-               encoder.textToken(m.group().substring(m.group().length() - 1), TokenType.delimiter);
+               encoder.textToken(string, string.length() - 1, string.length(), TokenType.delimiter);
             }
             encoder.endGroup(TokenType.string);
          }
          else if ((m = source.scan(FUNCTION)) != null)
          {
+            String function = m.group();
             encoder.beginGroup(TokenType.function);
-            Matcher functionMatcher = FUNCTION_NAME.matcher(m.group());
+            Matcher functionMatcher = FUNCTION_NAME.matcher(function);
             functionMatcher.lookingAt();
-            String start = functionMatcher.group();
-            encoder.textToken(start, TokenType.delimiter);
-            if (PARENTHESES_END.matcher(m.group().substring(m.group().length() - 1)).matches())
+            int start = functionMatcher.end();
+            encoder.textToken(function, 0, start, TokenType.delimiter);
+            if (PARENTHESES_END.matcher(function).region(function.length() - 1, function.length()).matches())
             {
-               if (m.group().length() > start.length() + 1)
+               if (function.length() > start + 1)
                {
-                  encoder.textToken(m.group().substring(start.length(), m.group().length() - 1), TokenType.content);
+                  encoder.textToken(function, start, function.length() - 1, TokenType.content);
                   encoder.textToken(")", TokenType.delimiter);
                }
             }
-            else if (m.group().length() > start.length())
+            else if (function.length() > start)
             {
-               encoder.textToken(m.group().substring(start.length(), m.group().length() - 1), TokenType.content);
+               encoder.textToken(function, start, function.length() - 1, TokenType.content);
             }
             encoder.endGroup(TokenType.function);
          }
@@ -251,14 +253,15 @@ public class CSSScanner implements Scanner
          }
          else if ((m = source.scan(ATTRIBUTE_SELECTOR)) != null)
          {
-            encoder.textToken(m.group().substring(0, 1), TokenType.operator);
-            if (m.group().length() > 2)
+            String selector = m.group();
+            encoder.textToken(selector, 0, 1, TokenType.operator);
+            if (selector.length() > 2)
             {
-               encoder.textToken(m.group().substring(1, m.group().length() - 1), TokenType.attribute_name);
+               encoder.textToken(selector, 1, selector.length() - 1, TokenType.attribute_name);
             }
-            if (SQUARE_END.matcher(m.group().substring(m.group().length() - 1)).matches())
+            if (SQUARE_END.matcher(selector).region(selector.length() - 1, selector.length()).matches())
             {
-               encoder.textToken(m.group().substring(m.group().length() - 1), TokenType.operator);
+               encoder.textToken(selector, selector.length() - 1, selector.length(), TokenType.operator);
             }
             return true;
          }
@@ -72,7 +72,7 @@ public class GroovyScanner implements Scanner
    private static final Pattern CONTENT = Pattern.compile(" \\\\ (?: " + ESCAPE.pattern() + " | " + UNICODE_ESCAPE.pattern() + " ) ", Pattern.DOTALL|Pattern.COMMENTS);
 
    private static final Pattern REGEXP_CONTENT = Pattern.compile(" \\\\ (?: " + REGEXP_ESCAPE.pattern() + " | " + UNICODE_ESCAPE.pattern() + " ) ", Pattern.DOTALL|Pattern.COMMENTS);
-   private static final Pattern INLINE_IDENT = Pattern.compile("\\$ " + JavaScanner.IDENT.pattern() +" ", Pattern.DOTALL|Pattern.COMMENTS);
+   private static final Pattern INLINE_IDENT = Pattern.compile("\\$ (" + JavaScanner.IDENT.pattern() +") ", Pattern.DOTALL|Pattern.COMMENTS);
    private static final Pattern INLINE_DELIMITER = Pattern.compile(" \\$ \\{ ", Pattern.COMMENTS);
    private static final Pattern CONTENT_2 = Pattern.compile(" \\$ ", Pattern.DOTALL|Pattern.COMMENTS);
    private static final Pattern CONTENT_3 = Pattern.compile("\\\\. ", Pattern.DOTALL|Pattern.COMMENTS);
@@ -337,7 +337,7 @@ public class GroovyScanner implements Scanner
             {
                encoder.beginGroup(TokenType.inline);
                encoder.textToken("$", TokenType.inline_delimiter);
-               String ident = m.group().substring(1);
+               String ident = m.group(1);
                encoder.textToken(ident, IDENT_KIND.lookup(ident));
                encoder.endGroup(TokenType.inline);
             }
@@ -57,6 +57,8 @@ public class HTMLScanner implements Scanner
    public static final Pattern AMP = Pattern.compile("&");
    public static final Pattern END = Pattern.compile("[\\n>]");
    public static final Pattern SPECIAL_SPACE = Pattern.compile("[ \\t]*\\n");
+   private static final Pattern SINGLE_QUOTED_CODE_END = Pattern.compile("(?='|\\z)");
+   private static final Pattern DOUBLE_QUOTED_CODE_END = Pattern.compile("(?=\"|\\z)");
    public static final Pattern SPECIAL_COMMENT = Pattern.compile("(\\s*<!--)(?:(.*?)(-->)|(.*))", Pattern.DOTALL);
 
    public static final Map<String, Pattern> PLAIN_STRING_CONTENT = new HashMap<String, Pattern>();
@@ -120,7 +122,8 @@ public class HTMLScanner implements Scanner
                   encoder.textToken(m.group(), TokenType.inline_delimiter);
                   if ((m = source.scan(CDATA_END)) != null)
                   {
-                     encoder.textToken(m.group().substring(0, m.group().length() - 3), TokenType.plain);
+                     String cdata = m.group();
+                     encoder.textToken(cdata, 0, cdata.length() - 3, TokenType.plain);
                      encoder.textToken("]]>", TokenType.inline_delimiter);
                   }
                   else if ((m = source.scan(CDATA_ERROR)) != null)
@@ -243,7 +246,8 @@ public class HTMLScanner implements Scanner
                      {
                         encoder.textToken(m.group(), TokenType.comment);
                      }
-                     String code = source.scanUntil(Pattern.compile("(?=" + groupStart + "|\\z)")).group();
+                     String code = source.scanUntil("'".equals(groupStart) ? SINGLE_QUOTED_CODE_END
+                              : DOUBLE_QUOTED_CODE_END).group();
                      if (EmbeddedType.script == in_attribute)
                      {
                         Syntax.Builder.create()
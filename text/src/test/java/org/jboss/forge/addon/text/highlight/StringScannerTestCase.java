@@ -1,5 +1,6 @@
 package org.jboss.forge.addon.text.highlight;
 
+import java.io.StringReader;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -52,6 +53,23 @@ public class StringScannerTestCase
       Assert.assertFalse(scan.hasMore());
    }
 
+   @Test
+   public void shouldScanReaderAcrossChunks() throws Exception
+   {
+      String test = "abcde\nfghij";
+
+      StringScanner scan = new StringScanner(new StringReader(test), 2);
+      Assert.assertTrue(scan.hasMore());
+      Assert.assertEquals("abc", scan.peek(3));
+      Assert.assertEquals("abcde", scan.scan("[a-z]+").group());
+      Assert.assertEquals("\nfgh", scan.scanUntil("h").group());
+      Assert.assertFalse(scan.isBeginningOfLine());
+      Assert.assertEquals(4, scan.column(scan.index()));
+      Assert.assertNull(scan.check("ij[a-z]"));
+      Assert.assertEquals("ij", scan.scan("[a-z]+").group());
+      Assert.assertFalse(scan.hasMore());
+   }
+
    @Test
    @Ignore
    public void should2() throws Exception
@@ -0,0 +1,151 @@
+package org.jboss.forge.addon.text.highlight.benchmark;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.forge.addon.text.highlight.Encoder;
+import org.jboss.forge.addon.text.highlight.Scanner;
+import org.jboss.forge.addon.text.highlight.Syntax;
+import org.jboss.forge.addon.text.highlight.TokenType;
+import org.jboss.forge.addon.text.highlight.encoder.NullEncoder;
+import org.jboss.forge.addon.text.highlight.encoder.NullOutputStream;
+import org.jboss.forge.furnace.util.Streams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput and the allocations of the {@link Encoder.Type#TERMINAL} highlighting of one of the test
+ * examples for each {@link Syntax} type that has one.
+ * <p/>
+ * Run the {@link #main(String[])} method from the test classpath to get a report in MB/s and bytes allocated per token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HighlightBenchmark
+{
+   private static final Charset CHARSET = Charset.forName("UTF-8");
+
+   private static final Map<String, String> EXAMPLES = new HashMap<String, String>();
+   static
+   {
+      EXAMPLES.put("plain", "java/jruby.in.java");
+      EXAMPLES.put("java", "java/jruby.in.java");
+      EXAMPLES.put("groovy", "groovy/pleac.in.groovy");
+      EXAMPLES.put("html", "html/coderay-output.in.html");
+      EXAMPLES.put("xml", "xml/kate.in.xml");
+      EXAMPLES.put("css", "css/yui.in.css");
+      EXAMPLES.put("javascript", "javascript/prototype.in.js");
+      EXAMPLES.put("json", "json/big.in.json");
+      EXAMPLES.put("sql", "sql/reference.in.sql");
+      EXAMPLES.put("yaml", "yaml/database.in.yml");
+   }
+
+   @Param({ "plain", "java", "groovy", "html", "xml", "css", "javascript", "json", "sql", "yaml" })
+   public String type;
+
+   private String content;
+   private Scanner scanner;
+   private NullOutputStream out;
+
+   @Setup
+   public void setup() throws Exception
+   {
+      Syntax.builtIns();
+      content = fetch(type);
+      scanner = Scanner.Factory.byType(type);
+      out = NullOutputStream.INSTANCE;
+   }
+
+   @Benchmark
+   public void highlight()
+   {
+      Syntax.Builder.create()
+               .scanner(scanner)
+               .encoderType(Encoder.Type.TERMINAL)
+               .output(out)
+               .execute(content);
+   }
+
+   public static void main(String[] args) throws Exception
+   {
+      Syntax.builtIns();
+      Collection<RunResult> results = new Runner(new OptionsBuilder()
+               .include(HighlightBenchmark.class.getName())
+               .addProfiler(GCProfiler.class)
+               .build()).run();
+
+      System.out.println();
+      System.out.println(String.format("%-12s %12s %12s %16s", "Type", "Tokens", "MB/s", "Bytes/token"));
+      for (RunResult result : results)
+      {
+         String type = result.getParams().getParam("type");
+         String content = fetch(type);
+         long tokens = countTokens(type, content);
+         double opsPerSecond = result.getPrimaryResult().getScore();
+         double megabytesPerSecond = opsPerSecond * content.getBytes(CHARSET).length / (1024 * 1024);
+         double bytesPerToken = Double.NaN;
+         for (Entry<String, Result> secondary : result.getSecondaryResults().entrySet())
+         {
+            if (secondary.getKey().endsWith("gc.alloc.rate.norm"))
+            {
+               bytesPerToken = secondary.getValue().getScore() / tokens;
+            }
+         }
+         System.out.println(String.format("%-12s %12d %12.2f %16.2f", type, tokens, megabytesPerSecond,
+                  bytesPerToken));
+      }
+   }
+
+   private static String fetch(String type) throws Exception
+   {
+      InputStream is = HighlightBenchmark.class.getClassLoader().getResourceAsStream(
+               "examples/" + EXAMPLES.get(type));
+      return Streams.toString(is, CHARSET);
+   }
+
+   private static long countTokens(String type, String content)
+   {
+      final long[] count = new long[1];
+      Syntax.Builder.create()
+               .scanner(Scanner.Factory.byType(type))
+               .encoder(new NullEncoder()
+               {
+                  @Override
+                  public void textToken(String text, TokenType type)
+                  {
+                     count[0]++;
+                  }
+
+                  @Override
+                  public void textToken(CharSequence text, int start, int end, TokenType type)
+                  {
+                     count[0]++;
+                  }
+               })
+               .execute(content);
+      return count[0];
+   }
+}
@@ -11,6 +11,11 @@ public class NullEncoder implements Encoder
    {
    }
 
+   @Override
+   public void textToken(CharSequence text, int start, int end, TokenType type)
+   {
+   }
+
    @Override
    public void beginGroup(TokenType type)
    {
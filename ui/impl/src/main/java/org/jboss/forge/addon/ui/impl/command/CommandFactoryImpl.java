@@ -8,7 +8,9 @@ package org.jboss.forge.addon.ui.impl.command;
 
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -16,14 +18,17 @@ import java.util.logging.Logger;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.jboss.forge.addon.ui.UIProvider;
 import org.jboss.forge.addon.ui.command.CommandFactory;
 import org.jboss.forge.addon.ui.command.CommandProvider;
 import org.jboss.forge.addon.ui.command.UICommand;
 import org.jboss.forge.addon.ui.context.UIContext;
+import org.jboss.forge.addon.ui.impl.annotation.AnnotationCommandAdapter;
 import org.jboss.forge.addon.ui.metadata.UICommandMetadata;
 import org.jboss.forge.addon.ui.util.Commands;
 import org.jboss.forge.addon.ui.wizard.UIWizardStep;
 import org.jboss.forge.furnace.addons.AddonRegistry;
+import org.jboss.forge.furnace.proxy.Proxies;
 import org.jboss.forge.furnace.services.Imported;
 
 /**
@@ -40,6 +45,9 @@ public class CommandFactoryImpl implements CommandFactory
 
    private static final Logger log = Logger.getLogger(CommandFactoryImpl.class.getName());
 
+   private volatile CommandIndex shellIndex;
+   private volatile CommandIndex guiIndex;
+
    @Override
    public Iterable<UICommand> getCommands()
    {
@@ -76,14 +84,18 @@ public class CommandFactoryImpl implements CommandFactory
    public Set<String> getEnabledCommandNames(UIContext context)
    {
       Set<String> commands = new TreeSet<>();
-      Iterable<UICommand> allCommands = getCommands();
-      for (UICommand cmd : allCommands)
+      // Commands hold state, so isEnabled is evaluated on new instances rather than on the indexed ones
+      for (UICommand cmd : getCommands())
       {
          try
          {
             if (Commands.isEnabled(cmd, context))
             {
-               commands.add(getCommandName(context, cmd));
+               String name = getCommandName(context, cmd);
+               if (name != null)
+               {
+                  commands.add(name);
+               }
             }
          }
          catch (Exception e)
@@ -117,30 +129,120 @@ public class CommandFactoryImpl implements CommandFactory
    @Override
    public Set<String> getCommandNames(UIContext context)
    {
-      Set<String> commands = new TreeSet<>();
+      return new TreeSet<>(getIndex(context).keySet());
+   }
+
+   @Override
+   public UICommand getCommandByName(UIContext context, String name)
+   {
+      IndexedCommand indexed = getIndex(context).get(name);
+      if (indexed == null)
+      {
+         return null;
+      }
+      if (indexed.exported)
+      {
+         Imported<UICommand> service = registry.getServices(indexed.typeName);
+         if (!service.isUnsatisfied() && !service.isAmbiguous())
+         {
+            return service.get();
+         }
+      }
+      // Not available as a single service (eg. annotated commands), look it up among all commands
       for (UICommand cmd : getCommands())
       {
-         String commandName = getCommandName(context, cmd);
-         if (commandName != null)
+         if (name.equals(getCommandName(context, cmd)))
          {
-            commands.add(commandName);
+            return cmd;
          }
       }
-      return commands;
+      return null;
    }
 
-   @Override
-   public UICommand getCommandByName(UIContext context, String name)
+   /**
+    * Returns the commands indexed by name for the given {@link UIContext}. Command names are computed from the command
+    * metadata, and shellified unless the {@link UIProvider} is a GUI, so one index is kept for GUI and one for non-GUI
+    * providers, and rebuilt whenever the {@link AddonRegistry} changes. Contexts without a provider cannot tell which
+    * names apply, so their index is never cached.
+    */
+   private Map<String, IndexedCommand> getIndex(UIContext context)
+   {
+      UIProvider provider = getProvider(context);
+      if (provider == null)
+      {
+         return buildIndex(context, registry.getVersion()).commands;
+      }
+      boolean gui = provider.isGUI();
+      long version = registry.getVersion();
+      CommandIndex index = gui ? guiIndex : shellIndex;
+      if (index == null || index.version != version)
+      {
+         synchronized (this)
+         {
+            index = gui ? guiIndex : shellIndex;
+            if (index == null || index.version != version)
+            {
+               index = buildIndex(context, version);
+               if (gui)
+                  guiIndex = index;
+               else
+                  shellIndex = index;
+            }
+         }
+      }
+      return index.commands;
+   }
+
+   private CommandIndex buildIndex(UIContext context, long version)
    {
+      CommandIndex index = new CommandIndex(version);
       for (UICommand cmd : getCommands())
       {
-         String commandName = getCommandName(context, cmd);
-         if (name.equals(commandName))
+         String name = getCommandName(context, cmd);
+         if (name != null && !index.commands.containsKey(name))
          {
-            return cmd;
+            index.commands.put(name, new IndexedCommand(cmd));
          }
       }
-      return null;
+      return index;
+   }
+
+   private static UIProvider getProvider(UIContext context)
+   {
+      try
+      {
+         return context.getProvider();
+      }
+      catch (UnsupportedOperationException e)
+      {
+         return null;
+      }
+   }
+
+   private static class CommandIndex
+   {
+      private final long version;
+      private final Map<String, IndexedCommand> commands = new TreeMap<>();
+
+      CommandIndex(long version)
+      {
+         this.version = version;
+      }
+   }
+
+   /**
+    * Describes how to look up a new instance of an indexed command, since commands hold state and are never shared
+    */
+   private static class IndexedCommand
+   {
+      private final String typeName;
+      private final boolean exported;
+
+      IndexedCommand(UICommand command)
+      {
+         this.typeName = Proxies.unwrapProxyClassName(command.getClass());
+         this.exported = !(Proxies.unwrap(command) instanceof AnnotationCommandAdapter);
+      }
    }
 
    /**
@@ -9,13 +9,17 @@ package org.jboss.forge.addon.ui.impl.controller;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,6 +41,7 @@ import org.jboss.forge.addon.ui.result.NavigationResult;
 import org.jboss.forge.addon.ui.result.NavigationResultEntry;
 import org.jboss.forge.addon.ui.result.Result;
 import org.jboss.forge.addon.ui.result.Results;
+import org.jboss.forge.addon.ui.util.InputComponents;
 import org.jboss.forge.addon.ui.wizard.UIWizard;
 import org.jboss.forge.addon.ui.wizard.WizardExecutionListener;
 import org.jboss.forge.furnace.addons.AddonRegistry;
@@ -78,10 +83,14 @@ class WizardCommandControllerImpl extends AbstractCommandController implements W
    }
 
    /**
-    * Refreshes the current flow so it's possible to eagerly fetch all the steps
+    * Refreshes the current flow so it's possible to eagerly fetch all the steps.
+    * <p/>
+    * Steps whose inputs (and the inputs of all the steps before them) did not change since they last moved to the next
+    * step are only validated again: the flow is only walked from the first changed or invalid step onwards.
     */
    private void refreshFlow()
    {
+      long start = System.nanoTime();
       try
       {
          initialize();
@@ -93,19 +102,61 @@ class WizardCommandControllerImpl extends AbstractCommandController implements W
       }
       int currentFlowPointer = this.flowPointer;
       this.flowPointer = 0;
-      while (canMoveToNextStep())
+      // Skip the steps that are up to date and still valid
+      while (flowPointer < flow.size() - 1 && getCurrentEntry().isUpToDate() && isValid())
       {
+         flowPointer++;
+      }
+      int firstEvaluated = flowPointer;
+      while (true)
+      {
+         WizardStepEntry entry = getCurrentEntry();
+         long stepStart = System.nanoTime();
          try
          {
-            next().initialize();
+            if (!canMoveToNextStep())
+            {
+               break;
+            }
+            try
+            {
+               next().initialize();
+            }
+            catch (Exception e)
+            {
+               break;
+            }
          }
-         catch (Exception e)
+         finally
          {
-            break;
+            entry.elapsedTime += System.nanoTime() - stepStart;
          }
       }
       cleanSubsequentStalePages();
+      int lastEvaluated = this.flowPointer;
       this.flowPointer = currentFlowPointer;
+      if (logger.isLoggable(Level.FINE))
+      {
+         logger.fine("Wizard flow refreshed in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                  + "ms. Evaluated steps " + firstEvaluated + " to " + lastEvaluated + " of " + flow.size() + ": "
+                  + getStepTimings());
+      }
+   }
+
+   /**
+    * Returns the cumulative time (in nanoseconds) spent evaluating each step of the current flow while refreshing it,
+    * in flow order
+    */
+   private Map<String, Long> getStepTimings()
+   {
+      Map<String, Long> timings = new LinkedHashMap<>();
+      for (WizardStepEntry entry : flow)
+      {
+         String name = entry.controller.getMetadata().getName();
+         Long previous = timings.get(name);
+         timings.put(name, previous == null ? entry.elapsedTime : previous + entry.elapsedTime);
+      }
+      return timings;
    }
 
    @Override
@@ -332,6 +383,7 @@ class WizardCommandControllerImpl extends AbstractCommandController implements W
       WizardStepEntry currentEntry = getCurrentEntry();
       WizardStepEntry nextEntry = getNextEntry();
       NavigationResultEntry[] result = getNextFrom(currentEntry.controller.getCommand());
+      Map<String, Object> inputValues = currentEntry.snapshotInputValues();
       if (nextEntry == null)
       {
          currentEntry.next = result;
@@ -381,6 +433,15 @@ class WizardCommandControllerImpl extends AbstractCommandController implements W
             }
          }
       }
+      if (!inputValues.equals(currentEntry.inputValues))
+      {
+         // The next steps may depend on the inputs of this one, so they are no longer up to date
+         for (int i = flowPointer + 1; i < flow.size(); i++)
+         {
+            flow.get(i).inputValues = null;
+         }
+      }
+      currentEntry.inputValues = inputValues;
       flowPointer++;
       return this;
    }
@@ -538,6 +599,10 @@ class WizardCommandControllerImpl extends AbstractCommandController implements W
       NavigationResultEntry[] next;
       // If this entry starts a subflow
       final boolean subflowHead;
+      // The input values when this entry last moved to the next step
+      Map<String, Object> inputValues;
+      // The time spent evaluating this entry while refreshing the flow
+      long elapsedTime;
 
       public WizardStepEntry(CommandController controller, boolean subflowHead)
       {
@@ -545,6 +610,35 @@ class WizardCommandControllerImpl extends AbstractCommandController implements W
          this.subflowHead = subflowHead;
       }
 
+      /**
+       * Returns <code>true</code> if the inputs of this entry did not change since it last moved to the next step
+       */
+      boolean isUpToDate()
+      {
+         return inputValues != null && inputValues.equals(snapshotInputValues());
+      }
+
+      Map<String, Object> snapshotInputValues()
+      {
+         Map<String, Object> values = new HashMap<>();
+         for (Entry<String, InputComponent<?, ?>> input : controller.getInputs().entrySet())
+         {
+            Object value = InputComponents.getValueFor(input.getValue());
+            if (value instanceof Iterable)
+            {
+               // Compare the elements, not the (possibly new) Iterable instance
+               List<Object> elements = new ArrayList<>();
+               for (Object element : (Iterable<?>) value)
+               {
+                  elements.add(element);
+               }
+               value = elements;
+            }
+            values.put(input.getKey(), value);
+         }
+         return values;
+      }
+
       @Override
       public int hashCode()
       {
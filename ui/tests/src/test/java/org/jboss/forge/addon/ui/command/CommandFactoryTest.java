@@ -11,6 +11,8 @@ import javax.inject.Inject;
 
 import org.jboss.arquillian.container.test.api.Deployment;
 import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.addon.ui.UIProvider;
+import org.jboss.forge.addon.ui.context.UIContext;
 import org.jboss.forge.addon.ui.controller.CommandController;
 import org.jboss.forge.addon.ui.controller.mock.ExampleCommand;
 import org.jboss.forge.addon.ui.controller.mock.ExampleNoUICommand;
@@ -19,6 +21,7 @@ import org.jboss.forge.addon.ui.example.commands.ExampleAnnotatedCommand;
 import org.jboss.forge.addon.ui.impl.mock.MockUIContext;
 import org.jboss.forge.addon.ui.impl.mock.MockUIRuntime;
 import org.jboss.forge.addon.ui.metadata.UICommandMetadata;
+import org.jboss.forge.addon.ui.output.UIOutput;
 import org.jboss.forge.arquillian.AddonDependency;
 import org.jboss.forge.arquillian.Dependencies;
 import org.jboss.forge.arquillian.archive.ForgeArchive;
@@ -83,4 +86,52 @@ public class CommandFactoryTest
       Assert.assertEquals(5, count);
    }
 
+   @Test
+   public void testGetCommandByName() throws Exception
+   {
+      UIContext context = newShellContext();
+      String name = commandFactory.getCommandName(context, new ExampleCommand());
+      Assert.assertTrue(commandFactory.getCommandNames(context).contains(name));
+      UICommand command = commandFactory.getCommandByName(context, name);
+      Assert.assertNotNull(command);
+      Assert.assertEquals(ExampleCommand.class, command.getMetadata(context).getType());
+      Assert.assertNotSame(command, commandFactory.getCommandByName(context, name));
+      Assert.assertNull(commandFactory.getCommandByName(context, "does-not-exist"));
+   }
+
+   @Test
+   public void testContextWithoutProviderDoesNotAffectShellNames() throws Exception
+   {
+      Assert.assertTrue(commandFactory.getCommandNames(new MockUIContext()).isEmpty());
+      UIContext context = newShellContext();
+      String name = commandFactory.getCommandName(context, new ExampleCommand());
+      Assert.assertNotNull(name);
+      Assert.assertTrue(commandFactory.getCommandNames(context).contains(name));
+      Assert.assertNotNull(commandFactory.getCommandByName(context, name));
+   }
+
+   private static UIContext newShellContext()
+   {
+      return new MockUIContext()
+      {
+         @Override
+         public UIProvider getProvider()
+         {
+            return new UIProvider()
+            {
+               @Override
+               public boolean isGUI()
+               {
+                  return false;
+               }
+
+               @Override
+               public UIOutput getOutput()
+               {
+                  return null;
+               }
+            };
+         }
+      };
+   }
 }
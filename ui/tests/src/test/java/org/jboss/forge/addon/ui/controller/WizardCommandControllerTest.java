@@ -172,6 +172,59 @@ public class WizardCommandControllerTest
       }
    }
 
+   @Test
+   public void testCanExecuteReflectsChangesInPreviousSteps() throws Exception
+   {
+      try (WizardCommandController controller = testHarness.createWizardController(ExampleFlow.class))
+      {
+         controller.initialize();
+         controller.setValueFor("name", "Forge");
+         controller.setValueFor("number", 42);
+         controller.next().initialize();
+         controller.setValueFor("flowOneInput", "Value");
+         controller.next().initialize();
+         controller.setValueFor("flowOneOneInput", "Value Two");
+         controller.next().initialize();
+         Assert.assertThat(controller.getCommand(), is(instanceOf(FlowTwoStep.class)));
+         controller.setValueFor("flowTwoInput", "Value Three");
+         Assert.assertTrue(controller.canExecute());
+         Assert.assertTrue(controller.canExecute());
+         controller.previous().previous().previous();
+         Assert.assertThat(controller.getCommand(), is(instanceOf(ExampleFlow.class)));
+         Assert.assertTrue(controller.canExecute());
+         controller.setValueFor("number", 41);
+         Assert.assertFalse(controller.canExecute());
+      }
+   }
+
+   @Test
+   public void testStepsAfterAChangedStepAreEvaluatedAgain() throws Exception
+   {
+      try (WizardCommandController controller = testHarness.createWizardController(ExampleFlow.class))
+      {
+         controller.initialize();
+         controller.setValueFor("name", "Forge");
+         controller.setValueFor("number", 42);
+         controller.next().initialize();
+         controller.setValueFor("flowOneInput", "Value");
+         controller.next().initialize();
+         controller.setValueFor("flowOneOneInput", "Value Two");
+         controller.next().initialize();
+         controller.setValueFor("flowTwoInput", "Value Three");
+         Assert.assertTrue(controller.canExecute());
+         controller.previous().previous().previous();
+         // Moving to the next step with new inputs must not leave the following steps up to date
+         controller.setValueFor("name", "Forge Two");
+         controller.next().initialize();
+         Assert.assertThat(controller.getCommand(), is(instanceOf(FlowOneStep.class)));
+         Assert.assertTrue(controller.canExecute());
+         controller.next().next();
+         Assert.assertThat(controller.getCommand(), is(instanceOf(FlowTwoStep.class)));
+         controller.setValueFor("flowTwoInput", null);
+         Assert.assertFalse(controller.canExecute());
+      }
+   }
+
    @Test
    public void testSubflowOrder() throws Exception
    {